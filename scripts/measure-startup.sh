@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Measure the console's time to first prompt and time to first answer, from the start of the process.
+#
+# Usage: scripts/measure-startup.sh <runs> <command...>
+# Example:
+#   scripts/measure-startup.sh 5 java -jar target/TestAssignmentBotsCrew-0.0.1-SNAPSHOT.jar
+#
+# Each run starts the command with one query on its standard input and stops the process once the
+# answer is printed. Set MEASURE_QUERY to time another command. Log lines are ignored.
+set -euo pipefail
+
+runs=$1
+shift
+query=${MEASURE_QUERY:-"Who is head of department {Physics}"}
+workdir=$(mktemp -d)
+trap 'rm -rf "$workdir"' EXIT
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+for run in $(seq "$runs"); do
+    mkfifo "$workdir/out"
+    start=$(now_ms)
+    printf '%s\nexit\n' "$query" | "$@" > "$workdir/out" 2> /dev/null &
+    pid=$!
+
+    prompt=""
+    answer=""
+    while IFS= read -r line; do
+        if [[ -z $prompt && $line == "Enter a command"* ]]; then
+            prompt=$(( $(now_ms) - start ))
+        elif [[ -n $prompt && -n $line && ! $line =~ ^[0-9]{4}-[0-9]{2}-[0-9]{2}T ]]; then
+            answer=$(( $(now_ms) - start ))
+            break
+        fi
+    done < "$workdir/out"
+
+    kill "$pid" 2> /dev/null || true
+    wait "$pid" 2> /dev/null || true
+    rm "$workdir/out"
+    echo "Run $run: first prompt ${prompt:-?} ms, first answer ${answer:-?} ms"
+done
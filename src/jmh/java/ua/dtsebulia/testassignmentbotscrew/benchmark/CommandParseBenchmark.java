@@ -0,0 +1,138 @@
+package ua.dtsebulia.testassignmentbotscrew.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ua.dtsebulia.testassignmentbotscrew.console.command.AverageSalaryCommand;
+import ua.dtsebulia.testassignmentbotscrew.console.command.CommandTable;
+import ua.dtsebulia.testassignmentbotscrew.console.command.CountGlobalSearchCommand;
+import ua.dtsebulia.testassignmentbotscrew.console.command.DepartmentStatisticCommand;
+import ua.dtsebulia.testassignmentbotscrew.console.command.EmployeeCountCommand;
+import ua.dtsebulia.testassignmentbotscrew.console.command.GlobalSearchCommand;
+import ua.dtsebulia.testassignmentbotscrew.console.command.HeadOfDepartmentCommand;
+import ua.dtsebulia.testassignmentbotscrew.console.command.MetricsCommand;
+import ua.dtsebulia.testassignmentbotscrew.console.command.ParsedCommand;
+import ua.dtsebulia.testassignmentbotscrew.generator.OrganizationGenerator;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of console command parsing, the per-line cost of batch and scripted use.
+ * <p>
+ * Each invocation parses a script of a million generated command lines, a mix of every command and some
+ * invalid lines, so the reported throughput is in lines per second. The {@link CommandTable} is compared with
+ * the chain of {@code String.contains} checks it replaced. Commands are not executed.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="CommandParseBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandParseBenchmark {
+
+    private static final int LINE_COUNT = 1_000_000;
+    private static final long SEED = 42;
+
+    private String[] lines;
+    private CommandTable commandTable;
+
+    /**
+     * Generate the script and register the commands.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Parsing does not touch the services, so the commands are created without them.
+        commandTable = new CommandTable(List.of(
+                new HeadOfDepartmentCommand(null),
+                new DepartmentStatisticCommand(null),
+                new AverageSalaryCommand(null),
+                new EmployeeCountCommand(null),
+                new GlobalSearchCommand(null, 100),
+                new CountGlobalSearchCommand(null),
+                new MetricsCommand(null)));
+
+        List<String> formats = List.of(
+                "Who is head of department {%s}",
+                "Show statistics for {%s}",
+                "Show the average salary for department {%s}",
+                "Show count of employee for {%s}",
+                "Global search by %s",
+                "Global search by %s limit 20 offset 40",
+                "Count global search by %s",
+                "metrics",
+                "Show me the head of {%s}");
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        lines = new String[LINE_COUNT];
+        for (int i = 0; i < LINE_COUNT; i++) {
+            String departmentName = OrganizationGenerator.departmentName(random.nextInt(1000));
+            lines[i] = formats.get(random.nextInt(formats.size())).formatted(departmentName);
+        }
+    }
+
+    /**
+     * Parse the script with the command table.
+     *
+     * @param blackhole The sink of the parsed arguments.
+     */
+    @Benchmark
+    @OperationsPerInvocation(LINE_COUNT)
+    public void commandTable(Blackhole blackhole) {
+        for (String line : lines) {
+            Optional<ParsedCommand> parsed = commandTable.parse(line);
+            blackhole.consume(parsed.isPresent() ? parsed.get().argument() : null);
+        }
+    }
+
+    /**
+     * Parse the script with the replaced chain of {@code String.contains} checks and argument extraction.
+     *
+     * @param blackhole The sink of the parsed arguments.
+     */
+    @Benchmark
+    @OperationsPerInvocation(LINE_COUNT)
+    public void containsChain(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(legacyParse(line));
+        }
+    }
+
+    /**
+     * Parse a line the way the console did before the command table.
+     *
+     * @param command The command line.
+     * @return The extracted argument, or null if the line is invalid.
+     */
+    private static String legacyParse(String command) {
+        if (command.trim().equalsIgnoreCase("metrics")) {
+            return "";
+        } else if (command.contains("Who is head of department")
+                || command.contains("Show statistics for")
+                || command.contains("Show the average salary for department")
+                || command.contains("Show count of employee for")) {
+            int startIndex = command.indexOf("{");
+            int endIndex = command.indexOf("}");
+            return startIndex != -1 && endIndex != -1 ? command.substring(startIndex + 1, endIndex) : "";
+        } else if (command.contains("Count global search by") || command.contains("Global search by")) {
+            return command.substring(command.indexOf("by") + 3).trim();
+        } else {
+            return null;
+        }
+    }
+}
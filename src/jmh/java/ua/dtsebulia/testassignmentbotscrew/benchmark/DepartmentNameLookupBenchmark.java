@@ -0,0 +1,150 @@
+package ua.dtsebulia.testassignmentbotscrew.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ua.dtsebulia.testassignmentbotscrew.generator.OrganizationGenerator;
+import ua.dtsebulia.testassignmentbotscrew.search.BkTree;
+import ua.dtsebulia.testassignmentbotscrew.search.SearchKeys;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of typo-tolerant department name lookup, the cost of a "did you mean" suggestion.
+ * <p>
+ * The generated department names are normalized and put in a {@link BkTree}. Each invocation looks up one of
+ * a thousand names with a random typo, within the default two edits, and is compared with a linear scan that
+ * computes a bounded distance to every name, stopping early like the tree does. Generated names differ only in their field and number,
+ * so many names lie within two edits of each other, which is close to the worst case for the tree.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="DepartmentNameLookupBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DepartmentNameLookupBenchmark {
+
+    private static final int QUERY_COUNT = 1000;
+    private static final int MAX_DISTANCE = 2;
+    private static final long SEED = 42;
+
+    @Param({"10000", "100000"})
+    private int departmentCount;
+
+    private String[] keys;
+    private String[] queries;
+    private BkTree tree;
+    private int next;
+    private int[] previous;
+    private int[] current;
+
+    /**
+     * Generate the names, build the tree and prepare the mistyped queries.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = new String[departmentCount];
+        tree = new BkTree();
+        for (int i = 0; i < departmentCount; i++) {
+            keys[i] = SearchKeys.normalize(OrganizationGenerator.departmentName(i));
+            tree.add(keys[i]);
+        }
+
+        int maxLength = 0;
+        for (String key : keys) {
+            maxLength = Math.max(maxLength, key.length());
+        }
+        previous = new int[maxLength + 1];
+        current = new int[maxLength + 1];
+
+        // Replace one character of a random name, the most common typo.
+        SplittableRandom random = new SplittableRandom(SEED);
+        queries = new String[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            char[] chars = keys[random.nextInt(departmentCount)].toCharArray();
+            chars[random.nextInt(chars.length)] = (char) ('a' + random.nextInt(26));
+            queries[i] = new String(chars);
+        }
+    }
+
+    /**
+     * Look up a mistyped name in the tree.
+     *
+     * @param blackhole The sink of the matches.
+     */
+    @Benchmark
+    public void bkTree(Blackhole blackhole) {
+        blackhole.consume(tree.search(nextQuery(), MAX_DISTANCE));
+    }
+
+    /**
+     * Look up a mistyped name by computing its distance to every name.
+     *
+     * @param blackhole The sink of the matching names.
+     */
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        String query = nextQuery();
+        for (String key : keys) {
+            if (withinDistance(query, key)) {
+                blackhole.consume(key);
+            }
+        }
+    }
+
+    /**
+     * Check whether two strings are within the maximum distance, stopping as soon as a whole row exceeds it.
+     *
+     * @param first  The first string.
+     * @param second The second string.
+     * @return True if the Levenshtein distance is at most the maximum distance.
+     */
+    private boolean withinDistance(String first, String second) {
+        if (Math.abs(first.length() - second.length()) > MAX_DISTANCE) {
+            return false;
+        }
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMinimum = i;
+            for (int j = 1; j <= second.length(); j++) {
+                int substitution = previous[j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(Math.min(current[j - 1], previous[j]) + 1, substitution);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > MAX_DISTANCE) {
+                return false;
+            }
+            int[] row = previous;
+            previous = current;
+            current = row;
+        }
+        return previous[second.length()] <= MAX_DISTANCE;
+    }
+
+    /**
+     * Get the next query, cycling through the prepared ones.
+     *
+     * @return The query.
+     */
+    private String nextQuery() {
+        next = next + 1 == QUERY_COUNT ? 0 : next + 1;
+        return queries[next];
+    }
+}
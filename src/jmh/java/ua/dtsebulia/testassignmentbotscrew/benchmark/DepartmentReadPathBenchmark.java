@@ -0,0 +1,166 @@
+package ua.dtsebulia.testassignmentbotscrew.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.dtsebulia.testassignmentbotscrew.TestAssignmentBotsCrewApplication;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.generator.BulkOrganizationLoader;
+import ua.dtsebulia.testassignmentbotscrew.generator.OrganizationGenerator;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the head of department lookup behind a department lookup cache miss, comparing three read paths:
+ * a managed entity in a read-write transaction, as the lookup used to be, the same entity loaded read-only in a
+ * read-only transaction, and the {@link DepartmentRepository#findHeadByName} projection.
+ * <p>
+ * Each request runs in its own transaction, so the persistence context is created, filled and discarded
+ * every time; the gc profiler's normalized allocation rate is the memory a request costs. With
+ * {@code secondLevelCache=false} every request reads the database; with {@code true} the query and
+ * second-level caches serve the rows, which leaves the hydration cost.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="DepartmentReadPathBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DepartmentReadPathBenchmark {
+
+    private static final long SEED = 42;
+    private static final String DEPARTMENT_WITH_HEAD = """
+            select d
+            from Department d
+            left join fetch d.headOfDepartment
+            where d.name = :departmentName""";
+
+    @Param({"10000"})
+    private int lectorCount;
+
+    @Param({"false", "true"})
+    private boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private DepartmentRepository departmentRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+    private String departmentName;
+
+    /**
+     * Start the application and load the organization.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command-line arguments take precedence over application.properties.
+        context = new SpringApplicationBuilder(TestAssignmentBotsCrewApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.open-in-view=false",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache,
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--console.enabled=false",
+                "--logging.level.root=WARN");
+
+        int departmentCount = Math.max(1, lectorCount / 100);
+        context.getBean(BulkOrganizationLoader.class)
+                .load(new OrganizationGenerator(SEED, departmentCount, lectorCount));
+
+        departmentRepository = context.getBean(DepartmentRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        departmentName = OrganizationGenerator.departmentName(departmentCount / 2);
+    }
+
+    /**
+     * Stop the application and drop the database.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // The database outlives the context, so drop the migrated schema for the next trial.
+        context.getBean(JdbcTemplate.class).execute("drop all objects");
+        context.close();
+    }
+
+    /**
+     * The department and its head as managed entities, tracked for dirty checking.
+     *
+     * @return The full name of the head.
+     */
+    @Benchmark
+    public String managedEntity() {
+        return readWriteTransaction.execute(status -> headOf(entityManager
+                .createQuery(DEPARTMENT_WITH_HEAD, Department.class)
+                .setParameter("departmentName", departmentName)
+                .setHint(HibernateHints.HINT_CACHEABLE, secondLevelCache)
+                .getSingleResult()));
+    }
+
+    /**
+     * The department and its head as read-only entities, without snapshots or a flush.
+     *
+     * @return The full name of the head.
+     */
+    @Benchmark
+    public String readOnlyEntity() {
+        return readOnlyTransaction.execute(status -> headOf(entityManager
+                .createQuery(DEPARTMENT_WITH_HEAD, Department.class)
+                .setParameter("departmentName", departmentName)
+                .setHint(HibernateHints.HINT_CACHEABLE, secondLevelCache)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getSingleResult()));
+    }
+
+    /**
+     * The names of the department and its head as a projection, without entities.
+     *
+     * @return The full name of the head.
+     */
+    @Benchmark
+    public String projection() {
+        return departmentRepository.findHeadByName(departmentName).orElseThrow().headFullName();
+    }
+
+    /**
+     * Get the full name of a department's head.
+     *
+     * @param department The department.
+     * @return The full name, or null if no head is assigned.
+     */
+    private static String headOf(Department department) {
+        Lector head = department.getHeadOfDepartment();
+        return head != null ? head.getFullName() : null;
+    }
+}
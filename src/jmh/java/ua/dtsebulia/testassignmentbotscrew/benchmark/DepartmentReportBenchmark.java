@@ -0,0 +1,121 @@
+package ua.dtsebulia.testassignmentbotscrew.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.dtsebulia.testassignmentbotscrew.TestAssignmentBotsCrewApplication;
+import ua.dtsebulia.testassignmentbotscrew.generator.BulkOrganizationLoader;
+import ua.dtsebulia.testassignmentbotscrew.generator.OrganizationGenerator;
+import ua.dtsebulia.testassignmentbotscrew.report.DepartmentReportService;
+import ua.dtsebulia.testassignmentbotscrew.report.ReportFormat;
+import ua.dtsebulia.testassignmentbotscrew.service.DepartmentService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the all departments report against the per-department loop it replaces.
+ * <p>
+ * Each trial starts the application on an embedded H2 database with a generated organization of
+ * {@code lectorCount} lectors, one department per hundred lectors, and the report computed by {@code parallelism}
+ * workers. The loop asks the {@link DepartmentService} for the head, statistics and average salary of every
+ * department in turn, with the department lookup cache cleared so each department costs its own query.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="DepartmentReportBenchmark -p parallelism=1,4"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DepartmentReportBenchmark {
+
+    private static final long SEED = 42;
+
+    @Param({"100000"})
+    private int lectorCount;
+
+    @Param({"1", "2", "4"})
+    private int parallelism;
+
+    private ConfigurableApplicationContext context;
+    private DepartmentService departmentService;
+    private DepartmentReportService departmentReportService;
+    private int departmentCount;
+
+    /**
+     * Start the application and load the organization.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command-line arguments take precedence over application.properties.
+        context = new SpringApplicationBuilder(TestAssignmentBotsCrewApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.open-in-view=false",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--console.enabled=false",
+                "--department.lookup-cache.maximum-size=0",
+                "--report.parallelism=" + parallelism,
+                "--logging.level.root=WARN");
+
+        departmentCount = Math.max(1, lectorCount / 100);
+        context.getBean(BulkOrganizationLoader.class)
+                .load(new OrganizationGenerator(SEED, departmentCount, lectorCount));
+
+        departmentService = context.getBean(DepartmentService.class);
+        departmentReportService = context.getBean(DepartmentReportService.class);
+    }
+
+    /**
+     * Stop the application and drop the database.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // The database outlives the context, so drop the migrated schema for the next trial.
+        context.getBean(JdbcTemplate.class).execute("drop all objects");
+        context.close();
+    }
+
+    /**
+     * Compute the report and write it as CSV.
+     *
+     * @param blackhole The sink of the output.
+     */
+    @Benchmark
+    public void report(Blackhole blackhole) {
+        departmentReportService.writeReport(ReportFormat.CSV, blackhole::consume);
+    }
+
+    /**
+     * Ask for the head, statistics and average salary of every department in turn.
+     *
+     * @param blackhole The sink of the output.
+     */
+    @Benchmark
+    public void perDepartmentLoop(Blackhole blackhole) {
+        for (int i = 0; i < departmentCount; i++) {
+            String departmentName = OrganizationGenerator.departmentName(i);
+            blackhole.consume(departmentService.findHeadOfDepartment(departmentName));
+            blackhole.consume(departmentService.getDepartmentStatistic(departmentName));
+            blackhole.consume(departmentService.getAverageSalaryForDepartment(departmentName));
+        }
+    }
+}
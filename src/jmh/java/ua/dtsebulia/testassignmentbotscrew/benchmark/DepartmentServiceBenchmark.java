@@ -0,0 +1,148 @@
+package ua.dtsebulia.testassignmentbotscrew.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.dtsebulia.testassignmentbotscrew.TestAssignmentBotsCrewApplication;
+import ua.dtsebulia.testassignmentbotscrew.dto.GlobalSearchCountDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.GlobalSearchPageDto;
+import ua.dtsebulia.testassignmentbotscrew.generator.BulkOrganizationLoader;
+import ua.dtsebulia.testassignmentbotscrew.generator.OrganizationGenerator;
+import ua.dtsebulia.testassignmentbotscrew.service.DepartmentService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link DepartmentService} operations against an embedded H2 database.
+ * <p>
+ * Each trial starts the application without the console or the web server and loads a generated
+ * organization of {@code lectorCount} lectors, one department per hundred lectors.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec}; the gc profiler reports the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DepartmentServiceBenchmark {
+
+    private static final long SEED = 42;
+
+    @Param({"100", "10000", "100000", "1000000"})
+    private int lectorCount;
+
+    private ConfigurableApplicationContext context;
+    private DepartmentService departmentService;
+    private String departmentName;
+
+    /**
+     * Start the application and load the organization.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command-line arguments take precedence over application.properties.
+        context = new SpringApplicationBuilder(TestAssignmentBotsCrewApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.open-in-view=false",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--console.enabled=false",
+                "--logging.level.root=WARN");
+
+        // Load a generated organization; the loader's event rebuilds the in-memory structures.
+        int departmentCount = Math.max(1, lectorCount / 100);
+        context.getBean(BulkOrganizationLoader.class)
+                .load(new OrganizationGenerator(SEED, departmentCount, lectorCount));
+
+        departmentService = context.getBean(DepartmentService.class);
+        departmentName = OrganizationGenerator.departmentName(departmentCount / 2);
+    }
+
+    /**
+     * Stop the application and drop the database.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // The database outlives the context, so drop the migrated schema for the next trial.
+        context.getBean(JdbcTemplate.class).execute("drop all objects");
+        context.close();
+    }
+
+    @Benchmark
+    public String findHeadOfDepartment() {
+        return departmentService.findHeadOfDepartment(departmentName);
+    }
+
+    @Benchmark
+    public String getDepartmentStatistic() {
+        return departmentService.getDepartmentStatistic(departmentName);
+    }
+
+    @Benchmark
+    public String getAverageSalaryForDepartment() {
+        return departmentService.getAverageSalaryForDepartment(departmentName);
+    }
+
+    @Benchmark
+    public String getEmployeeCount() {
+        return departmentService.getEmployeeCount(departmentName);
+    }
+
+    /**
+     * A selective search, matching a handful of department names.
+     *
+     * @return The search results.
+     */
+    @Benchmark
+    public String globalSearchSelective() {
+        return departmentService.globalSearch(departmentName);
+    }
+
+    /**
+     * A broad search, matching one in thirty lectors.
+     *
+     * @return The search results.
+     */
+    @Benchmark
+    public String globalSearchBroad() {
+        return departmentService.globalSearch("Olena");
+    }
+
+    /**
+     * The first page of the broad search, which stops once the page is full.
+     *
+     * @return The page of results.
+     */
+    @Benchmark
+    public GlobalSearchPageDto globalSearchBroadFirstPage() {
+        return departmentService.searchPage("Olena", 0, 100);
+    }
+
+    /**
+     * The number of results of the broad search, without collecting them.
+     *
+     * @return The count.
+     */
+    @Benchmark
+    public GlobalSearchCountDto globalSearchBroadCount() {
+        return departmentService.countGlobalSearchResults("Olena");
+    }
+}
@@ -0,0 +1,150 @@
+package ua.dtsebulia.testassignmentbotscrew.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.dtsebulia.testassignmentbotscrew.TestAssignmentBotsCrewApplication;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.generator.BulkOrganizationLoader;
+import ua.dtsebulia.testassignmentbotscrew.generator.OrganizationGenerator;
+import ua.dtsebulia.testassignmentbotscrew.snapshot.OrganizationSnapshot;
+import ua.dtsebulia.testassignmentbotscrew.snapshot.OrganizationSnapshotLoader;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compares the heap footprint of an {@link OrganizationSnapshot} with the JPA entity graph of the same data.
+ * <p>
+ * For each lector count, the application is started on an embedded H2 database with a generated organization.
+ * The entity graph is measured while every department, lector and degree is managed by an open persistence
+ * context, which is what it costs to hold the organization as entities. The snapshot is measured as loaded by
+ * {@link OrganizationSnapshotLoader}, after a first load has warmed up the queries. Both are the growth of the
+ * used heap after a full garbage collection; the estimate column is the snapshot's own analytic estimate.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=ua.dtsebulia.testassignmentbotscrew.benchmark.FootprintReport
+ * -Djmh.args="100000 300000"}; the arguments are the lector counts. Below about a hundred thousand lectors,
+ * the snapshot is smaller than the noise of the heap measurement.
+ */
+public class FootprintReport {
+
+    private static final long SEED = 42;
+    private static final List<Integer> DEFAULT_LECTOR_COUNTS = List.of(100_000, 300_000);
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    /**
+     * Print the footprints for the lector counts given as arguments.
+     *
+     * @param args The lector counts.
+     */
+    public static void main(String[] args) {
+        List<Integer> lectorCounts = args.length == 0
+                ? DEFAULT_LECTOR_COUNTS
+                : Arrays.stream(args).map(Integer::valueOf).toList();
+
+        System.out.printf("%10s %18s %18s %10s%n", "lectors", "entities B/lector", "snapshot B/lector", "estimate");
+        for (int lectorCount : lectorCounts) {
+            report(lectorCount);
+        }
+    }
+
+    /**
+     * Measure and print the footprints for one lector count.
+     *
+     * @param lectorCount The number of lectors to generate.
+     */
+    private static void report(int lectorCount) {
+        try (ConfigurableApplicationContext context = start(lectorCount)) {
+            int departmentCount = Math.max(1, lectorCount / 100);
+            context.getBean(BulkOrganizationLoader.class)
+                    .load(new OrganizationGenerator(SEED, departmentCount, lectorCount));
+
+            // Load a snapshot once, so query plans and lazily initialized classes are not counted.
+            OrganizationSnapshotLoader snapshotLoader = context.getBean(OrganizationSnapshotLoader.class);
+            snapshotLoader.load();
+
+            // Measure the snapshot while holding a reference to it.
+            long before = usedHeapAfterGc();
+            OrganizationSnapshot snapshot = snapshotLoader.load();
+            long snapshotBytes = usedHeapAfterGc() - before;
+
+            long entityBytes = measureEntityGraph(context);
+
+            System.out.printf(Locale.ROOT, "%10d %18.1f %18.1f %10.1f%n", lectorCount,
+                    (double) entityBytes / lectorCount,
+                    (double) snapshotBytes / lectorCount,
+                    snapshot.footprint().bytesPerLector());
+        }
+    }
+
+    /**
+     * Measure the heap taken by the entity graph while a persistence context manages all of it.
+     *
+     * @param context The application context.
+     * @return The growth of the used heap, in bytes.
+     */
+    private static long measureEntityGraph(ConfigurableApplicationContext context) {
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+
+        return transactionTemplate.execute(status -> {
+            long before = usedHeapAfterGc();
+
+            // Load every lector with its degree, then every department with its members.
+            List<Lector> lectors = entityManager
+                    .createQuery("select l from Lector l left join fetch l.degree", Lector.class)
+                    .getResultList();
+            List<Department> departments = entityManager
+                    .createQuery("select distinct d from Department d left join fetch d.lectors", Department.class)
+                    .getResultList();
+
+            long bytes = usedHeapAfterGc() - before;
+            if (lectors.isEmpty() || departments.isEmpty()) {
+                throw new IllegalStateException("No organization was loaded.");
+            }
+            return bytes;
+        });
+    }
+
+    /**
+     * Start the application on an embedded database, without the console or the web server.
+     *
+     * @param lectorCount The number of lectors, used to name the database.
+     * @return The application context.
+     */
+    private static ConfigurableApplicationContext start(int lectorCount) {
+        // Command-line arguments take precedence over application.properties.
+        return new SpringApplicationBuilder(TestAssignmentBotsCrewApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:footprint" + lectorCount + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.open-in-view=false",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--console.enabled=false",
+                "--snapshot.enabled=false",
+                "--logging.level.root=WARN");
+    }
+
+    /**
+     * Get the used heap after full garbage collections.
+     *
+     * @return The used heap, in bytes.
+     */
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+}
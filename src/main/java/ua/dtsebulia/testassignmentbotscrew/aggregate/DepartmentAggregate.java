@@ -0,0 +1,55 @@
+package ua.dtsebulia.testassignmentbotscrew.aggregate;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Materialized aggregate of a department's lectors.
+ *
+ * @param departmentName The name of the department.
+ * @param lectorCount    The number of lectors in the department.
+ * @param salarySum      The sum of the lectors' salaries, counting missing salaries as 0.
+ * @param degreeCounts   The number of lectors by degree ordinal, see
+ *                       {@link ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary}.
+ */
+public record DepartmentAggregate(String departmentName, long lectorCount, long salarySum, int[] degreeCounts) {
+
+    /**
+     * Get the average salary of the department's lectors.
+     *
+     * @return The average salary, or 0 if the department has no lectors.
+     */
+    public double averageSalary() {
+        return lectorCount == 0 ? 0 : (double) salarySum / lectorCount;
+    }
+
+    /**
+     * Get the number of lectors holding a degree.
+     *
+     * @param degreeOrdinal The ordinal of the degree.
+     * @return The number of lectors holding the degree.
+     */
+    public int countByDegree(int degreeOrdinal) {
+        return degreeOrdinal >= 0 && degreeOrdinal < degreeCounts.length ? degreeCounts[degreeOrdinal] : 0;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof DepartmentAggregate aggregate
+                && lectorCount == aggregate.lectorCount
+                && salarySum == aggregate.salarySum
+                && Objects.equals(departmentName, aggregate.departmentName)
+                && Arrays.equals(degreeCounts, aggregate.degreeCounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(departmentName, lectorCount, salarySum, Arrays.hashCode(degreeCounts));
+    }
+
+    @Override
+    public String toString() {
+        return "DepartmentAggregate[departmentName=" + departmentName + ", lectorCount=" + lectorCount
+                + ", salarySum=" + salarySum + ", degreeCounts=" + Arrays.toString(degreeCounts) + "]";
+    }
+}
@@ -0,0 +1,73 @@
+package ua.dtsebulia.testassignmentbotscrew.aggregate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Consistency checker for {@link DepartmentAggregateStore}.
+ * It rebuilds the aggregates from scratch and compares them with the incrementally maintained ones.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DepartmentAggregateConsistencyChecker {
+
+    private final DepartmentRepository departmentRepository;
+    private final DepartmentAggregateStore departmentAggregateStore;
+    private final DegreeDictionary degreeDictionary;
+
+    /**
+     * Compare the live aggregates with aggregates rebuilt from the database.
+     *
+     * @return A description of every mismatch, empty if the store is consistent.
+     */
+    public List<String> check() {
+
+        // Take the live values first, so changes made during the rebuild show up as mismatches
+        // rather than being silently hidden.
+        Map<Integer, DepartmentAggregate> live = departmentAggregateStore.snapshot();
+
+        // Rebuild a standalone store that does not receive change events.
+        DepartmentAggregateStore rebuiltStore = new DepartmentAggregateStore(departmentRepository, degreeDictionary);
+        rebuiltStore.rebuild();
+        Map<Integer, DepartmentAggregate> rebuilt = rebuiltStore.snapshot();
+
+        // Compare every department known to either side.
+        List<String> mismatches = new ArrayList<>();
+        Set<Integer> departmentIds = new HashSet<>(live.keySet());
+        departmentIds.addAll(rebuilt.keySet());
+        departmentIds.forEach(departmentId -> {
+            DepartmentAggregate expected = rebuilt.get(departmentId);
+            DepartmentAggregate actual = live.get(departmentId);
+            if (!Objects.equals(expected, actual)) {
+                mismatches.add("Department " + departmentId + ": expected " + expected + " but was " + actual + ".");
+            }
+        });
+
+        mismatches.forEach(log::warn);
+        return mismatches;
+    }
+
+    /**
+     * Compare the live aggregates with the database and rebuild the store if they differ.
+     *
+     * @return A description of every mismatch found before the repair.
+     */
+    public List<String> checkAndRepair() {
+        List<String> mismatches = check();
+        if (!mismatches.isEmpty()) {
+            departmentAggregateStore.rebuild();
+        }
+        return mismatches;
+    }
+}
@@ -0,0 +1,527 @@
+package ua.dtsebulia.testassignmentbotscrew.aggregate;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ua.dtsebulia.testassignmentbotscrew.config.StartupPreload;
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.event.BulkDataChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.DepartmentChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.EntityChangeType;
+import ua.dtsebulia.testassignmentbotscrew.event.LectorChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentLectorRow;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory store of per-department lector aggregates.
+ * <p>
+ * The store is built from the database once at startup (or on first use) and then maintained
+ * incrementally from entity change events: adding or removing a lector from a department, or
+ * changing a lector's salary or degree, adjusts only the affected counters. Reads are O(1).
+ * <p>
+ * Events are applied once their transaction commits, so a rolled-back change never reaches the store.
+ * Every applied event advances a generation, and a rebuild whose rows were loaded while events were applied
+ * loads them again, so a committed change is never overwritten by older rows.
+ */
+@Component
+@RequiredArgsConstructor
+public class DepartmentAggregateStore {
+
+    /**
+     * Number of times a rebuild loads the rows without holding the lock.
+     */
+    static final int REBUILD_ATTEMPTS = 3;
+
+    private final DepartmentRepository departmentRepository;
+    private final DegreeDictionary degreeDictionary;
+
+    private final Map<Integer, DepartmentState> departments = new HashMap<>();
+    private final Map<String, DepartmentState> departmentsByName = new HashMap<>();
+    private final Map<Integer, LectorState> lectors = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean built;
+    private volatile long generation;
+
+    /**
+     * Build the store as soon as the application context is ready, unless preloading is disabled, see
+     * {@link StartupPreload}.
+     */
+    @EventListener(value = ContextRefreshedEvent.class, condition = StartupPreload.ENABLED)
+    public void onContextRefreshed() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the store after a bulk change that did not publish entity events.
+     *
+     * @param event The bulk change event.
+     */
+    @EventListener
+    public void onBulkDataChanged(BulkDataChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the whole store from the database.
+     * <p>
+     * The rows are loaded without holding the lock, so readers are not blocked by the query. If events were
+     * applied meanwhile, the rows may predate them and are loaded again. After {@value #REBUILD_ATTEMPTS}
+     * attempts, the rows are loaded while holding the lock, so no event can interleave.
+     */
+    public void rebuild() {
+        for (int attempt = 1; attempt < REBUILD_ATTEMPTS; attempt++) {
+            long loadGeneration = generation;
+
+            // Load every membership with the lector's salary and degree in a single query.
+            List<DepartmentLectorRow> rows = departmentRepository.findDepartmentLectorRows();
+
+            lock.writeLock().lock();
+            try {
+                if (generation == loadGeneration) {
+                    load(rows);
+                    return;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // Changes keep arriving: hold the lock across the query, so none can be missed.
+        lock.writeLock().lock();
+        try {
+            load(departmentRepository.findDepartmentLectorRows());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the contents of the store with the loaded rows.
+     * Must be called with the write lock held.
+     *
+     * @param rows Every membership with the lector's salary and degree.
+     */
+    private void load(List<DepartmentLectorRow> rows) {
+        departments.clear();
+        departmentsByName.clear();
+        lectors.clear();
+
+        rows.forEach(row -> {
+            DepartmentState department = departmentState(row.departmentId(), row.departmentName());
+            if (row.lectorId() != null) {
+                LectorState lector = lectors.computeIfAbsent(row.lectorId(),
+                        id -> new LectorState(salaryOf(row.salary()),
+                                degreeDictionary.ordinalOf(row.degreeId(), row.degreeName())));
+                addMember(department, row.lectorId(), lector);
+            }
+        });
+        built = true;
+    }
+
+    /**
+     * Get the aggregate of a department by its name.
+     *
+     * @param departmentName The name of the department.
+     * @return The aggregate, or empty if the department is not found.
+     */
+    public Optional<DepartmentAggregate> find(String departmentName) {
+        ensureBuilt();
+
+        lock.readLock().lock();
+        try {
+            DepartmentState department = departmentsByName.get(departmentName);
+            int degreeCount = degreeDictionary.size();
+            return Optional.ofNullable(department).map(state -> state.toAggregate(degreeCount));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the aggregates of all departments.
+     *
+     * @return The aggregates by department id.
+     */
+    public Map<Integer, DepartmentAggregate> snapshot() {
+        ensureBuilt();
+
+        lock.readLock().lock();
+        try {
+            int degreeCount = degreeDictionary.size();
+            Map<Integer, DepartmentAggregate> aggregates = new HashMap<>();
+            departments.forEach((id, department) -> aggregates.put(id, department.toAggregate(degreeCount)));
+            return aggregates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the salary distribution of a department by its name.
+     *
+     * @param departmentName The name of the department.
+     * @return The distribution, or empty if the department is not found.
+     */
+    public Optional<SalaryDistribution> findSalaryDistribution(String departmentName) {
+        ensureBuilt();
+
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(departmentsByName.get(departmentName))
+                    .map(department -> SalaryDistribution.of(department.salaries, department.minSalary,
+                            department.maxSalary));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the salary distribution of all departments, merging the sketches of the departments.
+     * A lector in several departments is counted once per department.
+     *
+     * @return The distribution.
+     */
+    public SalaryDistribution organizationSalaryDistribution() {
+        ensureBuilt();
+
+        lock.readLock().lock();
+        try {
+            SalarySketch salaries = new SalarySketch();
+            int minSalary = Integer.MAX_VALUE;
+            int maxSalary = Integer.MIN_VALUE;
+            for (DepartmentState department : departments.values()) {
+                salaries.merge(department.salaries);
+                minSalary = Math.min(minSalary, department.minSalary);
+                maxSalary = Math.max(maxSalary, department.maxSalary);
+            }
+            return SalaryDistribution.of(salaries, minSalary, maxSalary);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Update the store once a department change has been committed.
+     * Changes made outside a transaction are applied immediately.
+     *
+     * @param event The department change event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        Department changed = event.department();
+        if (changed.getId() == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            generation++;
+            if (!built) {
+                return;
+            }
+
+            if (event.type() == EntityChangeType.REMOVED) {
+                removeDepartment(changed.getId());
+                return;
+            }
+
+            DepartmentState department = departmentState(changed.getId(), changed.getName());
+
+            // An uninitialized lazy collection means membership did not change in this unit of work.
+            Set<Lector> members = changed.getLectors();
+            if (members != null && !Hibernate.isInitialized(members)) {
+                return;
+            }
+
+            Set<Integer> memberIds = new HashSet<>();
+            if (members != null) {
+                members.forEach(lector -> {
+                    if (lector.getId() != null) {
+                        memberIds.add(lector.getId());
+                        addMember(department, lector.getId(), updateLector(lector));
+                    }
+                });
+            }
+
+            // Drop the lectors that are no longer members.
+            Set.copyOf(department.lectorIds).forEach(lectorId -> {
+                if (!memberIds.contains(lectorId)) {
+                    removeMember(department, lectorId, lectors.get(lectorId));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Update the store once a lector change has been committed.
+     * Changes made outside a transaction are applied immediately.
+     *
+     * @param event The lector change event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLectorChanged(LectorChangedEvent event) {
+        Lector changed = event.lector();
+        if (changed.getId() == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            generation++;
+            if (!built) {
+                return;
+            }
+
+            if (event.type() == EntityChangeType.REMOVED) {
+                LectorState lector = lectors.remove(changed.getId());
+                if (lector != null) {
+                    Set.copyOf(lector.departmentIds).forEach(departmentId ->
+                            removeMember(departments.get(departmentId), changed.getId(), lector));
+                }
+            } else {
+                updateLector(changed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Build the store from the repository if it has not been built yet.
+     */
+    private void ensureBuilt() {
+        if (!built) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Get the state of a department, creating it or following a rename as needed.
+     *
+     * @param departmentId   The id of the department.
+     * @param departmentName The current name of the department.
+     * @return The state of the department.
+     */
+    private DepartmentState departmentState(Integer departmentId, String departmentName) {
+        DepartmentState department = departments.computeIfAbsent(departmentId, DepartmentState::new);
+
+        if (!Objects.equals(department.name, departmentName)) {
+            if (department.name != null) {
+                departmentsByName.remove(department.name, department);
+            }
+            department.name = departmentName;
+            departmentsByName.put(departmentName, department);
+        }
+
+        return department;
+    }
+
+    /**
+     * Drop a department and its memberships.
+     *
+     * @param departmentId The id of the department.
+     */
+    private void removeDepartment(Integer departmentId) {
+        DepartmentState department = departments.remove(departmentId);
+        if (department != null) {
+            departmentsByName.remove(department.name, department);
+            department.lectorIds.forEach(lectorId -> {
+                LectorState lector = lectors.get(lectorId);
+                if (lector != null) {
+                    lector.departmentIds.remove(departmentId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Record the current salary and degree of a lector,
+     * applying the difference to every department the lector belongs to.
+     *
+     * @param changed The changed lector.
+     * @return The state of the lector.
+     */
+    private LectorState updateLector(Lector changed) {
+        int salary = salaryOf(changed.getSalary());
+        int degree = degreeDictionary.ordinalOf(changed.getDegree());
+
+        LectorState lector = lectors.get(changed.getId());
+        if (lector == null) {
+            lector = new LectorState(salary, degree);
+            lectors.put(changed.getId(), lector);
+            return lector;
+        }
+
+        if (lector.salary != salary || lector.degree != degree) {
+            int previousSalary = lector.salary;
+            int previousDegree = lector.degree;
+            lector.salary = salary;
+            lector.degree = degree;
+
+            for (Integer departmentId : lector.departmentIds) {
+                DepartmentState department = departments.get(departmentId);
+                department.salarySum += salary - previousSalary;
+                department.changeDegreeCount(previousDegree, -1);
+                department.changeDegreeCount(degree, 1);
+                if (salary != previousSalary) {
+                    department.addSalary(salary);
+                    removeSalary(department, previousSalary);
+                }
+            }
+        }
+
+        return lector;
+    }
+
+    /**
+     * Add a lector's contribution to a department, unless it is already a member.
+     *
+     * @param department The department.
+     * @param lectorId   The id of the lector.
+     * @param lector     The state of the lector.
+     */
+    private static void addMember(DepartmentState department, Integer lectorId, LectorState lector) {
+        if (department.lectorIds.add(lectorId)) {
+            department.salarySum += lector.salary;
+            department.addSalary(lector.salary);
+            department.changeDegreeCount(lector.degree, 1);
+            lector.departmentIds.add(department.id);
+        }
+    }
+
+    /**
+     * Remove a lector's contribution from a department.
+     *
+     * @param department The department.
+     * @param lectorId   The id of the lector.
+     * @param lector     The state of the lector.
+     */
+    private void removeMember(DepartmentState department, Integer lectorId, LectorState lector) {
+        if (department != null && lector != null && department.lectorIds.remove(lectorId)) {
+            department.salarySum -= lector.salary;
+            removeSalary(department, lector.salary);
+            department.changeDegreeCount(lector.degree, -1);
+            lector.departmentIds.remove(department.id);
+        }
+    }
+
+    /**
+     * Remove a salary from a department's distribution, finding the new lowest or highest salary among the
+     * remaining members if it was one of them.
+     *
+     * @param department The department.
+     * @param salary     The salary.
+     */
+    private void removeSalary(DepartmentState department, int salary) {
+        department.salaries.remove(salary);
+        if (salary == department.minSalary || salary == department.maxSalary) {
+            department.minSalary = Integer.MAX_VALUE;
+            department.maxSalary = Integer.MIN_VALUE;
+            department.lectorIds.forEach(lectorId -> {
+                int memberSalary = lectors.get(lectorId).salary;
+                department.minSalary = Math.min(department.minSalary, memberSalary);
+                department.maxSalary = Math.max(department.maxSalary, memberSalary);
+            });
+        }
+    }
+
+    /**
+     * Get the salary used for aggregation, counting a missing salary as 0.
+     *
+     * @param salary The salary.
+     * @return The salary, or 0 if it is missing.
+     */
+    private static int salaryOf(Integer salary) {
+        return salary != null ? salary : 0;
+    }
+
+    /**
+     * Mutable aggregate of a single department.
+     */
+    private static final class DepartmentState {
+
+        private final Integer id;
+        private String name;
+        private final Set<Integer> lectorIds = new HashSet<>();
+        private int[] degreeCounts = new int[0];
+        private long salarySum;
+        private final SalarySketch salaries = new SalarySketch();
+        private int minSalary = Integer.MAX_VALUE;
+        private int maxSalary = Integer.MIN_VALUE;
+
+        private DepartmentState(Integer id) {
+            this.id = id;
+        }
+
+        /**
+         * Adjust the number of lectors holding a degree.
+         *
+         * @param degree The ordinal of the degree, or {@link DegreeDictionary#NO_DEGREE}.
+         * @param delta  The change in the number of lectors.
+         */
+        private void changeDegreeCount(int degree, int delta) {
+            if (degree == DegreeDictionary.NO_DEGREE) {
+                return;
+            }
+            if (degree >= degreeCounts.length) {
+                degreeCounts = Arrays.copyOf(degreeCounts, degree + 1);
+            }
+            degreeCounts[degree] += delta;
+        }
+
+        /**
+         * Add a salary to the distribution.
+         *
+         * @param salary The salary.
+         */
+        private void addSalary(int salary) {
+            salaries.add(salary);
+            minSalary = Math.min(minSalary, salary);
+            maxSalary = Math.max(maxSalary, salary);
+        }
+
+        /**
+         * Copy the state into an immutable aggregate.
+         *
+         * @param degreeCount The number of degree ordinals handed out so far.
+         * @return The aggregate.
+         */
+        private DepartmentAggregate toAggregate(int degreeCount) {
+            return new DepartmentAggregate(name, lectorIds.size(), salarySum,
+                    Arrays.copyOf(degreeCounts, Math.max(degreeCount, degreeCounts.length)));
+        }
+    }
+
+    /**
+     * Last known salary and degree of a lector, and the departments it belongs to.
+     */
+    private static final class LectorState {
+
+        private int salary;
+        private int degree;
+        private final Set<Integer> departmentIds = new HashSet<>();
+
+        private LectorState(int salary, int degree) {
+            this.salary = salary;
+            this.degree = degree;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ua.dtsebulia.testassignmentbotscrew.aggregate;
+
+/**
+ * Distribution of the salaries of a department's lectors, or of all departments.
+ * The minimum and maximum are exact; the percentiles come from a {@link SalarySketch} and are within its
+ * relative accuracy of the exact ones, clamped to the exact range.
+ *
+ * @param lectorCount The number of salaries.
+ * @param minSalary   The lowest salary.
+ * @param maxSalary   The highest salary.
+ * @param median      The estimated median salary.
+ * @param p90         The estimated 90th percentile.
+ * @param p99         The estimated 99th percentile.
+ */
+public record SalaryDistribution(long lectorCount, int minSalary, int maxSalary, double median, double p90,
+                                 double p99) {
+
+    /**
+     * Summarize a sketch.
+     *
+     * @param sketch    The sketch of the salaries.
+     * @param minSalary The exact lowest salary.
+     * @param maxSalary The exact highest salary.
+     * @return The distribution, with percentiles of NaN if the sketch is empty.
+     */
+    static SalaryDistribution of(SalarySketch sketch, int minSalary, int maxSalary) {
+        return new SalaryDistribution(sketch.count(), minSalary, maxSalary,
+                clamp(sketch.quantile(0.5), minSalary, maxSalary),
+                clamp(sketch.quantile(0.9), minSalary, maxSalary),
+                clamp(sketch.quantile(0.99), minSalary, maxSalary));
+    }
+
+    /**
+     * Clamp an estimate to the exact range of the salaries, which can only bring it closer to the exact value.
+     *
+     * @param estimate  The estimate.
+     * @param minSalary The lowest salary.
+     * @param maxSalary The highest salary.
+     * @return The clamped estimate.
+     */
+    private static double clamp(double estimate, int minSalary, int maxSalary) {
+        return Double.isNaN(estimate) ? estimate : Math.max(minSalary, Math.min(maxSalary, estimate));
+    }
+}
@@ -0,0 +1,140 @@
+package ua.dtsebulia.testassignmentbotscrew.aggregate;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch of salaries with a relative error guarantee, in the style of DDSketch.
+ * <p>
+ * Positive salaries are counted in logarithmic buckets: bucket {@code i} holds the values in
+ * {@code (gamma^(i-1), gamma^i]} with {@code gamma = (1 + a) / (1 - a)}, and is represented by
+ * {@code 2 gamma^i / (gamma + 1)}, which lies within {@value #RELATIVE_ACCURACY} of every value in the bucket.
+ * Salaries of 0 or less are counted in a separate bucket represented by 0. A quantile is therefore within
+ * {@value #RELATIVE_ACCURACY} of the salary of the same rank, whatever the distribution and the number of salaries.
+ * <p>
+ * Buckets are plain counts, so, unlike t-digest or KLL, a salary can be removed as exactly as it was added, and
+ * two sketches are merged by adding their counts. Salaries between 1 and a million take at most 700 buckets.
+ * The sketch is not thread-safe; callers are expected to guard it.
+ */
+public final class SalarySketch {
+
+    /**
+     * The relative error of a quantile.
+     */
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private int[] counts = new int[0];
+    private int offset;
+    private long nonPositiveCount;
+    private long count;
+
+    /**
+     * Add a salary.
+     *
+     * @param salary The salary.
+     */
+    public void add(int salary) {
+        change(salary, 1);
+    }
+
+    /**
+     * Remove a salary that was added before.
+     *
+     * @param salary The salary.
+     */
+    public void remove(int salary) {
+        change(salary, -1);
+    }
+
+    /**
+     * Add the salaries of another sketch.
+     *
+     * @param other The other sketch.
+     */
+    public void merge(SalarySketch other) {
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                bucket(other.offset + i);
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        nonPositiveCount += other.nonPositiveCount;
+        count += other.count;
+    }
+
+    /**
+     * Get the number of salaries.
+     *
+     * @return The number of salaries.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Estimate a quantile: the salary of rank {@code q (n - 1)} in ascending order, within the relative accuracy.
+     *
+     * @param q The quantile, between 0 and 1, for example 0.5 for the median.
+     * @return The estimate, or NaN if the sketch is empty.
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1, was " + q + ".");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        // Walk the buckets in ascending order until the rank is passed.
+        long rank = (long) (q * (count - 1));
+        long seen = nonPositiveCount;
+        if (seen > rank) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return 2 * Math.pow(GAMMA, offset + i) / (GAMMA + 1);
+            }
+        }
+        throw new IllegalStateException("Salary sketch counts do not add up to " + count + ".");
+    }
+
+    /**
+     * Add or remove a salary.
+     *
+     * @param salary The salary.
+     * @param delta  1 to add the salary, -1 to remove it.
+     */
+    private void change(int salary, int delta) {
+        count += delta;
+        if (salary <= 0) {
+            nonPositiveCount += delta;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(salary) / LOG_GAMMA);
+        bucket(index);
+        counts[index - offset] += delta;
+    }
+
+    /**
+     * Grow the counts so that they cover a bucket.
+     *
+     * @param index The index of the bucket.
+     */
+    private void bucket(int index) {
+        if (counts.length == 0) {
+            counts = new int[1];
+            offset = index;
+        } else if (index < offset) {
+            int[] grown = new int[counts.length + offset - index];
+            System.arraycopy(counts, 0, grown, offset - index, counts.length);
+            counts = grown;
+            offset = index;
+        } else if (index >= offset + counts.length) {
+            counts = Arrays.copyOf(counts, index - offset + 1);
+        }
+    }
+}
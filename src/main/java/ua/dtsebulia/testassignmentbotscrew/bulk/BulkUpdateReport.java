@@ -0,0 +1,24 @@
+package ua.dtsebulia.testassignmentbotscrew.bulk;
+
+import java.util.Locale;
+
+/**
+ * Summary of a bulk update.
+ *
+ * @param description  What was updated, for example "Adjusted salaries by +10% in department Physics".
+ * @param lectorCount  The number of lectors updated.
+ * @param chunkCount   The number of transactions the update was split into.
+ * @param elapsedNanos The wall-clock time of the update, in nanoseconds.
+ */
+public record BulkUpdateReport(String description, long lectorCount, int chunkCount, long elapsedNanos) {
+
+    /**
+     * Format the report for printing.
+     *
+     * @return The formatted report.
+     */
+    public String format() {
+        return String.format(Locale.ROOT, "%s: %d lectors in %d chunks, %.3f s.",
+                description, lectorCount, chunkCount, elapsedNanos / 1e9);
+    }
+}
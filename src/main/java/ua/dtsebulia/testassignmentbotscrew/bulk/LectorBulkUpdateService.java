@@ -0,0 +1,256 @@
+package ua.dtsebulia.testassignmentbotscrew.bulk;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.dtsebulia.testassignmentbotscrew.event.BulkDataChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.metrics.OperationMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+
+import static ua.dtsebulia.testassignmentbotscrew.metrics.OperationMetrics.SERVICE_TIMER;
+
+/**
+ * Service changing the salaries and department memberships of many lectors at once with set-based SQL.
+ * <p>
+ * Saving lectors one by one costs a select, an update and a dirty check per lector, and the entity listeners
+ * then patch every in-memory structure lector by lector. Instead, each operation is a few {@code update},
+ * {@code insert ... select} and {@code delete} statements, run over windows of {@code bulk-update.chunk-size}
+ * lector ids with a transaction per window, so row locks are held briefly and the undo log stays small however
+ * many lectors change. Only the lectors that exist when the operation starts are changed. The windows are
+ * committed one after another: a concurrent reader may see some windows changed and others not, and a failed
+ * window leaves the windows before it committed. If called inside a transaction, the windows join it.
+ * <p>
+ * The statements bypass the entity listeners and the second-level cache, so once the last window has been
+ * committed, or a window has failed, a {@link BulkDataChangedEvent} is published and every derived view of
+ * the lectors and departments is rebuilt.
+ */
+@Service
+public class LectorBulkUpdateService {
+
+    private static final String DEPARTMENT_NOT_FOUND_MSG = "Department with name %s not found.";
+    private static final String DEGREE_NOT_FOUND_MSG = "Degree with name %s not found.";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OperationMetrics operationMetrics;
+    private final int chunkSize;
+
+    /**
+     * Create the service.
+     *
+     * @param jdbcTemplate        The JDBC template.
+     * @param transactionTemplate The template of the transaction of each window.
+     * @param eventPublisher      The publisher of the bulk change event.
+     * @param operationMetrics    The metrics of service operations.
+     * @param chunkSize           The number of lector ids updated per transaction.
+     */
+    public LectorBulkUpdateService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                   ApplicationEventPublisher eventPublisher, OperationMetrics operationMetrics,
+                                   @Value("${bulk-update.chunk-size:10000}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Bulk update chunk size must be positive, was " + chunkSize + ".");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.operationMetrics = operationMetrics;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Adjust the salaries of the lectors of a department, of the lectors holding a degree, or both.
+     * Lectors without a salary are left unchanged.
+     *
+     * @param adjustment     The adjustment.
+     * @param departmentName The name of the department, or null for every department.
+     * @param degreeName     The name of the degree, or null for every degree.
+     * @return The summary of the update, or a message if the department or degree is not found.
+     */
+    public String adjustSalaries(SalaryAdjustment adjustment, String departmentName, String degreeName) {
+        return operationMetrics.record(SERVICE_TIMER, "salary_adjustment", () -> {
+
+            // Resolve the names once, so the updates do not join the department and degree tables.
+            Integer departmentId = departmentName == null ? null : findIdByName("department", departmentName);
+            if (departmentName != null && departmentId == null) {
+                return Result.notFound(String.format(DEPARTMENT_NOT_FOUND_MSG, departmentName));
+            }
+            Integer degreeId = degreeName == null ? null : findIdByName("degree", degreeName);
+            if (degreeName != null && degreeId == null) {
+                return Result.notFound(String.format(DEGREE_NOT_FOUND_MSG, degreeName));
+            }
+
+            // The factor is cast, as some databases would otherwise give it the type of the salary column.
+            StringBuilder sql = new StringBuilder("update lector set salary = ")
+                    .append(adjustment.percentage()
+                            ? "greatest(round(salary * cast(? as decimal(12, 6)), 0), 0)"
+                            : "greatest(salary + ?, 0)")
+                    .append(" where id between ? and ? and salary is not null");
+            List<Object> filters = new ArrayList<>();
+            if (degreeId != null) {
+                sql.append(" and degree_id = ?");
+                filters.add(degreeId);
+            }
+            if (departmentId != null) {
+                sql.append(" and id in (select m.lectors_id from department_lectors m where m.department_id = ?)");
+                filters.add(departmentId);
+            }
+
+            String description = "Adjusted salaries by " + adjustment.format()
+                    + (departmentName != null ? " in department " + departmentName : "")
+                    + (degreeName != null ? " with degree " + degreeName : "");
+            Object change = adjustment.percentage() ? adjustment.factor() : adjustment.amount();
+            return Result.found(updateInWindows(description, (firstId, lastId) -> jdbcTemplate.update(
+                    sql.toString(), arguments(List.of(change, firstId, lastId), filters)), null));
+        }, Result::outcome).message();
+    }
+
+    /**
+     * Move the lectors of a department, or only those holding a degree, to another department.
+     * Lectors who already belong to the target department only leave the source department. If the head of the
+     * source department is moved, the source department is left without a head.
+     *
+     * @param fromDepartmentName The name of the department the lectors leave.
+     * @param toDepartmentName   The name of the department the lectors join.
+     * @param degreeName         The name of the degree, or null to move every lector.
+     * @return The summary of the move, or a message if a department or the degree is not found.
+     * @throws IllegalArgumentException If both departments are the same.
+     */
+    public String moveLectors(String fromDepartmentName, String toDepartmentName, String degreeName) {
+        if (fromDepartmentName.equals(toDepartmentName)) {
+            throw new IllegalArgumentException("Lectors must be moved to another department, was "
+                    + fromDepartmentName + ".");
+        }
+
+        return operationMetrics.record(SERVICE_TIMER, "lector_move", () -> {
+
+            // Resolve the names once, so the statements do not join the department and degree tables.
+            Integer fromId = findIdByName("department", fromDepartmentName);
+            if (fromId == null) {
+                return Result.notFound(String.format(DEPARTMENT_NOT_FOUND_MSG, fromDepartmentName));
+            }
+            Integer toId = findIdByName("department", toDepartmentName);
+            if (toId == null) {
+                return Result.notFound(String.format(DEPARTMENT_NOT_FOUND_MSG, toDepartmentName));
+            }
+            Integer degreeId = degreeName == null ? null : findIdByName("degree", degreeName);
+            if (degreeName != null && degreeId == null) {
+                return Result.notFound(String.format(DEGREE_NOT_FOUND_MSG, degreeName));
+            }
+
+            // Memberships are keyed by department and lector, so they are copied to the target and then
+            // deleted from the source, rather than updated in place.
+            String degreeFilter = degreeId != null
+                    ? " and m.lectors_id in (select l.id from lector l where l.degree_id = ?)"
+                    : "";
+            List<Object> filters = degreeId != null ? List.of(degreeId) : List.of();
+            String insert = "insert into department_lectors (department_id, lectors_id)"
+                    + " select ?, m.lectors_id from department_lectors m"
+                    + " where m.department_id = ? and m.lectors_id between ? and ?" + degreeFilter
+                    + " and not exists (select 1 from department_lectors t"
+                    + " where t.department_id = ? and t.lectors_id = m.lectors_id)";
+            String delete = "delete from department_lectors where department_id = ? and lectors_id between ? and ?"
+                    + degreeFilter.replace("m.lectors_id", "lectors_id");
+
+            // The head is moved only if it is a member of the source department that passes the degree filter.
+            Integer movedHeadId = jdbcTemplate.queryForList("select m.lectors_id from department d"
+                            + " join department_lectors m on m.department_id = d.id"
+                            + " and m.lectors_id = d.head_of_department_id where d.id = ?" + degreeFilter,
+                    Integer.class, arguments(List.of(fromId), filters)).stream().findFirst().orElse(null);
+
+            String description = "Moved lectors" + (degreeName != null ? " with degree " + degreeName : "")
+                    + " from " + fromDepartmentName + " to " + toDepartmentName;
+            return Result.found(updateInWindows(description, (firstId, lastId) -> {
+                jdbcTemplate.update(insert, arguments(List.of(toId, fromId, firstId, lastId), filters, toId));
+                return jdbcTemplate.update(delete, arguments(List.of(fromId, firstId, lastId), filters));
+            }, movedHeadId == null ? null : () -> jdbcTemplate.update(
+                    "update department set head_of_department_id = null where id = ? and head_of_department_id = ?",
+                    fromId, movedHeadId)));
+        }, Result::outcome).message();
+    }
+
+    /**
+     * Run an update over windows of lector ids, a transaction per window, and publish a bulk change event
+     * once anything has been committed.
+     *
+     * @param description What is updated.
+     * @param update      Updates the lectors with ids between the first and last id, inclusive, and returns
+     *                    the number of lectors updated.
+     * @param finish      Run in a transaction of its own after the last window, or null.
+     * @return The summary of the update.
+     */
+    private BulkUpdateReport updateInWindows(String description, IntBinaryOperator update, Runnable finish) {
+        long start = System.nanoTime();
+        int[] idRange = jdbcTemplate.queryForObject("select min(id), max(id) from lector", (resultSet, row) ->
+                resultSet.getObject(1) == null ? null : new int[]{resultSet.getInt(1), resultSet.getInt(2)});
+
+        long lectorCount = 0;
+        int chunkCount = 0;
+        try {
+            for (long firstId = idRange == null ? 1 : idRange[0]; idRange != null && firstId <= idRange[1];
+                 firstId += chunkSize) {
+                int first = (int) firstId;
+                int last = (int) Math.min(firstId + chunkSize - 1, idRange[1]);
+                lectorCount += transactionTemplate.execute(status -> update.applyAsInt(first, last));
+                chunkCount++;
+            }
+            if (finish != null) {
+                transactionTemplate.executeWithoutResult(status -> finish.run());
+            }
+        } finally {
+            // Rebuild the derived views even if a window failed, as the windows before it are committed.
+            if (chunkCount > 0) {
+                eventPublisher.publishEvent(new BulkDataChangedEvent(description + ", " + lectorCount + " lectors"));
+            }
+        }
+        return new BulkUpdateReport(description, lectorCount, chunkCount, System.nanoTime() - start);
+    }
+
+    /**
+     * Find the id of a department or degree by its name.
+     *
+     * @param table The table, "department" or "degree".
+     * @param name  The name.
+     * @return The lowest id with the name, or null if there is none.
+     */
+    private Integer findIdByName(String table, String name) {
+        return jdbcTemplate.queryForObject("select min(id) from " + table + " where name = ?", Integer.class, name);
+    }
+
+    /**
+     * Concatenate the arguments of a statement.
+     *
+     * @param leading  The leading arguments.
+     * @param filters  The arguments of the optional filters.
+     * @param trailing The trailing arguments.
+     * @return The arguments.
+     */
+    private static Object[] arguments(List<?> leading, List<?> filters, Object... trailing) {
+        List<Object> arguments = new ArrayList<>(leading);
+        arguments.addAll(filters);
+        arguments.addAll(List.of(trailing));
+        return arguments.toArray();
+    }
+
+    /**
+     * Message of an operation with the outcome recorded by its timer.
+     *
+     * @param message The message.
+     * @param outcome The outcome.
+     */
+    private record Result(String message, String outcome) {
+
+        private static Result found(BulkUpdateReport report) {
+            return new Result(report.format(), OperationMetrics.FOUND);
+        }
+
+        private static Result notFound(String message) {
+            return new Result(message, OperationMetrics.NOT_FOUND);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ua.dtsebulia.testassignmentbotscrew.bulk;
+
+import java.math.BigDecimal;
+
+/**
+ * Change applied to salaries by a bulk adjustment: a percentage of each salary or the same amount for everyone.
+ * Salaries never drop below 0.
+ *
+ * @param amount     The percentage or the amount, negative to lower salaries.
+ * @param percentage Whether the amount is a percentage.
+ */
+public record SalaryAdjustment(BigDecimal amount, boolean percentage) {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    /**
+     * Create the adjustment.
+     *
+     * @throws IllegalArgumentException If a percentage is below -100 or has more than 4 decimals,
+     *                                  or an amount is not a whole number.
+     */
+    public SalaryAdjustment {
+        if (percentage && amount.compareTo(HUNDRED.negate()) < 0) {
+            throw new IllegalArgumentException("Salaries cannot be lowered by more than 100%, was " + amount + "%.");
+        }
+        if (percentage && amount.stripTrailingZeros().scale() > 4) {
+            throw new IllegalArgumentException("Salary percentage must have at most 4 decimals, was " + amount + "%.");
+        }
+        if (!percentage && amount.stripTrailingZeros().scale() > 0) {
+            throw new IllegalArgumentException("Salary amount must be a whole number, was " + amount + ".");
+        }
+    }
+
+    /**
+     * Parse an adjustment such as "10%", "-2.5%" or "+500".
+     *
+     * @param text The adjustment.
+     * @return The adjustment.
+     * @throws IllegalArgumentException If the text is not a number, optionally followed by a percent sign.
+     */
+    public static SalaryAdjustment parse(String text) {
+        String trimmed = text.strip();
+        boolean percentage = trimmed.endsWith("%");
+        String number = percentage ? trimmed.substring(0, trimmed.length() - 1).strip() : trimmed;
+        try {
+            return new SalaryAdjustment(new BigDecimal(number), percentage);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Salary adjustment must be a number or a percentage, was '"
+                    + text + "'.", e);
+        }
+    }
+
+    /**
+     * Get the factor salaries are multiplied by.
+     *
+     * @return The factor, for example 1.1 for 10%.
+     */
+    public BigDecimal factor() {
+        return BigDecimal.ONE.add(amount.movePointLeft(2));
+    }
+
+    /**
+     * Format the adjustment with its sign, for example "+10%" or "-500".
+     *
+     * @return The formatted adjustment.
+     */
+    public String format() {
+        return (amount.signum() < 0 ? "" : "+") + amount.toPlainString() + (percentage ? "%" : "");
+    }
+}
@@ -0,0 +1,22 @@
+package ua.dtsebulia.testassignmentbotscrew.cache;
+
+/**
+ * Point-in-time counters of a cache.
+ *
+ * @param hits      The number of lookups served from the cache.
+ * @param misses    The number of lookups that went to the database.
+ * @param evictions The number of entries dropped because of the size bound or expiry.
+ * @param size      The number of entries currently cached.
+ */
+public record CacheStatistics(long hits, long misses, long evictions, int size) {
+
+    /**
+     * Get the share of lookups served from the cache.
+     *
+     * @return The hit ratio, or 0 if there were no lookups.
+     */
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
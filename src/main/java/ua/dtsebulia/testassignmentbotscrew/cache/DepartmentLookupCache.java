@@ -0,0 +1,217 @@
+package ua.dtsebulia.testassignmentbotscrew.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.event.BulkDataChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.DepartmentChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.LectorChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentHeadRow;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Size- and time-bounded LRU cache of departments and their heads by name.
+ * <p>
+ * Departments are cached as {@link DepartmentHeadRow} projections rather than entities, so nothing is tracked
+ * by a persistence context. Unknown names are cached too, so repeated lookups of a missing department do not
+ * reach the database. Entries are invalidated when a change to the department, or to the lector heading it, has
+ * been committed. Invalidating earlier would let a concurrent lookup cache the row as it was before the commit.
+ */
+@Component
+public class DepartmentLookupCache {
+
+    private final DepartmentRepository departmentRepository;
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+    private final LongSupplier ticker;
+
+    private final Map<String, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long generation;
+
+    /**
+     * Create the cache with the configured bounds.
+     *
+     * @param departmentRepository The repository to load departments from.
+     * @param maximumSize          The maximum number of cached names.
+     * @param timeToLive           How long an entry stays valid after it was loaded.
+     */
+    @Autowired
+    public DepartmentLookupCache(DepartmentRepository departmentRepository,
+                                 @Value("${department.lookup-cache.maximum-size:1000}") int maximumSize,
+                                 @Value("${department.lookup-cache.time-to-live:10m}") Duration timeToLive) {
+        this(departmentRepository, maximumSize, timeToLive, System::nanoTime);
+    }
+
+    /**
+     * Create the cache with an explicit time source.
+     *
+     * @param departmentRepository The repository to load departments from.
+     * @param maximumSize          The maximum number of cached names.
+     * @param timeToLive           How long an entry stays valid after it was loaded.
+     * @param ticker               The time source, in nanoseconds.
+     */
+    DepartmentLookupCache(DepartmentRepository departmentRepository, int maximumSize,
+                          Duration timeToLive, LongSupplier ticker) {
+        this.departmentRepository = departmentRepository;
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.ticker = ticker;
+
+        // Access-ordered map, so the eldest entry is the least recently used one.
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > DepartmentLookupCache.this.maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a department with its head by the department's name, loading it from the database on a miss.
+     *
+     * @param departmentName The name of the department.
+     * @return The department, or null if it is not found.
+     */
+    public DepartmentHeadRow get(String departmentName) {
+        long loadGeneration;
+
+        synchronized (entries) {
+            Entry entry = entries.get(departmentName);
+
+            if (entry != null) {
+                if (ticker.getAsLong() - entry.loadedAt() < timeToLiveNanos) {
+                    hits.increment();
+                    return entry.department();
+                }
+
+                // Drop the expired entry and load the department again.
+                entries.remove(departmentName);
+                evictions.increment();
+            }
+
+            misses.increment();
+            loadGeneration = generation;
+        }
+
+        // Load outside the lock, so slow queries do not block hits on other names.
+        DepartmentHeadRow department = departmentRepository.findHeadByName(departmentName).orElse(null);
+
+        synchronized (entries) {
+            // Skip caching if an invalidation happened while loading, as the result may be stale.
+            if (generation == loadGeneration) {
+                entries.put(departmentName, new Entry(department, ticker.getAsLong()));
+            }
+        }
+
+        return department;
+    }
+
+    /**
+     * Drop the cached entry for a name.
+     *
+     * @param departmentName The name of the department.
+     */
+    public void invalidate(String departmentName) {
+        synchronized (entries) {
+            generation++;
+            entries.remove(departmentName);
+        }
+    }
+
+    /**
+     * Drop every cached entry.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    /**
+     * Get the current cache counters.
+     *
+     * @return The cache statistics.
+     */
+    public CacheStatistics statistics() {
+        synchronized (entries) {
+            return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+        }
+    }
+
+    /**
+     * Invalidate the entries of a changed department, under both its current and its cached name.
+     * The current name also covers a cached "not found" result for a newly created department.
+     * Runs once the change has been committed, or immediately if it was made outside a transaction.
+     *
+     * @param event The department change event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        Department changed = event.department();
+
+        synchronized (entries) {
+            generation++;
+            entries.remove(changed.getName());
+            if (changed.getId() != null) {
+                entries.values().removeIf(entry -> entry.department() != null
+                        && changed.getId().equals(entry.department().departmentId()));
+            }
+        }
+    }
+
+    /**
+     * Invalidate the entries of departments headed by a changed lector.
+     * Runs once the change has been committed, or immediately if it was made outside a transaction.
+     *
+     * @param event The lector change event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLectorChanged(LectorChangedEvent event) {
+        Integer lectorId = event.lector().getId();
+        if (lectorId == null) {
+            return;
+        }
+
+        synchronized (entries) {
+            generation++;
+            entries.values().removeIf(entry -> entry.department() != null
+                    && lectorId.equals(entry.department().headId()));
+        }
+    }
+
+    /**
+     * Drop every cached entry after a bulk change that did not publish entity events.
+     *
+     * @param event The bulk change event.
+     */
+    @EventListener
+    public void onBulkDataChanged(BulkDataChangedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * Cached lookup result.
+     *
+     * @param department The department, or null if it was not found.
+     * @param loadedAt   When the entry was loaded, in ticker nanoseconds.
+     */
+    private record Entry(DepartmentHeadRow department, long loadedAt) {
+    }
+}
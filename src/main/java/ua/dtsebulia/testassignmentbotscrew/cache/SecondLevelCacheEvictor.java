@@ -0,0 +1,34 @@
+package ua.dtsebulia.testassignmentbotscrew.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.event.BulkDataChangedEvent;
+
+/**
+ * Clears the Hibernate second-level and query caches after a bulk change.
+ * <p>
+ * Changes made through the entities keep the caches up to date on their own, but set-based SQL bypasses
+ * Hibernate, so every cached entity, collection and query result may be stale afterwards.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Evict every region after a bulk change that did not publish entity events.
+     *
+     * @param event The bulk change event.
+     */
+    @EventListener
+    public void onBulkDataChanged(BulkDataChangedEvent event) {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        log.debug("Evicted the second-level cache after {}", event.description());
+    }
+}
@@ -0,0 +1,78 @@
+package ua.dtsebulia.testassignmentbotscrew.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory for executors that run each task on a virtual thread when the runtime supports them.
+ * <p>
+ * The project targets Java 17, where virtual threads do not exist, so they are looked up reflectively.
+ * On Java 21 and later each task gets its own virtual thread; on older runtimes the executor falls back
+ * to a fixed pool of daemon platform threads of the given size.
+ */
+public final class VirtualThreads {
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutor();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Check whether the runtime supports virtual threads.
+     *
+     * @return True if tasks will run on virtual threads.
+     */
+    public static boolean available() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Create an executor that starts a virtual thread per task, or a fixed platform thread pool as a fallback.
+     *
+     * @param namePrefix      The name prefix of fallback platform threads.
+     * @param fallbackThreads The number of fallback platform threads.
+     * @return The executor.
+     */
+    public static ExecutorService newExecutor(String namePrefix, int fallbackThreads) {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not create a virtual thread executor.", e);
+            }
+        }
+
+        return Executors.newFixedThreadPool(fallbackThreads, daemonThreadFactory(namePrefix));
+    }
+
+    /**
+     * Create a thread factory for named daemon platform threads.
+     *
+     * @param namePrefix The name prefix of the threads.
+     * @return The thread factory.
+     */
+    private static ThreadFactory daemonThreadFactory(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Look up {@code Executors.newVirtualThreadPerTaskExecutor()}, which exists on Java 21 and later.
+     *
+     * @return The method, or null if the runtime does not have it.
+     */
+    private static Method findVirtualThreadPerTaskExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ua.dtsebulia.testassignmentbotscrew.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduling for the background refresh of the organization snapshot,
+ * see {@link ua.dtsebulia.testassignmentbotscrew.snapshot.OrganizationSnapshotEngine}.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "snapshot.enabled", havingValue = "true")
+public class SnapshotSchedulingConfig {
+}
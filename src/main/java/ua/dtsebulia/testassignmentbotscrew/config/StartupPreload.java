@@ -0,0 +1,19 @@
+package ua.dtsebulia.testassignmentbotscrew.config;
+
+/**
+ * Controls whether the in-memory structures built from the database are built at startup.
+ * <p>
+ * By default they are built as soon as the application context is ready, so the first command is answered
+ * at full speed. With {@code startup.preload=false}, as in the {@code fast-startup} profile, each structure is
+ * built on its first use instead, so a short console job only loads the ones its commands need.
+ */
+public final class StartupPreload {
+
+    /**
+     * The condition of the context refreshed listeners that build the structures.
+     */
+    public static final String ENABLED = "@environment.getProperty('startup.preload', 'true') == 'true'";
+
+    private StartupPreload() {
+    }
+}
@@ -0,0 +1,31 @@
+package ua.dtsebulia.testassignmentbotscrew.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ua.dtsebulia.testassignmentbotscrew.concurrent.VirtualThreads;
+
+/**
+ * Runs HTTP request handlers on virtual threads, so a blocked handler does not hold a platform thread.
+ * <p>
+ * Virtual threads need Java 21 or later. On older runtimes Tomcat keeps its default worker pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.virtual-threads.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadWebServerConfig {
+
+    /**
+     * Replace the Tomcat worker pool with a virtual thread per request executor when the runtime supports it.
+     *
+     * @return The protocol handler customizer.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (VirtualThreads.available()) {
+                protocolHandler.setExecutor(VirtualThreads.newExecutor("http-", 1));
+            }
+        };
+    }
+}
@@ -0,0 +1,180 @@
+package ua.dtsebulia.testassignmentbotscrew.console;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.concurrent.VirtualThreads;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a script of console commands concurrently.
+ * <p>
+ * Commands are executed on virtual threads (or a platform thread pool on runtimes without them),
+ * with at most {@code parallelism} commands in flight. Outputs are written through a single buffered
+ * writer in input order, regardless of the order in which commands complete.
+ * <p>
+ * Commands that change data, such as salary adjustments, moves and imports, act as barriers: the runner waits
+ * for every earlier command, runs the changing command alone and only then starts the commands after it.
+ * Reads therefore always see the data as the script has changed it so far.
+ */
+@Component
+public class BatchCommandRunner {
+
+    private static final String EXIT_COMMAND = "exit";
+    private static final String COMMAND_FAILED_MSG = "Command failed: %s";
+
+    private final CommandProcessor commandProcessor;
+    private final int parallelism;
+
+    /**
+     * Create the runner.
+     *
+     * @param commandProcessor The processor executing each command.
+     * @param parallelism      The maximum number of commands executed at the same time.
+     */
+    public BatchCommandRunner(CommandProcessor commandProcessor,
+                              @Value("${console.batch.parallelism:64}") int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Batch parallelism must be positive, was " + parallelism + ".");
+        }
+        this.commandProcessor = commandProcessor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Execute every command read from the input and write their outputs in input order.
+     * Blank lines are skipped, and an 'exit' line ends the batch.
+     *
+     * @param input  The commands, one per line.
+     * @param output The destination of the outputs; flushed but not closed.
+     * @return The throughput and latency report of the batch.
+     * @throws IOException If reading the commands or writing the outputs fails.
+     */
+    public BatchReport run(BufferedReader input, Writer output) throws IOException {
+        BufferedWriter writer = output instanceof BufferedWriter bufferedWriter
+                ? bufferedWriter
+                : new BufferedWriter(output);
+        Deque<Future<CommandResult>> pending = new ArrayDeque<>();
+        long[] latencies = new long[1024];
+        int commandCount = 0;
+
+        ExecutorService executor = VirtualThreads.newExecutor("batch-command-", parallelism);
+        long start = System.nanoTime();
+        try {
+            String line;
+            while ((line = input.readLine()) != null && !line.trim().equalsIgnoreCase(EXIT_COMMAND)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                String command = line;
+
+                // Run a command that changes data alone, once every earlier command has completed.
+                if (commandProcessor.isMutating(command)) {
+                    while (!pending.isEmpty()) {
+                        latencies = record(latencies, commandCount++, write(writer, pending.poll()));
+                    }
+                    latencies = record(latencies, commandCount++,
+                            write(writer, executor.submit(() -> execute(command))));
+                    continue;
+                }
+
+                // Wait for the oldest command once the parallelism cap is reached.
+                if (pending.size() >= parallelism) {
+                    latencies = record(latencies, commandCount++, write(writer, pending.poll()));
+                }
+
+                pending.add(executor.submit(() -> execute(command)));
+
+                // Write every command at the head of the queue that has already completed.
+                while (!pending.isEmpty() && pending.peek().isDone()) {
+                    latencies = record(latencies, commandCount++, write(writer, pending.poll()));
+                }
+            }
+
+            while (!pending.isEmpty()) {
+                latencies = record(latencies, commandCount++, write(writer, pending.poll()));
+            }
+            writer.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long[] sortedLatencies = Arrays.copyOf(latencies, commandCount);
+        Arrays.sort(sortedLatencies);
+        return new BatchReport(commandCount, System.nanoTime() - start, sortedLatencies);
+    }
+
+    /**
+     * Execute a single command and measure its latency.
+     * Failures are turned into an output line, so one bad command does not abort the batch.
+     *
+     * @param command The command.
+     * @return The output and latency of the command.
+     */
+    private CommandResult execute(String command) {
+        long start = System.nanoTime();
+        String output;
+        try {
+            output = commandProcessor.execute(command);
+        } catch (RuntimeException e) {
+            output = String.format(COMMAND_FAILED_MSG, e.getMessage());
+        }
+        return new CommandResult(output, System.nanoTime() - start);
+    }
+
+    /**
+     * Wait for a command to complete and write its output.
+     *
+     * @param writer The writer.
+     * @param result The pending result.
+     * @return The latency of the command, in nanoseconds.
+     * @throws IOException If writing fails or the wait is interrupted.
+     */
+    private static long write(BufferedWriter writer, Future<CommandResult> result) throws IOException {
+        try {
+            CommandResult commandResult = result.get();
+            writer.write(commandResult.output());
+            writer.newLine();
+            return commandResult.latencyNanos();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a batch command.");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch command failed unexpectedly.", e.getCause());
+        }
+    }
+
+    /**
+     * Store a latency, growing the array as needed.
+     *
+     * @param latencies The latencies recorded so far.
+     * @param index     The index of the latency.
+     * @param latency   The latency.
+     * @return The array holding the latencies.
+     */
+    private static long[] record(long[] latencies, int index, long latency) {
+        long[] target = index < latencies.length ? latencies : Arrays.copyOf(latencies, latencies.length * 2);
+        target[index] = latency;
+        return target;
+    }
+
+    /**
+     * Output and latency of a single command.
+     *
+     * @param output       The output of the command.
+     * @param latencyNanos The latency of the command, in nanoseconds.
+     */
+    private record CommandResult(String output, long latencyNanos) {
+    }
+}
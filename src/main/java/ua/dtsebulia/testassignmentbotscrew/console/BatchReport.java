@@ -0,0 +1,60 @@
+package ua.dtsebulia.testassignmentbotscrew.console;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Summary of a batch run: throughput and the distribution of per-command latencies.
+ *
+ * @param commandCount The number of commands executed.
+ * @param elapsedNanos The wall-clock time of the whole batch, in nanoseconds.
+ * @param latencies    The latency of every command, in nanoseconds, sorted ascending.
+ */
+public record BatchReport(int commandCount, long elapsedNanos, long[] latencies) {
+
+    /**
+     * Get the number of commands executed per second.
+     *
+     * @return The throughput.
+     */
+    public double throughput() {
+        return elapsedNanos == 0 ? 0 : commandCount * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Get a latency percentile using the nearest-rank method.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The latency in nanoseconds, or 0 if no commands were executed.
+     */
+    public long latencyPercentile(double percentile) {
+        if (latencies.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * latencies.length);
+        return latencies[Math.max(0, Math.min(latencies.length - 1, rank - 1))];
+    }
+
+    /**
+     * Get the mean latency.
+     *
+     * @return The mean latency in nanoseconds, or 0 if no commands were executed.
+     */
+    public double meanLatency() {
+        return Arrays.stream(latencies).average().orElse(0);
+    }
+
+    /**
+     * Format the report for the console.
+     *
+     * @return The formatted report.
+     */
+    public String format() {
+        return String.format(Locale.ROOT,
+                "Executed %d commands in %.3f s (%.1f commands/s).%n"
+                        + "Latency per command: mean %.3f ms, p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms.",
+                commandCount, elapsedNanos / 1e9, throughput(),
+                meanLatency() / 1e6, latencyPercentile(50) / 1e6, latencyPercentile(90) / 1e6,
+                latencyPercentile(99) / 1e6, latencyPercentile(100) / 1e6);
+    }
+}
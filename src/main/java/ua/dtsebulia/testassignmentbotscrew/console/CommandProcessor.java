@@ -0,0 +1,112 @@
+package ua.dtsebulia.testassignmentbotscrew.console;
+
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.console.command.CommandTable;
+import ua.dtsebulia.testassignmentbotscrew.console.command.ConsoleCommand;
+import ua.dtsebulia.testassignmentbotscrew.console.command.ParsedCommand;
+import ua.dtsebulia.testassignmentbotscrew.metrics.OperationMetrics;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Parses a console command and executes the corresponding action.
+ * Shared by the interactive console and the batch mode.
+ * <p>
+ * Commands are the {@link ConsoleCommand} beans, matched through a {@link CommandTable}.
+ */
+@Component
+public class CommandProcessor {
+
+    private static final String INVALID_COMMAND_MSG = "Invalid command. Please try again.";
+
+    private final List<ConsoleCommand> commands;
+    private final CommandTable commandTable;
+    private final OperationMetrics operationMetrics;
+
+    /**
+     * Create the processor.
+     *
+     * @param commands         The available commands, in the order they are listed.
+     * @param operationMetrics The recorder of command timings.
+     */
+    public CommandProcessor(List<ConsoleCommand> commands, OperationMetrics operationMetrics) {
+        this.commands = List.copyOf(commands);
+        this.commandTable = new CommandTable(commands);
+        this.operationMetrics = operationMetrics;
+    }
+
+    /**
+     * Get the usage of every available command.
+     *
+     * @return The usages, in the order the commands are listed.
+     */
+    public List<String> usages() {
+        return commands.stream().map(ConsoleCommand::usage).toList();
+    }
+
+    /**
+     * Check whether a user-entered command changes data.
+     *
+     * @param command The user-entered command.
+     * @return True if the command is recognized and changes data.
+     */
+    public boolean isMutating(String command) {
+        return commandTable.parse(command).map(parsed -> parsed.command().mutating()).orElse(false);
+    }
+
+    /**
+     * Execute the user-entered command and return its output.
+     *
+     * @param command The user-entered command.
+     * @return The output of the command.
+     */
+    public String execute(String command) {
+        StringBuilder output = new StringBuilder();
+        execute(command, output::append);
+        return output.toString();
+    }
+
+    /**
+     * Execute the user-entered command and pass its output to the consumer in pieces, as it is produced.
+     * Global search results are passed on one at a time, so they can be printed while the search runs.
+     *
+     * @param command The user-entered command.
+     * @param output  The consumer of the output.
+     */
+    public void execute(String command, Consumer<CharSequence> output) {
+        long start = System.nanoTime();
+        String commandType = "unknown";
+        String outcome = OperationMetrics.ERROR;
+        try {
+            commandType = dispatch(command, output);
+            outcome = commandType.equals(OperationMetrics.INVALID)
+                    ? OperationMetrics.INVALID
+                    : OperationMetrics.SUCCESS;
+        } finally {
+            operationMetrics.record(OperationMetrics.COMMAND_TIMER, commandType, outcome, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Execute the user-entered command.
+     *
+     * @param command The user-entered command.
+     * @param output  The consumer of the output.
+     * @return The command type, used to tag the command timer.
+     */
+    private String dispatch(String command, Consumer<CharSequence> output) {
+        Optional<ParsedCommand> parsed = commandTable.parse(command);
+        if (parsed.isEmpty()) {
+            // If the command is not recognized, return an error message
+            output.accept(INVALID_COMMAND_MSG);
+            return OperationMetrics.INVALID;
+        }
+
+        // Execute the matched command with the argument extracted while matching
+        ConsoleCommand matched = parsed.get().command();
+        matched.execute(parsed.get().argument(), output);
+        return matched.name();
+    }
+}
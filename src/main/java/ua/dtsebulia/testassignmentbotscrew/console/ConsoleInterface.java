@@ -2,29 +2,62 @@ package ua.dtsebulia.testassignmentbotscrew.console;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
-import ua.dtsebulia.testassignmentbotscrew.service.DepartmentService;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Scanner;
 
 /**
  * Console interface for interacting with department and lector information.
+ * Disabled with {@code console.enabled=false}, for example by the {@code server} profile,
+ * to run only the HTTP API.
  */
 @Component
+@ConditionalOnProperty(name = "console.enabled", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 public class ConsoleInterface implements CommandLineRunner {
 
-    private final DepartmentService departmentService;
+    private final CommandProcessor commandProcessor;
+    private final BatchCommandRunner batchCommandRunner;
 
     private static final String EXIT_COMMAND = "exit";
+    private static final String BATCH_OPTION = "batch";
+    private static final String STDIN = "-";
 
     /**
      * The main method for running the console interface.
+     * With {@code --batch=<file>}, or {@code --batch} to read piped stdin, the commands are run as a batch;
+     * otherwise an interactive session is started.
      *
      * @param args Command-line arguments.
+     * @throws IOException If the batch input cannot be read.
      */
     @Override
-    public void run(String... args) {
+    public void run(String... args) throws IOException {
+        DefaultApplicationArguments arguments = new DefaultApplicationArguments(args);
+
+        if (arguments.containsOption(BATCH_OPTION)) {
+            List<String> values = arguments.getOptionValues(BATCH_OPTION);
+            runBatch(values.isEmpty() ? STDIN : values.get(0));
+        } else {
+            runInteractive();
+        }
+    }
+
+    /**
+     * Run an interactive session, reading one command at a time from the console.
+     */
+    private void runInteractive() {
         // Create a scanner to read user input
         Scanner scanner = new Scanner(System.in);
         boolean exit = false;
@@ -40,90 +73,44 @@ public class ConsoleInterface implements CommandLineRunner {
                 // If the user enters 'exit', exit the loop and quit the program
                 exit = true;
             } else {
-                // Process the user-entered command
-                processCommand(command);
+                // Process the user-entered command, printing its output as it is produced
+                commandProcessor.execute(command, output -> {
+                    System.out.print(output);
+                    System.out.flush();
+                });
+                System.out.println();
             }
         }
     }
 
     /**
-     * Print the available commands to the console.
-     */
-    private void printAvailableCommands() {
-        System.out.println("Available Commands:");
-        System.out.println("1. Who is head of department {department_name}");
-        System.out.println("2. Show statistics for {department_name}");
-        System.out.println("3. Show the average salary for department {department_name}");
-        System.out.println("4. Show count of employee for {department_name}");
-        System.out.println("5. Global search by {template}");
-        System.out.println();
-    }
-
-    /**
-     * Process the user-entered command and execute the corresponding action.
+     * Run every command of a script as a batch and print the report to the error stream,
+     * so the standard output only contains command outputs.
      *
-     * @param command The user-entered command.
+     * @param source The path of the script, or '-' to read the standard input.
+     * @throws IOException If the script cannot be read.
      */
-    private void processCommand(String command) {
-        if (command.contains("Who is head of department")) {
-            // If the command is to find the head of a department
-            String departmentName = extractDepartmentName(command);
-            String result = departmentService.findHeadOfDepartment(departmentName);
-            System.out.println(result);
-        } else if (command.contains("Show statistics for")) {
-            // If the command is to show statistics for a department
-            String departmentName = extractDepartmentName(command);
-            String result = departmentService.getDepartmentStatistic(departmentName);
-            System.out.println(result);
-        } else if (command.contains("Show the average salary for department")) {
-            // If the command is to show the average salary for a department
-            String departmentName = extractDepartmentName(command);
-            String result = departmentService.getAverageSalaryForDepartment(departmentName);
-            System.out.println(result);
-        } else if (command.contains("Show count of employee for")) {
-            // If the command is to show the count of employees for a department
-            String departmentName = extractDepartmentName(command);
-            String result = departmentService.getEmployeeCount(departmentName);
-            System.out.println(result);
-        } else if (command.contains("Global search by")) {
-            // If the command is to perform a global search
-            String template = extractTemplate(command);
-            String result = departmentService.globalSearch(template);
-            System.out.println(result);
-        } else {
-            // If the command is not recognized, display an error message
-            System.out.println("Invalid command. Please try again.");
-        }
-    }
-
-    /**
-     * Extract the department name from the user-entered command.
-     *
-     * @param command The user-entered command.
-     * @return The department name extracted from the command.
-     */
-    private String extractDepartmentName(String command) {
-        int startIndex = command.indexOf("{");
-        int endIndex = command.indexOf("}");
+    private void runBatch(String source) throws IOException {
+        Reader reader = STDIN.equals(source)
+                ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : Files.newBufferedReader(Path.of(source), StandardCharsets.UTF_8);
 
-        if (startIndex != -1 && endIndex != -1) {
-            // Extract the department name from the command using curly braces
-            return command.substring(startIndex + 1, endIndex);
-        } else {
-            // Return an empty string if the department name is not found
-            return "";
+        try (BufferedReader input = new BufferedReader(reader)) {
+            OutputStreamWriter output = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+            BatchReport report = batchCommandRunner.run(input, output);
+            System.err.println(report.format());
         }
     }
 
     /**
-     * Extract the search template from the user-entered command.
-     *
-     * @param command The user-entered command.
-     * @return The search template extracted from the command.
+     * Print the available commands to the console.
      */
-    private String extractTemplate(String command) {
-        int startIndex = command.indexOf("by") + 3;
-        // Extract the search template from the command after 'by' keyword
-        return command.substring(startIndex).trim();
+    private void printAvailableCommands() {
+        System.out.println("Available Commands:");
+        List<String> usages = commandProcessor.usages();
+        for (int i = 0; i < usages.size(); i++) {
+            System.out.println((i + 1) + ". " + usages.get(i));
+        }
+        System.out.println();
     }
 }
@@ -0,0 +1,75 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.bulk.LectorBulkUpdateService;
+import ua.dtsebulia.testassignmentbotscrew.bulk.SalaryAdjustment;
+
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Command adjusting the salaries of a department's lectors, of the lectors holding a degree, or both,
+ * by a percentage or an amount.
+ */
+@Component
+@Order(13)
+@RequiredArgsConstructor
+public class AdjustSalariesCommand implements ConsoleCommand {
+
+    private static final Pattern ARGUMENTS = Pattern.compile(
+            "(?<adjustment>[^\\s{}]+)"
+                    + "(?:\\s+in\\s+department\\s*\\{(?<department>[^}]*)})?"
+                    + "(?:\\s+with\\s+degree\\s*\\{(?<degree>[^}]*)})?",
+            Pattern.CASE_INSENSITIVE);
+    private static final String USAGE =
+            "Adjust salaries by {amount}[%] [in department {department_name}] [with degree {degree_name}]";
+    private static final String INVALID_ARGUMENTS_MSG = "Invalid arguments. Usage: " + USAGE;
+
+    private final LectorBulkUpdateService bulkUpdateService;
+
+    @Override
+    public String phrase() {
+        return "Adjust salaries by";
+    }
+
+    @Override
+    public Argument argument() {
+        return Argument.TEXT;
+    }
+
+    @Override
+    public String name() {
+        return "adjust_salaries";
+    }
+
+    @Override
+    public String usage() {
+        return USAGE;
+    }
+
+    @Override
+    public boolean mutating() {
+        return true;
+    }
+
+    @Override
+    public void execute(String argument, Consumer<CharSequence> output) {
+        Matcher matcher = ARGUMENTS.matcher(argument);
+        if (!matcher.matches()) {
+            output.accept(INVALID_ARGUMENTS_MSG);
+            return;
+        }
+
+        // Report an invalid adjustment instead of ending the console session.
+        try {
+            SalaryAdjustment adjustment = SalaryAdjustment.parse(matcher.group("adjustment"));
+            output.accept(bulkUpdateService.adjustSalaries(adjustment, matcher.group("department"),
+                    matcher.group("degree")));
+        } catch (IllegalArgumentException e) {
+            output.accept(e.getMessage());
+        }
+    }
+}
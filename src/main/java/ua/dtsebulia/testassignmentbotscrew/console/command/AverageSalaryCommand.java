@@ -0,0 +1,44 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.service.DepartmentService;
+
+import java.util.function.Consumer;
+
+/**
+ * Command printing the average salary of a department's lectors.
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class AverageSalaryCommand implements ConsoleCommand {
+
+    private final DepartmentService departmentService;
+
+    @Override
+    public String phrase() {
+        return "Show the average salary for department";
+    }
+
+    @Override
+    public Argument argument() {
+        return Argument.BRACED;
+    }
+
+    @Override
+    public String name() {
+        return "average_salary";
+    }
+
+    @Override
+    public String usage() {
+        return "Show the average salary for department {department_name}";
+    }
+
+    @Override
+    public void execute(String departmentName, Consumer<CharSequence> output) {
+        output.accept(departmentService.getAverageSalaryForDepartment(departmentName));
+    }
+}
@@ -0,0 +1,201 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Table of console commands, matched by the phrase each command line starts with.
+ * <p>
+ * The phrases are precompiled into buckets indexed by their first character, each sorted from the longest
+ * phrase to the shortest. A line is matched by comparing it, ignoring case, with the phrases of a single bucket,
+ * and the argument is extracted from where the phrase ends, so the line is scanned once. A phrase only matches
+ * if it is followed by the end of the line, whitespace or an opening brace, and the longest matching phrase wins.
+ */
+public class CommandTable {
+
+    private static final int BUCKET_COUNT = 128;
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final Entry[][] buckets = new Entry[BUCKET_COUNT][];
+
+    /**
+     * Create the table.
+     *
+     * @param commands The commands to register.
+     * @throws IllegalStateException    If two commands have the same phrase.
+     * @throws IllegalArgumentException If a command has a blank phrase.
+     */
+    public CommandTable(List<? extends ConsoleCommand> commands) {
+        Arrays.fill(buckets, NO_ENTRIES);
+        commands.forEach(this::register);
+    }
+
+    /**
+     * Match a command line against the registered commands.
+     *
+     * @param line The command line.
+     * @return The matched command and its argument, or empty if no command matches.
+     */
+    public Optional<ParsedCommand> parse(String line) {
+        int length = line.length();
+
+        // Skip leading whitespace.
+        int start = skipWhitespace(line, 0);
+        if (start == length) {
+            return Optional.empty();
+        }
+
+        // Compare the line with the phrases sharing its first character, longest first.
+        for (Entry entry : buckets[bucketOf(line.charAt(start))]) {
+            int phraseEnd = start + entry.phrase.length();
+            if (matches(line, start, entry.phrase) && isBoundary(line, phraseEnd)) {
+                return extractArgument(entry, line, phraseEnd);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Add a command to the bucket of its first character.
+     *
+     * @param command The command to register.
+     */
+    private void register(ConsoleCommand command) {
+        String phrase = command.phrase();
+        if (phrase.isBlank() || Character.isWhitespace(phrase.charAt(0))) {
+            throw new IllegalArgumentException("Command '" + command.name() + "' must have a phrase that starts "
+                    + "with a non-whitespace character, was '" + phrase + "'.");
+        }
+
+        Entry[] bucket = buckets[bucketOf(phrase.charAt(0))];
+        for (Entry registered : bucket) {
+            if (registered.phrase.equalsIgnoreCase(phrase)) {
+                throw new IllegalStateException("Commands '" + registered.command.name() + "' and '"
+                        + command.name() + "' have the same phrase '" + phrase + "'.");
+            }
+        }
+
+        // Keep the bucket sorted from the longest phrase to the shortest, so the longest match wins.
+        Entry[] updated = Arrays.copyOf(bucket, bucket.length + 1);
+        updated[bucket.length] = new Entry(phrase, command.argument(), command);
+        Arrays.sort(updated, Comparator.comparingInt((Entry registered) -> registered.phrase.length()).reversed());
+        buckets[bucketOf(phrase.charAt(0))] = updated;
+    }
+
+    /**
+     * Extract the argument of a matched command from where its phrase ends.
+     *
+     * @param entry     The matched entry.
+     * @param line      The command line.
+     * @param phraseEnd The index where the phrase ends.
+     * @return The command and its argument, or empty if the command takes no argument but the line has one.
+     */
+    private static Optional<ParsedCommand> extractArgument(Entry entry, String line, int phraseEnd) {
+        return switch (entry.argument) {
+            case NONE -> skipWhitespace(line, phraseEnd) == line.length()
+                    ? Optional.of(new ParsedCommand(entry.command, ""))
+                    : Optional.empty();
+            case BRACED -> Optional.of(new ParsedCommand(entry.command, extractBraced(line, phraseEnd)));
+            case TEXT -> Optional.of(new ParsedCommand(entry.command, extractText(line, phraseEnd)));
+        };
+    }
+
+    /**
+     * Extract the rest of the line after the phrase, without surrounding whitespace.
+     * The bounds are trimmed before the text is copied, so it is copied once.
+     *
+     * @param line The command line.
+     * @param from The index where the phrase ends.
+     * @return The trimmed rest of the line.
+     */
+    private static String extractText(String line, int from) {
+        int start = skipWhitespace(line, from);
+        int end = line.length();
+        while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        return line.substring(start, end);
+    }
+
+    /**
+     * Find the first character that is not whitespace.
+     *
+     * @param line The command line.
+     * @param from The index to start at.
+     * @return The index of the first character that is not whitespace, or the length of the line.
+     */
+    private static int skipWhitespace(String line, int from) {
+        int index = from;
+        while (index < line.length() && Character.isWhitespace(line.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Extract the text between the first pair of curly braces after the phrase.
+     *
+     * @param line The command line.
+     * @param from The index where the phrase ends.
+     * @return The text between the braces, or an empty string if there are none.
+     */
+    private static String extractBraced(String line, int from) {
+        int startIndex = line.indexOf('{', from);
+        int endIndex = startIndex == -1 ? -1 : line.indexOf('}', startIndex + 1);
+        return endIndex == -1 ? "" : line.substring(startIndex + 1, endIndex);
+    }
+
+    /**
+     * Check whether the line continues with a phrase at an index, ignoring case.
+     * Lines are usually typed with the phrase's own case, so the exact comparison, which the JIT vectorizes,
+     * is tried before the character by character one.
+     *
+     * @param line   The command line.
+     * @param start  The index the phrase should start at.
+     * @param phrase The phrase.
+     * @return Whether the phrase is found at the index.
+     */
+    private static boolean matches(String line, int start, String phrase) {
+        return line.startsWith(phrase, start) || line.regionMatches(true, start, phrase, 0, phrase.length());
+    }
+
+    /**
+     * Check whether a phrase ending at an index is followed by a word boundary.
+     *
+     * @param line  The command line.
+     * @param index The index where the phrase ends.
+     * @return Whether the line ends at the index or continues with whitespace or an opening brace.
+     */
+    private static boolean isBoundary(String line, int index) {
+        if (index >= line.length()) {
+            return index == line.length();
+        }
+        char next = line.charAt(index);
+        return next == '{' || Character.isWhitespace(next);
+    }
+
+    /**
+     * Get the bucket of a phrase's first character. Characters differing only in case share a bucket;
+     * unrelated characters may share one too, since every candidate phrase is compared in full.
+     *
+     * @param c The first character.
+     * @return The index of the bucket.
+     */
+    private static int bucketOf(char c) {
+        // Setting bit 5 lower-cases ASCII letters; other characters are folded the way regionMatches folds them.
+        return c < BUCKET_COUNT ? c | 0x20 : Character.toLowerCase(Character.toUpperCase(c)) % BUCKET_COUNT;
+    }
+
+    /**
+     * Registered command, with its phrase and kind of argument read once,
+     * so matching does not call the command beans.
+     *
+     * @param phrase   The phrase of the command.
+     * @param argument The kind of argument.
+     * @param command  The command.
+     */
+    private record Entry(String phrase, ConsoleCommand.Argument argument, ConsoleCommand command) {
+    }
+}
@@ -0,0 +1,79 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import java.util.function.Consumer;
+
+/**
+ * Console command registered in the {@link CommandTable}.
+ * Every Spring bean implementing this interface is picked up by the console; the {@code @Order}
+ * of the beans is the order in which the commands are listed.
+ */
+public interface ConsoleCommand {
+
+    /**
+     * Get the phrase the command line starts with, for example "Who is head of department".
+     * Matched ignoring case.
+     *
+     * @return The phrase of the command.
+     */
+    String phrase();
+
+    /**
+     * Get the kind of argument following the phrase.
+     *
+     * @return The kind of argument.
+     */
+    Argument argument();
+
+    /**
+     * Get the name of the command, used to tag the command timer.
+     *
+     * @return The name of the command.
+     */
+    String name();
+
+    /**
+     * Get the usage of the command, listed by the interactive console.
+     *
+     * @return The usage of the command.
+     */
+    String usage();
+
+    /**
+     * Check whether the command changes data.
+     * A batch runs such commands alone, after every command before them and before any command after them.
+     *
+     * @return True if the command changes data; false by default.
+     */
+    default boolean mutating() {
+        return false;
+    }
+
+    /**
+     * Execute the command.
+     *
+     * @param argument The argument extracted from the command line, empty for commands without one.
+     * @param output   The consumer of the output.
+     */
+    void execute(String argument, Consumer<CharSequence> output);
+
+    /**
+     * Kind of argument following the phrase of a command.
+     */
+    enum Argument {
+
+        /**
+         * No argument; only whitespace may follow the phrase.
+         */
+        NONE,
+
+        /**
+         * A department name in curly braces, for example "{Mathematics}".
+         */
+        BRACED,
+
+        /**
+         * The rest of the line, trimmed.
+         */
+        TEXT
+    }
+}
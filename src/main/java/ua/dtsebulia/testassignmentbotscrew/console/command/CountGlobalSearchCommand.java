@@ -0,0 +1,45 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.service.DepartmentService;
+
+import java.util.function.Consumer;
+
+/**
+ * Command printing the number of global search results, without listing them.
+ */
+@Component
+@Order(6)
+@RequiredArgsConstructor
+public class CountGlobalSearchCommand implements ConsoleCommand {
+
+    private final DepartmentService departmentService;
+
+    @Override
+    public String phrase() {
+        return "Count global search by";
+    }
+
+    @Override
+    public Argument argument() {
+        return Argument.TEXT;
+    }
+
+    @Override
+    public String name() {
+        return "global_search_count";
+    }
+
+    @Override
+    public String usage() {
+        return "Count global search by {template}";
+    }
+
+    @Override
+    public void execute(String template, Consumer<CharSequence> output) {
+        long count = departmentService.countGlobalSearchResults(template).count();
+        output.accept("Global search by " + template + " found " + count + " results.");
+    }
+}
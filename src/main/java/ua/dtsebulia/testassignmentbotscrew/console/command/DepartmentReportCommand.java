@@ -0,0 +1,55 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.report.DepartmentReportService;
+import ua.dtsebulia.testassignmentbotscrew.report.ReportFormat;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Command printing the head, average salary and statistics of every department, as CSV or JSON.
+ */
+@Component
+@Order(10)
+@RequiredArgsConstructor
+public class DepartmentReportCommand implements ConsoleCommand {
+
+    private static final String UNKNOWN_FORMAT_MSG = "Unknown report format %s, use csv or json.";
+
+    private final DepartmentReportService departmentReportService;
+
+    @Override
+    public String phrase() {
+        return "Report all departments";
+    }
+
+    @Override
+    public Argument argument() {
+        return Argument.TEXT;
+    }
+
+    @Override
+    public String name() {
+        return "department_report";
+    }
+
+    @Override
+    public String usage() {
+        return "Report all departments [csv|json]";
+    }
+
+    @Override
+    public void execute(String argument, Consumer<CharSequence> output) {
+        Optional<ReportFormat> format = argument.isEmpty() ? Optional.of(ReportFormat.CSV) : ReportFormat.of(argument);
+        if (format.isEmpty()) {
+            output.accept(String.format(UNKNOWN_FORMAT_MSG, argument));
+            return;
+        }
+
+        // Print the rows as they are computed.
+        departmentReportService.writeReport(format.get(), output);
+    }
+}
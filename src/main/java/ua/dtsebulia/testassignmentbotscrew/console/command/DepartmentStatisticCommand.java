@@ -0,0 +1,44 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.service.DepartmentService;
+
+import java.util.function.Consumer;
+
+/**
+ * Command printing the number of lectors of a department by degree.
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class DepartmentStatisticCommand implements ConsoleCommand {
+
+    private final DepartmentService departmentService;
+
+    @Override
+    public String phrase() {
+        return "Show statistics for";
+    }
+
+    @Override
+    public Argument argument() {
+        return Argument.BRACED;
+    }
+
+    @Override
+    public String name() {
+        return "department_statistic";
+    }
+
+    @Override
+    public String usage() {
+        return "Show statistics for {department_name}";
+    }
+
+    @Override
+    public void execute(String departmentName, Consumer<CharSequence> output) {
+        output.accept(departmentService.getDepartmentStatistic(departmentName));
+    }
+}
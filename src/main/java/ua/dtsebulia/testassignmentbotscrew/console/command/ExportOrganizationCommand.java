@@ -0,0 +1,97 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.exchange.ExchangeFormat;
+import ua.dtsebulia.testassignmentbotscrew.exchange.ExchangeReport;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationExporter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Command exporting the organization to a file, as NDJSON or CSV.
+ */
+@Component
+@Order(15)
+@RequiredArgsConstructor
+public class ExportOrganizationCommand implements ConsoleCommand {
+
+    static final Pattern ARGUMENTS = Pattern.compile(
+            "\\{(?<file>[^}]+)}(?:\\s+as\\s+(?<format>\\w+))?", Pattern.CASE_INSENSITIVE);
+    private static final String USAGE = "Export organization to {file} [as csv|ndjson]";
+    private static final String INVALID_ARGUMENTS_MSG = "Invalid arguments. Usage: " + USAGE;
+
+    private final OrganizationExporter exporter;
+
+    @Override
+    public String phrase() {
+        return "Export organization to";
+    }
+
+    @Override
+    public Argument argument() {
+        return Argument.TEXT;
+    }
+
+    @Override
+    public String name() {
+        return "export_organization";
+    }
+
+    @Override
+    public String usage() {
+        return USAGE;
+    }
+
+    @Override
+    public void execute(String argument, Consumer<CharSequence> output) {
+        Matcher matcher = ARGUMENTS.matcher(argument);
+        if (!matcher.matches()) {
+            output.accept(INVALID_ARGUMENTS_MSG);
+            return;
+        }
+        Optional<ExchangeFormat> format = format(matcher);
+        if (format.isEmpty()) {
+            output.accept(INVALID_ARGUMENTS_MSG);
+            return;
+        }
+
+        // Report a failed write instead of ending the console session.
+        try (Writer writer = Files.newBufferedWriter(Path.of(matcher.group("file").trim()), StandardCharsets.UTF_8)) {
+            ExchangeReport report = exporter.export(format.get(), line -> {
+                try {
+                    writer.append(line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            output.accept(report.format());
+        } catch (IOException | InvalidPathException e) {
+            output.accept("Could not write " + matcher.group("file").trim() + ". " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            output.accept("Could not write " + matcher.group("file").trim() + ". " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Get the format named by the arguments, or guess it from the file name.
+     *
+     * @param matcher The matched arguments.
+     * @return The format, or an empty optional if the named format does not exist.
+     */
+    static Optional<ExchangeFormat> format(Matcher matcher) {
+        String name = matcher.group("format");
+        return name == null ? Optional.of(ExchangeFormat.ofFile(matcher.group("file").trim())) : ExchangeFormat.of(name);
+    }
+}
@@ -0,0 +1,155 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.service.DepartmentService;
+
+import java.util.function.Consumer;
+
+/**
+ * Command streaming one page of global search results, separated by commas.
+ * The template may end with 'limit N' and 'offset N' to select the page.
+ */
+@Component
+@Order(5)
+public class GlobalSearchCommand implements ConsoleCommand {
+
+    private static final String USAGE = "Global search by {template} [limit {n}] [offset {n}]";
+    private static final String OUT_OF_RANGE_MSG = "Invalid %s %s, it must be at most %d. Usage: " + USAGE;
+    private static final String MORE_RESULTS_MSG = "Showing results %d-%d. Add 'offset %d' to see more.";
+    private static final String LIMIT = "limit";
+    private static final String OFFSET = "offset";
+
+    private final DepartmentService departmentService;
+    private final int searchLimit;
+
+    /**
+     * Create the command.
+     *
+     * @param departmentService The department service.
+     * @param searchLimit       The number of results shown unless the command sets a limit.
+     */
+    public GlobalSearchCommand(DepartmentService departmentService,
+                               @Value("${console.search.limit:100}") int searchLimit) {
+        if (searchLimit < 1) {
+            throw new IllegalArgumentException("Search limit must be positive, was " + searchLimit + ".");
+        }
+        this.departmentService = departmentService;
+        this.searchLimit = searchLimit;
+    }
+
+    @Override
+    public String phrase() {
+        return "Global search by";
+    }
+
+    @Override
+    public Argument argument() {
+        return Argument.TEXT;
+    }
+
+    @Override
+    public String name() {
+        return "global_search";
+    }
+
+    @Override
+    public String usage() {
+        return USAGE;
+    }
+
+    @Override
+    public void execute(String argument, Consumer<CharSequence> output) {
+        int limit = -1;
+        int offset = -1;
+
+        // Strip the paging options from the end of the template, scanning backwards.
+        int end = argument.length();
+        while (true) {
+            int digitsStart = end;
+            while (digitsStart > 0 && isDigit(argument.charAt(digitsStart - 1))) {
+                digitsStart--;
+            }
+            int wordEnd = skipWhitespaceBackwards(argument, digitsStart);
+            if (digitsStart == end || wordEnd == digitsStart) {
+                break;
+            }
+
+            String option = argument.regionMatches(wordEnd - LIMIT.length(), LIMIT, 0, LIMIT.length()) ? LIMIT
+                    : argument.regionMatches(wordEnd - OFFSET.length(), OFFSET, 0, OFFSET.length()) ? OFFSET
+                    : null;
+            int wordStart = option == null ? -1 : wordEnd - option.length();
+            int templateEnd = option == null ? -1 : skipWhitespaceBackwards(argument, wordStart);
+            if (templateEnd == -1 || templateEnd == wordStart) {
+                break;
+            }
+
+            // Report a value too large for a page instead of ending the console session.
+            int value;
+            try {
+                value = Integer.parseInt(argument, digitsStart, end, 10);
+            } catch (NumberFormatException e) {
+                output.accept(String.format(OUT_OF_RANGE_MSG, option, argument.substring(digitsStart, end),
+                        Integer.MAX_VALUE));
+                return;
+            }
+
+            // The option closest to the end wins if it is repeated.
+            if (option.equals(LIMIT) && limit == -1) {
+                limit = value;
+            } else if (option.equals(OFFSET) && offset == -1) {
+                offset = value;
+            }
+            end = templateEnd;
+        }
+
+        String template = argument.substring(0, end);
+        search(template, offset == -1 ? 0 : offset, limit == -1 ? searchLimit : limit, output);
+    }
+
+    /**
+     * Stream one page of results, followed by a hint for the next page if there are more.
+     *
+     * @param template The search template.
+     * @param offset   The number of results to skip.
+     * @param limit    The maximum number of results to show.
+     * @param output   The consumer of the output.
+     */
+    private void search(String template, int offset, int limit, Consumer<CharSequence> output) {
+        int[] shown = {0};
+        boolean hasMore = departmentService.globalSearch(template, offset, limit, name -> {
+            output.accept(shown[0]++ == 0 ? name : "," + name);
+        });
+
+        // Tell the user how to get the next page.
+        if (hasMore && shown[0] > 0) {
+            long end = (long) offset + shown[0];
+            output.accept(System.lineSeparator() + String.format(MORE_RESULTS_MSG, offset + 1, end, end));
+        }
+    }
+
+    /**
+     * Find where a run of whitespace ending at an index starts.
+     *
+     * @param text  The text.
+     * @param index The index the whitespace ends at.
+     * @return The index of the first whitespace character of the run, or the index itself if there is none.
+     */
+    private static int skipWhitespaceBackwards(String text, int index) {
+        while (index > 0 && Character.isWhitespace(text.charAt(index - 1))) {
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * Check whether a character is an ASCII digit.
+     *
+     * @param c The character.
+     * @return Whether the character is a digit.
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
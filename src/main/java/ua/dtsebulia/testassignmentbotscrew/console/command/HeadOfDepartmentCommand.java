@@ -0,0 +1,44 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.service.DepartmentService;
+
+import java.util.function.Consumer;
+
+/**
+ * Command printing the head of a department.
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class HeadOfDepartmentCommand implements ConsoleCommand {
+
+    private final DepartmentService departmentService;
+
+    @Override
+    public String phrase() {
+        return "Who is head of department";
+    }
+
+    @Override
+    public Argument argument() {
+        return Argument.BRACED;
+    }
+
+    @Override
+    public String name() {
+        return "head_of_department";
+    }
+
+    @Override
+    public String usage() {
+        return "Who is head of department {department_name}";
+    }
+
+    @Override
+    public void execute(String departmentName, Consumer<CharSequence> output) {
+        output.accept(departmentService.findHeadOfDepartment(departmentName));
+    }
+}
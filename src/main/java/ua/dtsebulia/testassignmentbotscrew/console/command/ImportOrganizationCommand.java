@@ -0,0 +1,83 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.exchange.ExchangeFormat;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationImporter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+
+/**
+ * Command importing an organization export from a file, printing the progress of large files as it goes.
+ */
+@Component
+@Order(16)
+@RequiredArgsConstructor
+public class ImportOrganizationCommand implements ConsoleCommand {
+
+    private static final String USAGE = "Import organization from {file} [as csv|ndjson]";
+    private static final String INVALID_ARGUMENTS_MSG = "Invalid arguments. Usage: " + USAGE;
+
+    private final OrganizationImporter importer;
+
+    @Override
+    public String phrase() {
+        return "Import organization from";
+    }
+
+    @Override
+    public Argument argument() {
+        return Argument.TEXT;
+    }
+
+    @Override
+    public String name() {
+        return "import_organization";
+    }
+
+    @Override
+    public String usage() {
+        return USAGE;
+    }
+
+    @Override
+    public boolean mutating() {
+        return true;
+    }
+
+    @Override
+    public void execute(String argument, Consumer<CharSequence> output) {
+        Matcher matcher = ExportOrganizationCommand.ARGUMENTS.matcher(argument);
+        if (!matcher.matches()) {
+            output.accept(INVALID_ARGUMENTS_MSG);
+            return;
+        }
+        Optional<ExchangeFormat> format = ExportOrganizationCommand.format(matcher);
+        if (format.isEmpty()) {
+            output.accept(INVALID_ARGUMENTS_MSG);
+            return;
+        }
+
+        // Report a missing file or an invalid record instead of ending the console session.
+        String file = matcher.group("file").trim();
+        try (InputStream input = Files.newInputStream(Path.of(file))) {
+            output.accept(importer.importFrom(format.get(), input, Files.size(Path.of(file)), output::accept)
+                    .format());
+        } catch (IOException | InvalidPathException e) {
+            output.accept("Could not read " + file + ". " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            output.accept("Could not read " + file + ". " + e.getCause().getMessage());
+        } catch (IllegalArgumentException e) {
+            output.accept(e.getMessage());
+        }
+    }
+}
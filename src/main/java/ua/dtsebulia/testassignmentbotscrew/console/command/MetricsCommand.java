@@ -0,0 +1,44 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.metrics.MetricsReport;
+
+import java.util.function.Consumer;
+
+/**
+ * Command printing the application metrics.
+ */
+@Component
+@Order(7)
+@RequiredArgsConstructor
+public class MetricsCommand implements ConsoleCommand {
+
+    private final MetricsReport metricsReport;
+
+    @Override
+    public String phrase() {
+        return "metrics";
+    }
+
+    @Override
+    public Argument argument() {
+        return Argument.NONE;
+    }
+
+    @Override
+    public String name() {
+        return "metrics";
+    }
+
+    @Override
+    public String usage() {
+        return "metrics";
+    }
+
+    @Override
+    public void execute(String argument, Consumer<CharSequence> output) {
+        output.accept(metricsReport.format());
+    }
+}
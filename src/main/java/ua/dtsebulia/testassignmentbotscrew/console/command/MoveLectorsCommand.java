@@ -0,0 +1,71 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.bulk.LectorBulkUpdateService;
+
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Command moving the lectors of a department, or only those holding a degree, to another department.
+ */
+@Component
+@Order(14)
+@RequiredArgsConstructor
+public class MoveLectorsCommand implements ConsoleCommand {
+
+    private static final Pattern ARGUMENTS = Pattern.compile(
+            "\\{(?<from>[^}]*)}\\s*to\\s*\\{(?<to>[^}]*)}"
+                    + "(?:\\s+with\\s+degree\\s*\\{(?<degree>[^}]*)})?",
+            Pattern.CASE_INSENSITIVE);
+    private static final String USAGE =
+            "Move lectors from {department_name} to {department_name} [with degree {degree_name}]";
+    private static final String INVALID_ARGUMENTS_MSG = "Invalid arguments. Usage: " + USAGE;
+
+    private final LectorBulkUpdateService bulkUpdateService;
+
+    @Override
+    public String phrase() {
+        return "Move lectors from";
+    }
+
+    @Override
+    public Argument argument() {
+        return Argument.TEXT;
+    }
+
+    @Override
+    public String name() {
+        return "move_lectors";
+    }
+
+    @Override
+    public String usage() {
+        return USAGE;
+    }
+
+    @Override
+    public boolean mutating() {
+        return true;
+    }
+
+    @Override
+    public void execute(String argument, Consumer<CharSequence> output) {
+        Matcher matcher = ARGUMENTS.matcher(argument);
+        if (!matcher.matches()) {
+            output.accept(INVALID_ARGUMENTS_MSG);
+            return;
+        }
+
+        // Report a move to the same department instead of ending the console session.
+        try {
+            output.accept(bulkUpdateService.moveLectors(matcher.group("from"), matcher.group("to"),
+                    matcher.group("degree")));
+        } catch (IllegalArgumentException e) {
+            output.accept(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.service.DepartmentService;
+
+import java.util.function.Consumer;
+
+/**
+ * Command printing the salary distribution of the lectors of all departments.
+ */
+@Component
+@Order(12)
+@RequiredArgsConstructor
+public class OrganizationSalaryDistributionCommand implements ConsoleCommand {
+
+    private final DepartmentService departmentService;
+
+    @Override
+    public String phrase() {
+        return "Show salary distribution";
+    }
+
+    @Override
+    public Argument argument() {
+        return Argument.NONE;
+    }
+
+    @Override
+    public String name() {
+        return "organization_salary_distribution";
+    }
+
+    @Override
+    public String usage() {
+        return "Show salary distribution";
+    }
+
+    @Override
+    public void execute(String argument, Consumer<CharSequence> output) {
+        output.accept(departmentService.getOrganizationSalaryDistribution());
+    }
+}
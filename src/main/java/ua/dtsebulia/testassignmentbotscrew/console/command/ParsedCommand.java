@@ -0,0 +1,10 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+/**
+ * Command line matched by the {@link CommandTable}.
+ *
+ * @param command  The matched command.
+ * @param argument The argument extracted from the command line, empty for commands without one.
+ */
+public record ParsedCommand(ConsoleCommand command, String argument) {
+}
@@ -0,0 +1,44 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.service.DepartmentService;
+
+import java.util.function.Consumer;
+
+/**
+ * Command printing the salary distribution of a department's lectors.
+ */
+@Component
+@Order(11)
+@RequiredArgsConstructor
+public class SalaryDistributionCommand implements ConsoleCommand {
+
+    private final DepartmentService departmentService;
+
+    @Override
+    public String phrase() {
+        return "Show salary distribution for department";
+    }
+
+    @Override
+    public Argument argument() {
+        return Argument.BRACED;
+    }
+
+    @Override
+    public String name() {
+        return "salary_distribution";
+    }
+
+    @Override
+    public String usage() {
+        return "Show salary distribution for department {department_name}";
+    }
+
+    @Override
+    public void execute(String departmentName, Consumer<CharSequence> output) {
+        output.accept(departmentService.getSalaryDistribution(departmentName));
+    }
+}
@@ -0,0 +1,54 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.snapshot.OrganizationSnapshot;
+import ua.dtsebulia.testassignmentbotscrew.snapshot.OrganizationSnapshotEngine;
+
+import java.util.function.Consumer;
+
+/**
+ * Command printing the size and age of the organization snapshot. Available when the snapshot engine is enabled.
+ */
+@Component
+@Order(8)
+@ConditionalOnProperty(name = "snapshot.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class SnapshotCommand implements ConsoleCommand {
+
+    private final OrganizationSnapshotEngine snapshotEngine;
+
+    @Override
+    public String phrase() {
+        return "snapshot";
+    }
+
+    @Override
+    public Argument argument() {
+        return Argument.NONE;
+    }
+
+    @Override
+    public String name() {
+        return "snapshot";
+    }
+
+    @Override
+    public String usage() {
+        return "snapshot";
+    }
+
+    @Override
+    public void execute(String argument, Consumer<CharSequence> output) {
+        OrganizationSnapshot snapshot = snapshotEngine.snapshot();
+        if (snapshotEngine.isOpenedFromFile()) {
+            output.accept(snapshot.footprint().format() + " Built at " + snapshot.builtAt() + ", opened from "
+                    + snapshotEngine.snapshotStore().file() + " until the database load completes.");
+            return;
+        }
+        output.accept(snapshot.footprint().format() + " Built at " + snapshot.builtAt() + " in "
+                + snapshotEngine.lastRefreshNanos() / 1_000_000 + " ms.");
+    }
+}
@@ -0,0 +1,60 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.snapshot.OrganizationSnapshotEngine;
+
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Command saving the organization snapshot to the snapshot file. Available when the snapshot engine is enabled.
+ */
+@Component
+@Order(9)
+@ConditionalOnProperty(name = "snapshot.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class SnapshotSaveCommand implements ConsoleCommand {
+
+    private static final String NO_FILE_MSG = "Set snapshot.file to save snapshots.";
+
+    private final OrganizationSnapshotEngine snapshotEngine;
+
+    @Override
+    public String phrase() {
+        return "snapshot save";
+    }
+
+    @Override
+    public Argument argument() {
+        return Argument.NONE;
+    }
+
+    @Override
+    public String name() {
+        return "snapshot_save";
+    }
+
+    @Override
+    public String usage() {
+        return "snapshot save";
+    }
+
+    @Override
+    public void execute(String argument, Consumer<CharSequence> output) {
+        if (!snapshotEngine.snapshotStore().isEnabled()) {
+            output.accept(NO_FILE_MSG);
+            return;
+        }
+
+        // Report a failed write instead of ending the console session.
+        try {
+            long size = snapshotEngine.save();
+            output.accept("Snapshot saved to " + snapshotEngine.snapshotStore().file() + ", " + size + " bytes.");
+        } catch (UncheckedIOException e) {
+            output.accept(e.getMessage() + " " + e.getCause().getMessage());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ua.dtsebulia.testassignmentbotscrew.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ua.dtsebulia.testassignmentbotscrew.dto.ErrorDto;
+
+/**
+ * Translates exceptions thrown by the HTTP API into JSON error responses.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * Respond with 404 when a department does not exist.
+     *
+     * @param exception The exception.
+     * @return The error.
+     */
+    @ExceptionHandler(DepartmentNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ErrorDto handleDepartmentNotFound(DepartmentNotFoundException exception) {
+        return new ErrorDto(exception.getMessage());
+    }
+
+    /**
+     * Respond with 400 when a request parameter is out of range.
+     *
+     * @param exception The exception.
+     * @return The error.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorDto handleIllegalArgument(IllegalArgumentException exception) {
+        return new ErrorDto(exception.getMessage());
+    }
+}
@@ -0,0 +1,169 @@
+package ua.dtsebulia.testassignmentbotscrew.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ua.dtsebulia.testassignmentbotscrew.dto.AverageSalaryDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.DepartmentStatisticDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.EmployeeCountDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.GlobalSearchCountDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.GlobalSearchPageDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.HeadOfDepartmentDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.SalaryDistributionDto;
+import ua.dtsebulia.testassignmentbotscrew.report.DepartmentReportService;
+import ua.dtsebulia.testassignmentbotscrew.report.ReportFormat;
+import ua.dtsebulia.testassignmentbotscrew.service.DepartmentService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HTTP API exposing the department queries of the console as JSON.
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class DepartmentController {
+
+    private static final int MAX_SEARCH_LIMIT = 1000;
+
+    private final DepartmentService departmentService;
+    private final DepartmentReportService departmentReportService;
+
+    /**
+     * Retrieve the head of a department.
+     *
+     * @param departmentName The name of the department.
+     * @return The head of the department.
+     */
+    @GetMapping("/departments/{departmentName}/head")
+    public HeadOfDepartmentDto getHeadOfDepartment(@PathVariable String departmentName) {
+        return departmentService.getHeadOfDepartment(departmentName)
+                .orElseThrow(() -> new DepartmentNotFoundException(departmentName));
+    }
+
+    /**
+     * Retrieve the count of lectors by degree for a department.
+     *
+     * @param departmentName The name of the department.
+     * @return The statistics of the department.
+     */
+    @GetMapping("/departments/{departmentName}/statistics")
+    public DepartmentStatisticDto getDepartmentStatistic(@PathVariable String departmentName) {
+        return departmentService.getDepartmentStatisticDetails(departmentName)
+                .orElseThrow(() -> new DepartmentNotFoundException(departmentName));
+    }
+
+    /**
+     * Retrieve the average salary of a department.
+     *
+     * @param departmentName The name of the department.
+     * @return The average salary of the department.
+     */
+    @GetMapping("/departments/{departmentName}/average-salary")
+    public AverageSalaryDto getAverageSalary(@PathVariable String departmentName) {
+        return departmentService.getAverageSalary(departmentName)
+                .orElseThrow(() -> new DepartmentNotFoundException(departmentName));
+    }
+
+    /**
+     * Retrieve the count of employees of a department.
+     *
+     * @param departmentName The name of the department.
+     * @return The count of employees of the department.
+     */
+    @GetMapping("/departments/{departmentName}/employee-count")
+    public EmployeeCountDto getEmployeeCount(@PathVariable String departmentName) {
+        return departmentService.getEmployeeCountDetails(departmentName)
+                .orElseThrow(() -> new DepartmentNotFoundException(departmentName));
+    }
+
+    /**
+     * Retrieve the salary distribution of a department.
+     *
+     * @param departmentName The name of the department.
+     * @return The lowest, median, 90th percentile, 99th percentile and highest salary of the department.
+     */
+    @GetMapping("/departments/{departmentName}/salary-distribution")
+    public SalaryDistributionDto getSalaryDistribution(@PathVariable String departmentName) {
+        return departmentService.getSalaryDistributionDetails(departmentName)
+                .orElseThrow(() -> new DepartmentNotFoundException(departmentName));
+    }
+
+    /**
+     * Retrieve the salary distribution of all departments.
+     *
+     * @return The lowest, median, 90th percentile, 99th percentile and highest salary of all departments.
+     */
+    @GetMapping("/departments/salary-distribution")
+    public SalaryDistributionDto getOrganizationSalaryDistribution() {
+        return departmentService.getOrganizationSalaryDistributionDetails();
+    }
+
+    /**
+     * Retrieve the head, average salary and statistics of every department.
+     * The report is streamed as its rows are computed.
+     *
+     * @param format The format of the report, csv or json.
+     * @return The report, in department name order.
+     */
+    @GetMapping("/departments/report")
+    public ResponseEntity<StreamingResponseBody> getReport(@RequestParam(defaultValue = "json") String format) {
+        ReportFormat reportFormat = ReportFormat.of(format)
+                .orElseThrow(() -> new IllegalArgumentException("Format must be csv or json."));
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            departmentReportService.writeReport(reportFormat, piece -> {
+                try {
+                    writer.append(piece);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(reportFormat.mediaType())).body(body);
+    }
+
+    /**
+     * Search for one page of departments and lectors by a template.
+     * The search stops as soon as the page is full.
+     *
+     * @param template The template.
+     * @param offset   The number of results to skip.
+     * @param limit    The maximum number of results, at most {@value #MAX_SEARCH_LIMIT}.
+     * @return The page of matching department names, followed by the matching lector names.
+     */
+    @GetMapping("/search")
+    public GlobalSearchPageDto search(@RequestParam String template,
+                                      @RequestParam(defaultValue = "0") int offset,
+                                      @RequestParam(defaultValue = "100") int limit) {
+        if (offset < 0 || limit < 0 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException(
+                    "Offset must not be negative and limit must be between 0 and " + MAX_SEARCH_LIMIT + ".");
+        }
+        return departmentService.searchPage(template, offset, limit);
+    }
+
+    /**
+     * Count the departments and lectors matching a template.
+     *
+     * @param template The template.
+     * @return The number of matching names.
+     */
+    @GetMapping("/search/count")
+    public GlobalSearchCountDto countSearchResults(@RequestParam String template) {
+        return departmentService.countGlobalSearchResults(template);
+    }
+}
@@ -0,0 +1,16 @@
+package ua.dtsebulia.testassignmentbotscrew.controller;
+
+/**
+ * Thrown when a requested department does not exist.
+ */
+public class DepartmentNotFoundException extends RuntimeException {
+
+    /**
+     * Create the exception for a department name.
+     *
+     * @param departmentName The name of the missing department.
+     */
+    public DepartmentNotFoundException(String departmentName) {
+        super("Department with name " + departmentName + " not found.");
+    }
+}
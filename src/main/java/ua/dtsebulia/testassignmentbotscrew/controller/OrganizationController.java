@@ -0,0 +1,87 @@
+package ua.dtsebulia.testassignmentbotscrew.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ua.dtsebulia.testassignmentbotscrew.exchange.ExchangeFormat;
+import ua.dtsebulia.testassignmentbotscrew.exchange.ExchangeReport;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationExporter;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationImporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HTTP API exporting and importing the whole organization as NDJSON or CSV.
+ */
+@RestController
+@RequestMapping("/api/organization")
+@RequiredArgsConstructor
+public class OrganizationController {
+
+    private final OrganizationExporter organizationExporter;
+    private final OrganizationImporter organizationImporter;
+
+    /**
+     * Export the organization, streaming each record as soon as it is read.
+     *
+     * @param format The format, "ndjson" or "csv".
+     * @return The export.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        ExchangeFormat exchangeFormat = format(format);
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            organizationExporter.export(exchangeFormat, line -> {
+                try {
+                    writer.append(line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(exchangeFormat.mediaType())).body(body);
+    }
+
+    /**
+     * Import an export sent as the request body, reading it as it arrives. Progress is logged.
+     *
+     * @param format  The format, "ndjson" or "csv".
+     * @param request The request whose body is the export.
+     * @return The summary of the import.
+     * @throws IOException If the body cannot be read.
+     */
+    @PostMapping("/import")
+    public ExchangeReport importOrganization(@RequestParam(defaultValue = "ndjson") String format,
+                                            HttpServletRequest request) throws IOException {
+        return organizationImporter.importFrom(format(format), request.getInputStream(),
+                request.getContentLengthLong(), message -> {
+                });
+    }
+
+    /**
+     * Find a format by its name.
+     *
+     * @param format The name of the format.
+     * @return The format.
+     * @throws IllegalArgumentException If there is no format with the name.
+     */
+    private static ExchangeFormat format(String format) {
+        return ExchangeFormat.of(format)
+                .orElseThrow(() -> new IllegalArgumentException("Format must be csv or ndjson."));
+    }
+}
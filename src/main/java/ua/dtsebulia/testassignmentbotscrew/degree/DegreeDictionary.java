@@ -0,0 +1,251 @@
+package ua.dtsebulia.testassignmentbotscrew.degree;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ua.dtsebulia.testassignmentbotscrew.config.StartupPreload;
+import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
+import ua.dtsebulia.testassignmentbotscrew.event.BulkDataChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.DegreeChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.EntityChangeType;
+import ua.dtsebulia.testassignmentbotscrew.repository.DegreeRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory dictionary that maps degree ids to dense ordinals.
+ * <p>
+ * Ordinals are handed out in id order when the dictionary is loaded, and new degrees are appended,
+ * so an ordinal never changes once assigned. That makes ordinals safe to use as indexes into
+ * per-degree counter arrays, and gives degrees a stable output order. Removed degrees keep their
+ * ordinal but are no longer listed.
+ */
+@Component
+@RequiredArgsConstructor
+public class DegreeDictionary {
+
+    /**
+     * Ordinal returned for a missing degree.
+     */
+    public static final int NO_DEGREE = -1;
+
+    private final DegreeRepository degreeRepository;
+
+    private volatile Entries entries = Entries.EMPTY;
+    private volatile boolean loaded;
+
+    /**
+     * Load the dictionary as soon as the application context is ready, unless preloading is disabled, see
+     * {@link StartupPreload}.
+     */
+    @EventListener(value = ContextRefreshedEvent.class, condition = StartupPreload.ENABLED)
+    public void onContextRefreshed() {
+        refresh();
+    }
+
+    /**
+     * Reload the dictionary after a bulk change that did not publish entity events.
+     * Runs before the other listeners, so they see the new degrees when they rebuild.
+     *
+     * @param event The bulk change event.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onBulkDataChanged(BulkDataChangedEvent event) {
+        refresh();
+    }
+
+    /**
+     * Load degrees that are not in the dictionary yet and apply renames and removals.
+     * Degrees already in the dictionary keep their ordinals.
+     */
+    public void refresh() {
+        List<Degree> degrees = degreeRepository.findAllByOrderByIdAsc();
+
+        synchronized (this) {
+            Entries updated = entries.copy();
+            Set<Integer> present = new HashSet<>();
+            degrees.forEach(degree -> {
+                present.add(degree.getId());
+                updated.put(degree.getId(), degree.getName());
+            });
+            updated.ordinals.forEach((id, ordinal) -> updated.removed[ordinal] = !present.contains(id));
+
+            entries = updated;
+            loaded = true;
+        }
+    }
+
+    /**
+     * Get the ordinal of a degree, registering it if it is not in the dictionary yet.
+     * A known degree is resolved by its id alone, which does not initialize a lazy proxy, so no SQL is issued;
+     * the name is only read to register an unknown degree.
+     *
+     * @param degree The degree, may be null.
+     * @return The ordinal, or {@link #NO_DEGREE} if the degree is null or has no id.
+     */
+    public int ordinalOf(Degree degree) {
+        if (degree == null || degree.getId() == null) {
+            return NO_DEGREE;
+        }
+
+        ensureLoaded();
+        Integer ordinal = entries.ordinals.get(degree.getId());
+        return ordinal != null ? ordinal : ordinalOf(degree.getId(), degree.getName());
+    }
+
+    /**
+     * Get the ordinal of a degree, registering it if it is not in the dictionary yet.
+     *
+     * @param degreeId   The id of the degree, may be null.
+     * @param degreeName The name of the degree, used when registering it.
+     * @return The ordinal, or {@link #NO_DEGREE} if the id is null.
+     */
+    public int ordinalOf(Integer degreeId, String degreeName) {
+        if (degreeId == null) {
+            return NO_DEGREE;
+        }
+
+        ensureLoaded();
+        Integer ordinal = entries.ordinals.get(degreeId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+
+        synchronized (this) {
+            ordinal = entries.ordinals.get(degreeId);
+            if (ordinal == null) {
+                Entries updated = entries.copy();
+                ordinal = updated.put(degreeId, degreeName);
+                entries = updated;
+            }
+            return ordinal;
+        }
+    }
+
+    /**
+     * Get the number of ordinals handed out so far, including removed degrees.
+     *
+     * @return The size of a counter array indexed by ordinal.
+     */
+    public int size() {
+        ensureLoaded();
+        return entries.names.size();
+    }
+
+    /**
+     * Get the degrees in ordinal order, skipping removed ones.
+     *
+     * @return The current degrees in a stable order.
+     */
+    public List<DegreeEntry> degrees() {
+        ensureLoaded();
+        Entries current = entries;
+
+        List<DegreeEntry> degrees = new ArrayList<>();
+        for (int ordinal = 0; ordinal < current.names.size(); ordinal++) {
+            if (!current.removed[ordinal]) {
+                degrees.add(new DegreeEntry(ordinal, current.names.get(ordinal)));
+            }
+        }
+        return degrees;
+    }
+
+    /**
+     * Keep the dictionary in step with degree changes, once they have been committed.
+     * Changes made outside a transaction are applied immediately.
+     *
+     * @param event The degree change event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDegreeChanged(DegreeChangedEvent event) {
+        Degree degree = event.degree();
+        if (!loaded || degree.getId() == null) {
+            return;
+        }
+
+        synchronized (this) {
+            Entries updated = entries.copy();
+            int ordinal = updated.put(degree.getId(), degree.getName());
+            updated.removed[ordinal] = event.type() == EntityChangeType.REMOVED;
+            entries = updated;
+        }
+    }
+
+    /**
+     * Load the dictionary from the repository if it has not been loaded yet.
+     */
+    private void ensureLoaded() {
+        if (!loaded) {
+            refresh();
+        }
+    }
+
+    /**
+     * Degree listed by the dictionary.
+     *
+     * @param ordinal The ordinal of the degree.
+     * @param name    The name of the degree.
+     */
+    public record DegreeEntry(int ordinal, String name) {
+    }
+
+    /**
+     * Copy-on-write contents of the dictionary.
+     * Readers always see a complete, immutable version.
+     */
+    private static final class Entries {
+
+        private static final Entries EMPTY = new Entries(new HashMap<>(), new ArrayList<>(), new boolean[0]);
+
+        private final Map<Integer, Integer> ordinals;
+        private final List<String> names;
+        private boolean[] removed;
+
+        private Entries(Map<Integer, Integer> ordinals, List<String> names, boolean[] removed) {
+            this.ordinals = ordinals;
+            this.names = names;
+            this.removed = removed;
+        }
+
+        /**
+         * Copy the contents, so the copy can be modified before it is published.
+         *
+         * @return The copy.
+         */
+        private Entries copy() {
+            return new Entries(new HashMap<>(ordinals), new ArrayList<>(names), removed.clone());
+        }
+
+        /**
+         * Add a degree, or rename it if it is already present.
+         *
+         * @param degreeId   The id of the degree.
+         * @param degreeName The name of the degree.
+         * @return The ordinal of the degree.
+         */
+        private int put(Integer degreeId, String degreeName) {
+            Integer ordinal = ordinals.get(degreeId);
+            if (ordinal != null) {
+                names.set(ordinal, degreeName);
+                return ordinal;
+            }
+
+            ordinal = names.size();
+            ordinals.put(degreeId, ordinal);
+            names.add(degreeName);
+            removed = Arrays.copyOf(removed, names.size());
+            return ordinal;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package ua.dtsebulia.testassignmentbotscrew.dto;
+
+/**
+ * Average salary of a department's lectors.
+ *
+ * @param departmentName The name of the department.
+ * @param lectorCount    The number of lectors in the department.
+ * @param averageSalary  The average salary, counting missing salaries as 0, or null if the department has no lectors.
+ */
+public record AverageSalaryDto(String departmentName, long lectorCount, Double averageSalary) {
+}
@@ -0,0 +1,10 @@
+package ua.dtsebulia.testassignmentbotscrew.dto;
+
+/**
+ * Number of lectors of a department holding a degree.
+ *
+ * @param degree      The name of the degree.
+ * @param lectorCount The number of lectors holding the degree.
+ */
+public record DegreeCountDto(String degree, long lectorCount) {
+}
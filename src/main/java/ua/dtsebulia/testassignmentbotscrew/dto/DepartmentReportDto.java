@@ -0,0 +1,16 @@
+package ua.dtsebulia.testassignmentbotscrew.dto;
+
+import java.util.List;
+
+/**
+ * Row of the all departments report: the head, average salary and statistics of a department.
+ *
+ * @param departmentName   The name of the department.
+ * @param headOfDepartment The full name of the head, or null if no head is assigned.
+ * @param lectorCount      The number of lectors in the department.
+ * @param averageSalary    The average salary, counting missing salaries as 0, or null if the department has no lectors.
+ * @param degrees          The number of lectors by degree, for every known degree in a stable order.
+ */
+public record DepartmentReportDto(String departmentName, String headOfDepartment, long lectorCount,
+                                  Double averageSalary, List<DegreeCountDto> degrees) {
+}
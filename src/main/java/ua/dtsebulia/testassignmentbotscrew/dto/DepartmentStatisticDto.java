@@ -0,0 +1,13 @@
+package ua.dtsebulia.testassignmentbotscrew.dto;
+
+import java.util.List;
+
+/**
+ * Statistics of a department's lectors.
+ *
+ * @param departmentName The name of the department.
+ * @param lectorCount    The number of lectors in the department.
+ * @param degrees        The number of lectors by degree, for every known degree in a stable order.
+ */
+public record DepartmentStatisticDto(String departmentName, long lectorCount, List<DegreeCountDto> degrees) {
+}
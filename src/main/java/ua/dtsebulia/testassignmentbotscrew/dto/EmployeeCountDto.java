@@ -0,0 +1,10 @@
+package ua.dtsebulia.testassignmentbotscrew.dto;
+
+/**
+ * Number of employees of a department.
+ *
+ * @param departmentName The name of the department.
+ * @param employeeCount  The number of lectors in the department.
+ */
+public record EmployeeCountDto(String departmentName, long employeeCount) {
+}
@@ -0,0 +1,9 @@
+package ua.dtsebulia.testassignmentbotscrew.dto;
+
+/**
+ * Error returned by the HTTP API.
+ *
+ * @param message The description of the error.
+ */
+public record ErrorDto(String message) {
+}
@@ -0,0 +1,10 @@
+package ua.dtsebulia.testassignmentbotscrew.dto;
+
+/**
+ * Number of global search results.
+ *
+ * @param template The template searched for.
+ * @param count    The number of matching department and lector names.
+ */
+public record GlobalSearchCountDto(String template, long count) {
+}
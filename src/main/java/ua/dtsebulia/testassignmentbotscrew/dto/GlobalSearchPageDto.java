@@ -0,0 +1,15 @@
+package ua.dtsebulia.testassignmentbotscrew.dto;
+
+import java.util.List;
+
+/**
+ * One page of global search results.
+ *
+ * @param template The template searched for.
+ * @param offset   The number of results skipped.
+ * @param limit    The maximum number of results on the page.
+ * @param results  The matching department names, followed by the matching lector names.
+ * @param hasMore  Whether there are more results after this page.
+ */
+public record GlobalSearchPageDto(String template, int offset, int limit, List<String> results, boolean hasMore) {
+}
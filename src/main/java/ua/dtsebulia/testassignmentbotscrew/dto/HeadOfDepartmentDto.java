@@ -0,0 +1,10 @@
+package ua.dtsebulia.testassignmentbotscrew.dto;
+
+/**
+ * Head of a department.
+ *
+ * @param departmentName   The name of the department.
+ * @param headOfDepartment The full name of the head of the department, or null if the head is not assigned.
+ */
+public record HeadOfDepartmentDto(String departmentName, String headOfDepartment) {
+}
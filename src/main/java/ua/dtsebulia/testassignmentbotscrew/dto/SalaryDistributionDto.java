@@ -0,0 +1,17 @@
+package ua.dtsebulia.testassignmentbotscrew.dto;
+
+/**
+ * Distribution of the salaries of a department's lectors, or of all departments.
+ * The minimum and maximum are exact; the percentiles are estimates within 1% of the exact salary of that rank.
+ *
+ * @param departmentName The name of the department, or null for all departments.
+ * @param lectorCount    The number of lectors, counting a lector once per department.
+ * @param minSalary      The lowest salary, or null if there are no lectors.
+ * @param medianSalary   The median salary, or null if there are no lectors.
+ * @param p90Salary      The 90th percentile salary, or null if there are no lectors.
+ * @param p99Salary      The 99th percentile salary, or null if there are no lectors.
+ * @param maxSalary      The highest salary, or null if there are no lectors.
+ */
+public record SalaryDistributionDto(String departmentName, long lectorCount, Integer minSalary,
+                                    Integer medianSalary, Integer p90Salary, Integer p99Salary, Integer maxSalary) {
+}
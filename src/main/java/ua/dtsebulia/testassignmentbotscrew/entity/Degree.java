@@ -1,7 +1,9 @@
 package ua.dtsebulia.testassignmentbotscrew.entity;
 
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -9,15 +11,24 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ua.dtsebulia.testassignmentbotscrew.event.EntityChangePublisher;
 
 /**
  * Entity class for degrees.
+ * Degrees are reference data that is only ever added, so they are cached without locking. They are not
+ * cached as read-only, because Hibernate updates the cache when a degree is read back in the transaction
+ * that inserted it, which read-only caching rejects.
  */
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+@EntityListeners(EntityChangePublisher.class)
 public class Degree {
 
     @Id
@@ -5,20 +5,41 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ua.dtsebulia.testassignmentbotscrew.event.EntityChangePublisher;
 
 import java.util.Set;
 
 /**
  * Entity class for departments.
+ * Departments and their lector collections are kept in the second-level cache.
  */
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(EntityChangePublisher.class)
+@NamedEntityGraph(name = Department.WITH_HEAD, attributeNodes = @NamedAttributeNode("headOfDepartment"))
+@NamedEntityGraph(name = Department.WITH_LECTORS, attributeNodes = @NamedAttributeNode("lectors"))
+@NamedQuery(name = Department.FIND_HEAD_BY_NAME, query = """
+        select new ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentHeadRow(
+            d.id, d.name, h.id, h.firstName, h.lastName)
+        from Department d
+        left join d.headOfDepartment h
+        where d.name = :departmentName""")
 public class Department {
 
+    public static final String WITH_HEAD = "Department.withHead";
+    public static final String WITH_LECTORS = "Department.withLectors";
+    public static final String FIND_HEAD_BY_NAME = "Department.findHeadByName";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -26,9 +47,16 @@ public class Department {
     @NotNull
     private String name;
 
-    @ManyToOne
+    // Associations are loaded lazily and excluded from equals, hashCode and toString,
+    // so comparing or printing a department never triggers extra selects.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Lector headOfDepartment;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Lector> lectors;
 }
@@ -5,18 +5,27 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ua.dtsebulia.testassignmentbotscrew.event.EntityChangePublisher;
 
 import java.util.Set;
 
 /**
  * Entity class for lectors.
+ * Lectors are kept in the second-level cache.
  */
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(EntityChangePublisher.class)
 public class Lector {
 
     @Id
@@ -30,10 +39,16 @@ public class Lector {
     @NotNull
     private Integer salary;
 
-    @ManyToOne
+    // Associations are loaded lazily and excluded from equals, hashCode and toString,
+    // so putting lectors into a set never loads their degrees or departments.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Degree degree;
 
     @OneToMany(mappedBy = "headOfDepartment")
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Department> departments;
 
     public String getFullName() {
@@ -0,0 +1,10 @@
+package ua.dtsebulia.testassignmentbotscrew.event;
+
+/**
+ * Application event published after data was changed with set-based SQL that bypasses the entity listeners,
+ * such as a bulk load. In-memory structures built on top of the entities have to be rebuilt.
+ *
+ * @param description A short description of the change, for logging.
+ */
+public record BulkDataChangedEvent(String description) {
+}
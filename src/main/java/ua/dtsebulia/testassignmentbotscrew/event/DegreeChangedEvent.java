@@ -0,0 +1,12 @@
+package ua.dtsebulia.testassignmentbotscrew.event;
+
+import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
+
+/**
+ * Application event published whenever a degree is persisted, updated or removed.
+ *
+ * @param degree The changed degree.
+ * @param type   The kind of change.
+ */
+public record DegreeChangedEvent(Degree degree, EntityChangeType type) {
+}
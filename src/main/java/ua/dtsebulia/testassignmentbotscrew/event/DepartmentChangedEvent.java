@@ -0,0 +1,12 @@
+package ua.dtsebulia.testassignmentbotscrew.event;
+
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+
+/**
+ * Application event published whenever a department is persisted, updated or removed.
+ *
+ * @param department The changed department.
+ * @param type       The kind of change.
+ */
+public record DepartmentChangedEvent(Department department, EntityChangeType type) {
+}
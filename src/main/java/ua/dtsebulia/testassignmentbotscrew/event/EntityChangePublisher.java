@@ -0,0 +1,67 @@
+package ua.dtsebulia.testassignmentbotscrew.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+
+/**
+ * JPA entity listener that turns entity lifecycle callbacks into Spring application events,
+ * so in-memory structures built on top of the entities can keep themselves up to date.
+ * Hibernate obtains this listener from the Spring bean container, which injects the publisher.
+ */
+@RequiredArgsConstructor
+public class EntityChangePublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Called after an entity has been inserted.
+     *
+     * @param entity The persisted entity.
+     */
+    @PostPersist
+    public void onPersist(Object entity) {
+        publish(entity, EntityChangeType.PERSISTED);
+    }
+
+    /**
+     * Called after an entity has been updated.
+     *
+     * @param entity The updated entity.
+     */
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        publish(entity, EntityChangeType.UPDATED);
+    }
+
+    /**
+     * Called after an entity has been deleted.
+     *
+     * @param entity The removed entity.
+     */
+    @PostRemove
+    public void onRemove(Object entity) {
+        publish(entity, EntityChangeType.REMOVED);
+    }
+
+    /**
+     * Publish the event matching the entity type.
+     *
+     * @param entity The changed entity.
+     * @param type   The kind of change.
+     */
+    private void publish(Object entity, EntityChangeType type) {
+        if (entity instanceof Degree degree) {
+            eventPublisher.publishEvent(new DegreeChangedEvent(degree, type));
+        } else if (entity instanceof Department department) {
+            eventPublisher.publishEvent(new DepartmentChangedEvent(department, type));
+        } else if (entity instanceof Lector lector) {
+            eventPublisher.publishEvent(new LectorChangedEvent(lector, type));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package ua.dtsebulia.testassignmentbotscrew.event;
+
+/**
+ * Kind of change that happened to a persisted entity.
+ */
+public enum EntityChangeType {
+    PERSISTED,
+    UPDATED,
+    REMOVED
+}
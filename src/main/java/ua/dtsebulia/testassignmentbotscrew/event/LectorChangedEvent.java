@@ -0,0 +1,12 @@
+package ua.dtsebulia.testassignmentbotscrew.event;
+
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+
+/**
+ * Application event published whenever a lector is persisted, updated or removed.
+ *
+ * @param lector The changed lector.
+ * @param type   The kind of change.
+ */
+public record LectorChangedEvent(Lector lector, EntityChangeType type) {
+}
@@ -0,0 +1,263 @@
+package ua.dtsebulia.testassignmentbotscrew.exchange;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationRecord.DegreeRecord;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationRecord.DepartmentRecord;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationRecord.LectorRecord;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationRecord.MembershipRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Line format of an organization export, with one {@link OrganizationRecord} per line, so a file of any size
+ * is written and read a line at a time.
+ */
+public enum ExchangeFormat {
+
+    /**
+     * Newline-delimited JSON: an object per line, whose {@code type} is "degree", "lector", "department" or
+     * "membership", for example {@code {"type":"department","id":3,"name":"Physics","headId":17}}.
+     */
+    NDJSON("application/x-ndjson") {
+        @Override
+        public String format(OrganizationRecord record) {
+            try {
+                return OBJECT_MAPPER.writeValueAsString(record);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not write " + record + ".", e);
+            }
+        }
+
+        @Override
+        public OrganizationRecord parse(String line) {
+            try {
+                return OBJECT_MAPPER.readValue(line, OrganizationRecord.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e.getOriginalMessage(), e);
+            }
+        }
+    },
+
+    /**
+     * Comma-separated values without a header, whose first cell is the type and the rest depend on it:
+     * {@code degree,id,name}, {@code lector,id,first_name,last_name,salary,degree_id},
+     * {@code department,id,name,head_id} and {@code membership,department_id,lector_id}.
+     * Empty cells stand for missing values. A quoted cell may span several lines.
+     */
+    CSV("text/csv") {
+        @Override
+        public String format(OrganizationRecord record) {
+            if (record instanceof DegreeRecord degree) {
+                return "degree," + degree.id() + "," + escape(degree.name());
+            } else if (record instanceof LectorRecord lector) {
+                return "lector," + lector.id() + "," + escape(lector.firstName()) + "," + escape(lector.lastName())
+                        + "," + cell(lector.salary()) + "," + cell(lector.degreeId());
+            } else if (record instanceof DepartmentRecord department) {
+                return "department," + department.id() + "," + escape(department.name())
+                        + "," + cell(department.headId());
+            }
+            MembershipRecord membership = (MembershipRecord) record;
+            return "membership," + membership.departmentId() + "," + membership.lectorId();
+        }
+
+        @Override
+        public OrganizationRecord parse(String line) {
+            List<String> cells = split(line);
+            return switch (cells.get(0)) {
+                case "degree" -> {
+                    expectCells(cells, 3);
+                    yield new DegreeRecord(integer(cells.get(1)), cells.get(2));
+                }
+                case "lector" -> {
+                    expectCells(cells, 6);
+                    yield new LectorRecord(integer(cells.get(1)), cells.get(2), cells.get(3),
+                            nullableInteger(cells.get(4)), nullableInteger(cells.get(5)));
+                }
+                case "department" -> {
+                    expectCells(cells, 4);
+                    yield new DepartmentRecord(integer(cells.get(1)), cells.get(2), nullableInteger(cells.get(3)));
+                }
+                case "membership" -> {
+                    expectCells(cells, 3);
+                    yield new MembershipRecord(integer(cells.get(1)), integer(cells.get(2)));
+                }
+                default -> throw new IllegalArgumentException("Unknown record type '" + cells.get(0) + "'.");
+            };
+        }
+
+        @Override
+        public boolean isComplete(CharSequence text) {
+            // A quoted cell is open while the number of quotes is odd; an escaped quote counts twice.
+            int quotes = 0;
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) == '"') {
+                    quotes++;
+                }
+            }
+            return quotes % 2 == 0;
+        }
+    };
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String mediaType;
+
+    ExchangeFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Find a format by its name, ignoring case.
+     *
+     * @param name The name, for example "csv".
+     * @return The format, or an empty optional if there is none with the name.
+     */
+    public static Optional<ExchangeFormat> of(String name) {
+        for (ExchangeFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name.trim())) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Guess the format of a file from its extension.
+     *
+     * @param fileName The name of the file.
+     * @return CSV for a ".csv" file, NDJSON otherwise.
+     */
+    public static ExchangeFormat ofFile(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : NDJSON;
+    }
+
+    /**
+     * Get the media type of the format.
+     *
+     * @return The media type.
+     */
+    public String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Write a record.
+     *
+     * @param record The record.
+     * @return The line, without a line break.
+     */
+    public abstract String format(OrganizationRecord record);
+
+    /**
+     * Read a record.
+     *
+     * @param line The line, without its line break.
+     * @return The record.
+     * @throws IllegalArgumentException If the line is not a valid record.
+     */
+    public abstract OrganizationRecord parse(String line);
+
+    /**
+     * Check whether the text read so far is a whole record, or continues on the next line.
+     *
+     * @param text The lines read so far.
+     * @return Whether the record is complete.
+     */
+    public boolean isComplete(CharSequence text) {
+        return true;
+    }
+
+    /**
+     * Split a CSV line into cells, removing the quotes around quoted cells.
+     *
+     * @param line The line.
+     * @return The cells.
+     */
+    private static List<String> split(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted && c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                cell.append('"');
+                i++;
+            } else if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    /**
+     * Check the number of cells of a record.
+     *
+     * @param cells    The cells, starting with the type.
+     * @param expected The expected number of cells.
+     * @throws IllegalArgumentException If the number differs.
+     */
+    private static void expectCells(List<String> cells, int expected) {
+        if (cells.size() != expected) {
+            throw new IllegalArgumentException("A " + cells.get(0) + " record has " + expected + " cells, found "
+                    + cells.size() + ".");
+        }
+    }
+
+    /**
+     * Parse a required number.
+     *
+     * @param cell The cell.
+     * @return The number.
+     * @throws IllegalArgumentException If the cell is not a number.
+     */
+    private static int integer(String cell) {
+        return Integer.parseInt(cell.trim());
+    }
+
+    /**
+     * Parse an optional number.
+     *
+     * @param cell The cell.
+     * @return The number, or null if the cell is empty.
+     * @throws IllegalArgumentException If the cell is neither empty nor a number.
+     */
+    private static Integer nullableInteger(String cell) {
+        return cell.isBlank() ? null : integer(cell);
+    }
+
+    /**
+     * Write an optional number.
+     *
+     * @param value The number, or null.
+     * @return The cell.
+     */
+    private static String cell(Integer value) {
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * Quote a CSV cell if it contains a separator, a quote or a line break.
+     *
+     * @param value The value, or null.
+     * @return The cell.
+     */
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
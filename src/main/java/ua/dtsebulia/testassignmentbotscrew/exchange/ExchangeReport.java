@@ -0,0 +1,47 @@
+package ua.dtsebulia.testassignmentbotscrew.exchange;
+
+import java.util.Locale;
+
+/**
+ * Summary of an organization export or import.
+ *
+ * @param action          "Exported" or "Imported".
+ * @param degreeCount     The number of degree records.
+ * @param lectorCount     The number of lector records.
+ * @param departmentCount The number of department records.
+ * @param membershipCount The number of membership records.
+ * @param elapsedNanos    The wall-clock time, in nanoseconds.
+ */
+public record ExchangeReport(String action, long degreeCount, long lectorCount, long departmentCount,
+                             long membershipCount, long elapsedNanos) {
+
+    /**
+     * Get the number of records.
+     *
+     * @return The number of records of every type.
+     */
+    public long recordCount() {
+        return degreeCount + lectorCount + departmentCount + membershipCount;
+    }
+
+    /**
+     * Get the number of records per second.
+     *
+     * @return The record throughput.
+     */
+    public double recordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : recordCount() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Format the report for printing.
+     *
+     * @return The formatted report.
+     */
+    public String format() {
+        return String.format(Locale.ROOT,
+                "%s %d degrees, %d lectors, %d departments and %d memberships in %.3f s (%.0f records/s).",
+                action, degreeCount, lectorCount, departmentCount, membershipCount, elapsedNanos / 1e9,
+                recordsPerSecond());
+    }
+}
@@ -0,0 +1,93 @@
+package ua.dtsebulia.testassignmentbotscrew.exchange;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationRecord.DegreeRecord;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationRecord.DepartmentRecord;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationRecord.LectorRecord;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationRecord.MembershipRecord;
+import ua.dtsebulia.testassignmentbotscrew.repository.DegreeRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.LectorRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentMemberRow;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.LectorRow;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Exports the organization as a stream of {@link OrganizationRecord} lines, in constant memory.
+ * <p>
+ * The lectors and the department memberships are read with streamed projection queries, which fetch a page of rows
+ * at a time and never enter the persistence context, so nothing piles up there and no clearing is needed. Each
+ * line is passed on as soon as it is written. The records are written in the order an import needs them:
+ * degrees, lectors, then every department followed by its memberships.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrganizationExporter {
+
+    private final DegreeRepository degreeRepository;
+    private final LectorRepository lectorRepository;
+    private final DepartmentRepository departmentRepository;
+
+    /**
+     * Export the organization. Every query runs in one read-only transaction, so the export is consistent on
+     * databases with consistent reads, such as MySQL's InnoDB.
+     *
+     * @param format The line format.
+     * @param output The consumer of the output, called with a line at a time, each ending with a line break.
+     * @return The summary of the export.
+     */
+    @Transactional(readOnly = true)
+    public ExchangeReport export(ExchangeFormat format, Consumer<CharSequence> output) {
+        long start = System.nanoTime();
+        long[] counts = new long[4];
+
+        // Degrees are a small dictionary, so they are read at once.
+        for (Degree degree : degreeRepository.findAllByOrderByIdAsc()) {
+            write(format, new DegreeRecord(degree.getId(), degree.getName()), output);
+            counts[0]++;
+        }
+
+        try (Stream<LectorRow> lectors = lectorRepository.streamLectorRows()) {
+            lectors.forEach(lector -> {
+                write(format, new LectorRecord(lector.id(), lector.firstName(), lector.lastName(), lector.salary(),
+                        lector.degreeId()), output);
+                counts[1]++;
+            });
+        }
+
+        // Memberships are ordered by department, so each department is written before its first membership.
+        Integer[] lastDepartmentId = {null};
+        try (Stream<DepartmentMemberRow> memberships = departmentRepository.streamDepartmentMemberRows()) {
+            memberships.forEach(membership -> {
+                if (!membership.departmentId().equals(lastDepartmentId[0])) {
+                    write(format, new DepartmentRecord(membership.departmentId(), membership.departmentName(),
+                            membership.headOfDepartment()), output);
+                    lastDepartmentId[0] = membership.departmentId();
+                    counts[2]++;
+                }
+                if (membership.lectorId() != null) {
+                    write(format, new MembershipRecord(membership.departmentId(), membership.lectorId()), output);
+                    counts[3]++;
+                }
+            });
+        }
+
+        return new ExchangeReport("Exported", counts[0], counts[1], counts[2], counts[3], System.nanoTime() - start);
+    }
+
+    /**
+     * Write a record as a line.
+     *
+     * @param format The line format.
+     * @param record The record.
+     * @param output The consumer of the output.
+     */
+    private static void write(ExchangeFormat format, OrganizationRecord record, Consumer<CharSequence> output) {
+        output.accept(format.format(record) + "\n");
+    }
+}
@@ -0,0 +1,605 @@
+package ua.dtsebulia.testassignmentbotscrew.exchange;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.dtsebulia.testassignmentbotscrew.event.BulkDataChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationRecord.DegreeRecord;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationRecord.DepartmentRecord;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationRecord.LectorRecord;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationRecord.MembershipRecord;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Imports an organization export, reading it a line at a time and writing the records in JDBC batches.
+ * <p>
+ * The ids of the exporting system are only used to connect the records of the file; they are mapped to ids of
+ * this database and never written. Degrees and departments are matched by name: a degree or department whose name
+ * exists is reused, and a matched department gets the head of the record. Lectors have no natural key, so every
+ * lector record inserts a lector, or updates the one an earlier record of the same id inserted. Memberships that
+ * exist are skipped, and rows missing from the file are kept.
+ * <p>
+ * Consecutive records of the same type are sent in batches of {@code exchange.batch-size}, so the records held in
+ * memory do not grow with the file; only the id mapping does, one entry per degree, lector and department. The
+ * whole import runs in one transaction: if a record is invalid, references a record that is not before it in the
+ * file, or names a department that another record of the file already names, nothing is committed.
+ * <p>
+ * The statements bypass the entity listeners and the second-level cache, so once the import has been committed
+ * a {@link BulkDataChangedEvent} is published and every derived view is rebuilt. Progress is reported every
+ * ten seconds with the number of records, the share of the input read and the throughput.
+ */
+@Slf4j
+@Component
+public class OrganizationImporter {
+
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int PROGRESS_CHECK_MASK = 1023;
+    private static final double MEGABYTE = 1024 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    /**
+     * Create the importer.
+     *
+     * @param jdbcTemplate        The JDBC template.
+     * @param transactionTemplate The template of the transaction of the import.
+     * @param eventPublisher      The publisher of the bulk change event.
+     * @param batchSize           The number of records written per batch.
+     */
+    public OrganizationImporter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${exchange.batch-size:1000}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Import batch size must be positive, was " + batchSize + ".");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Import an export.
+     *
+     * @param format   The line format.
+     * @param input    The export, encoded in UTF-8. It is not closed.
+     * @param size     The size of the input in bytes, or -1 if unknown.
+     * @param progress The consumer of progress messages.
+     * @return The summary of the import.
+     * @throws IllegalArgumentException If a line is not a valid record or conflicts with another; nothing is
+     *                                  committed.
+     * @throws UncheckedIOException     If the input cannot be read; nothing is committed.
+     */
+    public ExchangeReport importFrom(ExchangeFormat format, InputStream input, long size, Consumer<String> progress) {
+        long start = System.nanoTime();
+        Batch batch = transactionTemplate.execute(status -> read(format, input, size, progress, start));
+
+        ExchangeReport report = batch.report(System.nanoTime() - start);
+        if (report.recordCount() > 0) {
+            eventPublisher.publishEvent(new BulkDataChangedEvent(report.format()));
+        }
+        return report;
+    }
+
+    /**
+     * Read every record of an export and write it, in the transaction of the import.
+     *
+     * @param format   The line format.
+     * @param input    The export, encoded in UTF-8.
+     * @param size     The size of the input in bytes, or -1 if unknown.
+     * @param progress The consumer of progress messages.
+     * @param start    The time the import started.
+     * @return The batch, with the counts of the records written.
+     */
+    private Batch read(ExchangeFormat format, InputStream input, long size, Consumer<String> progress, long start) {
+        CountingInputStream counting = new CountingInputStream(input);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(counting, StandardCharsets.UTF_8), 1 << 16);
+        Batch batch = new Batch();
+        long lastProgress = start;
+
+        try {
+            StringBuilder text = new StringBuilder();
+            long lineNumber = 0;
+            long recordLine = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+
+                // Collect the lines of a record, skipping blank lines between records.
+                if (text.isEmpty()) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    recordLine = lineNumber;
+                    text.append(line);
+                } else {
+                    text.append('\n').append(line);
+                }
+                if (!format.isComplete(text)) {
+                    continue;
+                }
+
+                batch.add(parse(format, text.toString(), recordLine), recordLine);
+                text.setLength(0);
+
+                // Check the clock every thousand records only.
+                if ((batch.recordCount & PROGRESS_CHECK_MASK) == 0
+                        && System.nanoTime() - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                    lastProgress = System.nanoTime();
+                    String message = progressMessage(batch.recordCount, counting.count, size, lastProgress - start);
+                    log.info(message);
+                    progress.accept(message);
+                }
+            }
+            if (!text.isEmpty()) {
+                throw new IllegalArgumentException("Line " + recordLine + ": the record is not terminated.");
+            }
+            batch.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the import.", e);
+        }
+        return batch;
+    }
+
+    /**
+     * Parse a record, adding its line number to the error.
+     *
+     * @param format     The line format.
+     * @param text       The record.
+     * @param lineNumber The number of its first line.
+     * @return The record.
+     * @throws IllegalArgumentException If the record is not valid.
+     */
+    private static OrganizationRecord parse(ExchangeFormat format, String text, long lineNumber) {
+        try {
+            return format.parse(text);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Format a progress message.
+     *
+     * @param recordCount  The number of records read.
+     * @param bytesRead    The number of bytes read.
+     * @param size         The size of the input, or -1 if unknown.
+     * @param elapsedNanos The time since the import started.
+     * @return The message.
+     */
+    private static String progressMessage(long recordCount, long bytesRead, long size, long elapsedNanos) {
+        double recordsPerSecond = recordCount * 1_000_000_000.0 / elapsedNanos;
+        return size > 0
+                ? String.format(Locale.ROOT, "Imported %d records, %.1f of %.1f MB (%.0f%%), %.0f records/s.",
+                recordCount, bytesRead / MEGABYTE, size / MEGABYTE, bytesRead * 100.0 / size, recordsPerSecond)
+                : String.format(Locale.ROOT, "Imported %d records, %.1f MB, %.0f records/s.",
+                recordCount, bytesRead / MEGABYTE, recordsPerSecond);
+    }
+
+    /**
+     * Build a list of statement placeholders.
+     *
+     * @param count The number of placeholders.
+     * @return The placeholders separated by commas.
+     */
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Combine the ids of a membership into one key.
+     *
+     * @param departmentId The id of the department.
+     * @param lectorId     The id of the lector.
+     * @return The key.
+     */
+    private static long key(int departmentId, int lectorId) {
+        return ((long) departmentId << 32) | (lectorId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Records waiting to be written, all of the same type, with the mapping of the ids of the export to the ids
+     * of this database and the counts of the records written so far.
+     */
+    private final class Batch {
+
+        private final List<PendingRecord> records = new ArrayList<>(batchSize);
+        private final Map<Integer, Integer> degreeIds = new HashMap<>();
+        private final Map<Integer, Integer> lectorIds = new HashMap<>();
+        private final Map<Integer, Integer> departmentIds = new HashMap<>();
+        private final Map<Integer, Integer> departmentRecordIds = new HashMap<>();
+        private final long[] counts = new long[4];
+        private long recordCount;
+
+        /**
+         * Add a record, first sending the waiting records if they are of another type, and sending the batch
+         * once it is full. Sending the types in turn keeps the order the references need, such as lectors before
+         * departments, so the references of a record are mapped as soon as it is added.
+         *
+         * @param record     The record.
+         * @param lineNumber The number of its first line.
+         * @throws IllegalArgumentException If the record references a record that has not been imported.
+         */
+        private void add(OrganizationRecord record, long lineNumber) {
+            if (!records.isEmpty() && records.get(0).record().getClass() != record.getClass()) {
+                flush();
+            }
+            records.add(new PendingRecord(map(record, lineNumber), lineNumber));
+            recordCount++;
+            if (records.size() == batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Write the waiting records.
+         */
+        private void flush() {
+            if (records.isEmpty()) {
+                return;
+            }
+            OrganizationRecord first = records.get(0).record();
+            if (first instanceof DegreeRecord) {
+                writeDegrees();
+            } else if (first instanceof LectorRecord) {
+                writeLectors();
+            } else if (first instanceof DepartmentRecord) {
+                writeDepartments();
+            } else {
+                writeMemberships();
+            }
+            counts[typeIndex(first)] += records.size();
+            records.clear();
+        }
+
+        /**
+         * Replace the references of a record with the ids of this database. The record's own id is kept.
+         *
+         * @param record     The record.
+         * @param lineNumber The number of its first line.
+         * @return The record, referencing rows of this database.
+         * @throws IllegalArgumentException If a referenced record has not been imported.
+         */
+        private OrganizationRecord map(OrganizationRecord record, long lineNumber) {
+            if (record instanceof LectorRecord lector) {
+                return new LectorRecord(lector.id(), lector.firstName(), lector.lastName(), lector.salary(),
+                        lector.degreeId() == null ? null
+                                : mapped(degreeIds, "degree", lector.degreeId(), lineNumber));
+            } else if (record instanceof DepartmentRecord department) {
+                return new DepartmentRecord(department.id(), department.name(),
+                        department.headId() == null ? null
+                                : mapped(lectorIds, "lector", department.headId(), lineNumber));
+            } else if (record instanceof MembershipRecord membership) {
+                return new MembershipRecord(mapped(departmentIds, "department", membership.departmentId(), lineNumber),
+                        mapped(lectorIds, "lector", membership.lectorId(), lineNumber));
+            }
+            return record;
+        }
+
+        /**
+         * Insert the degrees whose names do not exist yet, and map every degree to the one of its name.
+         */
+        private void writeDegrees() {
+            Map<String, Integer> idsByName = idsByName("degree");
+            Map<String, List<Integer>> inserts = new LinkedHashMap<>();
+            for (PendingRecord pending : records) {
+                DegreeRecord degree = (DegreeRecord) pending.record();
+                Integer id = idsByName.get(degree.name());
+                if (id != null) {
+                    degreeIds.put(degree.id(), id);
+                } else {
+                    inserts.computeIfAbsent(degree.name(), name -> new ArrayList<>()).add(degree.id());
+                }
+            }
+
+            List<String> names = new ArrayList<>(inserts.keySet());
+            List<Integer> ids = insert("degree", List.of("name"),
+                    names.stream().map(name -> new Object[]{name}).toList());
+            for (int i = 0; i < names.size(); i++) {
+                int id = ids.get(i);
+                inserts.get(names.get(i)).forEach(recordId -> degreeIds.put(recordId, id));
+            }
+        }
+
+        /**
+         * Update the lectors inserted by earlier records of the same id, and insert the others.
+         */
+        private void writeLectors() {
+            Map<Integer, Object[]> inserts = new LinkedHashMap<>();
+            List<Object[]> updates = new ArrayList<>();
+            for (PendingRecord pending : records) {
+                LectorRecord lector = (LectorRecord) pending.record();
+                Object[] values = {lector.firstName(), lector.lastName(), lector.salary(), lector.degreeId()};
+                Integer id = lectorIds.get(lector.id());
+                if (id != null) {
+                    updates.add(withId(values, id));
+                } else {
+                    // A record repeated in the batch is inserted once, with its last values.
+                    inserts.put(lector.id(), values);
+                }
+            }
+
+            List<String> columns = List.of("first_name", "last_name", "salary", "degree_id");
+            List<Integer> recordIds = new ArrayList<>(inserts.keySet());
+            List<Integer> ids = insert("lector", columns, new ArrayList<>(inserts.values()));
+            for (int i = 0; i < recordIds.size(); i++) {
+                lectorIds.put(recordIds.get(i), ids.get(i));
+            }
+            update("lector", columns, updates);
+        }
+
+        /**
+         * Update the heads of the departments whose names exist, and insert the others.
+         *
+         * @throws IllegalArgumentException If two records of the file name the same department, or a record
+         *                                  renames a department an earlier record of the same id imported.
+         */
+        private void writeDepartments() {
+            Map<String, Integer> idsByName = idsByName("department");
+            Map<String, PendingRecord> inserts = new LinkedHashMap<>();
+            List<Object[]> updates = new ArrayList<>();
+            for (PendingRecord pending : records) {
+                DepartmentRecord department = (DepartmentRecord) pending.record();
+                Integer id = idsByName.get(department.name());
+                Integer imported = departmentIds.get(department.id());
+                if (imported != null && !imported.equals(id)) {
+                    throw new IllegalArgumentException("Line " + pending.lineNumber() + ": department "
+                            + department.id() + " was imported under another name.");
+                }
+
+                // Records of one department name must share their id, in the batch and before it.
+                PendingRecord inserted = inserts.get(department.name());
+                Integer owner = id != null ? departmentRecordIds.get(id)
+                        : inserted != null ? Integer.valueOf(((DepartmentRecord) inserted.record()).id())
+                        : null;
+                if (owner != null && owner != department.id()) {
+                    throw new IllegalArgumentException("Line " + pending.lineNumber() + ": department '"
+                            + department.name() + "' is also department " + owner + " of the import.");
+                }
+
+                if (id != null) {
+                    departmentIds.put(department.id(), id);
+                    departmentRecordIds.put(id, department.id());
+                    updates.add(new Object[]{department.headId(), id});
+                } else {
+                    inserts.put(department.name(), pending);
+                }
+            }
+
+            List<PendingRecord> pendingInserts = new ArrayList<>(inserts.values());
+            List<Integer> ids = insert("department", List.of("name", "head_of_department_id"),
+                    pendingInserts.stream().map(pending -> {
+                        DepartmentRecord department = (DepartmentRecord) pending.record();
+                        return new Object[]{department.name(), department.headId()};
+                    }).toList());
+            for (int i = 0; i < pendingInserts.size(); i++) {
+                int recordId = ((DepartmentRecord) pendingInserts.get(i).record()).id();
+                departmentIds.put(recordId, ids.get(i));
+                departmentRecordIds.put(ids.get(i), recordId);
+            }
+            update("department", List.of("head_of_department_id"), updates);
+        }
+
+        /**
+         * Insert the memberships that do not exist yet. Their ids are already mapped.
+         */
+        private void writeMemberships() {
+            List<MembershipRecord> memberships = records.stream()
+                    .map(pending -> (MembershipRecord) pending.record())
+                    .toList();
+            Set<Long> existing = new HashSet<>();
+            jdbcTemplate.query("select department_id, lectors_id from department_lectors where lectors_id in ("
+                            + placeholders(memberships.size()) + ")",
+                    resultSet -> {
+                        existing.add(key(resultSet.getInt(1), resultSet.getInt(2)));
+                    },
+                    memberships.stream().map(MembershipRecord::lectorId).toArray());
+
+            List<Object[]> inserts = new ArrayList<>();
+            for (MembershipRecord membership : memberships) {
+                if (existing.add(key(membership.departmentId(), membership.lectorId()))) {
+                    inserts.add(new Object[]{membership.departmentId(), membership.lectorId()});
+                }
+            }
+            jdbcTemplate.batchUpdate("insert into department_lectors (department_id, lectors_id) values (?, ?)",
+                    inserts);
+        }
+
+        /**
+         * Find the rows of a table whose names are among the waiting records.
+         *
+         * @param table The table, "degree" or "department".
+         * @return The id of each name; the lowest one if several rows share it.
+         */
+        private Map<String, Integer> idsByName(String table) {
+            Map<String, Integer> idsByName = new HashMap<>();
+            jdbcTemplate.query("select name, id from " + table + " where name in (" + placeholders(records.size())
+                            + ") order by id",
+                    resultSet -> {
+                        idsByName.putIfAbsent(resultSet.getString(1), resultSet.getInt(2));
+                    },
+                    records.stream().map(pending -> pending.record() instanceof DegreeRecord degree
+                            ? degree.name()
+                            : ((DepartmentRecord) pending.record()).name()).toArray());
+            return idsByName;
+        }
+
+        /**
+         * Summarize the written records.
+         *
+         * @param elapsedNanos The time since the import started.
+         * @return The summary.
+         */
+        private ExchangeReport report(long elapsedNanos) {
+            return new ExchangeReport("Imported", counts[0], counts[1], counts[2], counts[3], elapsedNanos);
+        }
+
+        /**
+         * Get the index of a record's type in the counts.
+         *
+         * @param record The record.
+         * @return The index.
+         */
+        private static int typeIndex(OrganizationRecord record) {
+            return record instanceof DegreeRecord ? 0
+                    : record instanceof LectorRecord ? 1
+                    : record instanceof DepartmentRecord ? 2
+                    : 3;
+        }
+    }
+
+    /**
+     * Get the id of this database an id of the export is mapped to.
+     *
+     * @param ids        The mapping of the record type.
+     * @param type       The record type, for the error.
+     * @param id         The id of the export.
+     * @param lineNumber The number of the referencing record's first line, for the error.
+     * @return The id of this database.
+     * @throws IllegalArgumentException If no record of the id has been imported.
+     */
+    private static int mapped(Map<Integer, Integer> ids, String type, int id, long lineNumber) {
+        Integer mapped = ids.get(id);
+        if (mapped == null) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": " + type + " " + id
+                    + " is not imported before it.");
+        }
+        return mapped;
+    }
+
+    /**
+     * Insert rows in a batch, letting the database generate their ids.
+     *
+     * @param table   The table.
+     * @param columns The columns other than the id.
+     * @param rows    The values of the columns of each row, in order.
+     * @return The generated ids, in the order of the rows.
+     */
+    private List<Integer> insert(String table, List<String> columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        String sql = "insert into " + table + " (" + String.join(", ", columns) + ") values ("
+                + placeholders(columns.size()) + ")";
+        return jdbcTemplate.execute(connection -> connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                (PreparedStatementCallback<List<Integer>>) statement -> {
+                    for (Object[] row : rows) {
+                        new ArgumentPreparedStatementSetter(row).setValues(statement);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+
+                    List<Integer> ids = new ArrayList<>(rows.size());
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getInt(1));
+                        }
+                    }
+                    if (ids.size() != rows.size()) {
+                        throw new IllegalStateException("Expected " + rows.size() + " generated ids for " + table
+                                + ", got " + ids.size() + ".");
+                    }
+                    return ids;
+                });
+    }
+
+    /**
+     * Update rows by id in a batch.
+     *
+     * @param table   The table.
+     * @param columns The columns to set.
+     * @param rows    The values of the columns of each row, in order, followed by its id.
+     */
+    private void update(String table, List<String> columns, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("update " + table + " set " + String.join(" = ?, ", columns) + " = ? where id = ?",
+                rows);
+    }
+
+    /**
+     * Append an id to the values of a row.
+     *
+     * @param values The values.
+     * @param id     The id.
+     * @return The values followed by the id.
+     */
+    private static Object[] withId(Object[] values, int id) {
+        Object[] arguments = new Object[values.length + 1];
+        System.arraycopy(values, 0, arguments, 0, values.length);
+        arguments[values.length] = id;
+        return arguments;
+    }
+
+    /**
+     * Record waiting to be written, with its references mapped to ids of this database.
+     *
+     * @param record     The record.
+     * @param lineNumber The number of its first line.
+     */
+    private record PendingRecord(OrganizationRecord record, long lineNumber) {
+    }
+
+    /**
+     * Counts the bytes read from a stream, to report the progress through the input.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream input) {
+            super(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read != -1) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
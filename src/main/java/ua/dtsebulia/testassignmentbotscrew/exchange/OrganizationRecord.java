@@ -0,0 +1,58 @@
+package ua.dtsebulia.testassignmentbotscrew.exchange;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * One line of an organization export: a degree, lector, department or department membership.
+ * Records reference each other by the ids of the exporting system, which the import maps to ids of its own.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = OrganizationRecord.DegreeRecord.class, name = "degree"),
+        @JsonSubTypes.Type(value = OrganizationRecord.LectorRecord.class, name = "lector"),
+        @JsonSubTypes.Type(value = OrganizationRecord.DepartmentRecord.class, name = "department"),
+        @JsonSubTypes.Type(value = OrganizationRecord.MembershipRecord.class, name = "membership")})
+public sealed interface OrganizationRecord {
+
+    /**
+     * A degree.
+     *
+     * @param id   The id of the degree.
+     * @param name The name of the degree.
+     */
+    record DegreeRecord(int id, String name) implements OrganizationRecord {
+    }
+
+    /**
+     * A lector.
+     *
+     * @param id        The id of the lector.
+     * @param firstName The first name.
+     * @param lastName  The last name.
+     * @param salary    The salary.
+     * @param degreeId  The id of the lector's degree, or null if none is assigned.
+     */
+    record LectorRecord(int id, String firstName, String lastName, Integer salary, Integer degreeId)
+            implements OrganizationRecord {
+    }
+
+    /**
+     * A department. Its head must be imported before it.
+     *
+     * @param id     The id of the department.
+     * @param name   The name of the department.
+     * @param headId The id of the head of the department, or null if none is assigned.
+     */
+    record DepartmentRecord(int id, String name, Integer headId) implements OrganizationRecord {
+    }
+
+    /**
+     * A lector's membership of a department. Both must be imported before it.
+     *
+     * @param departmentId The id of the department.
+     * @param lectorId     The id of the lector.
+     */
+    record MembershipRecord(int departmentId, int lectorId) implements OrganizationRecord {
+    }
+}
@@ -0,0 +1,309 @@
+package ua.dtsebulia.testassignmentbotscrew.generator;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.dtsebulia.testassignmentbotscrew.event.BulkDataChangedEvent;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Loads a generated organization into the database with JDBC batch statements.
+ * <p>
+ * Persisting entities one by one costs a round trip per row, and Hibernate cannot batch inserts of
+ * entities with identity ids. The loader instead sends rows in batches and reads the generated ids back
+ * from each batch, so a million lectors load in minutes. With MySQL, add
+ * {@code rewriteBatchedStatements=true} to the connection URL so each batch becomes a single statement.
+ * <p>
+ * The rows are added next to the existing data. Degrees are matched by name, and missing ones are created.
+ * Department names are unique, so the load fails before inserting anything if a generated name is taken, for
+ * example by an earlier load; generate into a database without generated departments. The insert bypasses the entity listeners, so a {@link BulkDataChangedEvent} is published once the
+ * load has been committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkOrganizationLoader {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Generate an organization and insert it in a single transaction.
+     *
+     * @param generator The generator of the organization.
+     * @return The summary of the load.
+     * @throws IllegalStateException If a department with a generated name exists; nothing is inserted.
+     */
+    public LoadReport load(OrganizationGenerator generator) {
+        long start = System.nanoTime();
+
+        long membershipCount = transactionTemplate.execute(status -> jdbcTemplate.execute(
+                (ConnectionCallback<Long>) connection -> insert(connection, generator)));
+
+        LoadReport report = new LoadReport(generator.departmentCount(), generator.lectorCount(), membershipCount,
+                System.nanoTime() - start);
+        eventPublisher.publishEvent(new BulkDataChangedEvent(report.format()));
+        return report;
+    }
+
+    /**
+     * Insert the degrees, departments, lectors, memberships and heads of departments.
+     *
+     * @param connection The connection of the transaction.
+     * @param generator  The generator of the organization.
+     * @return The number of memberships inserted.
+     * @throws SQLException If an insert fails.
+     */
+    private long insert(Connection connection, OrganizationGenerator generator) throws SQLException {
+        checkDepartmentNames(connection, generator);
+        int[] degreeIds = insertDegrees(connection);
+        int[] departmentIds = insertDepartments(connection, generator);
+        int[] lectorIds = new int[generator.lectorCount()];
+        long[] membershipCount = {0};
+
+        try (PreparedStatement lectorInsert = connection.prepareStatement(
+                "insert into lector (first_name, last_name, salary, degree_id) values (?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement membershipInsert = connection.prepareStatement(
+                     "insert into department_lectors (department_id, lectors_id) values (?, ?)")) {
+
+            List<GeneratedLector> batch = new ArrayList<>(BATCH_SIZE);
+            int[] heads = generator.generateLectors(lector -> {
+                batch.add(lector);
+                if (batch.size() == BATCH_SIZE) {
+                    membershipCount[0] += insertLectors(lectorInsert, membershipInsert, batch, degreeIds,
+                            departmentIds, lectorIds);
+                }
+            });
+            membershipCount[0] += insertLectors(lectorInsert, membershipInsert, batch, degreeIds, departmentIds,
+                    lectorIds);
+
+            updateHeads(connection, heads, departmentIds, lectorIds);
+        } catch (UncheckedSqlException e) {
+            throw e.getCause();
+        }
+        return membershipCount[0];
+    }
+
+    /**
+     * Check that no department has a generated name, before anything is inserted.
+     *
+     * @param connection The connection of the transaction.
+     * @param generator  The generator of the organization.
+     * @throws SQLException          If a query fails.
+     * @throws IllegalStateException If a department with a generated name exists.
+     */
+    private void checkDepartmentNames(Connection connection, OrganizationGenerator generator) throws SQLException {
+        int departmentCount = generator.departmentCount();
+        for (int start = 0; start < departmentCount; start += BATCH_SIZE) {
+            int end = Math.min(start + BATCH_SIZE, departmentCount);
+            try (PreparedStatement select = connection.prepareStatement("select min(name) from department "
+                    + "where name in (" + String.join(", ", Collections.nCopies(end - start, "?")) + ")")) {
+                for (int index = start; index < end; index++) {
+                    select.setString(index - start + 1, OrganizationGenerator.departmentName(index));
+                }
+                try (ResultSet resultSet = select.executeQuery()) {
+                    resultSet.next();
+                    String taken = resultSet.getString(1);
+                    if (taken != null) {
+                        throw new IllegalStateException("Department '" + taken + "' already exists, and generated "
+                                + "department names must be unique. Generate into a database without generated "
+                                + "departments.");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Find the ids of the generator's degrees, inserting the ones that do not exist yet.
+     *
+     * @param connection The connection of the transaction.
+     * @return The degree ids, indexed like {@link OrganizationGenerator#DEGREES}.
+     * @throws SQLException If a statement fails.
+     */
+    private int[] insertDegrees(Connection connection) throws SQLException {
+        int[] degreeIds = new int[OrganizationGenerator.DEGREES.size()];
+
+        try (PreparedStatement select = connection.prepareStatement("select min(id) from degree where name = ?");
+             PreparedStatement insert = connection.prepareStatement("insert into degree (name) values (?)",
+                     Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < degreeIds.length; i++) {
+                String name = OrganizationGenerator.DEGREES.get(i);
+
+                // Reuse the degree if it already exists.
+                select.setString(1, name);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    resultSet.next();
+                    degreeIds[i] = resultSet.getInt(1);
+                }
+
+                if (degreeIds[i] == 0) {
+                    insert.setString(1, name);
+                    insert.executeUpdate();
+                    degreeIds[i] = readGeneratedKeys(insert, 1)[0];
+                }
+            }
+        }
+        return degreeIds;
+    }
+
+    /**
+     * Insert the departments without heads, which are assigned once the lectors exist.
+     *
+     * @param connection The connection of the transaction.
+     * @param generator  The generator of the organization.
+     * @return The department ids, indexed by department index.
+     * @throws SQLException If an insert fails.
+     */
+    private int[] insertDepartments(Connection connection, OrganizationGenerator generator) throws SQLException {
+        int[] departmentIds = new int[generator.departmentCount()];
+
+        try (PreparedStatement insert = connection.prepareStatement("insert into department (name) values (?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int start = 0; start < departmentIds.length; start += BATCH_SIZE) {
+                int end = Math.min(start + BATCH_SIZE, departmentIds.length);
+                for (int index = start; index < end; index++) {
+                    insert.setString(1, OrganizationGenerator.departmentName(index));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                System.arraycopy(readGeneratedKeys(insert, end - start), 0, departmentIds, start, end - start);
+            }
+        }
+        return departmentIds;
+    }
+
+    /**
+     * Insert a batch of lectors followed by their memberships, and clear the batch.
+     *
+     * @param lectorInsert     The lector insert statement.
+     * @param membershipInsert The membership insert statement.
+     * @param batch            The lectors to insert.
+     * @param degreeIds        The degree ids by degree index.
+     * @param departmentIds    The department ids by department index.
+     * @param lectorIds        The lector ids by lector index, filled in for the batch.
+     * @return The number of memberships inserted.
+     */
+    private long insertLectors(PreparedStatement lectorInsert, PreparedStatement membershipInsert,
+                               List<GeneratedLector> batch, int[] degreeIds, int[] departmentIds, int[] lectorIds) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            for (GeneratedLector lector : batch) {
+                lectorInsert.setString(1, lector.firstName());
+                lectorInsert.setString(2, lector.lastName());
+                lectorInsert.setInt(3, lector.salary());
+                lectorInsert.setInt(4, degreeIds[lector.degreeIndex()]);
+                lectorInsert.addBatch();
+            }
+            lectorInsert.executeBatch();
+
+            // Memberships reference the generated lector ids, so they follow the lector batch.
+            int[] ids = readGeneratedKeys(lectorInsert, batch.size());
+            long membershipCount = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                GeneratedLector lector = batch.get(i);
+                lectorIds[lector.index()] = ids[i];
+                for (int departmentIndex : lector.departmentIndexes()) {
+                    membershipInsert.setInt(1, departmentIds[departmentIndex]);
+                    membershipInsert.setInt(2, ids[i]);
+                    membershipInsert.addBatch();
+                    membershipCount++;
+                }
+            }
+            membershipInsert.executeBatch();
+
+            batch.clear();
+            return membershipCount;
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+    }
+
+    /**
+     * Assign the heads of departments.
+     *
+     * @param connection    The connection of the transaction.
+     * @param heads         The lector index of each department's head, or -1.
+     * @param departmentIds The department ids by department index.
+     * @param lectorIds     The lector ids by lector index.
+     * @throws SQLException If an update fails.
+     */
+    private void updateHeads(Connection connection, int[] heads, int[] departmentIds, int[] lectorIds)
+            throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(
+                "update department set head_of_department_id = ? where id = ?")) {
+            int pending = 0;
+            for (int departmentIndex = 0; departmentIndex < heads.length; departmentIndex++) {
+                if (heads[departmentIndex] == -1) {
+                    continue;
+                }
+
+                update.setInt(1, lectorIds[heads[departmentIndex]]);
+                update.setInt(2, departmentIds[departmentIndex]);
+                update.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Read the ids generated by the last execution of a statement.
+     *
+     * @param statement The statement, prepared with {@link Statement#RETURN_GENERATED_KEYS}.
+     * @param count     The number of rows inserted.
+     * @return The generated ids in insertion order.
+     * @throws SQLException If the keys cannot be read, or fewer keys than rows are returned.
+     */
+    private static int[] readGeneratedKeys(PreparedStatement statement, int count) throws SQLException {
+        int[] ids = new int[count];
+        int read = 0;
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            while (read < count && keys.next()) {
+                ids[read++] = keys.getInt(1);
+            }
+        }
+
+        if (read != count) {
+            throw new SQLException("Expected " + count + " generated keys, got " + read + ".");
+        }
+        return ids;
+    }
+
+    /**
+     * Carries an {@link SQLException} out of the generator's consumer.
+     */
+    private static final class UncheckedSqlException extends RuntimeException {
+
+        private UncheckedSqlException(SQLException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ua.dtsebulia.testassignmentbotscrew.generator;
+
+/**
+ * Lector produced by the {@link OrganizationGenerator}.
+ *
+ * @param index             The index of the lector, from 0.
+ * @param firstName         The first name.
+ * @param lastName          The last name.
+ * @param salary            The salary.
+ * @param degreeIndex       The index of the degree in {@link OrganizationGenerator#DEGREES}.
+ * @param departmentIndexes The distinct indexes of the departments the lector belongs to.
+ */
+public record GeneratedLector(int index, String firstName, String lastName, int salary, int degreeIndex,
+                              int[] departmentIndexes) {
+}
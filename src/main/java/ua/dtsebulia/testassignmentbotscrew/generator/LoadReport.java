@@ -0,0 +1,34 @@
+package ua.dtsebulia.testassignmentbotscrew.generator;
+
+import java.util.Locale;
+
+/**
+ * Summary of a bulk load.
+ *
+ * @param departmentCount The number of departments inserted.
+ * @param lectorCount     The number of lectors inserted.
+ * @param membershipCount The number of department memberships inserted.
+ * @param elapsedNanos    The wall-clock time of the load, in nanoseconds.
+ */
+public record LoadReport(int departmentCount, int lectorCount, long membershipCount, long elapsedNanos) {
+
+    /**
+     * Get the number of lectors inserted per second.
+     *
+     * @return The lector throughput.
+     */
+    public double lectorsPerSecond() {
+        return elapsedNanos == 0 ? 0 : lectorCount * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Format the report for printing.
+     *
+     * @return The formatted report.
+     */
+    public String format() {
+        return String.format(Locale.ROOT,
+                "Loaded %d departments, %d lectors and %d memberships in %.3f s (%.0f lectors/s).",
+                departmentCount, lectorCount, membershipCount, elapsedNanos / 1e9, lectorsPerSecond());
+    }
+}
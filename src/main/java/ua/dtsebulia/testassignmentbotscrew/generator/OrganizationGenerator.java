@@ -0,0 +1,220 @@
+package ua.dtsebulia.testassignmentbotscrew.generator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Seeded generator of a synthetic university for load testing.
+ * <p>
+ * The same seed and sizes always produce the same organization. The distributions are skewed the way
+ * real ones are: most lectors are assistants, salaries are log-normal around a per-degree median,
+ * a few departments are much larger than the rest, and some lectors belong to several departments.
+ * The first lector to join a department becomes its head, except for a small share of departments
+ * that are left without one.
+ * <p>
+ * Lectors are streamed to a consumer rather than collected, so millions of them can be generated
+ * in constant memory.
+ */
+public class OrganizationGenerator {
+
+    /**
+     * The degrees, from the most to the least common.
+     */
+    public static final List<String> DEGREES = List.of("assistant", "associate professor", "professor");
+
+    private static final double[] DEGREE_SHARES = {0.55, 0.30, 0.15};
+    private static final int[] MEDIAN_SALARIES = {1500, 2500, 4000};
+    private static final double SALARY_SPREAD = 0.35;
+    private static final double[] MEMBERSHIP_SHARES = {0.70, 0.22, 0.08};
+    private static final double DEPARTMENT_SIZE_SKEW = 2.0;
+    private static final double HEADLESS_SHARE = 0.05;
+
+    private static final String[] FIELDS = {
+            "Mathematics", "Physics", "Chemistry", "Biology", "Computer Science", "History", "Philosophy",
+            "Economics", "Law", "Medicine", "Linguistics", "Geography", "Psychology", "Sociology",
+            "Architecture", "Astronomy", "Ecology", "Statistics", "Engineering", "Journalism"};
+    private static final String[] FIRST_NAMES = {
+            "Ivan", "Olena", "Petro", "Maria", "Taras", "Oksana", "Andrii", "Iryna", "Dmytro", "Natalia",
+            "Serhii", "Yulia", "Oleh", "Kateryna", "Mykola", "Svitlana", "Bohdan", "Halyna", "Roman", "Larysa",
+            "Vasyl", "Tetiana", "Yurii", "Liudmyla", "Volodymyr", "Anna", "Ihor", "Nadiia", "Maksym", "Sofiia"};
+    private static final String[] LAST_NAMES = {
+            "Petrenko", "Kovalenko", "Bondarenko", "Tkachenko", "Kravchenko", "Oliinyk", "Shevchenko", "Koval",
+            "Polishchuk", "Boiko", "Melnyk", "Lysenko", "Marchenko", "Savchenko", "Rudenko", "Moroz",
+            "Pavlenko", "Kuzmenko", "Klymenko", "Levchenko", "Ponomarenko", "Kharchenko", "Vasylenko", "Tymoshenko",
+            "Ivanov", "Petrov", "Sydorenko", "Zinchenko", "Honchar", "Kushnir", "Moskalenko", "Yakovenko",
+            "Hrytsenko", "Fedorenko", "Romanenko", "Ostapenko", "Karpenko", "Danylenko", "Prykhodko", "Mazur"};
+
+    private final long seed;
+    private final int departmentCount;
+    private final int lectorCount;
+
+    /**
+     * Create a generator.
+     *
+     * @param seed            The seed of the random number generator.
+     * @param departmentCount The number of departments, at least 1.
+     * @param lectorCount     The number of lectors.
+     */
+    public OrganizationGenerator(long seed, int departmentCount, int lectorCount) {
+        if (departmentCount < 1) {
+            throw new IllegalArgumentException("At least one department is required, got " + departmentCount + ".");
+        }
+        if (lectorCount < 0) {
+            throw new IllegalArgumentException("The number of lectors must not be negative, got " + lectorCount + ".");
+        }
+
+        this.seed = seed;
+        this.departmentCount = departmentCount;
+        this.lectorCount = lectorCount;
+    }
+
+    /**
+     * Get the number of departments.
+     *
+     * @return The number of departments.
+     */
+    public int departmentCount() {
+        return departmentCount;
+    }
+
+    /**
+     * Get the number of lectors.
+     *
+     * @return The number of lectors.
+     */
+    public int lectorCount() {
+        return lectorCount;
+    }
+
+    /**
+     * Get the unique name of a department, such as "Physics" or "Physics 3".
+     *
+     * @param departmentIndex The index of the department.
+     * @return The name of the department.
+     */
+    public static String departmentName(int departmentIndex) {
+        String field = FIELDS[departmentIndex % FIELDS.length];
+        int series = departmentIndex / FIELDS.length;
+        return series == 0 ? field : field + " " + (series + 1);
+    }
+
+    /**
+     * Generate every lector in index order.
+     *
+     * @param consumer The consumer of the lectors.
+     * @return The index of the head of each department, or -1 for departments without a head.
+     */
+    public int[] generateLectors(Consumer<GeneratedLector> consumer) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] heads = new int[departmentCount];
+        Arrays.fill(heads, -1);
+        boolean[] headless = new boolean[departmentCount];
+        for (int i = 0; i < departmentCount; i++) {
+            headless[i] = random.nextDouble() < HEADLESS_SHARE;
+        }
+
+        for (int index = 0; index < lectorCount; index++) {
+            int degreeIndex = pick(random, DEGREE_SHARES);
+            int salary = salary(random, degreeIndex);
+            int[] departmentIndexes = departments(random);
+
+            // The first lector to join a department becomes its head.
+            for (int departmentIndex : departmentIndexes) {
+                if (heads[departmentIndex] == -1 && !headless[departmentIndex]) {
+                    heads[departmentIndex] = index;
+                }
+            }
+
+            consumer.accept(new GeneratedLector(
+                    index,
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    salary,
+                    degreeIndex,
+                    departmentIndexes));
+        }
+        return heads;
+    }
+
+    /**
+     * Draw a log-normal salary around the median of a degree, rounded to tens.
+     *
+     * @param random      The random number generator.
+     * @param degreeIndex The index of the degree.
+     * @return The salary.
+     */
+    private static int salary(SplittableRandom random, int degreeIndex) {
+        double salary = MEDIAN_SALARIES[degreeIndex] * Math.exp(SALARY_SPREAD * gaussian(random));
+        return (int) Math.round(salary / 10) * 10;
+    }
+
+    /**
+     * Draw the distinct departments of a lector. Low department indexes are drawn more often,
+     * which makes the first departments the largest.
+     *
+     * @param random The random number generator.
+     * @return The department indexes.
+     */
+    private int[] departments(SplittableRandom random) {
+        int count = Math.min(pick(random, MEMBERSHIP_SHARES) + 1, departmentCount);
+        int[] departmentIndexes = new int[count];
+
+        int drawn = 0;
+        while (drawn < count) {
+            int candidate = (int) (departmentCount * Math.pow(random.nextDouble(), DEPARTMENT_SIZE_SKEW));
+            if (!contains(departmentIndexes, drawn, candidate)) {
+                departmentIndexes[drawn++] = candidate;
+            }
+        }
+        return departmentIndexes;
+    }
+
+    /**
+     * Pick an index with the given probabilities.
+     *
+     * @param random The random number generator.
+     * @param shares The probability of each index, adding up to 1.
+     * @return The picked index.
+     */
+    private static int pick(SplittableRandom random, double[] shares) {
+        double value = random.nextDouble();
+        for (int i = 0; i < shares.length - 1; i++) {
+            value -= shares[i];
+            if (value < 0) {
+                return i;
+            }
+        }
+        return shares.length - 1;
+    }
+
+    /**
+     * Draw a standard normal value with the Box-Muller transform.
+     *
+     * @param random The random number generator.
+     * @return The value.
+     */
+    private static double gaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+    }
+
+    /**
+     * Check whether the first elements of an array contain a value.
+     *
+     * @param values The array.
+     * @param length The number of elements to look at.
+     * @param value  The value.
+     * @return True if the value is present.
+     */
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
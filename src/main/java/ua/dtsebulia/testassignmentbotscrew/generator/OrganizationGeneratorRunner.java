@@ -0,0 +1,56 @@
+package ua.dtsebulia.testassignmentbotscrew.generator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads a synthetic organization at startup when {@code generator.lectors} is set, for example
+ * {@code --generator.lectors=1000000 --generator.departments=5000 --generator.seed=42}.
+ * Runs before the console, so the generated data can be queried right away.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty("generator.lectors")
+public class OrganizationGeneratorRunner implements CommandLineRunner {
+
+    private final BulkOrganizationLoader bulkOrganizationLoader;
+    private final int lectorCount;
+    private final int departmentCount;
+    private final long seed;
+
+    /**
+     * Create the runner.
+     *
+     * @param bulkOrganizationLoader The loader.
+     * @param lectorCount            The number of lectors to generate.
+     * @param departmentCount        The number of departments to generate, or 0 for one per hundred lectors.
+     * @param seed                   The seed of the generator.
+     */
+    public OrganizationGeneratorRunner(BulkOrganizationLoader bulkOrganizationLoader,
+                                       @Value("${generator.lectors}") int lectorCount,
+                                       @Value("${generator.departments:0}") int departmentCount,
+                                       @Value("${generator.seed:42}") long seed) {
+        this.bulkOrganizationLoader = bulkOrganizationLoader;
+        this.lectorCount = lectorCount;
+        this.departmentCount = departmentCount > 0 ? departmentCount : Math.max(1, lectorCount / 100);
+        this.seed = seed;
+    }
+
+    /**
+     * Generate and load the organization.
+     *
+     * @param args Command-line arguments.
+     */
+    @Override
+    public void run(String... args) {
+        log.info("Generating {} departments and {} lectors with seed {}.", departmentCount, lectorCount, seed);
+        LoadReport report = bulkOrganizationLoader.load(new OrganizationGenerator(seed, departmentCount, lectorCount));
+        log.info(report.format());
+    }
+}
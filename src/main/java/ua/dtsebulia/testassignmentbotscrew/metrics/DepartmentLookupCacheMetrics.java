@@ -0,0 +1,43 @@
+package ua.dtsebulia.testassignmentbotscrew.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.cache.DepartmentLookupCache;
+
+/**
+ * Exposes the counters of the {@link DepartmentLookupCache} with Micrometer's standard cache meter names.
+ */
+@Component
+@RequiredArgsConstructor
+public class DepartmentLookupCacheMetrics implements MeterBinder {
+
+    private static final String CACHE_TAG = "cache";
+    private static final String CACHE_NAME = "departmentLookup";
+
+    private final DepartmentLookupCache departmentLookupCache;
+
+    /**
+     * Register the meters.
+     *
+     * @param registry The registry.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", departmentLookupCache, cache -> cache.statistics().hits())
+                .tags(CACHE_TAG, CACHE_NAME, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", departmentLookupCache, cache -> cache.statistics().misses())
+                .tags(CACHE_TAG, CACHE_NAME, "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", departmentLookupCache, cache -> cache.statistics().evictions())
+                .tags(CACHE_TAG, CACHE_NAME)
+                .register(registry);
+        Gauge.builder("cache.size", departmentLookupCache, cache -> cache.statistics().size())
+                .tags(CACHE_TAG, CACHE_NAME)
+                .register(registry);
+    }
+}
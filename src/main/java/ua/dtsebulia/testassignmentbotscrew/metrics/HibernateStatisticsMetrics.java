@@ -0,0 +1,68 @@
+package ua.dtsebulia.testassignmentbotscrew.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Exposes Hibernate statistics as Micrometer counters: SQL statements, queries, the entities and
+ * collections they load, and the hits and misses of the second-level and query caches. Requires {@code hibernate.generate_statistics=true}; otherwise the counters stay at 0.
+ */
+@Component
+@RequiredArgsConstructor
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Register the counters.
+     *
+     * @param registry The registry.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        register(registry, statistics, "hibernate.statements.prepared", "JDBC statements prepared",
+                Statistics::getPrepareStatementCount);
+        register(registry, statistics, "hibernate.queries.executed", "HQL and SQL queries executed",
+                Statistics::getQueryExecutionCount);
+        register(registry, statistics, "hibernate.entities.loaded", "Entities loaded from the database",
+                Statistics::getEntityLoadCount);
+        register(registry, statistics, "hibernate.entities.fetched", "Entities fetched by lazy loading",
+                Statistics::getEntityFetchCount);
+        register(registry, statistics, "hibernate.collections.loaded", "Collections loaded from the database",
+                Statistics::getCollectionLoadCount);
+        register(registry, statistics, "hibernate.second-level-cache.hits", "Second-level cache hits",
+                Statistics::getSecondLevelCacheHitCount);
+        register(registry, statistics, "hibernate.second-level-cache.misses", "Second-level cache misses",
+                Statistics::getSecondLevelCacheMissCount);
+        register(registry, statistics, "hibernate.query-cache.hits", "Query cache hits",
+                Statistics::getQueryCacheHitCount);
+        register(registry, statistics, "hibernate.query-cache.misses", "Query cache misses",
+                Statistics::getQueryCacheMissCount);
+    }
+
+    /**
+     * Register a counter reading a Hibernate statistic.
+     *
+     * @param registry    The registry.
+     * @param statistics  The Hibernate statistics.
+     * @param name        The name of the counter.
+     * @param description The description of the counter.
+     * @param value       Reads the statistic.
+     */
+    private static void register(MeterRegistry registry, Statistics statistics, String name, String description,
+                                 ToDoubleFunction<Statistics> value) {
+        FunctionCounter.builder(name, statistics, value)
+                .description(description)
+                .register(registry);
+    }
+}
@@ -0,0 +1,105 @@
+package ua.dtsebulia.testassignmentbotscrew.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Formats the application's meters for the console "metrics" command.
+ * JVM and web server meters are left to the Prometheus endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class MetricsReport {
+
+    private static final List<String> PREFIXES = List.of(
+            OperationMetrics.SERVICE_TIMER, OperationMetrics.COMMAND_TIMER, "spring.data.repository",
+            "hibernate.", "cache.", "snapshot.");
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Format every application meter on its own line, sorted by name and tags.
+     *
+     * @return The formatted meters.
+     */
+    public String format() {
+        return meterRegistry.getMeters().stream()
+                .filter(meter -> isReported(meter.getId()))
+                .sorted(Comparator.comparing(meter -> meter.getId().getName() + meter.getId().getTags()))
+                .map(MetricsReport::format)
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    /**
+     * Check whether a meter belongs to the application, skipping the gauges derived from timer histograms.
+     *
+     * @param id The id of the meter.
+     * @return True if the meter is reported.
+     */
+    private static boolean isReported(Meter.Id id) {
+        String name = id.getName();
+        return PREFIXES.stream().anyMatch(name::startsWith)
+                && !name.endsWith(".percentile") && !name.endsWith(".histogram");
+    }
+
+    /**
+     * Format a meter: timers with their count and latency distribution, other meters with their values.
+     *
+     * @param meter The meter.
+     * @return The formatted meter.
+     */
+    private static String format(Meter meter) {
+        String id = meter.getId().getName() + meter.getId().getTags().stream()
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .collect(Collectors.joining(",", "{", "}"));
+
+        if (meter instanceof Timer timer) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%s count=%d mean=%.3fms max=%.3fms",
+                    id, snapshot.count(), snapshot.mean(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS)));
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                line.append(String.format(Locale.ROOT, " p%s=%.3fms",
+                        formatPercentile(percentile.percentile()), percentile.value(TimeUnit.MILLISECONDS)));
+            }
+            return line.toString();
+        }
+
+        String values = StreamSupport.stream(meter.measure().spliterator(), false)
+                .map(measurement -> measurement.getStatistic().name().toLowerCase(Locale.ROOT) + "="
+                        + formatValue(measurement.getValue()))
+                .collect(Collectors.joining(" "));
+        return id + " " + values;
+    }
+
+    /**
+     * Format a percentile such as 0.99 as "99".
+     *
+     * @param percentile The percentile, between 0 and 1.
+     * @return The formatted percentile.
+     */
+    private static String formatPercentile(double percentile) {
+        return formatValue(percentile * 100);
+    }
+
+    /**
+     * Format a value without a fraction if it is a whole number.
+     *
+     * @param value The value.
+     * @return The formatted value.
+     */
+    private static String formatValue(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.3f", value);
+    }
+}
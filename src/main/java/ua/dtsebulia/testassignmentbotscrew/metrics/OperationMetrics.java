@@ -0,0 +1,116 @@
+package ua.dtsebulia.testassignmentbotscrew.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Records the latency of application operations as Micrometer timers, tagged by operation and outcome.
+ * <p>
+ * The timers publish a percentile histogram, so the Prometheus endpoint can aggregate latencies
+ * across instances, and client-side percentiles, which the console "metrics" command prints.
+ */
+@Component
+@RequiredArgsConstructor
+public class OperationMetrics {
+
+    /**
+     * The timer of department service operations.
+     */
+    public static final String SERVICE_TIMER = "department.service";
+
+    /**
+     * The timer of console commands.
+     */
+    public static final String COMMAND_TIMER = "console.command";
+
+    /**
+     * The outcome of an operation that found what it was looking for.
+     */
+    public static final String FOUND = "found";
+
+    /**
+     * The outcome of an operation on a department that does not exist, or of a search without results.
+     */
+    public static final String NOT_FOUND = "not_found";
+
+    /**
+     * The outcome of an operation on a department without lectors.
+     */
+    public static final String NO_LECTORS = "no_lectors";
+
+    /**
+     * The outcome of a command that completed.
+     */
+    public static final String SUCCESS = "success";
+
+    /**
+     * The outcome of a command that was not recognized.
+     */
+    public static final String INVALID = "invalid";
+
+    /**
+     * The outcome of an operation that failed with an exception.
+     */
+    public static final String ERROR = "error";
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99};
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Time an operation and tag the timer with the outcome derived from its result.
+     *
+     * @param timerName The name of the timer.
+     * @param operation The operation tag.
+     * @param call      The operation.
+     * @param outcomeOf Derives the outcome tag from the result.
+     * @param <T>       The type of the result.
+     * @return The result of the operation.
+     */
+    public <T> T record(String timerName, String operation, Supplier<T> call, Function<T, String> outcomeOf) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = ERROR;
+        try {
+            T result = call.get();
+            outcome = outcomeOf.apply(result);
+            return result;
+        } finally {
+            sample.stop(timer(timerName, operation, outcome));
+        }
+    }
+
+    /**
+     * Record the duration of an operation measured by the caller.
+     *
+     * @param timerName     The name of the timer.
+     * @param operation     The operation tag.
+     * @param outcome       The outcome tag.
+     * @param durationNanos The duration in nanoseconds.
+     */
+    public void record(String timerName, String operation, String outcome, long durationNanos) {
+        timer(timerName, operation, outcome).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get or register the timer for an operation and outcome.
+     *
+     * @param timerName The name of the timer.
+     * @param operation The operation tag.
+     * @param outcome   The outcome tag.
+     * @return The timer.
+     */
+    private Timer timer(String timerName, String operation, String outcome) {
+        return Timer.builder(timerName)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+}
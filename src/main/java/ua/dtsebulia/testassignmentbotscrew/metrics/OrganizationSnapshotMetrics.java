@@ -0,0 +1,45 @@
+package ua.dtsebulia.testassignmentbotscrew.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.snapshot.OrganizationSnapshotEngine;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the size, age and load time of the {@link OrganizationSnapshotEngine}'s current snapshot.
+ */
+@Component
+@ConditionalOnProperty(name = "snapshot.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OrganizationSnapshotMetrics implements MeterBinder {
+
+    private final OrganizationSnapshotEngine snapshotEngine;
+
+    /**
+     * Register the meters.
+     *
+     * @param registry The registry.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("snapshot.lectors", snapshotEngine, engine -> engine.snapshot().footprint().lectorCount())
+                .register(registry);
+        Gauge.builder("snapshot.memory", snapshotEngine, engine -> engine.snapshot().footprint().estimatedBytes())
+                .baseUnit("bytes")
+                .register(registry);
+        TimeGauge.builder("snapshot.age", snapshotEngine, TimeUnit.MILLISECONDS,
+                        engine -> Duration.between(engine.snapshot().builtAt(), Instant.now()).toMillis())
+                .register(registry);
+        TimeGauge.builder("snapshot.refresh.duration", snapshotEngine, TimeUnit.NANOSECONDS,
+                        OrganizationSnapshotEngine::lastRefreshNanos)
+                .register(registry);
+    }
+}
@@ -0,0 +1,240 @@
+package ua.dtsebulia.testassignmentbotscrew.report;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary;
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary.DegreeEntry;
+import ua.dtsebulia.testassignmentbotscrew.dto.DegreeCountDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.DepartmentReportDto;
+import ua.dtsebulia.testassignmentbotscrew.metrics.OperationMetrics;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentHeadRow;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentLectorRow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import static ua.dtsebulia.testassignmentbotscrew.metrics.OperationMetrics.SERVICE_TIMER;
+
+/**
+ * Service computing the head, average salary and statistics of every department at once.
+ * <p>
+ * Instead of a lookup per department, the report reads two bulk queries: the departments with their heads and
+ * every department membership with the lector's salary and degree. The memberships are then reduced to
+ * per-department totals with a fork/join reduction: the rows are split across the workers of a dedicated
+ * {@link ForkJoinPool}, each worker sums its share into a map of totals, and the maps are merged pairwise.
+ * The rows of the report are built in parallel as well and passed on in department name order, as soon as
+ * they are ready, so the report can be streamed. The pool's parallelism is set with {@code report.parallelism}
+ * and defaults to the number of processors.
+ */
+@Service
+public class DepartmentReportService {
+
+    private final DepartmentRepository departmentRepository;
+    private final DegreeDictionary degreeDictionary;
+    private final OperationMetrics operationMetrics;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create the service.
+     *
+     * @param departmentRepository The repository of departments.
+     * @param degreeDictionary     The dictionary of degree ordinals.
+     * @param operationMetrics     The metrics of service operations.
+     * @param parallelism          The number of workers computing a report, or 0 for the number of processors.
+     */
+    public DepartmentReportService(DepartmentRepository departmentRepository, DegreeDictionary degreeDictionary,
+                                   OperationMetrics operationMetrics,
+                                   @Value("${report.parallelism:0}") int parallelism) {
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("Report parallelism must not be negative, was " + parallelism + ".");
+        }
+        this.departmentRepository = departmentRepository;
+        this.degreeDictionary = degreeDictionary;
+        this.operationMetrics = operationMetrics;
+        this.pool = new ForkJoinPool(parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism);
+    }
+
+    /**
+     * Compute the report.
+     *
+     * @return A row per department, in department name order.
+     */
+    public List<DepartmentReportDto> getReport() {
+        List<DepartmentReportDto> rows = new ArrayList<>();
+        report(degrees -> {
+        }, rows::add);
+        return rows;
+    }
+
+    /**
+     * Compute the report and write it piece by piece, as the rows are ready.
+     *
+     * @param format The output format.
+     * @param output The consumer of the output.
+     */
+    public void writeReport(ReportFormat format, Consumer<CharSequence> output) {
+        boolean[] first = {true};
+        report(degrees -> output.accept(format.header(degrees)), row -> {
+            output.accept(format.row(row, first[0]));
+            first[0] = false;
+        });
+        output.accept(format.footer());
+    }
+
+    /**
+     * Get the parallelism of the report computation.
+     *
+     * @return The number of workers.
+     */
+    public int parallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Stop the workers.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Compute the report and pass its rows to a consumer, in department name order.
+     * The consumer is called by one worker at a time.
+     *
+     * @param header   The consumer of the names of the degrees counted in every row, called before the first row.
+     * @param consumer The consumer of the rows.
+     */
+    private void report(Consumer<List<String>> header, Consumer<DepartmentReportDto> consumer) {
+        operationMetrics.record(SERVICE_TIMER, "department_report", () -> {
+
+            // Read everything the report needs in two queries.
+            List<DepartmentHeadRow> departments = departmentRepository.findDepartmentHeads();
+            List<DepartmentLectorRow> memberships = departmentRepository.findDepartmentLectorRows();
+
+            // Sum the memberships of every department, splitting the rows across the workers.
+            Map<Integer, DepartmentTotals> totals = pool.submit(() -> memberships.parallelStream()
+                    .collect(HashMap<Integer, DepartmentTotals>::new, this::add, DepartmentReportService::merge))
+                    .join();
+
+            // Build the rows in parallel, passing them on in department name order.
+            List<DegreeEntry> degrees = degreeDictionary.degrees();
+            header.accept(degrees.stream().map(DegreeEntry::name).toList());
+            pool.submit(() -> departments.parallelStream()
+                    .map(department -> toRow(department, totals.get(department.departmentId()), degrees))
+                    .forEachOrdered(consumer)).join();
+            return departments.size();
+        }, departmentCount -> departmentCount == 0 ? OperationMetrics.NOT_FOUND : OperationMetrics.FOUND);
+    }
+
+    /**
+     * Add a membership to the totals of its department.
+     *
+     * @param totals     The totals by department id.
+     * @param membership The membership.
+     */
+    private void add(Map<Integer, DepartmentTotals> totals, DepartmentLectorRow membership) {
+        DepartmentTotals department = totals.computeIfAbsent(membership.departmentId(),
+                id -> new DepartmentTotals());
+
+        // A department without lectors yields a single row without a lector.
+        if (membership.lectorId() != null) {
+            department.add(membership.salary(),
+                    degreeDictionary.ordinalOf(membership.degreeId(), membership.degreeName()));
+        }
+    }
+
+    /**
+     * Merge the totals summed by another worker into these.
+     *
+     * @param totals The totals to merge into.
+     * @param other  The other totals.
+     */
+    private static void merge(Map<Integer, DepartmentTotals> totals, Map<Integer, DepartmentTotals> other) {
+        other.forEach((id, department) -> totals.merge(id, department, DepartmentTotals::merge));
+    }
+
+    /**
+     * Build the report row of a department.
+     *
+     * @param department The department with its head.
+     * @param totals     The totals of the department, or null if it has no memberships.
+     * @param degrees    The degrees to count, in order.
+     * @return The row.
+     */
+    private static DepartmentReportDto toRow(DepartmentHeadRow department, DepartmentTotals totals,
+                                             List<DegreeEntry> degrees) {
+        DepartmentTotals sums = totals != null ? totals : new DepartmentTotals();
+        List<DegreeCountDto> degreeCounts = degrees.stream()
+                .map(degree -> new DegreeCountDto(degree.name(), sums.countByDegree(degree.ordinal())))
+                .toList();
+        return new DepartmentReportDto(
+                department.departmentName(),
+                department.headFullName(),
+                sums.lectorCount,
+                sums.lectorCount == 0 ? null : (double) sums.salarySum / sums.lectorCount,
+                degreeCounts);
+    }
+
+    /**
+     * Running totals of a department's lectors, summed by one worker.
+     */
+    private static final class DepartmentTotals {
+
+        private long lectorCount;
+        private long salarySum;
+        private int[] degreeCounts = new int[0];
+
+        /**
+         * Add a lector.
+         *
+         * @param salary        The salary, counted as 0 if missing.
+         * @param degreeOrdinal The ordinal of the degree, or {@link DegreeDictionary#NO_DEGREE}.
+         */
+        private void add(Integer salary, int degreeOrdinal) {
+            lectorCount++;
+            salarySum += salary != null ? salary : 0;
+            if (degreeOrdinal >= 0) {
+                if (degreeOrdinal >= degreeCounts.length) {
+                    degreeCounts = Arrays.copyOf(degreeCounts, degreeOrdinal + 1);
+                }
+                degreeCounts[degreeOrdinal]++;
+            }
+        }
+
+        /**
+         * Add the totals of another worker.
+         *
+         * @param other The other totals.
+         * @return These totals.
+         */
+        private DepartmentTotals merge(DepartmentTotals other) {
+            lectorCount += other.lectorCount;
+            salarySum += other.salarySum;
+            if (other.degreeCounts.length > degreeCounts.length) {
+                degreeCounts = Arrays.copyOf(degreeCounts, other.degreeCounts.length);
+            }
+            for (int i = 0; i < other.degreeCounts.length; i++) {
+                degreeCounts[i] += other.degreeCounts[i];
+            }
+            return this;
+        }
+
+        /**
+         * Get the number of lectors holding a degree.
+         *
+         * @param degreeOrdinal The ordinal of the degree.
+         * @return The number of lectors.
+         */
+        private int countByDegree(int degreeOrdinal) {
+            return degreeOrdinal < degreeCounts.length ? degreeCounts[degreeOrdinal] : 0;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package ua.dtsebulia.testassignmentbotscrew.report;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ua.dtsebulia.testassignmentbotscrew.dto.DegreeCountDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.DepartmentReportDto;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Output format of the all departments report. A report is written piece by piece: the header, every row
+ * in order and the footer, so it can be streamed while it is being computed.
+ */
+public enum ReportFormat {
+
+    /**
+     * Comma-separated values with a header line. The department, head, lector count and average salary are
+     * followed by a column with the lector count of every degree. Empty cells stand for missing values.
+     */
+    CSV("text/csv") {
+        @Override
+        public String header(List<String> degrees) {
+            return "department,head,lectors,average_salary"
+                    + degrees.stream().map(degree -> "," + escape(degree)).collect(Collectors.joining());
+        }
+
+        @Override
+        public String row(DepartmentReportDto row, boolean first) {
+            StringBuilder line = new StringBuilder("\n")
+                    .append(escape(row.departmentName())).append(',')
+                    .append(row.headOfDepartment() == null ? "" : escape(row.headOfDepartment())).append(',')
+                    .append(row.lectorCount()).append(',')
+                    .append(row.averageSalary() == null ? "" : row.averageSalary());
+            for (DegreeCountDto degree : row.degrees()) {
+                line.append(',').append(degree.lectorCount());
+            }
+            return line.toString();
+        }
+
+        @Override
+        public String footer() {
+            return "";
+        }
+    },
+
+    /**
+     * A JSON array with an object per department, shaped like {@link DepartmentReportDto}.
+     */
+    JSON("application/json") {
+        @Override
+        public String header(List<String> degrees) {
+            return "[";
+        }
+
+        @Override
+        public String row(DepartmentReportDto row, boolean first) {
+            try {
+                return (first ? "" : ",") + OBJECT_MAPPER.writeValueAsString(row);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not write the report row of " + row.departmentName() + ".", e);
+            }
+        }
+
+        @Override
+        public String footer() {
+            return "]";
+        }
+    };
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String mediaType;
+
+    ReportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Find a format by its name, ignoring case.
+     *
+     * @param name The name, for example "csv".
+     * @return The format, or an empty optional if there is none with the name.
+     */
+    public static Optional<ReportFormat> of(String name) {
+        for (ReportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name.trim())) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Get the media type of the format.
+     *
+     * @return The media type.
+     */
+    public String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Write the start of the report.
+     *
+     * @param degrees The names of the degrees counted in every row, in order.
+     * @return The header.
+     */
+    public abstract String header(List<String> degrees);
+
+    /**
+     * Write a row of the report.
+     *
+     * @param row   The row.
+     * @param first Whether the row is the first one.
+     * @return The row, including any separator from the previous piece.
+     */
+    public abstract String row(DepartmentReportDto row, boolean first);
+
+    /**
+     * Write the end of the report.
+     *
+     * @return The footer.
+     */
+    public abstract String footer();
+
+    /**
+     * Quote a CSV cell if it contains a separator, a quote or a line break.
+     *
+     * @param value The value.
+     * @return The cell.
+     */
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,10 @@
+package ua.dtsebulia.testassignmentbotscrew.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
+
+import java.util.List;
+
+public interface DegreeRepository extends JpaRepository<Degree, Integer> {
+    List<Degree> findAllByOrderByIdAsc();
+}
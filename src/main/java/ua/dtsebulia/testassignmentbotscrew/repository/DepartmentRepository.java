@@ -1,8 +1,127 @@
 package ua.dtsebulia.testassignmentbotscrew.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentHeadRow;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentLectorRow;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentMemberRow;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentNameRow;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repository of departments.
+ * <p>
+ * Every query runs in a read-only transaction, unless it joins a write transaction: Hibernate then skips
+ * the flush before and the dirty check after the query, and keeps no snapshot of the entities it loads.
+ * The department queries return projections, so only {@link #findByName} and {@link #findAll} load entities,
+ * and they load them read-only.
+ */
+@Transactional(readOnly = true)
 public interface DepartmentRepository extends JpaRepository<Department, Integer> {
+
+    /**
+     * The query cache region of department lookups by name.
+     */
+    String BY_NAME_CACHE_REGION = "department-by-name";
+
+    /**
+     * The number of rows a streamed query fetches from the database at a time.
+     */
+    String STREAM_FETCH_SIZE = "1000";
+
+    /**
+     * Find a department by its name, with its head.
+     * The result is kept in the query cache until a department or lector is changed.
+     * The department is loaded read-only, so changes to it are not saved unless it is merged.
+     *
+     * @param departmentName The name of the department.
+     * @return The department, or null if it is not found.
+     */
+    @EntityGraph(Department.WITH_HEAD)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = BY_NAME_CACHE_REGION),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
     Department findByName(String departmentName);
+
+    /**
+     * Find the head of a department by the department's name, without loading any entity.
+     * The result is kept in the query cache until a department or lector is changed.
+     * The query is the named query {@value Department#FIND_HEAD_BY_NAME}: Spring Data parses a {@code @Query}
+     * string again on every call, which costs more than the query itself once its result is cached.
+     *
+     * @param departmentName The name of the department.
+     * @return The department with the name of its head, or an empty optional if it is not found.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = BY_NAME_CACHE_REGION)})
+    Optional<DepartmentHeadRow> findHeadByName(@Param("departmentName") String departmentName);
+
+    /**
+     * List every department with its lectors, loaded read-only.
+     *
+     * @return The departments.
+     */
+    @Override
+    @EntityGraph(Department.WITH_LECTORS)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Department> findAll();
+
+    /**
+     * List every department membership together with the lector's salary and degree.
+     * Departments without lectors yield a single row with a null lector.
+     */
+    @Query("""
+            select new ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentLectorRow(
+                d.id, d.name, l.id, l.salary, g.id, g.name)
+            from Department d
+            left join d.lectors l
+            left join l.degree g""")
+    List<DepartmentLectorRow> findDepartmentLectorRows();
+
+    /**
+     * Stream every department membership with the department's head, ordered by department and lector id.
+     * Departments without lectors yield a single row with a null lector.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("""
+            select new ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentMemberRow(
+                d.id, d.name, h.id, l.id)
+            from Department d
+            left join d.headOfDepartment h
+            left join d.lectors l
+            order by d.id, l.id""")
+    Stream<DepartmentMemberRow> streamDepartmentMemberRows();
+
+    /**
+     * List the id and name of every department, without loading the departments.
+     */
+    @Query("""
+            select new ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentNameRow(d.id, d.name)
+            from Department d""")
+    List<DepartmentNameRow> findAllNames();
+
+    /**
+     * List every department with the name of its head, ordered by department name.
+     * Departments without a head yield null names.
+     */
+    @Query("""
+            select new ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentHeadRow(
+                d.id, d.name, h.id, h.firstName, h.lastName)
+            from Department d
+            left join d.headOfDepartment h
+            order by d.name, d.id""")
+    List<DepartmentHeadRow> findDepartmentHeads();
 }
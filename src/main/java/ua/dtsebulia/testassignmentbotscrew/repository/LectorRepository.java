@@ -0,0 +1,27 @@
+package ua.dtsebulia.testassignmentbotscrew.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.LectorRow;
+
+import java.util.stream.Stream;
+
+public interface LectorRepository extends JpaRepository<Lector, Integer> {
+
+    /**
+     * Stream every lector with its degree, in id order.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = DepartmentRepository.STREAM_FETCH_SIZE))
+    @Query("""
+            select new ua.dtsebulia.testassignmentbotscrew.repository.projection.LectorRow(
+                l.id, l.firstName, l.lastName, l.salary, g.id, g.name)
+            from Lector l
+            left join l.degree g
+            order by l.id""")
+    Stream<LectorRow> streamLectorRows();
+}
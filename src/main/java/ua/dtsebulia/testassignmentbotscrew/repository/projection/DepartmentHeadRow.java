@@ -0,0 +1,23 @@
+package ua.dtsebulia.testassignmentbotscrew.repository.projection;
+
+/**
+ * Projection of a department with the name of its head.
+ *
+ * @param departmentId   The id of the department.
+ * @param departmentName The name of the department.
+ * @param headId         The id of the head, or null if no head is assigned.
+ * @param headFirstName  The first name of the head, or null if no head is assigned.
+ * @param headLastName   The last name of the head, or null if no head is assigned.
+ */
+public record DepartmentHeadRow(Integer departmentId, String departmentName, Integer headId,
+                                String headFirstName, String headLastName) {
+
+    /**
+     * Get the full name of the head.
+     *
+     * @return The full name, or null if no head is assigned.
+     */
+    public String headFullName() {
+        return headFirstName == null && headLastName == null ? null : headFirstName + " " + headLastName;
+    }
+}
@@ -0,0 +1,15 @@
+package ua.dtsebulia.testassignmentbotscrew.repository.projection;
+
+/**
+ * Projection of one department membership, flattened with the lector's salary and degree.
+ *
+ * @param departmentId   The id of the department.
+ * @param departmentName The name of the department.
+ * @param lectorId       The id of the lector, or null for the row of a department without lectors.
+ * @param salary         The salary of the lector.
+ * @param degreeId       The id of the lector's degree.
+ * @param degreeName     The name of the lector's degree.
+ */
+public record DepartmentLectorRow(Integer departmentId, String departmentName, Integer lectorId,
+                                  Integer salary, Integer degreeId, String degreeName) {
+}
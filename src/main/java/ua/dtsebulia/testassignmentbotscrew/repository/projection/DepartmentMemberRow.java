@@ -0,0 +1,13 @@
+package ua.dtsebulia.testassignmentbotscrew.repository.projection;
+
+/**
+ * Projection of one department membership, with the department's name and head.
+ *
+ * @param departmentId     The id of the department.
+ * @param departmentName   The name of the department.
+ * @param headOfDepartment The id of the head of the department, or null if none is assigned.
+ * @param lectorId         The id of the lector, or null for the row of a department without lectors.
+ */
+public record DepartmentMemberRow(Integer departmentId, String departmentName, Integer headOfDepartment,
+                                  Integer lectorId) {
+}
@@ -0,0 +1,10 @@
+package ua.dtsebulia.testassignmentbotscrew.repository.projection;
+
+/**
+ * Id and name of a department.
+ *
+ * @param id   The id of the department.
+ * @param name The name of the department.
+ */
+public record DepartmentNameRow(Integer id, String name) {
+}
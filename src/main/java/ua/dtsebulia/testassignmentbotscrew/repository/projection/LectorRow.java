@@ -0,0 +1,15 @@
+package ua.dtsebulia.testassignmentbotscrew.repository.projection;
+
+/**
+ * Projection of a lector with its degree, without loading the entity.
+ *
+ * @param id         The id of the lector.
+ * @param firstName  The first name of the lector.
+ * @param lastName   The last name of the lector.
+ * @param salary     The salary of the lector.
+ * @param degreeId   The id of the lector's degree.
+ * @param degreeName The name of the lector's degree.
+ */
+public record LectorRow(Integer id, String firstName, String lastName, Integer salary,
+                        Integer degreeId, String degreeName) {
+}
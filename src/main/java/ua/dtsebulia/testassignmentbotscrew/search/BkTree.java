@@ -0,0 +1,222 @@
+package ua.dtsebulia.testassignmentbotscrew.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Burkhard-Keller tree over strings, finding every term within a Levenshtein distance of a query.
+ * <p>
+ * Every child hangs off its parent under its distance to the parent. By the triangle inequality, a query at
+ * distance {@code d} from a node can only match children whose edge lies in {@code [d - k, d + k]}, so most
+ * of the tree is never visited. Each node also records its largest edge, which bounds how exactly its
+ * distance must be known: past {@code max(k, largestEdge + k)} neither the node nor any child can match, so
+ * the distance computation stops early. Leaves, the majority of nodes, therefore cost a banded comparison of
+ * width {@code 2k + 1}. The tree is not thread-safe; callers are expected to guard it.
+ */
+public class BkTree {
+
+    private Node root;
+    private int size;
+    private int maxLength;
+
+    /**
+     * A term found by a query.
+     *
+     * @param term     The term.
+     * @param distance The edit distance from the query.
+     */
+    public record Match(String term, int distance) {
+    }
+
+    /**
+     * Add a term. Adding a term that is already in the tree does nothing.
+     *
+     * @param term The term.
+     */
+    public void add(String term) {
+        maxLength = Math.max(maxLength, term.length());
+        if (root == null) {
+            root = new Node(term);
+            size++;
+            return;
+        }
+
+        // Walk down the edges labelled with the distance to each node until a free slot is found.
+        int[] previous = new int[maxLength + 1];
+        int[] current = new int[maxLength + 1];
+        char[] chars = term.toCharArray();
+        Node node = root;
+        while (true) {
+            int distance = distance(chars, node.chars, Integer.MAX_VALUE, previous, current);
+            if (distance == 0) {
+                return;
+            }
+            Node child = node.child(distance);
+            if (child == null) {
+                node.addChild(distance, new Node(term));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Find the terms within a distance of the query, closest first, ties in alphabetical order.
+     *
+     * @param query       The query.
+     * @param maxDistance The largest edit distance to accept.
+     * @return The matches.
+     */
+    public List<Match> search(String query, int maxDistance) {
+        List<Match> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+
+        // Rows for the distance computation, reused for every visited node.
+        int rowLength = Math.max(maxLength, query.length()) + 1;
+        int[] previous = new int[rowLength];
+        int[] current = new int[rowLength];
+
+        char[] queryChars = query.toCharArray();
+        List<Node> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.remove(pending.size() - 1);
+
+            // Distances past the largest useful one are capped, which is enough to rule the node out.
+            int cap = Math.max(maxDistance, node.largestEdge + maxDistance) + 1;
+            int distance = distance(queryChars, node.chars, cap, previous, current);
+            if (distance <= maxDistance) {
+                matches.add(new Match(node.term, distance));
+            }
+            if (distance < cap) {
+                for (int i = 0; i < node.childCount; i++) {
+                    if (Math.abs(node.edges[i] - distance) <= maxDistance) {
+                        pending.add(node.children[i]);
+                    }
+                }
+            }
+        }
+
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparing(Match::term));
+        return matches;
+    }
+
+    /**
+     * Get the number of terms.
+     *
+     * @return The number of terms.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Compute the Levenshtein distance between two strings, or the cap if the distance is at least the cap.
+     * Only the diagonal band of width {@code 2 * cap + 1} is computed, and the computation stops as soon as
+     * a whole row reaches the cap.
+     *
+     * @param first    The characters of the first string.
+     * @param second   The characters of the second string.
+     * @param cap      The cap.
+     * @param previous A row of at least {@code second.length + 1} cells.
+     * @param current  Another row of the same size.
+     * @return The distance, or the cap.
+     */
+    static int distance(char[] first, char[] second, int cap, int[] previous, int[] current) {
+        int firstLength = first.length;
+        int secondLength = second.length;
+        if (Math.abs(firstLength - secondLength) >= cap) {
+            return cap;
+        }
+
+        for (int j = 0; j <= secondLength; j++) {
+            previous[j] = Math.min(j, cap);
+        }
+
+        for (int i = 1; i <= firstLength; i++) {
+            int from = Math.max(1, i - cap);
+            int to = (int) Math.min(secondLength, (long) i + cap);
+
+            // Cells left and right of the band are at least the cap.
+            current[0] = Math.min(i, cap);
+            if (from > 1) {
+                current[from - 1] = cap;
+            }
+            int rowMinimum = from == 1 ? current[0] : cap;
+
+            char c = first[i - 1];
+            for (int j = from; j <= to; j++) {
+                int substitution = previous[j - 1] + (c == second[j - 1] ? 0 : 1);
+                int value = Math.min(Math.min(current[j - 1], previous[j]) + 1, substitution);
+                current[j] = Math.min(value, cap);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (to < secondLength) {
+                current[to + 1] = cap;
+            }
+            if (rowMinimum >= cap) {
+                return cap;
+            }
+
+            int[] row = previous;
+            previous = current;
+            current = row;
+        }
+        return previous[secondLength];
+    }
+
+    /**
+     * A term with its children, kept in small parallel arrays rather than a map.
+     */
+    private static final class Node {
+
+        private final String term;
+        private final char[] chars;
+        private int[] edges = new int[0];
+        private Node[] children = new Node[0];
+        private int childCount;
+        private int largestEdge;
+
+        private Node(String term) {
+            this.term = term;
+            this.chars = term.toCharArray();
+        }
+
+        /**
+         * Get the child under an edge.
+         *
+         * @param edge The distance to the child.
+         * @return The child, or null if there is none.
+         */
+        private Node child(int edge) {
+            for (int i = 0; i < childCount; i++) {
+                if (edges[i] == edge) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Add a child under a free edge.
+         *
+         * @param edge  The distance to the child.
+         * @param child The child.
+         */
+        private void addChild(int edge, Node child) {
+            if (childCount == edges.length) {
+                int capacity = Math.max(2, childCount * 2);
+                edges = Arrays.copyOf(edges, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            edges[childCount] = edge;
+            children[childCount++] = child;
+            largestEdge = Math.max(largestEdge, edge);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package ua.dtsebulia.testassignmentbotscrew.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ua.dtsebulia.testassignmentbotscrew.config.StartupPreload;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.event.BulkDataChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.DepartmentChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.EntityChangeType;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentNameRow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typo-tolerant lookup of department names, for "did you mean" suggestions and for auto-resolving
+ * a mistyped name to the department it most likely means.
+ * <p>
+ * The {@link SearchKeys normalized keys} of the department names are kept in a {@link BkTree}, so case and
+ * accents never count as typos. A name is matched within {@code department.fuzzy.max-distance} edits, but
+ * at most one edit per three characters, so short names are not matched to unrelated ones. Like the search
+ * index, the tree is built at startup and kept up to date from department change events, applied once their
+ * transaction commits, so a rolled-back rename is never suggested. Every applied event advances a generation, and
+ * a rebuild whose names were loaded while events were applied loads them again, so a committed change is never
+ * overwritten by older names. Removed names stay in the tree until they outnumber the live ones and the tree is
+ * rebuilt from memory.
+ */
+@Component
+public class DepartmentNameResolver {
+
+    /**
+     * Number of times a rebuild loads the names without holding the lock.
+     */
+    static final int REBUILD_ATTEMPTS = 3;
+
+    private static final int CHARACTERS_PER_EDIT = 3;
+    private static final int MIN_GARBAGE_FOR_REBUILD = 64;
+
+    private final DepartmentRepository departmentRepository;
+    private final int maxDistance;
+    private final int suggestionLimit;
+    private final boolean autoResolve;
+
+    private final Map<Object, String> namesById = new HashMap<>();
+    private final Map<String, Integer> departmentsByName = new HashMap<>();
+    private final Map<String, List<String>> namesByKey = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private BkTree tree = new BkTree();
+    private int garbage;
+    private volatile boolean built;
+    private volatile long generation;
+
+    /**
+     * Create the resolver.
+     *
+     * @param departmentRepository The repository of departments.
+     * @param maxDistance          The largest number of edits between a mistyped name and a suggestion.
+     * @param suggestionLimit      The largest number of suggestions.
+     * @param autoResolve          Whether commands answer for the closest department when a name is not found.
+     */
+    public DepartmentNameResolver(DepartmentRepository departmentRepository,
+                                  @Value("${department.fuzzy.max-distance:2}") int maxDistance,
+                                  @Value("${department.fuzzy.suggestions:3}") int suggestionLimit,
+                                  @Value("${department.fuzzy.auto-resolve:false}") boolean autoResolve) {
+        this.departmentRepository = departmentRepository;
+        this.maxDistance = maxDistance;
+        this.suggestionLimit = suggestionLimit;
+        this.autoResolve = autoResolve;
+    }
+
+    /**
+     * Build the tree as soon as the application context is ready, unless preloading is disabled, see
+     * {@link StartupPreload}.
+     */
+    @EventListener(value = ContextRefreshedEvent.class, condition = StartupPreload.ENABLED)
+    public void onContextRefreshed() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the tree after a bulk change that did not publish entity events.
+     *
+     * @param event The bulk change event.
+     */
+    @EventListener
+    public void onBulkDataChanged(BulkDataChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the tree from the database.
+     * <p>
+     * The names are loaded without holding the lock, so lookups are not blocked by the query. If events were
+     * applied meanwhile, the names may predate them and are loaded again. After {@value #REBUILD_ATTEMPTS}
+     * attempts, the names are loaded while holding the lock, so no event can interleave.
+     */
+    public void rebuild() {
+        for (int attempt = 1; attempt < REBUILD_ATTEMPTS; attempt++) {
+            long loadGeneration = generation;
+            List<DepartmentNameRow> departments = departmentRepository.findAllNames();
+
+            lock.writeLock().lock();
+            try {
+                if (generation == loadGeneration) {
+                    load(departments);
+                    return;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // Changes keep arriving: hold the lock across the query, so none can be missed.
+        lock.writeLock().lock();
+        try {
+            load(departmentRepository.findAllNames());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the names with the loaded ones and rebuild the tree.
+     * Must be called with the write lock held.
+     *
+     * @param departments The id and name of every department.
+     */
+    private void load(List<DepartmentNameRow> departments) {
+        namesById.clear();
+        departments.forEach(department -> namesById.put(department.id(), department.name()));
+        rebuildTree();
+        built = true;
+    }
+
+    /**
+     * Update the tree once a department change has been committed.
+     * Changes made outside a transaction are applied immediately.
+     *
+     * @param event The department change event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            if (!built) {
+                return;
+            }
+
+            Object key = keyOf(event.department());
+            String previous = event.type() == EntityChangeType.REMOVED
+                    ? namesById.remove(key)
+                    : namesById.put(key, event.department().getName());
+
+            // Nothing changes unless the department was added, renamed or removed.
+            if (event.type() != EntityChangeType.REMOVED && event.department().getName().equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                removeName(previous);
+            }
+            if (event.type() != EntityChangeType.REMOVED) {
+                addName(event.department().getName());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the department names closest to a name, closest first.
+     *
+     * @param departmentName The possibly mistyped name.
+     * @return Up to {@code department.fuzzy.suggestions} names within the allowed number of edits.
+     */
+    public List<String> suggest(String departmentName) {
+        List<String> suggestions = new ArrayList<>();
+        for (BkTree.Match match : matches(departmentName)) {
+            for (String name : liveNames(match.term())) {
+                if (suggestions.size() == suggestionLimit) {
+                    return suggestions;
+                }
+                suggestions.add(name);
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Resolve a mistyped name to the department it most likely means.
+     *
+     * @param departmentName The possibly mistyped name.
+     * @return The only department name at the smallest distance, or an empty optional if there is none
+     * or the closest names are tied.
+     */
+    public Optional<String> resolve(String departmentName) {
+        List<String> closest = new ArrayList<>();
+        int closestDistance = Integer.MAX_VALUE;
+        for (BkTree.Match match : matches(departmentName)) {
+            // Matches are sorted by distance, so the first live one sets the smallest distance.
+            if (match.distance() > closestDistance) {
+                break;
+            }
+            List<String> names = liveNames(match.term());
+            if (!names.isEmpty()) {
+                closestDistance = match.distance();
+                closest.addAll(names);
+            }
+        }
+        return closest.size() == 1 ? Optional.of(closest.get(0)) : Optional.empty();
+    }
+
+    /**
+     * Check whether commands should answer for the closest department when a name is not found.
+     *
+     * @return True if auto-resolve is enabled with {@code department.fuzzy.auto-resolve}.
+     */
+    public boolean isAutoResolveEnabled() {
+        return autoResolve;
+    }
+
+    /**
+     * Find the keys within the allowed number of edits of a name.
+     *
+     * @param departmentName The name.
+     * @return The matches, closest first.
+     */
+    private List<BkTree.Match> matches(String departmentName) {
+        ensureBuilt();
+
+        String key = SearchKeys.normalize(departmentName);
+        int distance = Math.min(maxDistance, key.length() / CHARACTERS_PER_EDIT);
+
+        lock.readLock().lock();
+        try {
+            return tree.search(key, distance);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the department names with a key that still belong to a department.
+     *
+     * @param key The key.
+     * @return The live names.
+     */
+    private List<String> liveNames(String key) {
+        lock.readLock().lock();
+        try {
+            return namesByKey.getOrDefault(key, List.of()).stream()
+                    .filter(departmentsByName::containsKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count a department name, adding its key to the tree if it is new.
+     * Must be called with the write lock held.
+     *
+     * @param name The department name.
+     */
+    private void addName(String name) {
+        departmentsByName.merge(name, 1, Integer::sum);
+
+        List<String> names = namesByKey.computeIfAbsent(SearchKeys.normalize(name), key -> {
+            tree.add(key);
+            return new ArrayList<>();
+        });
+        if (!names.contains(name)) {
+            names.add(name);
+        }
+    }
+
+    /**
+     * Uncount a department name, rebuilding the tree once removed names outnumber the live ones.
+     * Must be called with the write lock held.
+     *
+     * @param name The department name.
+     */
+    private void removeName(String name) {
+        if (departmentsByName.merge(name, -1, Integer::sum) > 0) {
+            return;
+        }
+        departmentsByName.remove(name);
+        garbage++;
+        if (garbage >= MIN_GARBAGE_FOR_REBUILD && garbage > departmentsByName.size()) {
+            rebuildTree();
+        }
+    }
+
+    /**
+     * Rebuild the tree from the names by id.
+     * Must be called with the write lock held.
+     */
+    private void rebuildTree() {
+        tree = new BkTree();
+        departmentsByName.clear();
+        namesByKey.clear();
+        garbage = 0;
+        namesById.values().forEach(this::addName);
+    }
+
+    /**
+     * Build the tree from the repository if it has not been built yet.
+     */
+    private void ensureBuilt() {
+        if (!built) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Get the key of a department.
+     * Transient departments without an id fall back to entity equality.
+     *
+     * @param department The department.
+     * @return The key.
+     */
+    private static Object keyOf(Department department) {
+        return department.getId() != null ? department.getId() : department;
+    }
+}
@@ -0,0 +1,379 @@
+package ua.dtsebulia.testassignmentbotscrew.search;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ua.dtsebulia.testassignmentbotscrew.config.StartupPreload;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.event.BulkDataChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.DepartmentChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.EntityChangeType;
+import ua.dtsebulia.testassignmentbotscrew.event.LectorChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-memory search index over department names and the full names of their lectors.
+ * <p>
+ * The index is built from the database once at startup (or on first use) and then kept up to date
+ * from entity change events, applied once their transaction commits, so a rolled-back change never reaches
+ * the index. Every applied event advances a generation, and a rebuild whose departments were loaded while events
+ * were applied loads them again, so a committed change is never overwritten by older rows. As with the original
+ * scan, only lectors that belong to at least one department are searchable, so membership is reference-counted
+ * per lector.
+ * <p>
+ * With {@code search.mode=normalized}, names are matched ignoring case and accents. Each name's normalized
+ * key is computed once, when the name is indexed, see {@link SearchKeys}.
+ */
+@Component
+public class GlobalSearchIndex {
+
+    /**
+     * Number of times a rebuild loads the departments without holding the lock.
+     */
+    static final int REBUILD_ATTEMPTS = 3;
+
+    private final DepartmentRepository departmentRepository;
+
+    private final TrigramIndex<Object> departmentIndex;
+    private final TrigramIndex<Object> lectorIndex;
+    private final Map<Object, Set<Object>> departmentMembers = new HashMap<>();
+    private final Map<Object, Integer> lectorReferences = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean built;
+    private volatile long generation;
+
+    /**
+     * Create the index.
+     *
+     * @param departmentRepository The repository of departments.
+     * @param searchMode           How templates are matched against names.
+     */
+    public GlobalSearchIndex(DepartmentRepository departmentRepository,
+                             @Value("${search.mode:exact}") SearchMode searchMode) {
+        this.departmentRepository = departmentRepository;
+        this.departmentIndex = new TrigramIndex<>(searchMode::key);
+        this.lectorIndex = new TrigramIndex<>(searchMode::key);
+    }
+
+    /**
+     * Build the index as soon as the application context is ready, unless preloading is disabled, see
+     * {@link StartupPreload}.
+     */
+    @EventListener(value = ContextRefreshedEvent.class, condition = StartupPreload.ENABLED)
+    public void onContextRefreshed() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the index after a bulk change that did not publish entity events.
+     *
+     * @param event The bulk change event.
+     */
+    @EventListener
+    public void onBulkDataChanged(BulkDataChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the whole index from the database.
+     * <p>
+     * The departments are loaded without holding the lock, so searches are not blocked by the query. If events
+     * were applied meanwhile, the departments may predate them and are loaded again. After
+     * {@value #REBUILD_ATTEMPTS} attempts, they are loaded while holding the lock, so no event can interleave.
+     */
+    public void rebuild() {
+        for (int attempt = 1; attempt < REBUILD_ATTEMPTS; attempt++) {
+            long loadGeneration = generation;
+
+            // Load all departments together with their lectors.
+            List<Department> departments = departmentRepository.findAll();
+
+            lock.writeLock().lock();
+            try {
+                if (generation == loadGeneration) {
+                    load(departments);
+                    return;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // Changes keep arriving: hold the lock across the query, so none can be missed.
+        lock.writeLock().lock();
+        try {
+            load(departmentRepository.findAll());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the contents of the index with the loaded departments.
+     * Must be called with the write lock held.
+     *
+     * @param departments Every department with its lectors.
+     */
+    private void load(List<Department> departments) {
+        departmentIndex.clear();
+        lectorIndex.clear();
+        departmentMembers.clear();
+        lectorReferences.clear();
+
+        departments.forEach(this::indexDepartment);
+        built = true;
+    }
+
+    /**
+     * Find department names and lector names containing the template.
+     * Department names come first, followed by lector names.
+     *
+     * @param template The template.
+     * @return The matching names.
+     */
+    public List<String> search(String template) {
+        List<String> results = new ArrayList<>();
+        search(template, results::add);
+        return results;
+    }
+
+    /**
+     * Pass department names and lector names containing the template to the consumer.
+     * Department names come first, followed by lector names.
+     *
+     * @param template The template.
+     * @param consumer The consumer of matching names.
+     */
+    public void search(String template, Consumer<String> consumer) {
+        ensureBuilt();
+
+        lock.readLock().lock();
+        try {
+            departmentIndex.search(template, consumer);
+            lectorIndex.search(template, consumer);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pass one page of matching names to the consumer and stop as soon as the page is full.
+     * Department names come first, followed by lector names.
+     *
+     * @param template The template.
+     * @param offset   The number of matches to skip.
+     * @param limit    The maximum number of matches to pass to the consumer.
+     * @param consumer The consumer of matching names.
+     * @return True if there are more matches after the page.
+     */
+    public boolean search(String template, int offset, int limit, Consumer<String> consumer) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative.");
+        }
+
+        ensureBuilt();
+
+        // Count matches as they are found: skip the offset, pass the page on,
+        // and stop at the first match past the page, which proves there are more.
+        long end = (long) offset + limit;
+        long[] position = {0};
+        Predicate<String> visitor = name -> {
+            long current = position[0]++;
+            if (current >= end) {
+                return false;
+            }
+            if (current >= offset) {
+                consumer.accept(name);
+            }
+            return true;
+        };
+
+        lock.readLock().lock();
+        try {
+            return !(departmentIndex.searchWhile(template, visitor) && lectorIndex.searchWhile(template, visitor));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count department names and lector names containing the template, without collecting them.
+     *
+     * @param template The template.
+     * @return The number of matching names.
+     */
+    public long count(String template) {
+        ensureBuilt();
+
+        lock.readLock().lock();
+        try {
+            return (long) departmentIndex.count(template) + lectorIndex.count(template);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Update the index once a department change has been committed.
+     * Changes made outside a transaction are applied immediately.
+     *
+     * @param event The department change event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            if (!built) {
+                return;
+            }
+
+            if (event.type() == EntityChangeType.REMOVED) {
+                Object key = keyOf(event.department());
+                departmentIndex.remove(key);
+                updateMembers(key, Set.of());
+            } else {
+                indexDepartment(event.department());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Update the index once a lector change has been committed.
+     * Changes made outside a transaction are applied immediately.
+     * Lectors outside any department are not searchable, so only already indexed lectors are touched.
+     *
+     * @param event The lector change event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLectorChanged(LectorChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            if (!built) {
+                return;
+            }
+
+            Object key = keyOf(event.lector());
+            if (!lectorIndex.contains(key)) {
+                return;
+            }
+
+            if (event.type() == EntityChangeType.REMOVED) {
+                lectorIndex.remove(key);
+                lectorReferences.remove(key);
+                departmentMembers.values().forEach(members -> members.remove(key));
+            } else {
+                lectorIndex.put(key, event.lector().getFullName());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Build the index from the repository if it has not been built yet.
+     */
+    private void ensureBuilt() {
+        if (!built) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Index the department name and, if they are loaded, its lectors.
+     * Must be called with the write lock held.
+     *
+     * @param department The department.
+     */
+    private void indexDepartment(Department department) {
+        Object key = keyOf(department);
+        departmentIndex.put(key, department.getName());
+
+        // An uninitialized lazy collection means membership did not change in this unit of work.
+        Set<Lector> lectors = department.getLectors();
+        if (lectors != null && !Hibernate.isInitialized(lectors)) {
+            return;
+        }
+
+        Set<Object> members = new LinkedHashSet<>();
+        if (lectors != null) {
+            lectors.forEach(lector -> {
+                Object lectorKey = keyOf(lector);
+                members.add(lectorKey);
+                lectorIndex.put(lectorKey, lector.getFullName());
+            });
+        }
+        updateMembers(key, members);
+    }
+
+    /**
+     * Replace the lectors of a department, adjusting lector reference counts
+     * and dropping lectors that no longer belong to any department.
+     * Must be called with the write lock held.
+     *
+     * @param departmentKey The key of the department.
+     * @param members       The keys of the department's lectors.
+     */
+    private void updateMembers(Object departmentKey, Set<Object> members) {
+        Set<Object> previous = departmentMembers.remove(departmentKey);
+        if (!members.isEmpty()) {
+            departmentMembers.put(departmentKey, members);
+        }
+
+        members.forEach(lectorKey -> {
+            if (previous == null || !previous.contains(lectorKey)) {
+                lectorReferences.merge(lectorKey, 1, Integer::sum);
+            }
+        });
+
+        if (previous != null) {
+            previous.forEach(lectorKey -> {
+                if (!members.contains(lectorKey)
+                        && lectorReferences.merge(lectorKey, -1, Integer::sum) <= 0) {
+                    lectorReferences.remove(lectorKey);
+                    lectorIndex.remove(lectorKey);
+                }
+            });
+        }
+    }
+
+    /**
+     * Get the index key of a department.
+     * Transient departments without an id fall back to entity equality.
+     *
+     * @param department The department.
+     * @return The key.
+     */
+    private static Object keyOf(Department department) {
+        return department.getId() != null ? department.getId() : department;
+    }
+
+    /**
+     * Get the index key of a lector.
+     * Transient lectors without an id fall back to entity equality, as the previous Set-based scan did.
+     *
+     * @param lector The lector.
+     * @return The key.
+     */
+    private static Object keyOf(Lector lector) {
+        return lector.getId() != null ? lector.getId() : lector;
+    }
+}
@@ -0,0 +1,101 @@
+package ua.dtsebulia.testassignmentbotscrew.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Normalized search keys for case-insensitive, accent-insensitive substring search.
+ * <p>
+ * A key is the text decomposed into base letters and combining marks, with the marks dropped and every
+ * letter case-folded, so "Petrenko", "PETRENKO" and "Pétrenko" all become "petrenko". Cyrillic letters that
+ * are written with a mark but are letters of their own, such as the Ukrainian "й" and "ї", keep their mark.
+ * A few Latin letters without a decomposition, such as "ł" and "ø", are mapped to their base letter, and
+ * typographic apostrophes, common in Ukrainian names, become the ASCII apostrophe.
+ * <p>
+ * Keys are computed once per name and the template is normalized once per query, so matching compares
+ * keys with {@link String#contains} and allocates nothing per candidate. ASCII keys are stored one byte
+ * per character by the JVM's compact strings.
+ */
+public final class SearchKeys {
+
+    private static final char COMBINING_DIAERESIS = '\u0308';
+    private static final char COMBINING_BREVE = '\u0306';
+
+    private SearchKeys() {
+    }
+
+    /**
+     * Normalize a text into its search key.
+     *
+     * @param text The text.
+     * @return The search key.
+     */
+    public static String normalize(String text) {
+
+        // Most names are plain ASCII, which only needs lower-casing.
+        boolean ascii = true;
+        boolean lowerCase = true;
+        for (int i = 0; i < text.length() && ascii; i++) {
+            char c = text.charAt(i);
+            ascii = c < 0x80;
+            lowerCase &= c < 'A' || c > 'Z';
+        }
+        if (ascii) {
+            return lowerCase ? text : text.toLowerCase(Locale.ROOT);
+        }
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder key = new StringBuilder(decomposed.length());
+        int previous = 0;
+        for (int i = 0; i < decomposed.length(); ) {
+            int codePoint = decomposed.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (Character.getType(codePoint) == Character.NON_SPACING_MARK) {
+                if (isCyrillicLetterMark(previous, codePoint)) {
+                    key.appendCodePoint(codePoint);
+                }
+                continue;
+            }
+
+            previous = codePoint;
+            appendFolded(key, codePoint);
+        }
+
+        // Recompose the kept Cyrillic marks, so "й" is one character in keys and templates alike.
+        return Normalizer.normalize(key, Normalizer.Form.NFC);
+    }
+
+    /**
+     * Check whether a combining mark is part of a Cyrillic letter of its own, as in "й", "ї" and "ё".
+     *
+     * @param base      The code point the mark follows.
+     * @param codePoint The combining mark.
+     * @return True if the mark must be kept.
+     */
+    private static boolean isCyrillicLetterMark(int base, int codePoint) {
+        return (codePoint == COMBINING_BREVE || codePoint == COMBINING_DIAERESIS)
+                && Character.UnicodeBlock.of(base) == Character.UnicodeBlock.CYRILLIC;
+    }
+
+    /**
+     * Append the case-folded form of a code point.
+     *
+     * @param key       The key being built.
+     * @param codePoint The code point.
+     */
+    private static void appendFolded(StringBuilder key, int codePoint) {
+        switch (codePoint) {
+            case 'ß', 'ẞ' -> key.append("ss");
+            case 'Æ', 'æ' -> key.append("ae");
+            case 'Œ', 'œ' -> key.append("oe");
+            case 'Ł', 'ł' -> key.append('l');
+            case 'Ø', 'ø' -> key.append('o');
+            case 'Đ', 'đ' -> key.append('d');
+            case 'ı' -> key.append('i');
+            case '\u2018', '\u2019', '\u02BC' -> key.append('\'');
+            // Upper-casing first folds variants such as the final sigma and the long s.
+            default -> key.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint)));
+        }
+    }
+}
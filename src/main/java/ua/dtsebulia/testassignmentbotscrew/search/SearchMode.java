@@ -0,0 +1,27 @@
+package ua.dtsebulia.testassignmentbotscrew.search;
+
+/**
+ * How search templates are matched against names, set with {@code search.mode}.
+ */
+public enum SearchMode {
+
+    /**
+     * Names must contain the template exactly, as with {@link String#contains}.
+     */
+    EXACT,
+
+    /**
+     * Names and the template are compared by their {@link SearchKeys normalized keys}, ignoring case and accents.
+     */
+    NORMALIZED;
+
+    /**
+     * Get the search key of a name or template.
+     *
+     * @param text The name or template.
+     * @return The text itself for exact search, or its normalized key.
+     */
+    public String key(String text) {
+        return this == NORMALIZED ? SearchKeys.normalize(text) : text;
+    }
+}
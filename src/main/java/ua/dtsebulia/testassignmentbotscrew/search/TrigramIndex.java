@@ -0,0 +1,316 @@
+package ua.dtsebulia.testassignmentbotscrew.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Trigram inverted index over a set of names.
+ * <p>
+ * Every indexed name gets a dense, increasing document id, and every distinct trigram of the name
+ * maps to a sorted posting list of the ids containing it. A substring query intersects the posting
+ * lists of the template's trigrams and verifies the few remaining candidates with {@link String#contains},
+ * so results match a plain substring scan. Templates shorter than a trigram fall back to scanning the
+ * in-memory names. The index is not thread-safe; callers are expected to guard it.
+ * <p>
+ * An index can be given a key function, such as {@link SearchKeys#normalize}. Trigrams and the final check
+ * then use each name's key, computed once when the name is indexed, and the template's key, computed once
+ * per query, while searches still return the original names.
+ *
+ * @param <K> The type of the key identifying an indexed entity.
+ */
+public class TrigramIndex<K> {
+
+    private static final int GRAM_LENGTH = 3;
+
+    // Compact once removed documents outnumber the live ones and there is enough garbage to bother.
+    private static final int MIN_GARBAGE_FOR_COMPACTION = 64;
+
+    private final UnaryOperator<String> keyFunction;
+    private final Map<K, Integer> documentIds = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private List<K> keys = new ArrayList<>();
+    private List<String> names = new ArrayList<>();
+    private List<String> searchKeys = new ArrayList<>();
+    private int garbage;
+
+    /**
+     * Create an index matching templates exactly.
+     */
+    public TrigramIndex() {
+        this(UnaryOperator.identity());
+    }
+
+    /**
+     * Create an index matching the keys of templates against the keys of names.
+     *
+     * @param keyFunction The function computing the search key of a name or template.
+     */
+    public TrigramIndex(UnaryOperator<String> keyFunction) {
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * Add or replace the name indexed under the key.
+     *
+     * @param key  The key of the entity.
+     * @param name The name to index.
+     */
+    public void put(K key, String name) {
+        Integer existing = documentIds.get(key);
+
+        // Nothing to do if the key is already indexed with the same name.
+        if (existing != null) {
+            if (names.get(existing).equals(name)) {
+                return;
+            }
+            remove(key);
+        }
+
+        // Append the name as a new document and add it to the posting list of each trigram of its search key.
+        int documentId = names.size();
+        String searchKey = keyFunction.apply(name);
+        keys.add(key);
+        names.add(name);
+        searchKeys.add(searchKey);
+        documentIds.put(key, documentId);
+        forEachTrigram(searchKey,
+                trigram -> postings.computeIfAbsent(trigram, t -> new PostingList()).add(documentId));
+    }
+
+    /**
+     * Remove the name indexed under the key.
+     * Posting lists keep the stale id until the next compaction; searches skip it.
+     *
+     * @param key The key of the entity.
+     */
+    public void remove(K key) {
+        Integer documentId = documentIds.remove(key);
+
+        if (documentId != null) {
+            keys.set(documentId, null);
+            names.set(documentId, null);
+            searchKeys.set(documentId, null);
+            garbage++;
+
+            if (garbage >= MIN_GARBAGE_FOR_COMPACTION && garbage > documentIds.size()) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Check whether the key is indexed.
+     *
+     * @param key The key of the entity.
+     * @return True if the key is indexed.
+     */
+    public boolean contains(K key) {
+        return documentIds.containsKey(key);
+    }
+
+    /**
+     * Get the number of indexed names.
+     *
+     * @return The number of indexed names.
+     */
+    public int size() {
+        return documentIds.size();
+    }
+
+    /**
+     * Remove every indexed name.
+     */
+    public void clear() {
+        documentIds.clear();
+        postings.clear();
+        keys = new ArrayList<>();
+        names = new ArrayList<>();
+        searchKeys = new ArrayList<>();
+        garbage = 0;
+    }
+
+    /**
+     * Find every indexed name containing the template, in indexing order.
+     *
+     * @param template The template.
+     * @return The matching names.
+     */
+    public List<String> search(String template) {
+        List<String> results = new ArrayList<>();
+        search(template, results::add);
+        return results;
+    }
+
+    /**
+     * Pass every indexed name containing the template to the consumer, in indexing order.
+     *
+     * @param template The template.
+     * @param consumer The consumer of matching names.
+     */
+    public void search(String template, Consumer<String> consumer) {
+        searchWhile(template, name -> {
+            consumer.accept(name);
+            return true;
+        });
+    }
+
+    /**
+     * Count the indexed names containing the template, without collecting them.
+     *
+     * @param template The template.
+     * @return The number of matching names.
+     */
+    public int count(String template) {
+        int[] count = {0};
+        searchWhile(template, name -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    /**
+     * Pass indexed names containing the template to the visitor, in indexing order,
+     * until the visitor returns false.
+     *
+     * @param template The template.
+     * @param visitor  The visitor of matching names, returning false to stop the search.
+     * @return False if the visitor stopped the search, true if every match was visited.
+     */
+    public boolean searchWhile(String template, Predicate<String> visitor) {
+        String templateKey = keyFunction.apply(template);
+
+        // A template shorter than a trigram has no posting list to look up,
+        // so check the in-memory search keys directly.
+        if (templateKey.length() < GRAM_LENGTH) {
+            for (int i = 0; i < searchKeys.size(); i++) {
+                String searchKey = searchKeys.get(i);
+                if (searchKey != null && searchKey.contains(templateKey) && !visitor.test(names.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Collect the posting lists of the template's trigrams.
+        // If any trigram is missing from the index, nothing can match.
+        List<PostingList> lists = new ArrayList<>();
+        boolean[] missing = {false};
+        forEachTrigram(templateKey, trigram -> {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                missing[0] = true;
+            } else if (!lists.contains(list)) {
+                lists.add(list);
+            }
+        });
+
+        if (missing[0]) {
+            return true;
+        }
+
+        // Intersect starting from the shortest list to keep the candidate set small.
+        lists.sort((first, second) -> Integer.compare(first.size, second.size));
+        int[] candidates = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        int candidateCount = candidates.length;
+        for (int i = 1; i < lists.size() && candidateCount > 0; i++) {
+            candidateCount = intersect(candidates, candidateCount, lists.get(i));
+        }
+
+        // Having every trigram does not guarantee the template occurs as a substring,
+        // so verify each remaining candidate.
+        for (int i = 0; i < candidateCount; i++) {
+            String searchKey = searchKeys.get(candidates[i]);
+            if (searchKey != null && searchKey.contains(templateKey) && !visitor.test(names.get(candidates[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Keep only the candidates that also occur in the posting list.
+     * Both sequences are sorted, so a single merge pass is enough.
+     *
+     * @param candidates     The sorted candidate ids, compacted in place.
+     * @param candidateCount The number of valid candidates.
+     * @param list           The posting list to intersect with.
+     * @return The number of candidates left.
+     */
+    private static int intersect(int[] candidates, int candidateCount, PostingList list) {
+        int kept = 0;
+        int position = 0;
+
+        for (int i = 0; i < candidateCount && position < list.size; i++) {
+            int candidate = candidates[i];
+            while (position < list.size && list.ids[position] < candidate) {
+                position++;
+            }
+            if (position < list.size && list.ids[position] == candidate) {
+                candidates[kept++] = candidate;
+            }
+        }
+
+        return kept;
+    }
+
+    /**
+     * Rebuild the index from the live documents, dropping removed ids from every posting list.
+     * Live documents keep their relative order.
+     */
+    private void compact() {
+        List<K> liveKeys = keys;
+        List<String> liveNames = names;
+        clear();
+
+        for (int i = 0; i < liveKeys.size(); i++) {
+            if (liveKeys.get(i) != null) {
+                put(liveKeys.get(i), liveNames.get(i));
+            }
+        }
+    }
+
+    /**
+     * Pass every trigram of the text, packed into a long, to the consumer.
+     *
+     * @param text     The text.
+     * @param consumer The consumer of packed trigrams.
+     */
+    private static void forEachTrigram(String text, Consumer<Long> consumer) {
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            long trigram = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+            consumer.accept(trigram);
+        }
+    }
+
+    /**
+     * Growable, sorted list of document ids.
+     * Ids are appended in increasing order, so the list stays sorted without extra work.
+     */
+    private static final class PostingList {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        /**
+         * Append a document id, skipping it if the same name repeats a trigram.
+         *
+         * @param documentId The document id.
+         */
+        private void add(int documentId) {
+            if (size > 0 && ids[size - 1] == documentId) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = documentId;
+        }
+    }
+}
@@ -1,27 +1,59 @@
 package ua.dtsebulia.testassignmentbotscrew.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
-import ua.dtsebulia.testassignmentbotscrew.entity.Department;
-import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.aggregate.DepartmentAggregateStore;
+import ua.dtsebulia.testassignmentbotscrew.aggregate.SalaryDistribution;
+import ua.dtsebulia.testassignmentbotscrew.cache.DepartmentLookupCache;
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary;
+import ua.dtsebulia.testassignmentbotscrew.dto.AverageSalaryDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.DegreeCountDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.DepartmentStatisticDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.EmployeeCountDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.GlobalSearchCountDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.GlobalSearchPageDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.HeadOfDepartmentDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.SalaryDistributionDto;
+import ua.dtsebulia.testassignmentbotscrew.metrics.OperationMetrics;
 import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentHeadRow;
+import ua.dtsebulia.testassignmentbotscrew.search.DepartmentNameResolver;
+import ua.dtsebulia.testassignmentbotscrew.search.GlobalSearchIndex;
+import ua.dtsebulia.testassignmentbotscrew.snapshot.OrganizationSnapshot;
+import ua.dtsebulia.testassignmentbotscrew.snapshot.OrganizationSnapshotEngine;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+
+import static ua.dtsebulia.testassignmentbotscrew.metrics.OperationMetrics.SERVICE_TIMER;
 
 /**
  * Service class for managing departments and lectors.
+ * <p>
+ * Queries are served by the in-memory structures maintained from entity change events, or, when the
+ * {@link OrganizationSnapshotEngine} is enabled, by its current snapshot.
  */
 @Service
 @RequiredArgsConstructor
 public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
+    private final GlobalSearchIndex globalSearchIndex;
+    private final DepartmentNameResolver departmentNameResolver;
+    private final DepartmentAggregateStore departmentAggregateStore;
+    private final DepartmentLookupCache departmentLookupCache;
+    private final DegreeDictionary degreeDictionary;
+    private final OperationMetrics operationMetrics;
+    private final ObjectProvider<OrganizationSnapshotEngine> snapshotEngine;
     private static final String DEPARTMENT_NOT_FOUND_MSG = "Department with name %s not found.";
+    private static final String DID_YOU_MEAN_MSG = " Did you mean %s?";
     private static final String DEPARTMENT_HAS_NO_LECTORS_MSG = "Department %s has no lectors.";
+    private static final int PAGE_CAPACITY_HINT = 1024;
 
     /**
      * Retrieve the head of the department by its name.
@@ -30,27 +62,22 @@ public class DepartmentService {
      * @return A message containing the head of the department's name.
      */
     public String findHeadOfDepartment(String departmentName) {
-        Department department = getDepartmentByName(departmentName);
-
-        if (department != null) {
-
-            // Get the head of the department.
-            Lector headOfDepartment = department.getHeadOfDepartment();
+        Optional<HeadOfDepartmentDto> headOfDepartment = getHeadOfDepartment(departmentName);
 
-            // If head of the department is not null,
-            // return a message containing the head of the department's name.
-            if (headOfDepartment != null) {
-                return "Head of " + departmentName + " department is " + headOfDepartment.getFullName() + ".";
-            }
+        // If the department is not found,
+        // return a message saying that the department is not found.
+        if (headOfDepartment.isEmpty()) {
+            return departmentNotFound(departmentName, this::findHeadOfDepartment);
+        }
 
-            // If head of the department is null,
-            // return a message saying that the head of the department is not assigned.
+        // If head of the department is null,
+        // return a message saying that the head of the department is not assigned.
+        if (headOfDepartment.get().headOfDepartment() == null) {
             return "Head of " + departmentName + " department is not assigned.";
         }
 
-        // If the department is not found,
-        // return a message saying that the department is not found.
-        return String.format(DEPARTMENT_NOT_FOUND_MSG, departmentName);
+        // Return a message containing the head of the department's name.
+        return "Head of " + departmentName + " department is " + headOfDepartment.get().headOfDepartment() + ".";
     }
 
     /**
@@ -60,34 +87,24 @@ public class DepartmentService {
      * @return Statistics about lectors in the department.
      */
     public String getDepartmentStatistic(String departmentName) {
+        Optional<DepartmentStatisticDto> statistic = getDepartmentStatisticDetails(departmentName);
 
-        // Get the department by its name.
-        Department department = getDepartmentByName(departmentName);
-
-        // If the department and its lectors are not null,
-        // calculate the count of lectors by degree.
-        if (department != null) {
-            if (department.getLectors() != null && !department.getLectors().isEmpty()) {
-
-                // Use countLectorsByDegree() method to calculate the count of lectors by degree.
-                long assistantCount = countLectorsByDegree(department, "assistant");
-                long associateProfessorCount = countLectorsByDegree(department, "associate professor");
-                long professorCount = countLectorsByDegree(department, "professor");
-
-                // Return the statistics.
-                return "assistants - " + assistantCount + ".\n" +
-                        "associate professors - " + associateProfessorCount + ".\n" +
-                        "professors - " + professorCount + ".";
-            }
+        // If the department is not found,
+        // return a message saying that the department is not found.
+        if (statistic.isEmpty()) {
+            return departmentNotFound(departmentName, this::getDepartmentStatistic);
+        }
 
-            // If the department has no lectors,
-            // return a message saying that the department has no lectors.
+        // If the department has no lectors,
+        // return a message saying that the department has no lectors.
+        if (statistic.get().lectorCount() == 0) {
             return String.format(DEPARTMENT_HAS_NO_LECTORS_MSG, departmentName);
         }
 
-        // If the department is not found,
-        // return a message saying that the department is not found.
-        return String.format(DEPARTMENT_NOT_FOUND_MSG, departmentName);
+        // List the count of lectors for every known degree.
+        return statistic.get().degrees().stream()
+                .map(degree -> pluralize(degree.degree()) + " - " + degree.lectorCount() + ".")
+                .collect(Collectors.joining("\n"));
     }
 
     /**
@@ -97,31 +114,22 @@ public class DepartmentService {
      * @return The average salary of the department.
      */
     public String getAverageSalaryForDepartment(String departmentName) {
+        Optional<AverageSalaryDto> averageSalary = getAverageSalary(departmentName);
 
-        // Get the department by its name.
-        Department department = getDepartmentByName(departmentName);
-
-        // If the department and its lectors are not null,
-        // calculate the average salary of the department.
-        if (department != null) {
-            if (department.getLectors() != null && !department.getLectors().isEmpty()) {
-
-                // Use calculateAverageSalary() method
-                // to calculate the average salary of the department.
-                double averageSalary = calculateAverageSalary(department);
-
-                // Return the average salary of the department.
-                return "The average salary of " + departmentName + " is " + averageSalary + ".";
-            }
+        // If the department is not found,
+        // return a message saying that the department is not found.
+        if (averageSalary.isEmpty()) {
+            return departmentNotFound(departmentName, this::getAverageSalaryForDepartment);
+        }
 
-            // If the department has no lectors,
-            // return a message saying that the department has no lectors.
+        // If the department has no lectors,
+        // return a message saying that the department has no lectors.
+        if (averageSalary.get().lectorCount() == 0) {
             return String.format(DEPARTMENT_HAS_NO_LECTORS_MSG, departmentName);
         }
 
-        // If the department is not found,
-        // return a message saying that the department is not found.
-        return String.format(DEPARTMENT_NOT_FOUND_MSG, departmentName);
+        // Return the average salary of the department.
+        return "The average salary of " + departmentName + " is " + averageSalary.get().averageSalary() + ".";
     }
 
     /**
@@ -131,30 +139,66 @@ public class DepartmentService {
      * @return The count of employees for the department.
      */
     public String getEmployeeCount(String departmentName) {
+        Optional<EmployeeCountDto> employeeCount = getEmployeeCountDetails(departmentName);
 
-        // Get the department by its name.
-        Department department = getDepartmentByName(departmentName);
+        // If the department is not found,
+        // return a message saying that the department is not found.
+        if (employeeCount.isEmpty()) {
+            return departmentNotFound(departmentName, this::getEmployeeCount);
+        }
 
-        // If the department and its lectors are not null,
-        // calculate the count of employees for the department.
-        if (department != null) {
-            if (department.getLectors() != null && !department.getLectors().isEmpty()) {
+        // If the department has no lectors,
+        // return a message saying that the department has no lectors.
+        if (employeeCount.get().employeeCount() == 0) {
+            return String.format(DEPARTMENT_HAS_NO_LECTORS_MSG, departmentName);
+        }
 
-                // Get the count of employees for the department.
-                int employeeCount = department.getLectors().size();
+        // Return the count of employees for the department.
+        return "Employee count of " + departmentName + " is " + employeeCount.get().employeeCount() + ".";
+    }
 
-                // Return the count of employees for the department.
-                return "Employee count of " + departmentName + " is " + employeeCount + ".";
-            }
+    /**
+     * Get the salary distribution of a department: the lowest, median, 90th percentile, 99th percentile
+     * and highest salary.
+     *
+     * @param departmentName The name of the department.
+     * @return The salary distribution of the department.
+     */
+    public String getSalaryDistribution(String departmentName) {
+        Optional<SalaryDistributionDto> distribution = getSalaryDistributionDetails(departmentName);
 
-            // If the department has no lectors,
-            // return a message saying that the department has no lectors.
+        // If the department is not found,
+        // return a message saying that the department is not found.
+        if (distribution.isEmpty()) {
+            return departmentNotFound(departmentName, this::getSalaryDistribution);
+        }
+
+        // If the department has no lectors,
+        // return a message saying that the department has no lectors.
+        if (distribution.get().lectorCount() == 0) {
             return String.format(DEPARTMENT_HAS_NO_LECTORS_MSG, departmentName);
         }
 
-        // If the department is not found,
-        // return a message saying that the department is not found.
-        return String.format(DEPARTMENT_NOT_FOUND_MSG, departmentName);
+        // Return the salary distribution of the department.
+        return "Salary distribution of " + departmentName + ": " + describe(distribution.get());
+    }
+
+    /**
+     * Get the salary distribution of all departments.
+     *
+     * @return The salary distribution of all departments.
+     */
+    public String getOrganizationSalaryDistribution() {
+        SalaryDistributionDto distribution = getOrganizationSalaryDistributionDetails();
+
+        // If no department has lectors,
+        // return a message saying that there are no lectors.
+        if (distribution.lectorCount() == 0) {
+            return "No department has lectors.";
+        }
+
+        // Return the salary distribution of all departments.
+        return "Salary distribution of all departments: " + describe(distribution);
     }
 
 
@@ -166,81 +210,277 @@ public class DepartmentService {
      */
     public String globalSearch(String template) {
 
-        // Create a list to store the results of the search.
-        List<String> results = new ArrayList<>();
+        // Look up matching department and lector names in the search index,
+        // department names first, followed by lector names.
+        List<String> results = operationMetrics.record(SERVICE_TIMER, "global_search",
+                () -> snapshot().map(snapshot -> snapshot.search(template))
+                        .orElseGet(() -> globalSearchIndex.search(template)),
+                found -> found.isEmpty() ? OperationMetrics.NOT_FOUND : OperationMetrics.FOUND);
 
-        // Get all departments.
-        List<Department> departments = departmentRepository.findAll();
+        // Return the results of the search separated by commas.
+        return String.join(",", results);
+    }
 
-        // Iterate through each department,
-        // and add the department name to the results if it contains the template.
-        departments.forEach(department -> {
-            if (department.getName().contains(template)) {
-                results.add(department.getName());
+    /**
+     * Retrieve the head of the department by its name.
+     *
+     * @param departmentName The name of the department.
+     * @return The head of the department, or an empty optional if the department is not found.
+     */
+    public Optional<HeadOfDepartmentDto> getHeadOfDepartment(String departmentName) {
+        return operationMetrics.record(SERVICE_TIMER, "head_of_department", () -> {
+            Optional<OrganizationSnapshot> snapshot = snapshot();
+            if (snapshot.isPresent()) {
+                return snapshot.get().getHeadOfDepartment(departmentName);
             }
-        });
-
-        // Create a set to store the lectors.
-        // Use Java 8 Stream API to get all lectors from all departments.
-        // If the department has no lectors, use an empty stream.
-        Set<Lector> lectors = departments.stream()
-                .flatMap(department ->
-                        department.getLectors() == null ?
-                                Stream.empty() :
-                                department.getLectors().stream())
-                .collect(Collectors.toSet());
-
-        // Iterate through each lector,
-        // and add the lector name to the results if it contains the template.
-        lectors.forEach(lector -> {
-            if (lector.getFullName().contains(template)) {
-                results.add(lector.getFullName());
+
+            DepartmentHeadRow department = getDepartmentByName(departmentName);
+
+            // If the department is not found, return an empty optional.
+            if (department == null) {
+                return Optional.<HeadOfDepartmentDto>empty();
             }
-        });
 
-        // Return the results of the search separated by commas.
-        return String.join(",", results);
+            // Get the head of the department, which may not be assigned.
+            return Optional.of(new HeadOfDepartmentDto(departmentName, department.headFullName()));
+        }, result -> result.isPresent() ? OperationMetrics.FOUND : OperationMetrics.NOT_FOUND);
+    }
+
+    /**
+     * Get department statistics, including the count of lectors by degree.
+     *
+     * @param departmentName The name of the department.
+     * @return The statistics, or an empty optional if the department is not found.
+     */
+    public Optional<DepartmentStatisticDto> getDepartmentStatisticDetails(String departmentName) {
+
+        // Get the materialized aggregate of the department, unless a snapshot serves the query.
+        return operationMetrics.record(SERVICE_TIMER, "department_statistic", () -> snapshot()
+                .map(snapshot -> snapshot.getDepartmentStatistic(departmentName))
+                .orElseGet(() -> departmentAggregateStore.find(departmentName).map(aggregate -> {
+
+                    // Count the lectors for every known degree, in the dictionary's stable order.
+                    List<DegreeCountDto> degrees = degreeDictionary.degrees().stream()
+                            .map(degree -> new DegreeCountDto(degree.name(),
+                                    aggregate.countByDegree(degree.ordinal())))
+                            .toList();
+                    return new DepartmentStatisticDto(departmentName, aggregate.lectorCount(), degrees);
+                })), result -> outcomeOf(result.map(DepartmentStatisticDto::lectorCount)));
     }
 
     /**
-     * Get the department by its name.
+     * Calculate the average salary for a department.
      *
      * @param departmentName The name of the department.
-     * @return The department.
+     * @return The average salary, or an empty optional if the department is not found.
      */
-    private Department getDepartmentByName(String departmentName) {
-        return departmentRepository.findByName(departmentName);
+    public Optional<AverageSalaryDto> getAverageSalary(String departmentName) {
+
+        // Get the materialized aggregate of the department, unless a snapshot serves the query.
+        return operationMetrics.record(SERVICE_TIMER, "average_salary", () -> snapshot()
+                        .map(snapshot -> snapshot.getAverageSalary(departmentName))
+                        .orElseGet(() -> departmentAggregateStore.find(departmentName).map(aggregate ->
+                                new AverageSalaryDto(
+                                        departmentName,
+                                        aggregate.lectorCount(),
+                                        aggregate.lectorCount() == 0 ? null : aggregate.averageSalary()))),
+                result -> outcomeOf(result.map(AverageSalaryDto::lectorCount)));
     }
 
     /**
-     * Calculate the count of lectors by degree.
+     * Calculate the count of employees for a department.
      *
-     * @param department The department.
-     * @param degree     The degree.
-     * @return The count of lectors by degree.
+     * @param departmentName The name of the department.
+     * @return The count of employees, or an empty optional if the department is not found.
      */
-    private long countLectorsByDegree(Department department, String degree) {
+    public Optional<EmployeeCountDto> getEmployeeCountDetails(String departmentName) {
+
+        // Get the materialized aggregate of the department, unless a snapshot serves the query.
+        return operationMetrics.record(SERVICE_TIMER, "employee_count", () -> snapshot()
+                        .map(snapshot -> snapshot.getEmployeeCount(departmentName))
+                        .orElseGet(() -> departmentAggregateStore.find(departmentName)
+                                .map(aggregate -> new EmployeeCountDto(departmentName, aggregate.lectorCount()))),
+                result -> outcomeOf(result.map(EmployeeCountDto::employeeCount)));
+    }
 
-        // Use Java 8 Stream API to calculate the count of lectors by degree.
-        return department.getLectors().stream()
-                .filter(lector -> lector.getDegree().getName().equals(degree))
-                .count();
+    /**
+     * Compute the salary distribution of a department.
+     * The distribution is always served by the in-memory aggregates, which keep a salary sketch per department.
+     *
+     * @param departmentName The name of the department.
+     * @return The salary distribution, or an empty optional if the department is not found.
+     */
+    public Optional<SalaryDistributionDto> getSalaryDistributionDetails(String departmentName) {
+        return operationMetrics.record(SERVICE_TIMER, "salary_distribution",
+                () -> departmentAggregateStore.findSalaryDistribution(departmentName)
+                        .map(distribution -> toSalaryDistributionDto(departmentName, distribution)),
+                result -> outcomeOf(result.map(SalaryDistributionDto::lectorCount)));
     }
 
     /**
-     * Calculate the average salary of the department.
+     * Compute the salary distribution of all departments by merging the departments' salary sketches.
+     * A lector in several departments is counted once per department.
      *
-     * @param department The department.
-     * @return The average salary of the department.
+     * @return The salary distribution.
+     */
+    public SalaryDistributionDto getOrganizationSalaryDistributionDetails() {
+        return operationMetrics.record(SERVICE_TIMER, "organization_salary_distribution",
+                () -> toSalaryDistributionDto(null, departmentAggregateStore.organizationSalaryDistribution()),
+                result -> result.lectorCount() == 0 ? OperationMetrics.NO_LECTORS : OperationMetrics.FOUND);
+    }
+
+    /**
+     * Search for one page of departments and lectors by a template.
+     *
+     * @param template The template.
+     * @param offset   The number of results to skip.
+     * @param limit    The maximum number of results.
+     * @return The page of results.
+     */
+    public GlobalSearchPageDto searchPage(String template, int offset, int limit) {
+        List<String> results = new ArrayList<>(Math.min(limit, PAGE_CAPACITY_HINT));
+        boolean hasMore = globalSearch(template, offset, limit, results::add);
+        return new GlobalSearchPageDto(template, offset, limit, results, hasMore);
+    }
+
+    /**
+     * Stream one page of departments and lectors matching a template to a consumer, as they are found.
+     * The search stops as soon as the page is full.
+     *
+     * @param template The template.
+     * @param offset   The number of results to skip.
+     * @param limit    The maximum number of results.
+     * @param consumer The consumer of matching names.
+     * @return True if there are more results after the page.
+     */
+    public boolean globalSearch(String template, int offset, int limit, Consumer<String> consumer) {
+        boolean[] found = {false};
+        Consumer<String> page = name -> {
+            found[0] = true;
+            consumer.accept(name);
+        };
+        return operationMetrics.record(SERVICE_TIMER, "global_search_page",
+                () -> snapshot().map(snapshot -> snapshot.search(template, offset, limit, page))
+                        .orElseGet(() -> globalSearchIndex.search(template, offset, limit, page)),
+                hasMore -> found[0] ? OperationMetrics.FOUND : OperationMetrics.NOT_FOUND);
+    }
+
+    /**
+     * Count the departments and lectors matching a template, without collecting them.
+     *
+     * @param template The template.
+     * @return The number of results.
+     */
+    public GlobalSearchCountDto countGlobalSearchResults(String template) {
+        return operationMetrics.record(SERVICE_TIMER, "global_search_count",
+                () -> new GlobalSearchCountDto(template, snapshot().map(snapshot -> snapshot.count(template))
+                        .orElseGet(() -> globalSearchIndex.count(template))),
+                result -> result.count() == 0 ? OperationMetrics.NOT_FOUND : OperationMetrics.FOUND);
+    }
+
+    /**
+     * Get the department with its head by the department's name.
+     *
+     * @param departmentName The name of the department.
+     * @return The department, or null if it is not found.
      */
-    private double calculateAverageSalary(Department department) {
+    private DepartmentHeadRow getDepartmentByName(String departmentName) {
+        return departmentLookupCache.get(departmentName);
+    }
+
+    /**
+     * Get the snapshot to serve queries from.
+     *
+     * @return The current snapshot, or an empty optional if the snapshot engine is not enabled.
+     */
+    private Optional<OrganizationSnapshot> snapshot() {
+        OrganizationSnapshotEngine engine = snapshotEngine.getIfAvailable();
+        return engine != null ? Optional.of(engine.snapshot()) : Optional.empty();
+    }
+
+    /**
+     * Answer for a department that was not found.
+     * If auto-resolve is enabled and the name is a typo of exactly one department's name, the answer is given
+     * for that department instead; otherwise the closest department names are suggested.
+     *
+     * @param departmentName The name that was not found.
+     * @param answer         The answer for a department name.
+     * @return The message.
+     */
+    private String departmentNotFound(String departmentName, Function<String, String> answer) {
+        // Answer for the resolved department, unless the name resolves to itself and would not be found again.
+        if (departmentNameResolver.isAutoResolveEnabled()) {
+            Optional<String> resolved = departmentNameResolver.resolve(departmentName)
+                    .filter(name -> !name.equals(departmentName));
+            if (resolved.isPresent()) {
+                return "Showing results for " + resolved.get() + ".\n" + answer.apply(resolved.get());
+            }
+        }
+
+        String message = String.format(DEPARTMENT_NOT_FOUND_MSG, departmentName);
+        List<String> suggestions = departmentNameResolver.suggest(departmentName);
+        return suggestions.isEmpty()
+                ? message
+                : message + String.format(DID_YOU_MEAN_MSG, String.join(", ", suggestions));
+    }
+
+    /**
+     * Convert a salary distribution to its DTO, rounding the salaries.
+     *
+     * @param departmentName The name of the department, or null for all departments.
+     * @param distribution   The distribution.
+     * @return The DTO, with null salaries if there are no lectors.
+     */
+    private static SalaryDistributionDto toSalaryDistributionDto(String departmentName,
+                                                                 SalaryDistribution distribution) {
+        if (distribution.lectorCount() == 0) {
+            return new SalaryDistributionDto(departmentName, 0, null, null, null, null, null);
+        }
+        return new SalaryDistributionDto(
+                departmentName,
+                distribution.lectorCount(),
+                distribution.minSalary(),
+                (int) Math.round(distribution.median()),
+                (int) Math.round(distribution.p90()),
+                (int) Math.round(distribution.p99()),
+                distribution.maxSalary());
+    }
 
-        // Use Java 8 Stream API to calculate the average salary of the department.
-        // If the salary is null, use 0 instead.
-        return department.getLectors().stream()
-                .mapToInt(lector -> lector.getSalary() != null ? lector.getSalary() : 0)
-                .average()
-                .orElse(0);
+    /**
+     * Describe a salary distribution on one line.
+     *
+     * @param distribution The distribution, with at least one lector.
+     * @return The description.
+     */
+    private static String describe(SalaryDistributionDto distribution) {
+        return "min " + distribution.minSalary()
+                + ", median " + distribution.medianSalary()
+                + ", p90 " + distribution.p90Salary()
+                + ", p99 " + distribution.p99Salary()
+                + ", max " + distribution.maxSalary() + ".";
+    }
+
+    /**
+     * Get the outcome of an operation on a department's lectors.
+     *
+     * @param lectorCount The number of lectors, or an empty optional if the department is not found.
+     * @return The outcome tag.
+     */
+    private static String outcomeOf(Optional<Long> lectorCount) {
+        if (lectorCount.isEmpty()) {
+            return OperationMetrics.NOT_FOUND;
+        }
+        return lectorCount.get() == 0 ? OperationMetrics.NO_LECTORS : OperationMetrics.FOUND;
+    }
+
+    /**
+     * Get the plural form of a degree name used in statistics.
+     *
+     * @param degreeName The name of the degree.
+     * @return The plural form of the degree name.
+     */
+    private static String pluralize(String degreeName) {
+        return degreeName + "s";
     }
 
 }
@@ -0,0 +1,430 @@
+package ua.dtsebulia.testassignmentbotscrew.snapshot;
+
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary.DegreeEntry;
+import ua.dtsebulia.testassignmentbotscrew.dto.AverageSalaryDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.DegreeCountDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.DepartmentStatisticDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.EmployeeCountDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.HeadOfDepartmentDto;
+import ua.dtsebulia.testassignmentbotscrew.search.SearchMode;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, columnar copy of the whole organization, answering every department query without SQL.
+ * <p>
+ * Lectors are addressed by their position in id order. Their salaries, degree ordinals and name ids are
+ * kept in parallel primitive arrays, and equal full names share one entry of an interned name table.
+ * Department membership is stored in compressed sparse row form: the members of department {@code d} are
+ * the lector positions {@code members[memberOffsets[d]]} to {@code members[memberOffsets[d + 1] - 1]}.
+ * Snapshots are built by {@link OrganizationSnapshotBuilder} and never change, so they can be read
+ * from any number of threads without locking.
+ * <p>
+ * In {@link SearchMode#NORMALIZED} mode, the search keys of the name tables are computed once, when the
+ * snapshot is created, and searches compare them with the template's key.
+ */
+public final class OrganizationSnapshot {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte MATCH = 1;
+    private static final byte NO_MATCH = 2;
+
+    // Shallow sizes assuming compressed references, as on heaps below 32 GB.
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int STRING_BYTES = 24;
+    private static final int HASH_MAP_ENTRY_BYTES = 32 + 16;
+
+    // The columns are package-private, so SnapshotFileFormat can write them without copying.
+    final int[] lectorIds;
+    final int[] salaries;
+    final byte[] degreeOrdinals;
+    final int[] lectorNameIds;
+    final String[] names;
+    final String[] departmentNames;
+    final int[] departmentHeads;
+    final int[] memberOffsets;
+    final int[] members;
+    final int[] searchableLectors;
+    final List<DegreeEntry> degrees;
+    final int degreeSlots;
+
+    private final SearchMode searchMode;
+    private final String[] nameKeys;
+    private final String[] departmentNameKeys;
+    private final Map<String, Integer> departmentsByName;
+    private final Instant builtAt;
+    private final SnapshotFootprint footprint;
+
+    /**
+     * Create the snapshot from arrays the builder or the snapshot file hands over; they must not be modified
+     * afterwards.
+     *
+     * @param lectorIds         The lector ids, in ascending order.
+     * @param salaries          The salaries by lector position.
+     * @param degreeOrdinals    The degree ordinals by lector position, -1 for none.
+     * @param lectorNameIds     The name table entries by lector position.
+     * @param names             The interned name table.
+     * @param departmentNames   The department names by department position.
+     * @param departmentHeads   The lector positions of the heads by department position, -1 for none.
+     * @param memberOffsets     The offsets into {@code members} by department position, plus the end offset.
+     * @param members           The lector positions of every membership, grouped by department.
+     * @param searchableLectors The positions of the lectors belonging to a department, in search order.
+     * @param degrees           The listed degrees, in the dictionary's stable order.
+     * @param degreeSlots       The number of degree ordinals handed out when the snapshot was built.
+     * @param builtAt           The time the data was read from the database.
+     * @param searchMode        How search templates are matched against names.
+     */
+    OrganizationSnapshot(int[] lectorIds, int[] salaries, byte[] degreeOrdinals, int[] lectorNameIds,
+                         String[] names, String[] departmentNames, int[] departmentHeads, int[] memberOffsets,
+                         int[] members, int[] searchableLectors, List<DegreeEntry> degrees, int degreeSlots,
+                         Instant builtAt, SearchMode searchMode) {
+        this.lectorIds = lectorIds;
+        this.salaries = salaries;
+        this.degreeOrdinals = degreeOrdinals;
+        this.lectorNameIds = lectorNameIds;
+        this.names = names;
+        this.departmentNames = departmentNames;
+        this.departmentHeads = departmentHeads;
+        this.memberOffsets = memberOffsets;
+        this.members = members;
+        this.searchableLectors = searchableLectors;
+        this.degrees = degrees;
+        this.degreeSlots = degreeSlots;
+        this.builtAt = builtAt;
+        this.searchMode = searchMode;
+
+        // Exact search uses the names themselves as keys, so no memory is spent on key tables.
+        this.nameKeys = searchKeys(names, searchMode);
+        this.departmentNameKeys = searchKeys(departmentNames, searchMode);
+
+        // Map the department names to positions; a duplicated name resolves to its first department.
+        this.departmentsByName = new HashMap<>();
+        for (int department = 0; department < departmentNames.length; department++) {
+            departmentsByName.putIfAbsent(departmentNames[department], department);
+        }
+        this.footprint = new SnapshotFootprint(lectorIds.length, departmentNames.length, members.length,
+                names.length, estimateBytes());
+    }
+
+    /**
+     * Get the head of a department.
+     *
+     * @param departmentName The name of the department.
+     * @return The head of the department, or an empty optional if the department is not found.
+     */
+    public Optional<HeadOfDepartmentDto> getHeadOfDepartment(String departmentName) {
+        return findDepartment(departmentName).map(department -> {
+            int head = departmentHeads[department];
+            return new HeadOfDepartmentDto(departmentName, head == -1 ? null : names[lectorNameIds[head]]);
+        });
+    }
+
+    /**
+     * Count a department's lectors by degree.
+     *
+     * @param departmentName The name of the department.
+     * @return The statistics, or an empty optional if the department is not found.
+     */
+    public Optional<DepartmentStatisticDto> getDepartmentStatistic(String departmentName) {
+        return findDepartment(departmentName).map(department -> {
+
+            // Count the members by degree ordinal in a single pass over the membership row.
+            int[] counts = new int[degreeSlots];
+            for (int i = memberOffsets[department]; i < memberOffsets[department + 1]; i++) {
+                int degree = degreeOrdinals[members[i]];
+                if (degree >= 0) {
+                    counts[degree]++;
+                }
+            }
+
+            List<DegreeCountDto> degreeCounts = degrees.stream()
+                    .map(degree -> new DegreeCountDto(degree.name(), counts[degree.ordinal()]))
+                    .toList();
+            return new DepartmentStatisticDto(departmentName, memberCount(department), degreeCounts);
+        });
+    }
+
+    /**
+     * Average a department's salaries.
+     *
+     * @param departmentName The name of the department.
+     * @return The average salary, or an empty optional if the department is not found.
+     */
+    public Optional<AverageSalaryDto> getAverageSalary(String departmentName) {
+        return findDepartment(departmentName).map(department -> {
+            long salarySum = 0;
+            for (int i = memberOffsets[department]; i < memberOffsets[department + 1]; i++) {
+                salarySum += salaries[members[i]];
+            }
+
+            int lectorCount = memberCount(department);
+            return new AverageSalaryDto(departmentName, lectorCount,
+                    lectorCount == 0 ? null : (double) salarySum / lectorCount);
+        });
+    }
+
+    /**
+     * Count a department's lectors.
+     *
+     * @param departmentName The name of the department.
+     * @return The count, or an empty optional if the department is not found.
+     */
+    public Optional<EmployeeCountDto> getEmployeeCount(String departmentName) {
+        return findDepartment(departmentName)
+                .map(department -> new EmployeeCountDto(departmentName, memberCount(department)));
+    }
+
+    /**
+     * Find department names and lector names containing the template.
+     * Department names come first, followed by lector names.
+     *
+     * @param template The template.
+     * @return The matching names.
+     */
+    public List<String> search(String template) {
+        List<String> results = new ArrayList<>();
+        searchWhile(template, name -> {
+            results.add(name);
+            return true;
+        });
+        return results;
+    }
+
+    /**
+     * Pass one page of matching names to the consumer and stop as soon as the page is full.
+     * Department names come first, followed by lector names.
+     *
+     * @param template The template.
+     * @param offset   The number of matches to skip.
+     * @param limit    The maximum number of matches to pass to the consumer.
+     * @param consumer The consumer of matching names.
+     * @return True if there are more matches after the page.
+     */
+    public boolean search(String template, int offset, int limit, Consumer<String> consumer) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative.");
+        }
+
+        long end = (long) offset + limit;
+        long[] position = {0};
+        return !searchWhile(template, name -> {
+            long current = position[0]++;
+            if (current >= end) {
+                return false;
+            }
+            if (current >= offset) {
+                consumer.accept(name);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Count department names and lector names containing the template.
+     *
+     * @param template The template.
+     * @return The number of matching names.
+     */
+    public long count(String template) {
+        long[] count = {0};
+        searchWhile(template, name -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    /**
+     * Get the size of the snapshot.
+     *
+     * @return The footprint.
+     */
+    public SnapshotFootprint footprint() {
+        return footprint;
+    }
+
+    /**
+     * Get the time the snapshot's data was read from the database.
+     * A snapshot opened from a file keeps the time it was originally built.
+     *
+     * @return The build time.
+     */
+    public Instant builtAt() {
+        return builtAt;
+    }
+
+    /**
+     * Get the number of lectors.
+     *
+     * @return The number of lectors, including lectors outside any department.
+     */
+    public int lectorCount() {
+        return lectorIds.length;
+    }
+
+    /**
+     * Pass matching names to the visitor until it returns false.
+     * Each distinct lector name is matched once; lectors sharing it reuse the result.
+     *
+     * @param template The template.
+     * @param visitor  The visitor of matching names.
+     * @return False if the visitor stopped the search.
+     */
+    private boolean searchWhile(String template, Predicate<String> visitor) {
+        String templateKey = searchMode.key(template);
+        for (int department = 0; department < departmentNames.length; department++) {
+            if (departmentNameKeys[department].contains(templateKey) && !visitor.test(departmentNames[department])) {
+                return false;
+            }
+        }
+
+        byte[] matches = new byte[names.length];
+        for (int lector : searchableLectors) {
+            int nameId = lectorNameIds[lector];
+            if (matches[nameId] == UNKNOWN) {
+                matches[nameId] = nameKeys[nameId].contains(templateKey) ? MATCH : NO_MATCH;
+            }
+            if (matches[nameId] == MATCH && !visitor.test(names[nameId])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the position of a department by its name.
+     *
+     * @param departmentName The name of the department.
+     * @return The position, or an empty optional if the department is not found.
+     */
+    private Optional<Integer> findDepartment(String departmentName) {
+        return Optional.ofNullable(departmentsByName.get(departmentName));
+    }
+
+    /**
+     * Get the number of members of a department.
+     *
+     * @param department The position of the department.
+     * @return The number of members.
+     */
+    private int memberCount(int department) {
+        return memberOffsets[department + 1] - memberOffsets[department];
+    }
+
+    /**
+     * Get the search keys of a name table.
+     *
+     * @param names      The names.
+     * @param searchMode The search mode.
+     * @return The names themselves for exact search, or their normalized keys.
+     */
+    private static String[] searchKeys(String[] names, SearchMode searchMode) {
+        if (searchMode == SearchMode.EXACT) {
+            return names;
+        }
+
+        String[] keys = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            keys[i] = searchMode.key(names[i]);
+        }
+        return keys;
+    }
+
+    /**
+     * Estimate the heap footprint of the snapshot from the lengths of its arrays.
+     *
+     * @return The estimated size in bytes.
+     */
+    private long estimateBytes() {
+        long bytes = intArrayBytes(lectorIds.length) * 3 + byteArrayBytes(degreeOrdinals.length)
+                + stringTableBytes(names) + stringTableBytes(departmentNames)
+                + intArrayBytes(departmentHeads.length) + intArrayBytes(memberOffsets.length)
+                + intArrayBytes(members.length) + intArrayBytes(searchableLectors.length)
+                + (long) departmentNames.length * HASH_MAP_ENTRY_BYTES + intArrayBytes(departmentNames.length * 2);
+
+        // Keys equal to their names share the name's string, so only the array is extra.
+        if (nameKeys != names) {
+            bytes += keyTableBytes(nameKeys, names) + keyTableBytes(departmentNameKeys, departmentNames);
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimate the size of a table of search keys, not counting keys that are their name's string.
+     *
+     * @param keys  The keys.
+     * @param names The names the keys were computed from.
+     * @return The estimated size in bytes.
+     */
+    private static long keyTableBytes(String[] keys, String[] names) {
+        long bytes = intArrayBytes(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != names[i]) {
+                bytes += stringBytes(keys[i]);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimate the size of a table of strings, including the strings.
+     *
+     * @param strings The strings.
+     * @return The estimated size in bytes.
+     */
+    private static long stringTableBytes(String[] strings) {
+        long bytes = intArrayBytes(strings.length);
+        for (String string : strings) {
+            bytes += stringBytes(string);
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimate the size of a string, stored one byte per character when every character is Latin-1.
+     *
+     * @param string The string.
+     * @return The estimated size in bytes.
+     */
+    private static long stringBytes(String string) {
+        boolean latin1 = string.chars().allMatch(c -> c <= 0xFF);
+        return STRING_BYTES + byteArrayBytes(latin1 ? string.length() : string.length() * 2);
+    }
+
+    /**
+     * Estimate the size of an int array, which is also the size of a reference array with compressed references.
+     *
+     * @param length The length of the array.
+     * @return The size in bytes, aligned to 8 bytes.
+     */
+    private static long intArrayBytes(int length) {
+        return align(ARRAY_HEADER_BYTES + 4L * length);
+    }
+
+    /**
+     * Estimate the size of a byte array.
+     *
+     * @param length The length of the array.
+     * @return The size in bytes, aligned to 8 bytes.
+     */
+    private static long byteArrayBytes(int length) {
+        return align(ARRAY_HEADER_BYTES + (long) length);
+    }
+
+    /**
+     * Align a size to the 8 byte object alignment.
+     *
+     * @param bytes The size.
+     * @return The aligned size.
+     */
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
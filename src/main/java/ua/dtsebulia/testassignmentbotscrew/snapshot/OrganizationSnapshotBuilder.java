@@ -0,0 +1,190 @@
+package ua.dtsebulia.testassignmentbotscrew.snapshot;
+
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary;
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary.DegreeEntry;
+import ua.dtsebulia.testassignmentbotscrew.search.SearchMode;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds an {@link OrganizationSnapshot} from lector and membership rows.
+ * <p>
+ * Lectors must be added in ascending id order, then memberships grouped by department, as the
+ * repository streams them. Rows go straight into growable primitive arrays, so the only per-row objects
+ * kept are the interned names.
+ */
+public class OrganizationSnapshotBuilder {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final SearchMode searchMode;
+
+    private int[] lectorIds = new int[INITIAL_CAPACITY];
+    private int[] salaries = new int[INITIAL_CAPACITY];
+    private byte[] degreeOrdinals = new byte[INITIAL_CAPACITY];
+    private int[] lectorNameIds = new int[INITIAL_CAPACITY];
+    private int lectorCount;
+
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    private final List<String> departmentNames = new ArrayList<>();
+    private int[] departmentHeads = new int[INITIAL_CAPACITY];
+    private int[] memberOffsets = new int[INITIAL_CAPACITY];
+    private int[] members = new int[INITIAL_CAPACITY];
+    private int memberCount;
+    private Integer currentDepartmentId;
+
+    /**
+     * Create a builder of snapshots matching search templates exactly.
+     */
+    public OrganizationSnapshotBuilder() {
+        this(SearchMode.EXACT);
+    }
+
+    /**
+     * Create a builder of snapshots.
+     *
+     * @param searchMode How the snapshots match search templates against names.
+     */
+    public OrganizationSnapshotBuilder(SearchMode searchMode) {
+        this.searchMode = searchMode;
+    }
+
+    /**
+     * Add a lector.
+     *
+     * @param id            The id of the lector, greater than the id of the previous lector.
+     * @param fullName      The full name of the lector.
+     * @param salary        The salary of the lector, may be null.
+     * @param degreeOrdinal The ordinal of the lector's degree, or {@link DegreeDictionary#NO_DEGREE}.
+     * @return This builder.
+     * @throws IllegalArgumentException If the ids are not ascending.
+     * @throws IllegalStateException    If the degree ordinal does not fit in a byte.
+     */
+    public OrganizationSnapshotBuilder addLector(int id, String fullName, Integer salary, int degreeOrdinal) {
+        if (lectorCount > 0 && id <= lectorIds[lectorCount - 1]) {
+            throw new IllegalArgumentException("Lectors must be added in ascending id order, got " + id
+                    + " after " + lectorIds[lectorCount - 1] + ".");
+        }
+        if (degreeOrdinal > Byte.MAX_VALUE) {
+            throw new IllegalStateException("Snapshots support up to " + (Byte.MAX_VALUE + 1) + " degrees.");
+        }
+
+        if (lectorCount == lectorIds.length) {
+            int capacity = lectorCount * 2;
+            lectorIds = Arrays.copyOf(lectorIds, capacity);
+            salaries = Arrays.copyOf(salaries, capacity);
+            degreeOrdinals = Arrays.copyOf(degreeOrdinals, capacity);
+            lectorNameIds = Arrays.copyOf(lectorNameIds, capacity);
+        }
+
+        // Equal names share one entry of the name table.
+        Integer nameId = nameIds.get(fullName);
+        if (nameId == null) {
+            nameId = names.size();
+            nameIds.put(fullName, nameId);
+            names.add(fullName);
+        }
+
+        lectorIds[lectorCount] = id;
+        salaries[lectorCount] = salary != null ? salary : 0;
+        degreeOrdinals[lectorCount] = (byte) degreeOrdinal;
+        lectorNameIds[lectorCount] = nameId;
+        lectorCount++;
+        return this;
+    }
+
+    /**
+     * Add a department membership. All rows of a department must be added one after the other.
+     *
+     * @param departmentId     The id of the department.
+     * @param departmentName   The name of the department.
+     * @param headOfDepartment The id of the head of the department, or null if none is assigned.
+     * @param lectorId         The id of the member, or null for a department without lectors.
+     * @return This builder.
+     */
+    public OrganizationSnapshotBuilder addMembership(int departmentId, String departmentName,
+                                                     Integer headOfDepartment, Integer lectorId) {
+
+        // Open a new membership row when the department changes.
+        if (currentDepartmentId == null || currentDepartmentId != departmentId) {
+            int department = departmentNames.size();
+            if (department + 1 >= memberOffsets.length) {
+                memberOffsets = Arrays.copyOf(memberOffsets, memberOffsets.length * 2);
+                departmentHeads = Arrays.copyOf(departmentHeads, departmentHeads.length * 2);
+            }
+            departmentNames.add(departmentName);
+            departmentHeads[department] = headOfDepartment != null ? positionOf(headOfDepartment) : -1;
+            memberOffsets[department] = memberCount;
+            currentDepartmentId = departmentId;
+        }
+
+        // Lectors that were not added, such as those created after they were read, are skipped.
+        int lector = lectorId != null ? positionOf(lectorId) : -1;
+        if (lector != -1) {
+            if (memberCount == members.length) {
+                members = Arrays.copyOf(members, memberCount * 2);
+            }
+            members[memberCount++] = lector;
+        }
+        return this;
+    }
+
+    /**
+     * Build the snapshot.
+     *
+     * @param degrees     The listed degrees, in the dictionary's stable order.
+     * @param degreeSlots The number of degree ordinals handed out so far.
+     * @return The snapshot.
+     */
+    public OrganizationSnapshot build(List<DegreeEntry> degrees, int degreeSlots) {
+        int departmentCount = departmentNames.size();
+        int[] offsets = Arrays.copyOf(memberOffsets, departmentCount + 1);
+        offsets[departmentCount] = memberCount;
+        int[] memberArray = Arrays.copyOf(members, memberCount);
+
+        // Lectors are searchable once they belong to a department, in order of first membership.
+        boolean[] seen = new boolean[lectorCount];
+        int[] searchable = new int[lectorCount];
+        int searchableCount = 0;
+        for (int lector : memberArray) {
+            if (!seen[lector]) {
+                seen[lector] = true;
+                searchable[searchableCount++] = lector;
+            }
+        }
+
+        return new OrganizationSnapshot(
+                Arrays.copyOf(lectorIds, lectorCount),
+                Arrays.copyOf(salaries, lectorCount),
+                Arrays.copyOf(degreeOrdinals, lectorCount),
+                Arrays.copyOf(lectorNameIds, lectorCount),
+                names.toArray(String[]::new),
+                departmentNames.toArray(String[]::new),
+                Arrays.copyOf(departmentHeads, departmentCount),
+                offsets,
+                memberArray,
+                Arrays.copyOf(searchable, searchableCount),
+                List.copyOf(degrees),
+                degreeSlots,
+                Instant.now(),
+                searchMode);
+    }
+
+    /**
+     * Get the position of a lector by its id.
+     *
+     * @param lectorId The id of the lector.
+     * @return The position, or -1 if the lector was not added.
+     */
+    private int positionOf(int lectorId) {
+        int position = Arrays.binarySearch(lectorIds, 0, lectorCount, lectorId);
+        return position >= 0 ? position : -1;
+    }
+}
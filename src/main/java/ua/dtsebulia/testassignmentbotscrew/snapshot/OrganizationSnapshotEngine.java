@@ -0,0 +1,212 @@
+package ua.dtsebulia.testassignmentbotscrew.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ua.dtsebulia.testassignmentbotscrew.event.BulkDataChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.DegreeChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.DepartmentChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.LectorChangedEvent;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves department queries from an immutable {@link OrganizationSnapshot}, refreshed in the background.
+ * Enabled with {@code snapshot.enabled=true}.
+ * <p>
+ * A refresh loads a complete new snapshot and swaps it in with a single volatile write, so readers never
+ * lock and always see one consistent version. Committed entity changes mark the snapshot stale, and a
+ * scheduled check reloads it every {@code snapshot.refresh-interval} while it is stale. Snapshots older
+ * than {@code snapshot.max-age} are reloaded regardless, to pick up changes made outside the application.
+ * Reads may therefore lag writes by up to the refresh interval, which suits a read-mostly workload.
+ * While a refresh runs, the old and the new snapshot are both on the heap.
+ * <p>
+ * When {@code snapshot.file} is set, the snapshot is saved there on shutdown and opened from there at startup,
+ * so queries are answered as soon as the application starts. The database load then runs at the first
+ * scheduled check. A missing, corrupt or stale file is ignored and the snapshot is loaded from the database.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "snapshot.enabled", havingValue = "true")
+public class OrganizationSnapshotEngine {
+
+    private final OrganizationSnapshotLoader snapshotLoader;
+    private final SnapshotFileStore snapshotStore;
+    private final Duration maxAge;
+    private final boolean saveOnShutdown;
+
+    private final AtomicLong changeVersion = new AtomicLong();
+    private volatile OrganizationSnapshot current;
+    private volatile long loadedVersion;
+    private volatile long lastRefreshNanos;
+    private volatile boolean openedFromFile;
+
+    /**
+     * Create the engine.
+     *
+     * @param snapshotLoader The loader of snapshots.
+     * @param snapshotStore  The store of snapshot files.
+     * @param maxAge         The age after which a snapshot is reloaded even without changes.
+     * @param saveOnShutdown Whether to save the snapshot to the snapshot file on shutdown.
+     */
+    public OrganizationSnapshotEngine(OrganizationSnapshotLoader snapshotLoader,
+                                      SnapshotFileStore snapshotStore,
+                                      @Value("${snapshot.max-age:10m}") Duration maxAge,
+                                      @Value("${snapshot.save-on-shutdown:true}") boolean saveOnShutdown) {
+        this.snapshotLoader = snapshotLoader;
+        this.snapshotStore = snapshotStore;
+        this.maxAge = maxAge;
+        this.saveOnShutdown = saveOnShutdown;
+    }
+
+    /**
+     * Open the saved snapshot, or load the first snapshot from the database, as soon as the application
+     * context is ready.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed() {
+        Optional<OrganizationSnapshot> saved = snapshotStore.open(maxAge);
+        if (saved.isEmpty()) {
+            refresh();
+            return;
+        }
+
+        // Serve the saved snapshot, and mark it stale so the first scheduled check loads from the database.
+        synchronized (this) {
+            current = saved.get();
+            loadedVersion = changeVersion.get() - 1;
+            openedFromFile = true;
+        }
+    }
+
+    /**
+     * Save the snapshot to the snapshot file before the application stops, if a file is configured.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void onContextClosed() {
+        OrganizationSnapshot snapshot = current;
+        if (!saveOnShutdown || !snapshotStore.isEnabled() || snapshot == null) {
+            return;
+        }
+        try {
+            snapshotStore.save(snapshot);
+        } catch (UncheckedIOException e) {
+            log.warn("Could not save the snapshot on shutdown.", e);
+        }
+    }
+
+    /**
+     * Reload the snapshot right away after a bulk change.
+     *
+     * @param event The bulk change event.
+     */
+    @EventListener
+    public void onBulkDataChanged(BulkDataChangedEvent event) {
+        refresh();
+    }
+
+    /**
+     * Mark the snapshot stale once an entity change has been committed.
+     * Changes made outside a transaction are counted immediately.
+     */
+    @TransactionalEventListener(
+            classes = {DegreeChangedEvent.class, DepartmentChangedEvent.class, LectorChangedEvent.class},
+            fallbackExecution = true)
+    public void onEntityChanged() {
+        changeVersion.incrementAndGet();
+    }
+
+    /**
+     * Reload the snapshot if it is stale or older than the maximum age.
+     */
+    @Scheduled(fixedDelayString = "${snapshot.refresh-interval:PT5S}",
+            initialDelayString = "${snapshot.refresh-interval:PT5S}")
+    public void refreshIfStale() {
+        OrganizationSnapshot snapshot = current;
+        if (snapshot == null
+                || loadedVersion != changeVersion.get()
+                || snapshot.builtAt().plus(maxAge).isBefore(Instant.now())) {
+            refresh();
+        }
+    }
+
+    /**
+     * Load a new snapshot and swap it in.
+     * Refreshes are serialized; readers keep using the previous snapshot until the swap.
+     *
+     * @return The new snapshot.
+     */
+    public synchronized OrganizationSnapshot refresh() {
+
+        // Read the version first, so changes committed during the load mark the new snapshot stale.
+        long version = changeVersion.get();
+        long start = System.nanoTime();
+        OrganizationSnapshot snapshot = snapshotLoader.load();
+        lastRefreshNanos = System.nanoTime() - start;
+
+        current = snapshot;
+        loadedVersion = version;
+        openedFromFile = false;
+        log.info("{} Loaded in {} ms.", snapshot.footprint().format(), lastRefreshNanos / 1_000_000);
+        return snapshot;
+    }
+
+    /**
+     * Get the current snapshot, loading the first one if needed.
+     *
+     * @return The current snapshot.
+     */
+    public OrganizationSnapshot snapshot() {
+        OrganizationSnapshot snapshot = current;
+        return snapshot != null ? snapshot : refresh();
+    }
+
+    /**
+     * Save the current snapshot to the snapshot file.
+     *
+     * @return The size of the file, in bytes.
+     * @throws IllegalStateException If no snapshot file is configured.
+     * @throws UncheckedIOException  If writing fails.
+     */
+    public long save() {
+        return snapshotStore.save(snapshot());
+    }
+
+    /**
+     * Check whether the current snapshot was opened from the snapshot file and not reloaded since.
+     *
+     * @return True if the current snapshot came from the snapshot file.
+     */
+    public boolean isOpenedFromFile() {
+        return openedFromFile;
+    }
+
+    /**
+     * Get the store of snapshot files.
+     *
+     * @return The snapshot file store.
+     */
+    public SnapshotFileStore snapshotStore() {
+        return snapshotStore;
+    }
+
+    /**
+     * Get the duration of the last refresh.
+     *
+     * @return The duration of the last refresh, in nanoseconds, or 0 if no snapshot has been loaded
+     * from the database.
+     */
+    public long lastRefreshNanos() {
+        return lastRefreshNanos;
+    }
+}
@@ -0,0 +1,71 @@
+package ua.dtsebulia.testassignmentbotscrew.snapshot;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.LectorRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentMemberRow;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.LectorRow;
+import ua.dtsebulia.testassignmentbotscrew.search.SearchMode;
+
+import java.util.stream.Stream;
+
+/**
+ * Loads an {@link OrganizationSnapshot} from the database with two streamed projection queries,
+ * one over the lectors and one over the department memberships, without loading any entity.
+ */
+@Component
+public class OrganizationSnapshotLoader {
+
+    private final LectorRepository lectorRepository;
+    private final DepartmentRepository departmentRepository;
+    private final DegreeDictionary degreeDictionary;
+    private final SearchMode searchMode;
+
+    /**
+     * Create the loader.
+     *
+     * @param lectorRepository     The repository of lectors.
+     * @param departmentRepository The repository of departments.
+     * @param degreeDictionary     The dictionary of degree ordinals.
+     * @param searchMode           How loaded snapshots match search templates against names.
+     */
+    public OrganizationSnapshotLoader(LectorRepository lectorRepository, DepartmentRepository departmentRepository,
+                                      DegreeDictionary degreeDictionary,
+                                      @Value("${search.mode:exact}") SearchMode searchMode) {
+        this.lectorRepository = lectorRepository;
+        this.departmentRepository = departmentRepository;
+        this.degreeDictionary = degreeDictionary;
+        this.searchMode = searchMode;
+    }
+
+    /**
+     * Load a snapshot of the current data.
+     * Both queries run in one read-only transaction, so they see the same data on databases with
+     * consistent reads, such as MySQL's InnoDB.
+     *
+     * @return The snapshot.
+     */
+    @Transactional(readOnly = true)
+    public OrganizationSnapshot load() {
+        OrganizationSnapshotBuilder builder = new OrganizationSnapshotBuilder(searchMode);
+
+        // Add the lectors in id order, mapping their degrees to the dictionary's ordinals.
+        try (Stream<LectorRow> lectors = lectorRepository.streamLectorRows()) {
+            lectors.forEach(lector -> builder.addLector(lector.id(),
+                    lector.firstName() + " " + lector.lastName(),
+                    lector.salary(),
+                    degreeDictionary.ordinalOf(lector.degreeId(), lector.degreeName())));
+        }
+
+        // Add the memberships grouped by department.
+        try (Stream<DepartmentMemberRow> memberships = departmentRepository.streamDepartmentMemberRows()) {
+            memberships.forEach(membership -> builder.addMembership(membership.departmentId(),
+                    membership.departmentName(), membership.headOfDepartment(), membership.lectorId()));
+        }
+
+        return builder.build(degreeDictionary.degrees(), degreeDictionary.size());
+    }
+}
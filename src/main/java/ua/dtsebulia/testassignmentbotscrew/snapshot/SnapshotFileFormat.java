@@ -0,0 +1,302 @@
+package ua.dtsebulia.testassignmentbotscrew.snapshot;
+
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary.DegreeEntry;
+import ua.dtsebulia.testassignmentbotscrew.search.SearchMode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary format of an {@link OrganizationSnapshot} file.
+ * <p>
+ * A file starts with a header: the magic number, the format version, the build time in epoch milliseconds,
+ * the number of degree slots and a CRC-32C of these fields. The snapshot's columns follow as sections in a
+ * fixed order, each one being its length in bytes, the payload and a CRC-32C of the payload. Numbers are
+ * big-endian, and strings are stored as their UTF-8 length followed by the bytes.
+ * <p>
+ * Reading works on any buffer, typically one mapped with {@link java.nio.channels.FileChannel#map}. The
+ * checksums are verified on the mapped bytes, and the primitive columns are copied into arrays in bulk.
+ * Search keys are not stored; they are computed for the configured search mode when a file is read.
+ */
+public final class SnapshotFileFormat {
+
+    /**
+     * The magic number, "OSNP" in ASCII.
+     */
+    public static final int MAGIC = 0x4F534E50;
+
+    /**
+     * The current format version. Files with another version are not read.
+     */
+    public static final int VERSION = 2;
+
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4;
+
+    private SnapshotFileFormat() {
+    }
+
+    /**
+     * Write a snapshot to a channel.
+     *
+     * @param snapshot The snapshot.
+     * @param channel  The channel to write to.
+     * @throws IOException If writing fails.
+     */
+    public static void write(OrganizationSnapshot snapshot, WritableByteChannel channel) throws IOException {
+
+        // Write the header followed by its checksum.
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + 4);
+        header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(snapshot.builtAt().toEpochMilli())
+                .putInt(snapshot.degreeSlots);
+        header.putInt(checksum(header.duplicate().flip()));
+        writeFully(channel, header.flip());
+
+        // Write the sections in the order they are read.
+        writeSection(channel, intSection(snapshot.lectorIds));
+        writeSection(channel, intSection(snapshot.salaries));
+        writeSection(channel, ByteBuffer.wrap(snapshot.degreeOrdinals));
+        writeSection(channel, intSection(snapshot.lectorNameIds));
+        writeSection(channel, stringSection(snapshot.names));
+        writeSection(channel, stringSection(snapshot.departmentNames));
+        writeSection(channel, intSection(snapshot.departmentHeads));
+        writeSection(channel, intSection(snapshot.memberOffsets));
+        writeSection(channel, intSection(snapshot.members));
+        writeSection(channel, intSection(snapshot.searchableLectors));
+        writeSection(channel, degreeSection(snapshot.degrees));
+    }
+
+    /**
+     * Read a snapshot from a buffer positioned at the start of the file.
+     *
+     * @param buffer     The buffer.
+     * @param searchMode How the snapshot matches search templates against names.
+     * @return The snapshot.
+     * @throws IOException If the buffer does not hold a complete snapshot of the current version, or a checksum
+     *                     does not match.
+     */
+    public static OrganizationSnapshot read(ByteBuffer buffer, SearchMode searchMode) throws IOException {
+        try {
+            // Check the header before reading anything else.
+            if (buffer.remaining() < HEADER_BYTES + 4) {
+                throw new IOException("Snapshot file is too short.");
+            }
+            ByteBuffer header = buffer.slice(buffer.position(), HEADER_BYTES);
+            int magic = buffer.getInt();
+            int version = buffer.getInt();
+            if (magic != MAGIC) {
+                throw new IOException("Not a snapshot file.");
+            }
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot file version " + version + ", expected " + VERSION + ".");
+            }
+            Instant builtAt = Instant.ofEpochMilli(buffer.getLong());
+            int degreeSlots = buffer.getInt();
+            if (buffer.getInt() != checksum(header)) {
+                throw new IOException("Snapshot file header checksum mismatch.");
+            }
+
+            int[] lectorIds = readInts(section(buffer, "lector ids"));
+            int[] salaries = readInts(section(buffer, "salaries"));
+            byte[] degreeOrdinals = readBytes(section(buffer, "degree ordinals"));
+            int[] lectorNameIds = readInts(section(buffer, "lector names"));
+            String[] names = readStrings(section(buffer, "names"));
+            String[] departmentNames = readStrings(section(buffer, "department names"));
+            int[] departmentHeads = readInts(section(buffer, "department heads"));
+            int[] memberOffsets = readInts(section(buffer, "member offsets"));
+            int[] members = readInts(section(buffer, "members"));
+            int[] searchableLectors = readInts(section(buffer, "searchable lectors"));
+            List<DegreeEntry> degrees = readDegrees(section(buffer, "degrees"));
+
+            // Check that the columns fit together, so queries cannot index out of bounds.
+            if (salaries.length != lectorIds.length
+                    || degreeOrdinals.length != lectorIds.length
+                    || lectorNameIds.length != lectorIds.length
+                    || departmentHeads.length != departmentNames.length
+                    || memberOffsets.length != departmentNames.length + 1
+                    || memberOffsets[departmentNames.length] != members.length) {
+                throw new IOException("Snapshot file columns do not match.");
+            }
+
+            return new OrganizationSnapshot(lectorIds, salaries, degreeOrdinals, lectorNameIds, names,
+                    departmentNames, departmentHeads, memberOffsets, members, searchableLectors, degrees,
+                    degreeSlots, builtAt, searchMode);
+        } catch (RuntimeException e) {
+            // Buffer underflows and negative lengths mean the file is truncated or corrupt.
+            throw new IOException("Malformed snapshot file.", e);
+        }
+    }
+
+    /**
+     * Read the next section, checking its length and checksum.
+     *
+     * @param buffer The buffer, positioned at the section. It is advanced past the section.
+     * @param name   The name of the section, used in error messages.
+     * @return A buffer holding the section's payload.
+     * @throws IOException If the section is truncated or its checksum does not match.
+     */
+    private static ByteBuffer section(ByteBuffer buffer, String name) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining() - 4) {
+            throw new IOException("Snapshot file section " + name + " is truncated.");
+        }
+        ByteBuffer payload = buffer.slice(buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        if (buffer.getInt() != checksum(payload.duplicate())) {
+            throw new IOException("Snapshot file section " + name + " checksum mismatch.");
+        }
+        return payload;
+    }
+
+    /**
+     * Write a section: its length, the payload and the payload's checksum.
+     *
+     * @param channel The channel to write to.
+     * @param payload The payload, positioned at its start.
+     * @throws IOException If writing fails.
+     */
+    private static void writeSection(WritableByteChannel channel, ByteBuffer payload) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(4).putInt(payload.remaining()).flip();
+        ByteBuffer checksum = ByteBuffer.allocate(4).putInt(checksum(payload.duplicate())).flip();
+        writeFully(channel, length);
+        writeFully(channel, payload);
+        writeFully(channel, checksum);
+    }
+
+    /**
+     * Encode an int column.
+     *
+     * @param values The values.
+     * @return The payload.
+     */
+    private static ByteBuffer intSection(int[] values) {
+        ByteBuffer payload = ByteBuffer.allocate(values.length * 4);
+        payload.asIntBuffer().put(values);
+        return payload;
+    }
+
+    /**
+     * Encode a string table.
+     *
+     * @param strings The strings.
+     * @return The payload.
+     */
+    private static ByteBuffer stringSection(String[] strings) {
+        byte[][] encoded = new byte[strings.length][];
+        int length = 4;
+        for (int i = 0; i < strings.length; i++) {
+            encoded[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+            length += 4 + encoded[i].length;
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(length).putInt(strings.length);
+        for (byte[] bytes : encoded) {
+            payload.putInt(bytes.length).put(bytes);
+        }
+        return payload.flip();
+    }
+
+    /**
+     * Encode the degrees as a string table of names followed by their ordinals.
+     *
+     * @param degrees The degrees.
+     * @return The payload.
+     */
+    private static ByteBuffer degreeSection(List<DegreeEntry> degrees) {
+        ByteBuffer names = stringSection(degrees.stream().map(DegreeEntry::name).toArray(String[]::new));
+        ByteBuffer payload = ByteBuffer.allocate(names.remaining() + degrees.size() * 4).put(names);
+        degrees.forEach(degree -> payload.putInt(degree.ordinal()));
+        return payload.flip();
+    }
+
+    /**
+     * Decode an int column.
+     *
+     * @param payload The payload.
+     * @return The values.
+     * @throws IOException If the payload length is not a multiple of four.
+     */
+    private static int[] readInts(ByteBuffer payload) throws IOException {
+        if (payload.remaining() % 4 != 0) {
+            throw new IOException("Snapshot file int column has a partial value.");
+        }
+        int[] values = new int[payload.remaining() / 4];
+        payload.asIntBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * Decode a byte column.
+     *
+     * @param payload The payload.
+     * @return The values.
+     */
+    private static byte[] readBytes(ByteBuffer payload) {
+        byte[] values = new byte[payload.remaining()];
+        payload.get(values);
+        return values;
+    }
+
+    /**
+     * Decode a string table, advancing the payload past it.
+     *
+     * @param payload The payload.
+     * @return The strings.
+     */
+    private static String[] readStrings(ByteBuffer payload) {
+        String[] strings = new String[payload.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[payload.getInt()];
+            payload.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    /**
+     * Decode the degrees.
+     *
+     * @param payload The payload.
+     * @return The degrees, in the order they were written.
+     */
+    private static List<DegreeEntry> readDegrees(ByteBuffer payload) {
+        String[] names = readStrings(payload);
+        List<DegreeEntry> degrees = new ArrayList<>(names.length);
+        for (String name : names) {
+            degrees.add(new DegreeEntry(payload.getInt(), name));
+        }
+        return List.copyOf(degrees);
+    }
+
+    /**
+     * Compute the CRC-32C of the remaining bytes of a buffer.
+     *
+     * @param buffer The buffer; its position is advanced to its limit.
+     * @return The checksum.
+     */
+    private static int checksum(ByteBuffer buffer) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Write all remaining bytes of a buffer.
+     *
+     * @param channel The channel to write to.
+     * @param buffer  The buffer.
+     * @throws IOException If writing fails.
+     */
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
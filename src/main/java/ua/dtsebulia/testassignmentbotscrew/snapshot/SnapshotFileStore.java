@@ -0,0 +1,137 @@
+package ua.dtsebulia.testassignmentbotscrew.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ua.dtsebulia.testassignmentbotscrew.search.SearchMode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Saves organization snapshots to the file set by {@code snapshot.file} and opens them again at startup,
+ * see {@link SnapshotFileFormat}.
+ * <p>
+ * Files are opened with {@link FileChannel#map}, so the operating system pages them in without copying them
+ * through stream buffers. A file that is missing, corrupt, of another format version or older than the
+ * maximum age is ignored, and the caller falls back to the database. Files are written to a temporary file
+ * first and then moved over the old one, so a crash never leaves a half-written snapshot behind.
+ */
+@Slf4j
+@Component
+public class SnapshotFileStore {
+
+    private final Path file;
+    private final SearchMode searchMode;
+
+    /**
+     * Create the store.
+     *
+     * @param file       The path of the snapshot file, or an empty string to disable snapshot files.
+     * @param searchMode How opened snapshots match search templates against names.
+     */
+    public SnapshotFileStore(@Value("${snapshot.file:}") String file,
+                             @Value("${search.mode:exact}") SearchMode searchMode) {
+        this.file = file.isBlank() ? null : Path.of(file);
+        this.searchMode = searchMode;
+    }
+
+    /**
+     * Check whether a snapshot file is configured.
+     *
+     * @return True if {@code snapshot.file} is set.
+     */
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * Open the snapshot file.
+     *
+     * @param maxAge The maximum age of a usable snapshot.
+     * @return The snapshot, or an empty optional if there is no usable snapshot file.
+     */
+    public Optional<OrganizationSnapshot> open(Duration maxAge) {
+        if (file == null) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        OrganizationSnapshot snapshot;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            snapshot = SnapshotFileFormat.read(buffer, searchMode);
+        } catch (NoSuchFileException e) {
+            log.info("No snapshot file at {}, loading from the database.", file);
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Ignoring snapshot file {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+
+        // A stale snapshot could answer with data that changed long ago, so the database is used instead.
+        if (snapshot.builtAt().plus(maxAge).isBefore(Instant.now())) {
+            log.info("Ignoring snapshot file {} built at {}, older than {}.", file, snapshot.builtAt(), maxAge);
+            return Optional.empty();
+        }
+
+        log.info("{} Opened from {} in {} ms.", snapshot.footprint().format(), file,
+                (System.nanoTime() - start) / 1_000_000);
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Save a snapshot to the snapshot file, replacing the previous one.
+     *
+     * @param snapshot The snapshot.
+     * @return The size of the file, in bytes.
+     * @throws IllegalStateException If no snapshot file is configured.
+     * @throws UncheckedIOException  If writing fails.
+     */
+    public long save(OrganizationSnapshot snapshot) {
+        if (file == null) {
+            throw new IllegalStateException("Set snapshot.file to save snapshots.");
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+
+            // Write the whole file next to the old one, then replace the old one in a single step.
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                SnapshotFileFormat.write(snapshot, channel);
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            long size = Files.size(file);
+            log.info("Saved snapshot built at {} to {}, {} bytes.", snapshot.builtAt(), file, size);
+            return size;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save the snapshot to " + file + ".", e);
+        }
+    }
+
+    /**
+     * Get the path of the snapshot file.
+     *
+     * @return The path, or null if no snapshot file is configured.
+     */
+    public Path file() {
+        return file;
+    }
+}
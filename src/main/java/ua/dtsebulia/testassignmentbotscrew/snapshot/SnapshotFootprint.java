@@ -0,0 +1,37 @@
+package ua.dtsebulia.testassignmentbotscrew.snapshot;
+
+import java.util.Locale;
+
+/**
+ * Size of an {@link OrganizationSnapshot}.
+ *
+ * @param lectorCount     The number of lectors.
+ * @param departmentCount The number of departments.
+ * @param membershipCount The number of department memberships.
+ * @param nameCount       The number of distinct lector names in the name table.
+ * @param estimatedBytes  The estimated heap footprint, in bytes, assuming compressed references.
+ */
+public record SnapshotFootprint(int lectorCount, int departmentCount, int membershipCount, int nameCount,
+                                long estimatedBytes) {
+
+    /**
+     * Get the estimated footprint per lector.
+     *
+     * @return The number of bytes per lector, or 0 if there are no lectors.
+     */
+    public double bytesPerLector() {
+        return lectorCount == 0 ? 0 : (double) estimatedBytes / lectorCount;
+    }
+
+    /**
+     * Format the footprint for printing.
+     *
+     * @return The formatted footprint.
+     */
+    public String format() {
+        return String.format(Locale.ROOT,
+                "Snapshot of %d lectors (%d distinct names), %d departments and %d memberships: "
+                        + "%.1f MB, %.1f bytes per lector.",
+                lectorCount, nameCount, departmentCount, membershipCount, estimatedBytes / 1e6, bytesPerLector());
+    }
+}
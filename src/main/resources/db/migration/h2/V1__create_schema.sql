@@ -0,0 +1,34 @@
+-- The schema of the MySQL migration of the same version, for the embedded database of the tests.
+
+create table degree (
+    id integer generated by default as identity,
+    name varchar(255),
+    constraint pk_degree primary key (id)
+);
+
+create table lector (
+    id integer generated by default as identity,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    salary integer not null,
+    degree_id integer,
+    constraint pk_lector primary key (id)
+);
+
+create table department (
+    id integer generated by default as identity,
+    name varchar(255) not null,
+    head_of_department_id integer,
+    constraint pk_department primary key (id)
+);
+
+create table department_lectors (
+    department_id integer not null,
+    lectors_id integer not null,
+    constraint pk_department_lectors primary key (department_id, lectors_id)
+);
+
+alter table lector add constraint fk_lector_degree foreign key (degree_id) references degree (id);
+alter table department add constraint fk_department_head foreign key (head_of_department_id) references lector (id);
+alter table department_lectors add constraint fk_department_lectors_department foreign key (department_id) references department (id);
+alter table department_lectors add constraint fk_department_lectors_lector foreign key (lectors_id) references lector (id);
@@ -0,0 +1,9 @@
+-- The indexes of the MySQL migration of the same version.
+
+create unique index ux_department_name on department (name);
+
+create unique index ux_degree_name on degree (name);
+
+create index ix_department_lectors_lector on department_lectors (lectors_id, department_id);
+
+create index ix_lector_degree_salary on lector (degree_id, salary);
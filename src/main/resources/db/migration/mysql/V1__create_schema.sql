@@ -0,0 +1,35 @@
+-- The schema Hibernate generated with ddl-auto=update before migrations were introduced.
+-- Existing databases are baselined at this version, so this script only runs on empty ones.
+
+create table degree (
+    id integer not null auto_increment,
+    name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table lector (
+    id integer not null auto_increment,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    salary integer not null,
+    degree_id integer,
+    primary key (id)
+) engine=InnoDB;
+
+create table department (
+    id integer not null auto_increment,
+    name varchar(255) not null,
+    head_of_department_id integer,
+    primary key (id)
+) engine=InnoDB;
+
+create table department_lectors (
+    department_id integer not null,
+    lectors_id integer not null,
+    primary key (department_id, lectors_id)
+) engine=InnoDB;
+
+alter table lector add constraint FKgl1ov1mr5r06n5eikvwla30f1 foreign key (degree_id) references degree (id);
+alter table department add constraint FKhiq75ut9my5ffhjl4h2ldche5 foreign key (head_of_department_id) references lector (id);
+alter table department_lectors add constraint FKkqgq9pk0xjjb3i2oyw4xlu40m foreign key (department_id) references department (id);
+alter table department_lectors add constraint FKrp3vnn4rpynyn3ao6t5kls5ge foreign key (lectors_id) references lector (id);
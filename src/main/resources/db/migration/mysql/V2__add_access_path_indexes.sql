@@ -0,0 +1,16 @@
+-- Every department query looks the department up by name, and a name identifies one department.
+-- Fails if department names are duplicated; rename the duplicates before migrating.
+create unique index ux_department_name on department (name);
+
+-- Degrees are resolved by name by the bulk commands and the generator.
+create unique index ux_degree_name on degree (name);
+
+-- The primary key serves the lectors of a department; this index serves the departments of a lector,
+-- used by the membership checks of imports and moves. It starts with the lector foreign key's column, so it
+-- can also serve that key; the index MySQL created for the key is left to MySQL.
+create index ix_department_lectors_lector on department_lectors (lectors_id, department_id);
+
+-- Covers the lectors of a degree and their salaries, with the lector id every index carries, for the degree
+-- filters of the bulk updates and the salary aggregates by degree. Like the index above, it can also serve
+-- the degree foreign key.
+create index ix_lector_degree_salary on lector (degree_id, salary);
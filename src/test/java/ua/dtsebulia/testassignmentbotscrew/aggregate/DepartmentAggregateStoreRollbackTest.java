@@ -0,0 +1,112 @@
+package ua.dtsebulia.testassignmentbotscrew.aggregate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.LectorRepository;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for keeping {@link DepartmentAggregateStore} in step with committed and rolled-back changes.
+ * Every step runs in its own transaction, as the store is only updated on commit.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DepartmentAggregateStore.class, DegreeDictionary.class})
+class DepartmentAggregateStoreRollbackTest {
+
+    @Autowired
+    private DepartmentAggregateStore store;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private LectorRepository lectorRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Integer lectorId;
+
+    /**
+     * Commit Physics with one lector and build the store.
+     */
+    @BeforeEach
+    public void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            Lector lector = lectorRepository.save(Lector.builder()
+                    .firstName("Ivan").lastName("Petrenko").salary(2000).build());
+            lectorId = lector.getId();
+            departmentRepository.save(Department.builder()
+                    .name("Physics")
+                    .lectors(new HashSet<>(Set.of(lector)))
+                    .build());
+        });
+        store.rebuild();
+    }
+
+    /**
+     * Remove the seeded data.
+     */
+    @AfterEach
+    public void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            departmentRepository.deleteAll();
+            lectorRepository.deleteAll();
+        });
+    }
+
+    /**
+     * Test case for a salary change in a transaction that commits.
+     * It verifies that the department's salary sum follows the change.
+     */
+    @Test
+    void testCommittedSalaryChangeIsApplied() {
+        // Execute the method under test.
+        transaction.executeWithoutResult(status -> raiseSalary());
+
+        assertEquals(3000, store.find("Physics").orElseThrow().salarySum());
+    }
+
+    /**
+     * Test case for a salary change in a transaction that rolls back.
+     * It verifies that the department's salary sum keeps the committed salary.
+     */
+    @Test
+    void testRolledBackSalaryChangeIsNotApplied() {
+        // Execute the method under test.
+        transaction.executeWithoutResult(status -> {
+            raiseSalary();
+            status.setRollbackOnly();
+        });
+
+        assertEquals(2000, store.find("Physics").orElseThrow().salarySum());
+    }
+
+    /**
+     * Raise the salary of the seeded lector, flushing the change.
+     */
+    private void raiseSalary() {
+        Lector lector = lectorRepository.findById(lectorId).orElseThrow();
+        lector.setSalary(3000);
+        lectorRepository.saveAndFlush(lector);
+    }
+}
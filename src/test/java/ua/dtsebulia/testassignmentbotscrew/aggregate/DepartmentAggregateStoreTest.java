@@ -0,0 +1,214 @@
+package ua.dtsebulia.testassignmentbotscrew.aggregate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary;
+import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.event.DepartmentChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.EntityChangeType;
+import ua.dtsebulia.testassignmentbotscrew.event.LectorChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.repository.DegreeRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentLectorRow;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for {@link DepartmentAggregateStore} and {@link DepartmentAggregateConsistencyChecker}.
+ */
+class DepartmentAggregateStoreTest {
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private DegreeRepository degreeRepository;
+
+    private static final int ASSISTANT = 0;
+    private static final int PROFESSOR = 1;
+
+    private DepartmentAggregateStore store;
+    private DepartmentAggregateConsistencyChecker checker;
+
+    private final Degree assistant = Degree.builder().id(1).name("assistant").build();
+    private final Degree professor = Degree.builder().id(2).name("professor").build();
+    private final Lector lector1 = Lector.builder().id(1).salary(1000).degree(assistant).build();
+    private final Lector lector2 = Lector.builder().id(2).salary(3000).degree(professor).build();
+
+    /**
+     * Set up the test environment with one department containing two lectors.
+     */
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(degreeRepository.findAllByOrderByIdAsc()).thenReturn(List.of(assistant, professor));
+        DegreeDictionary degreeDictionary = new DegreeDictionary(degreeRepository);
+        store = new DepartmentAggregateStore(departmentRepository, degreeDictionary);
+        checker = new DepartmentAggregateConsistencyChecker(departmentRepository, store, degreeDictionary);
+
+        when(departmentRepository.findDepartmentLectorRows()).thenReturn(List.of(
+                new DepartmentLectorRow(1, "Math", 1, 1000, 1, "assistant"),
+                new DepartmentLectorRow(1, "Math", 2, 3000, 2, "professor")));
+        store.rebuild();
+    }
+
+    /**
+     * Test case for changing a lector's salary and degree.
+     * It verifies that the department aggregate is adjusted in place.
+     */
+    @Test
+    void testLectorUpdated() {
+        lector1.setSalary(2000);
+        lector1.setDegree(professor);
+        store.onLectorChanged(new LectorChangedEvent(lector1, EntityChangeType.UPDATED));
+
+        DepartmentAggregate aggregate = store.find("Math").orElseThrow();
+        assertEquals(5000, aggregate.salarySum());
+        assertEquals(0, aggregate.countByDegree(ASSISTANT));
+        assertEquals(2, aggregate.countByDegree(PROFESSOR));
+    }
+
+    /**
+     * Test case for adding a lector to a department and then removing the lector.
+     * It verifies that the counters follow membership changes.
+     */
+    @Test
+    void testMembershipChanged() {
+        Lector lector3 = Lector.builder().id(3).salary(2000).degree(assistant).build();
+        Department department = Department.builder()
+                .id(1)
+                .name("Math")
+                .lectors(new HashSet<>(Set.of(lector1, lector2, lector3)))
+                .build();
+        store.onDepartmentChanged(new DepartmentChangedEvent(department, EntityChangeType.UPDATED));
+
+        assertEquals(3, store.find("Math").orElseThrow().lectorCount());
+        assertEquals(2000.0, store.find("Math").orElseThrow().averageSalary());
+
+        store.onLectorChanged(new LectorChangedEvent(lector2, EntityChangeType.REMOVED));
+
+        DepartmentAggregate aggregate = store.find("Math").orElseThrow();
+        assertEquals(2, aggregate.lectorCount());
+        assertEquals(3000, aggregate.salarySum());
+        assertEquals(0, aggregate.countByDegree(PROFESSOR));
+    }
+
+    /**
+     * Test case for renaming and removing a department.
+     * It verifies that lookups follow the new name and that removed departments are not found.
+     */
+    @Test
+    void testDepartmentRenamedAndRemoved() {
+        Department department = Department.builder().id(1).name("Mathematics").build();
+        store.onDepartmentChanged(new DepartmentChangedEvent(department, EntityChangeType.UPDATED));
+
+        assertTrue(store.find("Math").isEmpty());
+        assertEquals(0, store.find("Mathematics").orElseThrow().lectorCount());
+
+        store.onDepartmentChanged(new DepartmentChangedEvent(department, EntityChangeType.REMOVED));
+
+        assertTrue(store.find("Mathematics").isEmpty());
+    }
+
+    /**
+     * Test case for the salary distribution of a department while salaries change.
+     * It verifies that the exact minimum and maximum follow removed and changed salaries, and that the
+     * organization-wide distribution merges every department.
+     */
+    @Test
+    void testSalaryDistribution() {
+        SalaryDistribution distribution = store.findSalaryDistribution("Math").orElseThrow();
+        assertEquals(2, distribution.lectorCount());
+        assertEquals(1000, distribution.minSalary());
+        assertEquals(3000, distribution.maxSalary());
+        assertEquals(1000, distribution.median(), 1000 * SalarySketch.RELATIVE_ACCURACY);
+
+        // Raise the lowest salary above the highest one.
+        lector1.setSalary(4000);
+        store.onLectorChanged(new LectorChangedEvent(lector1, EntityChangeType.UPDATED));
+
+        distribution = store.findSalaryDistribution("Math").orElseThrow();
+        assertEquals(3000, distribution.minSalary());
+        assertEquals(4000, distribution.maxSalary());
+        assertEquals(3000, distribution.median(), 3000 * SalarySketch.RELATIVE_ACCURACY);
+
+        // Add a second department sharing a lector, then remove the highest paid lector.
+        Lector lector3 = Lector.builder().id(3).salary(500).degree(assistant).build();
+        Department physics = Department.builder()
+                .id(2)
+                .name("Physics")
+                .lectors(new HashSet<>(Set.of(lector2, lector3)))
+                .build();
+        store.onDepartmentChanged(new DepartmentChangedEvent(physics, EntityChangeType.PERSISTED));
+        store.onLectorChanged(new LectorChangedEvent(lector1, EntityChangeType.REMOVED));
+
+        distribution = store.findSalaryDistribution("Math").orElseThrow();
+        assertEquals(1, distribution.lectorCount());
+        assertEquals(3000, distribution.minSalary());
+        assertEquals(3000, distribution.maxSalary());
+
+        SalaryDistribution organization = store.organizationSalaryDistribution();
+        assertEquals(3, organization.lectorCount());
+        assertEquals(500, organization.minSalary());
+        assertEquals(3000, organization.maxSalary());
+        assertEquals(3000, organization.median(), 3000 * SalarySketch.RELATIVE_ACCURACY);
+        assertTrue(store.findSalaryDistribution("Chemistry").isEmpty());
+    }
+
+    /**
+     * Test case for a lector change committed while a rebuild loads its rows.
+     * It verifies that the rows, which predate the change, are loaded again instead of overwriting it.
+     */
+    @Test
+    void testRebuildReloadsRowsOlderThanAppliedChange() {
+        when(departmentRepository.findDepartmentLectorRows())
+                .thenAnswer(invocation -> {
+                    // Apply the change while the first query runs, which still returns the old salary.
+                    lector1.setSalary(2000);
+                    store.onLectorChanged(new LectorChangedEvent(lector1, EntityChangeType.UPDATED));
+                    return List.of(
+                            new DepartmentLectorRow(1, "Math", 1, 1000, 1, "assistant"),
+                            new DepartmentLectorRow(1, "Math", 2, 3000, 2, "professor"));
+                })
+                .thenReturn(List.of(
+                        new DepartmentLectorRow(1, "Math", 1, 2000, 1, "assistant"),
+                        new DepartmentLectorRow(1, "Math", 2, 3000, 2, "professor")));
+
+        // Execute the method under test.
+        store.rebuild();
+
+        assertEquals(5000, store.find("Math").orElseThrow().salarySum());
+        verify(departmentRepository, times(3)).findDepartmentLectorRows();
+    }
+
+    /**
+     * Test case for the consistency checker.
+     * It verifies that a store out of sync with the database is reported and repaired.
+     */
+    @Test
+    void testConsistencyChecker() {
+        assertTrue(checker.check().isEmpty());
+
+        // Simulate a change that bypassed the entity listeners.
+        when(departmentRepository.findDepartmentLectorRows()).thenReturn(List.of(
+                new DepartmentLectorRow(1, "Math", 1, 1500, 1, "assistant"),
+                new DepartmentLectorRow(1, "Math", 2, 3000, 2, "professor")));
+
+        assertFalse(checker.checkAndRepair().isEmpty());
+        assertEquals(4500, store.find("Math").orElseThrow().salarySum());
+        assertTrue(checker.check().isEmpty());
+    }
+}
@@ -0,0 +1,96 @@
+package ua.dtsebulia.testassignmentbotscrew.aggregate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link SalarySketch}.
+ */
+class SalarySketchTest {
+
+    private static final double[] QUANTILES = {0, 0.01, 0.25, 0.5, 0.9, 0.99, 1};
+
+    /**
+     * Test case for estimating quantiles of skewed random salaries.
+     * It verifies that every estimate is within the relative accuracy of the exact salary of that rank.
+     */
+    @Test
+    void testQuantilesAreWithinRelativeAccuracy() {
+        Random random = new Random(42);
+        int[] salaries = new int[10_000];
+        SalarySketch sketch = new SalarySketch();
+        for (int i = 0; i < salaries.length; i++) {
+            salaries[i] = 1000 + (int) (Math.exp(random.nextGaussian()) * 20_000);
+            sketch.add(salaries[i]);
+        }
+
+        assertEquals(salaries.length, sketch.count());
+        assertWithinAccuracy(salaries, sketch);
+    }
+
+    /**
+     * Test case for merging two sketches and removing salaries.
+     * It verifies that the result estimates the same quantiles as a sketch of the remaining salaries.
+     */
+    @Test
+    void testMergeAndRemove() {
+        Random random = new Random(7);
+        int[] salaries = new int[2000];
+        SalarySketch first = new SalarySketch();
+        SalarySketch second = new SalarySketch();
+        for (int i = 0; i < salaries.length; i++) {
+            salaries[i] = random.nextInt(200_000);
+            (i % 2 == 0 ? first : second).add(salaries[i]);
+        }
+        first.merge(second);
+
+        // Remove the first half of the salaries again.
+        for (int i = 0; i < salaries.length / 2; i++) {
+            first.remove(salaries[i]);
+        }
+        int[] remaining = Arrays.copyOfRange(salaries, salaries.length / 2, salaries.length);
+
+        assertEquals(remaining.length, first.count());
+        assertWithinAccuracy(remaining, first);
+    }
+
+    /**
+     * Test case for an empty sketch, a sketch of zero salaries and an invalid quantile.
+     * It verifies that the empty sketch yields NaN, zero salaries are estimated exactly and invalid quantiles
+     * are rejected.
+     */
+    @Test
+    void testEdgeCases() {
+        SalarySketch sketch = new SalarySketch();
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+
+        sketch.add(0);
+        sketch.add(0);
+        sketch.add(5000);
+        assertEquals(0.0, sketch.quantile(0.5));
+        assertEquals(5000, sketch.quantile(1), 5000 * SalarySketch.RELATIVE_ACCURACY);
+
+        assertThrows(IllegalArgumentException.class, () -> sketch.quantile(1.5));
+    }
+
+    /**
+     * Assert that the quantiles estimated by a sketch are within its relative accuracy of the exact ones.
+     *
+     * @param salaries The salaries added to the sketch.
+     * @param sketch   The sketch.
+     */
+    private static void assertWithinAccuracy(int[] salaries, SalarySketch sketch) {
+        int[] sorted = salaries.clone();
+        Arrays.sort(sorted);
+        for (double q : QUANTILES) {
+            int exact = sorted[(int) (q * (sorted.length - 1))];
+            assertEquals(exact, sketch.quantile(q), exact * SalarySketch.RELATIVE_ACCURACY, "quantile " + q);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package ua.dtsebulia.testassignmentbotscrew.bulk;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.event.BulkDataChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.metrics.OperationMetrics;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link LectorBulkUpdateService}.
+ * The chunk size is smaller than the number of lectors, so every operation spans several windows.
+ */
+@DataJpaTest(properties = "bulk-update.chunk-size=2")
+@Import({LectorBulkUpdateService.class, OperationMetrics.class, SimpleMeterRegistry.class})
+@RecordApplicationEvents
+class LectorBulkUpdateServiceTest {
+
+    @Autowired
+    private LectorBulkUpdateService bulkUpdateService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private Lector physicsHead;
+    private Lector assistant;
+    private Lector sharedLector;
+    private Lector mathematician;
+    private Lector outsider;
+
+    /**
+     * Seed Physics with a professor as head, an assistant and a lector shared with Mathematics,
+     * Mathematics with a lector of its own, and a lector without a department.
+     */
+    @BeforeEach
+    public void setUp() {
+        Degree professor = entityManager.persist(Degree.builder().name("professor").build());
+        Degree assistantDegree = entityManager.persist(Degree.builder().name("assistant").build());
+
+        physicsHead = lector("Anna", 1000, professor);
+        assistant = lector("Ivan", 2000, assistantDegree);
+        sharedLector = lector("Olena", 3000, assistantDegree);
+        mathematician = lector("Petro", 4000, assistantDegree);
+        outsider = lector("Taras", 5000, assistantDegree);
+
+        entityManager.persist(Department.builder()
+                .name("Physics")
+                .headOfDepartment(physicsHead)
+                .lectors(new HashSet<>(Set.of(physicsHead, assistant, sharedLector)))
+                .build());
+        entityManager.persist(Department.builder()
+                .name("Mathematics")
+                .lectors(new HashSet<>(Set.of(sharedLector, mathematician)))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Test case for raising the salaries of a department by a percentage.
+     * It verifies that only the department's lectors are raised, and a bulk change event is published once.
+     */
+    @Test
+    void testAdjustSalariesByPercentageInDepartment() {
+        // Execute the method under test.
+        String output = bulkUpdateService.adjustSalaries(SalaryAdjustment.parse("10%"), "Physics", null);
+
+        assertTrue(output.startsWith("Adjusted salaries by +10% in department Physics: 3 lectors in 3 chunks"),
+                output);
+        assertEquals(List.of(1100, 2200, 3300, 4000, 5000),
+                salaries(physicsHead, assistant, sharedLector, mathematician, outsider));
+        assertEquals(1, applicationEvents.stream(BulkDataChangedEvent.class).count());
+    }
+
+    /**
+     * Test case for lowering the salaries of a degree in a department by an amount.
+     * It verifies that only lectors matching both filters are changed, and that salaries stop at 0.
+     */
+    @Test
+    void testAdjustSalariesByAmountWithDegree() {
+        // Execute the method under test.
+        String output = bulkUpdateService.adjustSalaries(SalaryAdjustment.parse("-2500"), "Physics", "assistant");
+
+        assertTrue(output.startsWith("Adjusted salaries by -2500 in department Physics with degree assistant: "
+                + "2 lectors"), output);
+        assertEquals(List.of(1000, 0, 500, 4000, 5000),
+                salaries(physicsHead, assistant, sharedLector, mathematician, outsider));
+    }
+
+    /**
+     * Test case for adjusting the salaries of a degree in every department.
+     * It verifies that lectors without a department are adjusted too.
+     */
+    @Test
+    void testAdjustSalariesOfDegree() {
+        // Execute the method under test.
+        bulkUpdateService.adjustSalaries(SalaryAdjustment.parse("-50%"), null, "assistant");
+
+        assertEquals(List.of(1000, 1000, 1500, 2000, 2500),
+                salaries(physicsHead, assistant, sharedLector, mathematician, outsider));
+    }
+
+    /**
+     * Test case for adjusting the salaries of a department or degree that does not exist.
+     * It verifies that nothing is changed and no event is published.
+     */
+    @Test
+    void testAdjustSalariesWhenNotFound() {
+        // Execute the method under test.
+        assertEquals("Department with name Chemistry not found.",
+                bulkUpdateService.adjustSalaries(SalaryAdjustment.parse("10%"), "Chemistry", null));
+        assertEquals("Degree with name dean not found.",
+                bulkUpdateService.adjustSalaries(SalaryAdjustment.parse("10%"), "Physics", "dean"));
+
+        assertEquals(List.of(1000, 2000, 3000, 4000, 5000),
+                salaries(physicsHead, assistant, sharedLector, mathematician, outsider));
+        assertEquals(0, applicationEvents.stream(BulkDataChangedEvent.class).count());
+    }
+
+    /**
+     * Test case for moving every lector of a department.
+     * It verifies that the lectors join the target once, leave the source, the source loses its head,
+     * and a bulk change event is published once.
+     */
+    @Test
+    void testMoveLectors() {
+        // Execute the method under test.
+        String output = bulkUpdateService.moveLectors("Physics", "Mathematics", null);
+
+        assertTrue(output.startsWith("Moved lectors from Physics to Mathematics: 3 lectors"), output);
+        assertEquals(List.of(), members("Physics"));
+        assertEquals(List.of(physicsHead.getId(), assistant.getId(), sharedLector.getId(), mathematician.getId()),
+                members("Mathematics"));
+        assertNull(head("Physics"));
+        assertEquals(1, applicationEvents.stream(BulkDataChangedEvent.class).count());
+    }
+
+    /**
+     * Test case for moving the lectors of a department holding a degree.
+     * It verifies that only those lectors move, and the head, who holds another degree, stays.
+     */
+    @Test
+    void testMoveLectorsWithDegree() {
+        // Execute the method under test.
+        bulkUpdateService.moveLectors("Mathematics", "Physics", "assistant");
+
+        assertEquals(List.of(physicsHead.getId(), assistant.getId(), sharedLector.getId(), mathematician.getId()),
+                members("Physics"));
+        assertEquals(List.of(), members("Mathematics"));
+        assertEquals(physicsHead.getId(), head("Physics"));
+    }
+
+    /**
+     * Test case for moving lectors out of departments whose head is not moved.
+     * It verifies that a head who is not a member, and a head whose degree is filtered out, both stay.
+     */
+    @Test
+    void testMoveLectorsKeepsHeadWhoIsNotMoved() {
+        jdbcTemplate.update("update department set head_of_department_id = ? where name = 'Mathematics'",
+                outsider.getId());
+
+        // Execute the method under test.
+        bulkUpdateService.moveLectors("Mathematics", "Physics", null);
+        bulkUpdateService.moveLectors("Physics", "Mathematics", "assistant");
+
+        assertEquals(outsider.getId(), head("Mathematics"));
+        assertEquals(List.of(physicsHead.getId()), members("Physics"));
+        assertEquals(physicsHead.getId(), head("Physics"));
+    }
+
+    /**
+     * Test case for moving lectors to the department they are in, or between unknown departments.
+     * It verifies that the move is rejected or reported, and nothing is changed.
+     */
+    @Test
+    void testMoveLectorsWhenInvalid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bulkUpdateService.moveLectors("Physics", "Physics", null));
+        assertEquals("Department with name Chemistry not found.",
+                bulkUpdateService.moveLectors("Physics", "Chemistry", null));
+
+        assertEquals(List.of(physicsHead.getId(), assistant.getId(), sharedLector.getId()), members("Physics"));
+        assertEquals(0, applicationEvents.stream(BulkDataChangedEvent.class).count());
+    }
+
+    /**
+     * Test case for parsing salary adjustments.
+     * It verifies that percentages and amounts are told apart, and invalid adjustments are rejected.
+     */
+    @Test
+    void testParseSalaryAdjustment() {
+        assertEquals(new SalaryAdjustment(new BigDecimal("2.5"), true), SalaryAdjustment.parse(" 2.5 %"));
+        assertEquals(new BigDecimal("1.025"), SalaryAdjustment.parse("2.5%").factor());
+        assertEquals("-500", SalaryAdjustment.parse("-500").format());
+        assertThrows(IllegalArgumentException.class, () -> SalaryAdjustment.parse("-101%"));
+        assertThrows(IllegalArgumentException.class, () -> SalaryAdjustment.parse("10.5"));
+        assertThrows(IllegalArgumentException.class, () -> SalaryAdjustment.parse("ten"));
+    }
+
+    /**
+     * Persist a lector.
+     *
+     * @param firstName The first name.
+     * @param salary    The salary.
+     * @param degree    The degree.
+     * @return The lector.
+     */
+    private Lector lector(String firstName, int salary, Degree degree) {
+        return entityManager.persist(Lector.builder()
+                .firstName(firstName).lastName("Koval").salary(salary).degree(degree).build());
+    }
+
+    /**
+     * Read the salaries of lectors from the database.
+     *
+     * @param lectors The lectors.
+     * @return Their salaries, in the same order.
+     */
+    private List<Integer> salaries(Lector... lectors) {
+        return Stream.of(lectors)
+                .map(lector -> jdbcTemplate.queryForObject("select salary from lector where id = ?",
+                        Integer.class, lector.getId()))
+                .toList();
+    }
+
+    /**
+     * Read the members of a department from the database.
+     *
+     * @param departmentName The name of the department.
+     * @return The ids of its lectors, in ascending order.
+     */
+    private List<Integer> members(String departmentName) {
+        return jdbcTemplate.queryForList("select m.lectors_id from department_lectors m "
+                + "join department d on d.id = m.department_id where d.name = ? order by m.lectors_id",
+                Integer.class, departmentName);
+    }
+
+    /**
+     * Read the head of a department from the database.
+     *
+     * @param departmentName The name of the department.
+     * @return The id of the head, or null if none is assigned.
+     */
+    private Integer head(String departmentName) {
+        return jdbcTemplate.queryForObject("select head_of_department_id from department where name = ?",
+                Integer.class, departmentName);
+    }
+}
@@ -0,0 +1,132 @@
+package ua.dtsebulia.testassignmentbotscrew.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.event.DepartmentChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.EntityChangeType;
+import ua.dtsebulia.testassignmentbotscrew.event.LectorChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentHeadRow;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for {@link DepartmentLookupCache}.
+ */
+class DepartmentLookupCacheTest {
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    private DepartmentLookupCache cache;
+    private long now;
+
+    private final Lector head = Lector.builder().id(7).firstName("John").lastName("Doe").build();
+    private final DepartmentHeadRow math = new DepartmentHeadRow(1, "Math", 7, "John", "Doe");
+
+    /**
+     * Set up the test environment with a cache of two entries and a one minute time to live.
+     */
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new DepartmentLookupCache(departmentRepository, 2, Duration.ofMinutes(1), () -> now);
+        when(departmentRepository.findHeadByName("Math")).thenReturn(Optional.of(math));
+    }
+
+    /**
+     * Test case for repeated lookups of the same department.
+     * It verifies that only the first lookup reaches the repository.
+     */
+    @Test
+    void testHit() {
+        assertSame(math, cache.get("Math"));
+        assertSame(math, cache.get("Math"));
+
+        verify(departmentRepository, times(1)).findHeadByName("Math");
+        assertEquals(new CacheStatistics(1, 1, 0, 1), cache.statistics());
+    }
+
+    /**
+     * Test case for repeated lookups of a missing department.
+     * It verifies that the "not found" result is cached as well.
+     */
+    @Test
+    void testNegativeResultIsCached() {
+        assertNull(cache.get("Unknown"));
+        assertNull(cache.get("Unknown"));
+
+        verify(departmentRepository, times(1)).findHeadByName("Unknown");
+    }
+
+    /**
+     * Test case for entries outliving their time to live.
+     * It verifies that expired entries are loaded again.
+     */
+    @Test
+    void testExpiry() {
+        cache.get("Math");
+        now += Duration.ofMinutes(2).toNanos();
+        cache.get("Math");
+
+        verify(departmentRepository, times(2)).findHeadByName("Math");
+        assertEquals(1, cache.statistics().evictions());
+    }
+
+    /**
+     * Test case for exceeding the maximum size.
+     * It verifies that the least recently used entry is evicted.
+     */
+    @Test
+    void testLeastRecentlyUsedEviction() {
+        cache.get("Math");
+        cache.get("Physics");
+        cache.get("Math");
+        cache.get("Chemistry");
+
+        // Physics was the least recently used entry, so it is loaded again while Math is still cached.
+        cache.get("Math");
+        cache.get("Physics");
+
+        verify(departmentRepository, times(1)).findHeadByName("Math");
+        verify(departmentRepository, times(2)).findHeadByName("Physics");
+        assertEquals(2, cache.statistics().evictions());
+    }
+
+    /**
+     * Test case for a department being created, and for the head of a cached department changing.
+     * It verifies that only the affected entries are invalidated.
+     */
+    @Test
+    void testInvalidationOnChange() {
+        Department physics = Department.builder().id(2).name("Physics").build();
+        cache.get("Math");
+        cache.get("Physics");
+
+        // The new department replaces the cached "not found" result.
+        DepartmentHeadRow physicsRow = new DepartmentHeadRow(2, "Physics", null, null, null);
+        when(departmentRepository.findHeadByName("Physics")).thenReturn(Optional.of(physicsRow));
+        cache.onDepartmentChanged(new DepartmentChangedEvent(physics, EntityChangeType.PERSISTED));
+        assertSame(physicsRow, cache.get("Physics"));
+
+        // A change to the head of Math invalidates Math only.
+        cache.onLectorChanged(new LectorChangedEvent(head, EntityChangeType.UPDATED));
+        cache.get("Math");
+        cache.get("Physics");
+
+        verify(departmentRepository, times(2)).findHeadByName("Math");
+        verify(departmentRepository, times(2)).findHeadByName("Physics");
+    }
+}
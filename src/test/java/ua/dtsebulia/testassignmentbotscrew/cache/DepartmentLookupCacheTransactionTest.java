@@ -0,0 +1,123 @@
+package ua.dtsebulia.testassignmentbotscrew.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.LectorRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentHeadRow;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test class for invalidating {@link DepartmentLookupCache} entries on commit.
+ * Every step runs in its own transaction, as entries are only invalidated once a change is committed.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(DepartmentLookupCache.class)
+class DepartmentLookupCacheTransactionTest {
+
+    @Autowired
+    private DepartmentLookupCache cache;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private LectorRepository lectorRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Integer departmentId;
+
+    /**
+     * Commit Physics headed by a lector, then cache it and the unknown name Astronomy.
+     */
+    @BeforeEach
+    public void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            Lector head = lectorRepository.save(Lector.builder()
+                    .firstName("Ivan").lastName("Petrenko").salary(2000).build());
+            departmentId = departmentRepository.save(Department.builder()
+                    .name("Physics")
+                    .headOfDepartment(head)
+                    .build()).getId();
+        });
+
+        cache.invalidateAll();
+        cache.get("Physics");
+        cache.get("Astronomy");
+    }
+
+    /**
+     * Remove the seeded data.
+     */
+    @AfterEach
+    public void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            departmentRepository.deleteAll();
+            lectorRepository.deleteAll();
+        });
+    }
+
+    /**
+     * Test case for renaming a department in a transaction that looks both names up and then rolls back.
+     * It verifies that the cache still answers with the committed department.
+     */
+    @Test
+    void testRolledBackRenameKeepsCommittedAnswers() {
+        // Execute the method under test.
+        transaction.executeWithoutResult(status -> {
+            renamePhysics();
+            cache.get("Physics");
+            cache.get("Astronomy");
+            status.setRollbackOnly();
+        });
+
+        DepartmentHeadRow physics = cache.get("Physics");
+        assertEquals(departmentId, physics.departmentId());
+        assertEquals("Ivan Petrenko", physics.headFullName());
+        assertNull(cache.get("Astronomy"));
+    }
+
+    /**
+     * Test case for renaming a department while another thread looks the old name up before the commit.
+     * It verifies that the old name is not served from the cache once the rename is committed.
+     */
+    @Test
+    void testCommittedRenameInvalidatesConcurrentLookup() {
+        // Execute the method under test.
+        transaction.executeWithoutResult(status -> {
+            renamePhysics();
+            CompletableFuture.runAsync(() -> cache.get("Physics")).join();
+        });
+
+        assertNull(cache.get("Physics"));
+        assertEquals(departmentId, cache.get("Astronomy").departmentId());
+    }
+
+    /**
+     * Rename Physics to Astronomy, flushing the change.
+     */
+    private void renamePhysics() {
+        Department department = departmentRepository.findById(departmentId).orElseThrow();
+        department.setName("Astronomy");
+        departmentRepository.saveAndFlush(department);
+    }
+}
@@ -0,0 +1,204 @@
+package ua.dtsebulia.testassignmentbotscrew.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.event.BulkDataChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.repository.DegreeRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.LectorRepository;
+import ua.dtsebulia.testassignmentbotscrew.support.SqlStatementCounter;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ua.dtsebulia.testassignmentbotscrew.support.SqlStatementCounter.assertQueryBudget;
+
+/**
+ * Test class for the Hibernate second-level and query caches, and for {@link SecondLevelCacheEvictor}.
+ * Every step runs in its own committed transaction, as the caches are only filled and invalidated on commit.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ua.dtsebulia.testassignmentbotscrew.support.SqlStatementCounter")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SecondLevelCacheEvictor.class)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private LectorRepository lectorRepository;
+
+    @Autowired
+    private DegreeRepository degreeRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Integer departmentId;
+    private Integer lectorId;
+
+    /**
+     * Commit a department with two lectors and a head, then read everything once to fill the caches.
+     */
+    @BeforeEach
+    public void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            Degree professor = degreeRepository.save(Degree.builder().name("professor").build());
+            Lector head = lectorRepository.save(Lector.builder()
+                    .firstName("Anna").lastName("Boiko").salary(3000).degree(professor).build());
+            Lector lector = lectorRepository.save(Lector.builder()
+                    .firstName("Ivan").lastName("Petrov").salary(2000).degree(professor).build());
+            Department department = departmentRepository.save(Department.builder()
+                    .name("Mathematics")
+                    .headOfDepartment(head)
+                    .lectors(new HashSet<>(Set.of(head, lector)))
+                    .build());
+            departmentId = department.getId();
+            lectorId = lector.getId();
+        });
+
+        describeDepartment();
+        describeLector();
+    }
+
+    /**
+     * Remove the seeded data and empty the caches.
+     */
+    @AfterEach
+    public void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            departmentRepository.deleteAll();
+            lectorRepository.deleteAll();
+            degreeRepository.deleteAll();
+        });
+        eventPublisher.publishEvent(new BulkDataChangedEvent("test cleanup"));
+    }
+
+    /**
+     * Test case for repeating the lookups behind the console commands.
+     * It verifies that the department, its head, its lectors and their degrees are served without SQL.
+     */
+    @Test
+    void testRepeatLookupsIssueNoSql() {
+        assertEquals("Anna Boiko: [Anna Boiko professor, Ivan Petrov professor]",
+                assertQueryBudget("department lookup (cached)", 0, this::describeDepartment));
+        assertEquals("Ivan Petrov 2000 professor",
+                assertQueryBudget("lector lookup (cached)", 0, this::describeLector));
+    }
+
+    /**
+     * Test case for a department lookup by a name that does not exist.
+     * It verifies that the empty result is cached too.
+     */
+    @Test
+    void testUnknownNameIsCached() {
+        transaction.execute(status -> departmentRepository.findByName("Unknown"));
+
+        assertNull(assertQueryBudget("unknown department lookup (cached)", 0,
+                () -> transaction.execute(status -> departmentRepository.findByName("Unknown"))));
+    }
+
+    /**
+     * Test case for changing a lector and then a department's lectors.
+     * It verifies that the lector is updated in place, while the lookups that depend on the changed tables
+     * go back to the database.
+     */
+    @Test
+    void testUpdatesInvalidateRegions() {
+        transaction.executeWithoutResult(status ->
+                lectorRepository.findById(lectorId).orElseThrow().setSalary(2500));
+
+        // The lector region is updated on commit, so the lector is still read without SQL.
+        assertEquals("Ivan Petrov 2500 professor",
+                assertQueryBudget("changed lector lookup", 0, this::describeLector));
+
+        // The department query joins the lector table, so its cached result is stale.
+        assertEquals(1, countStatements(() -> transaction.execute(status ->
+                departmentRepository.findByName("Mathematics").getName())));
+
+        // Adding a lector evicts the cached collection, but not the department or its head.
+        transaction.executeWithoutResult(status -> {
+            Lector lector = lectorRepository.save(Lector.builder()
+                    .firstName("Olena").lastName("Shevchenko").salary(1000).build());
+            departmentRepository.findById(departmentId).orElseThrow().getLectors().add(lector);
+        });
+        assertTrue(countStatements(this::describeDepartment) > 0);
+        assertEquals("Anna Boiko: [Anna Boiko professor, Ivan Petrov professor, Olena Shevchenko null]",
+                assertQueryBudget("department lookup after reload", 0, this::describeDepartment));
+    }
+
+    /**
+     * Test case for a bulk change that bypassed Hibernate.
+     * It verifies that every region is evicted, so the next lookups read the database.
+     */
+    @Test
+    void testBulkChangeEvictsEveryRegion() {
+        eventPublisher.publishEvent(new BulkDataChangedEvent("test"));
+
+        assertTrue(countStatements(this::describeLector) > 0);
+        assertTrue(countStatements(this::describeDepartment) > 0);
+    }
+
+    /**
+     * Describe the department with its head and the degrees of its lectors, in a new transaction.
+     *
+     * @return The head's full name and the lectors with their degrees.
+     */
+    private String describeDepartment() {
+        return transaction.execute(status -> {
+            Department department = departmentRepository.findByName("Mathematics");
+            Set<String> lectors = new TreeSet<>();
+            department.getLectors().forEach(lector -> lectors.add(lector.getFullName() + " "
+                    + (lector.getDegree() != null ? lector.getDegree().getName() : null)));
+            return department.getHeadOfDepartment().getFullName() + ": " + List.copyOf(lectors);
+        });
+    }
+
+    /**
+     * Describe the seeded lector with their salary and degree, in a new transaction.
+     *
+     * @return The lector's full name, salary and degree.
+     */
+    private String describeLector() {
+        return transaction.execute(status -> {
+            Lector lector = lectorRepository.findById(lectorId).orElseThrow();
+            return lector.getFullName() + " " + lector.getSalary() + " " + lector.getDegree().getName();
+        });
+    }
+
+    /**
+     * Run an action and count the SQL statements it issues.
+     *
+     * @param action The action.
+     * @return The number of statements.
+     */
+    private static int countStatements(Supplier<?> action) {
+        SqlStatementCounter.reset();
+        action.get();
+        return SqlStatementCounter.statements().size();
+    }
+}
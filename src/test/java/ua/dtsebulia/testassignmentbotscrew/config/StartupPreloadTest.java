@@ -0,0 +1,95 @@
+package ua.dtsebulia.testassignmentbotscrew.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.ContextRefreshedEvent;
+import ua.dtsebulia.testassignmentbotscrew.aggregate.DepartmentAggregate;
+import ua.dtsebulia.testassignmentbotscrew.aggregate.DepartmentAggregateStore;
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary;
+import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.search.DepartmentNameResolver;
+import ua.dtsebulia.testassignmentbotscrew.search.GlobalSearchIndex;
+import ua.dtsebulia.testassignmentbotscrew.support.SqlStatementCounter;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link StartupPreload}, with preloading disabled as in the {@code fast-startup} profile.
+ */
+@DataJpaTest(properties = {"startup.preload=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ua.dtsebulia.testassignmentbotscrew.support.SqlStatementCounter"})
+@Import({GlobalSearchIndex.class, DepartmentNameResolver.class, DepartmentAggregateStore.class,
+        DegreeDictionary.class})
+class StartupPreloadTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Autowired
+    private DepartmentAggregateStore departmentAggregateStore;
+
+    /**
+     * Seed one department with one lector, then forget the statements issued so far.
+     */
+    @BeforeEach
+    public void setUp() {
+        Degree professor = entityManager.persist(Degree.builder().name("professor").build());
+        Lector lector = entityManager.persist(Lector.builder()
+                .firstName("Ivan")
+                .lastName("Petrenko")
+                .salary(3000)
+                .degree(professor)
+                .build());
+        entityManager.persist(Department.builder()
+                .name("Physics")
+                .headOfDepartment(lector)
+                .lectors(Set.of(lector))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+    }
+
+    /**
+     * Test case for a context refresh with preloading disabled.
+     * It verifies that no structure is built, so the refresh issues no SQL.
+     */
+    @Test
+    void testContextRefreshedWithoutPreload() {
+        // Execute the method under test.
+        applicationContext.publishEvent(new ContextRefreshedEvent(applicationContext));
+
+        assertTrue(SqlStatementCounter.statements().isEmpty(), SqlStatementCounter.statements().toString());
+    }
+
+    /**
+     * Test case for the first use of a structure with preloading disabled.
+     * It verifies that the structure is built on demand and answers from the database's current state.
+     */
+    @Test
+    void testStructureBuiltOnFirstUse() {
+        applicationContext.publishEvent(new ContextRefreshedEvent(applicationContext));
+
+        // Execute the method under test.
+        Optional<DepartmentAggregate> aggregate = departmentAggregateStore.find("Physics");
+
+        assertFalse(SqlStatementCounter.statements().isEmpty());
+        assertEquals(3000, aggregate.orElseThrow().salarySum());
+    }
+}
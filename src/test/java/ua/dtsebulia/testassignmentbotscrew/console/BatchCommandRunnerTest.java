@@ -0,0 +1,102 @@
+package ua.dtsebulia.testassignmentbotscrew.console;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for {@link BatchCommandRunner}.
+ */
+class BatchCommandRunnerTest {
+
+    @Mock
+    private CommandProcessor commandProcessor;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Set up a command processor whose commands take longer the earlier they appear in the script,
+     * so they complete in reverse order.
+     */
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(commandProcessor.execute(anyString())).thenAnswer(invocation -> {
+            String command = invocation.getArgument(0);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            events.add("start " + command);
+            try {
+                Thread.sleep(50 - 5L * Integer.parseInt(command));
+            } finally {
+                events.add("end " + command);
+                inFlight.decrementAndGet();
+            }
+            return "result " + command;
+        });
+    }
+
+    /**
+     * Test case for commands completing out of order.
+     * It verifies that outputs are written in input order and that the report covers every command.
+     */
+    @Test
+    void testOutputsInInputOrder() throws IOException {
+        BatchCommandRunner runner = new BatchCommandRunner(commandProcessor, 8);
+        StringWriter output = new StringWriter();
+
+        BatchReport report = runner.run(new BufferedReader(new StringReader("1\n2\n\n3\n4\n5\nexit\n6\n")), output);
+
+        assertEquals(String.join(System.lineSeparator(), "result 1", "result 2", "result 3", "result 4", "result 5")
+                + System.lineSeparator(), output.toString());
+        assertEquals(5, report.commandCount());
+        assertTrue(report.latencyPercentile(100) >= report.latencyPercentile(50));
+    }
+
+    /**
+     * Test case for a batch larger than the parallelism cap.
+     * It verifies that no more commands than the cap run at the same time.
+     */
+    @Test
+    void testParallelismCap() throws IOException {
+        BatchCommandRunner runner = new BatchCommandRunner(commandProcessor, 2);
+
+        runner.run(new BufferedReader(new StringReader("1\n2\n3\n4\n5\n6\n7\n8\n")), new StringWriter());
+
+        assertTrue(maxInFlight.get() <= 2);
+    }
+
+    /**
+     * Test case for a command that changes data between reads.
+     * It verifies that it starts once the earlier commands have ended, and that the later ones start after it ends.
+     */
+    @Test
+    void testMutatingCommandRunsAlone() throws IOException {
+        when(commandProcessor.isMutating("3")).thenReturn(true);
+        BatchCommandRunner runner = new BatchCommandRunner(commandProcessor, 8);
+        StringWriter output = new StringWriter();
+
+        // Execute the method under test.
+        runner.run(new BufferedReader(new StringReader("1\n2\n3\n4\n5\n")), output);
+
+        assertEquals(List.of("start 3", "end 3"), events.subList(4, 6));
+        assertEquals(String.join(System.lineSeparator(), "result 1", "result 2", "result 3", "result 4", "result 5")
+                + System.lineSeparator(), output.toString());
+    }
+}
@@ -0,0 +1,297 @@
+package ua.dtsebulia.testassignmentbotscrew.console;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import ua.dtsebulia.testassignmentbotscrew.bulk.LectorBulkUpdateService;
+import ua.dtsebulia.testassignmentbotscrew.bulk.SalaryAdjustment;
+import ua.dtsebulia.testassignmentbotscrew.console.command.AdjustSalariesCommand;
+import ua.dtsebulia.testassignmentbotscrew.console.command.CountGlobalSearchCommand;
+import ua.dtsebulia.testassignmentbotscrew.console.command.ExportOrganizationCommand;
+import ua.dtsebulia.testassignmentbotscrew.console.command.GlobalSearchCommand;
+import ua.dtsebulia.testassignmentbotscrew.console.command.HeadOfDepartmentCommand;
+import ua.dtsebulia.testassignmentbotscrew.console.command.ImportOrganizationCommand;
+import ua.dtsebulia.testassignmentbotscrew.console.command.MetricsCommand;
+import ua.dtsebulia.testassignmentbotscrew.console.command.MoveLectorsCommand;
+import ua.dtsebulia.testassignmentbotscrew.dto.GlobalSearchCountDto;
+import ua.dtsebulia.testassignmentbotscrew.exchange.ExchangeFormat;
+import ua.dtsebulia.testassignmentbotscrew.exchange.ExchangeReport;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationExporter;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationImporter;
+import ua.dtsebulia.testassignmentbotscrew.metrics.MetricsReport;
+import ua.dtsebulia.testassignmentbotscrew.metrics.OperationMetrics;
+import ua.dtsebulia.testassignmentbotscrew.service.DepartmentService;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for {@link CommandProcessor}.
+ */
+class CommandProcessorTest {
+
+    private static final List<String> NAMES = List.of("Ivan Petrov", "Petro Ivanov", "Ivanna Koval");
+
+    @Mock
+    private DepartmentService departmentService;
+
+    @Mock
+    private LectorBulkUpdateService bulkUpdateService;
+
+    @Mock
+    private OrganizationExporter organizationExporter;
+
+    @Mock
+    private OrganizationImporter organizationImporter;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CommandProcessor commandProcessor;
+
+    /**
+     * Set up a department service whose global search pages through three names.
+     */
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        commandProcessor = new CommandProcessor(List.of(
+                new HeadOfDepartmentCommand(departmentService),
+                new GlobalSearchCommand(departmentService, 2),
+                new CountGlobalSearchCommand(departmentService),
+                new MetricsCommand(new MetricsReport(meterRegistry)),
+                new AdjustSalariesCommand(bulkUpdateService),
+                new MoveLectorsCommand(bulkUpdateService),
+                new ExportOrganizationCommand(organizationExporter),
+                new ImportOrganizationCommand(organizationImporter)), new OperationMetrics(meterRegistry));
+
+        when(departmentService.globalSearch(anyString(), anyInt(), anyInt(), any(Consumer.class)))
+                .thenAnswer(invocation -> {
+                    int offset = invocation.getArgument(1);
+                    int limit = invocation.getArgument(2);
+                    Consumer<String> consumer = invocation.getArgument(3);
+                    int end = Math.min(NAMES.size(), offset + limit);
+                    NAMES.subList(Math.min(offset, end), end).forEach(consumer);
+                    return end < NAMES.size();
+                });
+    }
+
+    /**
+     * Test case for a global search with more results than the default limit.
+     * It verifies that results are streamed one at a time and followed by a hint for the next page.
+     */
+    @Test
+    void testGlobalSearchIsStreamedAndLimited() {
+        List<String> pieces = new ArrayList<>();
+
+        // Execute the method under test.
+        commandProcessor.execute("Global search by van", piece -> pieces.add(piece.toString()));
+
+        assertEquals(List.of("Ivan Petrov", ",Petro Ivanov",
+                System.lineSeparator() + "Showing results 1-2. Add 'offset 2' to see more."), pieces);
+        verify(departmentService).globalSearch(eq("van"), eq(0), eq(2), any());
+    }
+
+    /**
+     * Test case for a global search with paging options.
+     * It verifies that the options are stripped from the template and select the page.
+     */
+    @Test
+    void testGlobalSearchWithLimitAndOffset() {
+        // Execute the method under test.
+        String output = commandProcessor.execute("Global search by van limit 5 offset 1");
+
+        assertEquals("Petro Ivanov,Ivanna Koval", output);
+        verify(departmentService).globalSearch(eq("van"), eq(1), eq(5), any());
+    }
+
+    /**
+     * Test case for a global search with a limit or offset too large for a page.
+     * It verifies that a usage message is printed and no search runs.
+     */
+    @Test
+    void testGlobalSearchWithOutOfRangeLimitOrOffset() {
+        // Execute the method under test.
+        String limitOutput = commandProcessor.execute("Global search by x limit 99999999999");
+        String offsetOutput = commandProcessor.execute("Global search by x offset 2147483648 limit 5");
+
+        assertEquals("Invalid limit 99999999999, it must be at most 2147483647. "
+                + "Usage: Global search by {template} [limit {n}] [offset {n}]", limitOutput);
+        assertEquals("Invalid offset 2147483648, it must be at most 2147483647. "
+                + "Usage: Global search by {template} [limit {n}] [offset {n}]", offsetOutput);
+        verify(departmentService, never()).globalSearch(any(), anyInt(), anyInt(), any());
+    }
+
+    /**
+     * Test case for telling commands that change data from the others.
+     * It verifies that salary adjustments, moves and imports are mutating, while reads and unknown commands are not.
+     */
+    @Test
+    void testIsMutating() {
+        // Execute the method under test.
+        assertTrue(commandProcessor.isMutating("Adjust salaries by 10%"));
+        assertTrue(commandProcessor.isMutating("Move lectors from {Physics} to {Mathematics}"));
+        assertTrue(commandProcessor.isMutating("Import organization from org.json"));
+        assertFalse(commandProcessor.isMutating("Export organization to org.json"));
+        assertFalse(commandProcessor.isMutating("Global search by van"));
+        assertFalse(commandProcessor.isMutating("Drop everything"));
+    }
+
+    /**
+     * Test case for counting global search results.
+     * It verifies that only the count is printed.
+     */
+    @Test
+    void testCountGlobalSearch() {
+        when(departmentService.countGlobalSearchResults("van")).thenReturn(new GlobalSearchCountDto("van", 3));
+
+        // Execute the method under test.
+        String output = commandProcessor.execute("Count global search by van");
+
+        assertEquals("Global search by van found 3 results.", output);
+    }
+
+    /**
+     * Test case for the metrics command.
+     * It verifies that executed commands are timed by type and outcome and listed by the command.
+     */
+    @Test
+    void testMetrics() {
+        commandProcessor.execute("Global search by van");
+        commandProcessor.execute("Unknown command");
+
+        // Execute the method under test.
+        String output = commandProcessor.execute("metrics");
+
+        assertEquals(1, meterRegistry.get(OperationMetrics.COMMAND_TIMER)
+                .tags("operation", "global_search", "outcome", OperationMetrics.SUCCESS).timer().count());
+        assertEquals(1, meterRegistry.get(OperationMetrics.COMMAND_TIMER)
+                .tags("operation", OperationMetrics.INVALID, "outcome", OperationMetrics.INVALID).timer().count());
+        assertTrue(output.contains("console.command{operation=global_search,outcome=success} count=1"), output);
+    }
+
+    /**
+     * Test case for a department name containing the word 'by'.
+     * It verifies that the whole name between the braces is passed to the service.
+     */
+    @Test
+    void testDepartmentNameContainingBy() {
+        when(departmentService.findHeadOfDepartment("Hobby by Design")).thenReturn("Head of Hobby by Design is X");
+
+        // Execute the method under test.
+        String output = commandProcessor.execute("Who is head of department {Hobby by Design}");
+
+        assertEquals("Head of Hobby by Design is X", output);
+    }
+
+    /**
+     * Test case for a global search whose template contains the word 'by'.
+     * It verifies that the template starts after the command phrase, not after the first 'by'.
+     */
+    @Test
+    void testGlobalSearchTemplateContainingBy() {
+        // Execute the method under test.
+        commandProcessor.execute("Global search by by van limit 1");
+
+        verify(departmentService).globalSearch(eq("by van"), eq(0), eq(1), any());
+    }
+
+    /**
+     * Test case for salary adjustments with and without filters.
+     * It verifies that the adjustment, department and degree are extracted from the command line.
+     */
+    @Test
+    void testAdjustSalaries() {
+        commandProcessor.execute("Adjust salaries by 10% in department {Hobby by Design} with degree {professor}");
+        commandProcessor.execute("adjust salaries by -500");
+
+        verify(bulkUpdateService).adjustSalaries(new SalaryAdjustment(BigDecimal.TEN, true), "Hobby by Design",
+                "professor");
+        verify(bulkUpdateService).adjustSalaries(new SalaryAdjustment(new BigDecimal(-500), false), null, null);
+    }
+
+    /**
+     * Test case for salary adjustments with invalid arguments.
+     * It verifies that the usage or the reason is printed and nothing is adjusted.
+     */
+    @Test
+    void testAdjustSalariesWithInvalidArguments() {
+        assertTrue(commandProcessor.execute("Adjust salaries by 10% in {Physics}").startsWith("Invalid arguments."));
+        assertEquals("Salary amount must be a whole number, was 10.5.",
+                commandProcessor.execute("Adjust salaries by 10.5 in department {Physics}"));
+
+        verifyNoInteractions(bulkUpdateService);
+    }
+
+    /**
+     * Test case for moving lectors with and without a degree.
+     * It verifies that the departments and degree are extracted, and a move within a department is reported.
+     */
+    @Test
+    void testMoveLectors() {
+        when(bulkUpdateService.moveLectors("Physics", "Physics", null))
+                .thenThrow(new IllegalArgumentException("Lectors must be moved to another department, was Physics."));
+
+        commandProcessor.execute("Move lectors from {Physics} to {Hobby by Design} with degree {assistant}");
+        commandProcessor.execute("Move lectors from {Physics}to{Mathematics}");
+
+        verify(bulkUpdateService).moveLectors("Physics", "Hobby by Design", "assistant");
+        verify(bulkUpdateService).moveLectors("Physics", "Mathematics", null);
+        assertEquals("Lectors must be moved to another department, was Physics.",
+                commandProcessor.execute("Move lectors from {Physics} to {Physics}"));
+        assertTrue(commandProcessor.execute("Move lectors from {Physics}").startsWith("Invalid arguments."));
+    }
+
+    /**
+     * Test case for exporting the organization to a file and importing it back.
+     * It verifies that the format is guessed from the file name unless named, and that the export is written
+     * to the file and the import reads it.
+     *
+     * @throws IOException If the temporary file cannot be handled.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportAndImportOrganization() throws IOException {
+        Path file = Files.createTempFile("organization", ".csv");
+        try {
+            when(organizationExporter.export(eq(ExchangeFormat.CSV), any(Consumer.class))).thenAnswer(invocation -> {
+                Consumer<CharSequence> output = invocation.getArgument(1);
+                output.accept("degree,1,professor\n");
+                return new ExchangeReport("Exported", 1, 0, 0, 0, 1_000_000);
+            });
+            when(organizationImporter.importFrom(eq(ExchangeFormat.NDJSON), any(), eq(19L), any(Consumer.class)))
+                    .thenReturn(new ExchangeReport("Imported", 1, 0, 0, 0, 1_000_000));
+
+            assertEquals("Exported 1 degrees, 0 lectors, 0 departments and 0 memberships in 0.001 s (1000 records/s).",
+                    commandProcessor.execute("Export organization to {" + file + "}"));
+            assertEquals("degree,1,professor\n", Files.readString(file));
+            assertTrue(commandProcessor.execute("Import organization from {" + file + "} as ndjson")
+                    .startsWith("Imported 1 degrees"));
+        } finally {
+            Files.delete(file);
+        }
+
+        assertTrue(commandProcessor.execute("Import organization from {" + file + "}").startsWith("Could not read "));
+        assertTrue(commandProcessor.execute("Export organization to {" + file + "} as xml")
+                .startsWith("Invalid arguments."));
+    }
+}
@@ -0,0 +1,107 @@
+package ua.dtsebulia.testassignmentbotscrew.console.command;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link CommandTable}.
+ */
+class CommandTableTest {
+
+    private final ConsoleCommand search = command("search", "Global search by", ConsoleCommand.Argument.TEXT);
+    private final ConsoleCommand count = command("count", "Global search count by", ConsoleCommand.Argument.TEXT);
+    private final ConsoleCommand head = command("head", "Who is head of department", ConsoleCommand.Argument.BRACED);
+    private final ConsoleCommand metrics = command("metrics", "metrics", ConsoleCommand.Argument.NONE);
+
+    private final CommandTable table = new CommandTable(List.of(search, count, head, metrics));
+
+    /**
+     * Test case for matching each kind of argument.
+     * It verifies that the argument is extracted from where the phrase ends.
+     */
+    @Test
+    void testParseArguments() {
+        assertEquals(new ParsedCommand(search, "Ivan by Petrov"), table.parse("Global search by  Ivan by Petrov ").get());
+        assertEquals(new ParsedCommand(head, "Hobby by Design"),
+                table.parse("Who is head of department {Hobby by Design}").get());
+        assertEquals(new ParsedCommand(head, ""), table.parse("Who is head of department Physics").get());
+        assertEquals(new ParsedCommand(metrics, ""), table.parse("  metrics  ").get());
+    }
+
+    /**
+     * Test case for phrases sharing a prefix, typed in a different case.
+     * It verifies that the phrases are matched ignoring case and that the longest one wins.
+     */
+    @Test
+    void testLongestPhraseIgnoringCase() {
+        assertEquals(new ParsedCommand(count, "van"), table.parse("GLOBAL SEARCH COUNT BY van").get());
+        assertEquals(new ParsedCommand(search, "count van"), table.parse("global search by count van").get());
+        assertEquals(new ParsedCommand(head, "Math"), table.parse("Who is head of department{Math}").get());
+    }
+
+    /**
+     * Test case for lines that do not start with a complete phrase.
+     * It verifies that they are not matched.
+     */
+    @Test
+    void testUnmatchedLines() {
+        assertTrue(table.parse("").isEmpty());
+        assertTrue(table.parse("Global search").isEmpty());
+        assertTrue(table.parse("Global search byvan").isEmpty());
+        assertTrue(table.parse("metrics now").isEmpty());
+        assertTrue(table.parse("Please Global search by van").isEmpty());
+    }
+
+    /**
+     * Test case for registering two commands with the same phrase.
+     * It verifies that the table refuses them.
+     */
+    @Test
+    void testDuplicatePhrase() {
+        ConsoleCommand other = command("other", "METRICS", ConsoleCommand.Argument.NONE);
+
+        assertThrows(IllegalStateException.class, () -> new CommandTable(List.of(metrics, other)));
+    }
+
+    /**
+     * Create a command that does nothing.
+     *
+     * @param name     The name of the command.
+     * @param phrase   The phrase of the command.
+     * @param argument The kind of argument.
+     * @return The command.
+     */
+    private static ConsoleCommand command(String name, String phrase, ConsoleCommand.Argument argument) {
+        return new ConsoleCommand() {
+            @Override
+            public String phrase() {
+                return phrase;
+            }
+
+            @Override
+            public Argument argument() {
+                return argument;
+            }
+
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public String usage() {
+                return phrase;
+            }
+
+            @Override
+            public void execute(String argument, Consumer<CharSequence> output) {
+            }
+        };
+    }
+}
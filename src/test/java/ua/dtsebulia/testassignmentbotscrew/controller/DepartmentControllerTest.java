@@ -0,0 +1,186 @@
+package ua.dtsebulia.testassignmentbotscrew.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ua.dtsebulia.testassignmentbotscrew.dto.AverageSalaryDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.DegreeCountDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.DepartmentStatisticDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.GlobalSearchCountDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.GlobalSearchPageDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.HeadOfDepartmentDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.SalaryDistributionDto;
+import ua.dtsebulia.testassignmentbotscrew.report.DepartmentReportService;
+import ua.dtsebulia.testassignmentbotscrew.report.ReportFormat;
+import ua.dtsebulia.testassignmentbotscrew.service.DepartmentService;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for {@link DepartmentController}.
+ */
+@WebMvcTest(DepartmentController.class)
+class DepartmentControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DepartmentService departmentService;
+
+    @MockBean
+    private DepartmentReportService departmentReportService;
+
+    /**
+     * Test case for retrieving the head of a department.
+     * It verifies that the head is returned as a JSON object.
+     */
+    @Test
+    void testGetHeadOfDepartment() throws Exception {
+        when(departmentService.getHeadOfDepartment("Computer Science"))
+                .thenReturn(Optional.of(new HeadOfDepartmentDto("Computer Science", "John Smith")));
+
+        // Execute the request under test.
+        mockMvc.perform(get("/api/departments/{name}/head", "Computer Science"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.departmentName").value("Computer Science"))
+                .andExpect(jsonPath("$.headOfDepartment").value("John Smith"));
+    }
+
+    /**
+     * Test case for retrieving the statistics and average salary of a department.
+     * It verifies that the degree counts and the salary are returned as structured values.
+     */
+    @Test
+    void testGetDepartmentStatisticAndAverageSalary() throws Exception {
+        when(departmentService.getDepartmentStatisticDetails("Math")).thenReturn(Optional.of(
+                new DepartmentStatisticDto("Math", 3, List.of(
+                        new DegreeCountDto("assistant", 2),
+                        new DegreeCountDto("professor", 1)))));
+        when(departmentService.getAverageSalary("Math"))
+                .thenReturn(Optional.of(new AverageSalaryDto("Math", 3, 1500.0)));
+
+        // Execute the requests under test.
+        mockMvc.perform(get("/api/departments/{name}/statistics", "Math"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lectorCount").value(3))
+                .andExpect(jsonPath("$.degrees[0].degree").value("assistant"))
+                .andExpect(jsonPath("$.degrees[0].lectorCount").value(2));
+        mockMvc.perform(get("/api/departments/{name}/average-salary", "Math"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.averageSalary").value(1500.0));
+    }
+
+    /**
+     * Test case for retrieving the salary distribution of a department and of all departments.
+     * It verifies that the percentiles are returned as a JSON object.
+     */
+    @Test
+    void testGetSalaryDistribution() throws Exception {
+        when(departmentService.getSalaryDistributionDetails("Math")).thenReturn(Optional.of(
+                new SalaryDistributionDto("Math", 3, 1000, 1500, 2000, 2000, 2000)));
+        when(departmentService.getOrganizationSalaryDistributionDetails())
+                .thenReturn(new SalaryDistributionDto(null, 5, 500, 1500, 3000, 3000, 3000));
+
+        // Execute the requests under test.
+        mockMvc.perform(get("/api/departments/{name}/salary-distribution", "Math"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.medianSalary").value(1500))
+                .andExpect(jsonPath("$.p90Salary").value(2000));
+        mockMvc.perform(get("/api/departments/salary-distribution"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lectorCount").value(5))
+                .andExpect(jsonPath("$.minSalary").value(500));
+    }
+
+    /**
+     * Test case for a department that does not exist.
+     * It verifies that 404 is returned with an error message.
+     */
+    @Test
+    void testDepartmentNotFound() throws Exception {
+        when(departmentService.getEmployeeCountDetails("Unknown")).thenReturn(Optional.empty());
+
+        // Execute the request under test.
+        mockMvc.perform(get("/api/departments/{name}/employee-count", "Unknown"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Department with name Unknown not found."));
+    }
+
+    /**
+     * Test case for the paged global search.
+     * It verifies that the page is returned as a JSON object with the results and a flag for more results.
+     */
+    @Test
+    void testSearch() throws Exception {
+        when(departmentService.searchPage("van", 10, 2))
+                .thenReturn(new GlobalSearchPageDto("van", 10, 2, List.of("Ivan Petrov", "Petro Ivanov"), true));
+
+        // Execute the request under test.
+        mockMvc.perform(get("/api/search").param("template", "van").param("offset", "10").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[1]").value("Petro Ivanov"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    /**
+     * Test case for the global search count and an out of range limit.
+     * It verifies that the count is returned, and that a too large limit is rejected with 400.
+     */
+    @Test
+    void testSearchCountAndLimitValidation() throws Exception {
+        when(departmentService.countGlobalSearchResults("van")).thenReturn(new GlobalSearchCountDto("van", 42));
+
+        // Execute the requests under test.
+        mockMvc.perform(get("/api/search/count").param("template", "van"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(42));
+        mockMvc.perform(get("/api/search").param("template", "van").param("limit", "100000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test case for retrieving the all departments report.
+     * It verifies that the report is streamed in the requested format with its media type,
+     * and that an unknown format is rejected.
+     */
+    @Test
+    void testGetReport() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<CharSequence> output = invocation.getArgument(1);
+            output.accept("department,head");
+            output.accept("\nMath,John Smith");
+            return null;
+        }).when(departmentReportService).writeReport(eq(ReportFormat.CSV), any());
+
+        // Execute the request under test, waiting for the streamed body.
+        MvcResult result = mockMvc.perform(get("/api/departments/report").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("department,head\nMath,John Smith"));
+
+        mockMvc.perform(get("/api/departments/report").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Format must be csv or json."));
+    }
+}
@@ -0,0 +1,102 @@
+package ua.dtsebulia.testassignmentbotscrew.degree;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
+import ua.dtsebulia.testassignmentbotscrew.repository.DegreeRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Test class for {@link DegreeDictionary}.
+ * Every step runs in its own transaction, as degree changes are only applied on commit.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(DegreeDictionary.class)
+class DegreeDictionaryTest {
+
+    @Autowired
+    private DegreeDictionary degreeDictionary;
+
+    @Autowired
+    private DegreeRepository degreeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Integer degreeId;
+    private int ordinal;
+
+    /**
+     * Commit one degree and load the dictionary.
+     * Degrees of earlier tests keep their ordinals, so the ordinal of the new one is looked up.
+     */
+    @BeforeEach
+    public void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        degreeId = transaction.execute(status ->
+                degreeRepository.save(Degree.builder().name("professor").build()).getId());
+        degreeDictionary.refresh();
+        ordinal = degreeDictionary.degrees().get(0).ordinal();
+    }
+
+    /**
+     * Remove the seeded data.
+     */
+    @AfterEach
+    public void tearDown() {
+        transaction.executeWithoutResult(status -> degreeRepository.deleteAll());
+    }
+
+    /**
+     * Test case for resolving a known degree referenced by a lazy proxy.
+     * It verifies that the ordinal is found by id, without initializing the proxy.
+     */
+    @Test
+    void testKnownDegreeIsResolvedWithoutInitializingProxy() {
+        transaction.executeWithoutResult(status -> {
+            Degree reference = entityManager.getReference(Degree.class, degreeId);
+
+            // Execute the method under test.
+            int result = degreeDictionary.ordinalOf(reference);
+
+            assertEquals(ordinal, result);
+            assertFalse(Hibernate.isInitialized(reference));
+        });
+    }
+
+    /**
+     * Test case for renaming a degree in a transaction that rolls back.
+     * It verifies that the dictionary keeps the committed name.
+     */
+    @Test
+    void testRolledBackRenameIsNotApplied() {
+        // Execute the method under test.
+        transaction.executeWithoutResult(status -> {
+            Degree degree = degreeRepository.findById(degreeId).orElseThrow();
+            degree.setName("full professor");
+            degreeRepository.saveAndFlush(degree);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(List.of(new DegreeDictionary.DegreeEntry(ordinal, "professor")), degreeDictionary.degrees());
+    }
+}
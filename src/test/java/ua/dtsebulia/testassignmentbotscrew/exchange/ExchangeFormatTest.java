@@ -0,0 +1,95 @@
+package ua.dtsebulia.testassignmentbotscrew.exchange;
+
+import org.junit.jupiter.api.Test;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationRecord.DegreeRecord;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationRecord.DepartmentRecord;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationRecord.LectorRecord;
+import ua.dtsebulia.testassignmentbotscrew.exchange.OrganizationRecord.MembershipRecord;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link ExchangeFormat}.
+ */
+class ExchangeFormatTest {
+
+    private static final List<OrganizationRecord> RECORDS = List.of(
+            new DegreeRecord(1, "professor"),
+            new LectorRecord(2, "Ivan", "Petrov, \"Jr.\"", 2000, null),
+            new DepartmentRecord(3, "Physics\nand Astronomy", 2),
+            new MembershipRecord(3, 2));
+
+    /**
+     * Test case for writing and reading every type of record in both formats.
+     * It verifies that each record is read back unchanged.
+     */
+    @Test
+    void testFormatAndParseRoundTrip() {
+        for (ExchangeFormat format : ExchangeFormat.values()) {
+            for (OrganizationRecord record : RECORDS) {
+                // Execute the method under test.
+                OrganizationRecord parsed = format.parse(format.format(record));
+
+                assertEquals(record, parsed, format.name());
+            }
+        }
+    }
+
+    /**
+     * Test case for the CSV and NDJSON lines of a lector.
+     * It verifies that missing values are empty cells in CSV and nulls in NDJSON.
+     */
+    @Test
+    void testFormatLector() {
+        LectorRecord lector = new LectorRecord(2, "Ivan", "Petrov", 2000, null);
+
+        // Execute the method under test.
+        assertEquals("lector,2,Ivan,Petrov,2000,", ExchangeFormat.CSV.format(lector));
+        assertEquals("{\"type\":\"lector\",\"id\":2,\"firstName\":\"Ivan\",\"lastName\":\"Petrov\","
+                + "\"salary\":2000,\"degreeId\":null}", ExchangeFormat.NDJSON.format(lector));
+    }
+
+    /**
+     * Test case for a CSV record with a quoted line break.
+     * It verifies that the record is incomplete until the quote is closed.
+     */
+    @Test
+    void testCsvRecordSpanningLines() {
+        // Execute the method under test.
+        assertFalse(ExchangeFormat.CSV.isComplete("department,3,\"Physics"));
+        assertTrue(ExchangeFormat.CSV.isComplete("department,3,\"Physics\nand Astronomy\",2"));
+        assertTrue(ExchangeFormat.NDJSON.isComplete("{\"type\":\"degree\""));
+    }
+
+    /**
+     * Test case for invalid records.
+     * It verifies that an unknown type, a wrong number of cells, a non-numeric id and malformed JSON are rejected.
+     */
+    @Test
+    void testParseInvalidRecords() {
+        // Execute the method under test.
+        assertThrows(IllegalArgumentException.class, () -> ExchangeFormat.CSV.parse("teacher,1,Ivan"));
+        assertThrows(IllegalArgumentException.class, () -> ExchangeFormat.CSV.parse("degree,1"));
+        assertThrows(IllegalArgumentException.class, () -> ExchangeFormat.CSV.parse("degree,one,professor"));
+        assertThrows(IllegalArgumentException.class, () -> ExchangeFormat.NDJSON.parse("{\"type\":\"teacher\"}"));
+        assertThrows(IllegalArgumentException.class, () -> ExchangeFormat.NDJSON.parse("{\"type\":"));
+    }
+
+    /**
+     * Test case for choosing a format by name or file name.
+     * It verifies that names ignore case and that files other than ".csv" are NDJSON.
+     */
+    @Test
+    void testFormatLookup() {
+        // Execute the method under test.
+        assertEquals(ExchangeFormat.CSV, ExchangeFormat.of(" Csv ").orElseThrow());
+        assertTrue(ExchangeFormat.of("xml").isEmpty());
+        assertEquals(ExchangeFormat.CSV, ExchangeFormat.ofFile("organization.CSV"));
+        assertEquals(ExchangeFormat.NDJSON, ExchangeFormat.ofFile("organization.ndjson"));
+    }
+}
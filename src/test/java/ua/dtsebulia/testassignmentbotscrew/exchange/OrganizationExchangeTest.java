@@ -0,0 +1,293 @@
+package ua.dtsebulia.testassignmentbotscrew.exchange;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.event.BulkDataChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.repository.DegreeRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.LectorRepository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link OrganizationExporter} and {@link OrganizationImporter}.
+ * The import batch size is smaller than the number of records, so every import spans several batches. The import
+ * commits its own transaction, so the test itself runs without one and cleans up after.
+ */
+@DataJpaTest(properties = "exchange.batch-size=2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrganizationExporter.class, OrganizationImporter.class})
+@RecordApplicationEvents
+class OrganizationExchangeTest {
+
+    @Autowired
+    private OrganizationExporter exporter;
+
+    @Autowired
+    private OrganizationImporter importer;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private LectorRepository lectorRepository;
+
+    @Autowired
+    private DegreeRepository degreeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private TransactionTemplate transaction;
+
+    /**
+     * Commit Physics with a head and two lectors, one of them shared with Mathematics, which has no head,
+     * and an empty department.
+     */
+    @BeforeEach
+    public void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            Degree professor = degreeRepository.save(Degree.builder().name("professor").build());
+            Lector head = lectorRepository.save(Lector.builder()
+                    .firstName("Anna").lastName("Boiko").salary(3000).degree(professor).build());
+            Lector assistant = lectorRepository.save(Lector.builder()
+                    .firstName("Ivan").lastName("Petrov, Jr.").salary(2000).build());
+            Lector shared = lectorRepository.save(Lector.builder()
+                    .firstName("Olena").lastName("Koval").salary(2500).degree(professor).build());
+            departmentRepository.save(Department.builder()
+                    .name("Physics")
+                    .headOfDepartment(head)
+                    .lectors(new HashSet<>(Set.of(head, assistant, shared)))
+                    .build());
+            departmentRepository.save(Department.builder()
+                    .name("Mathematics")
+                    .lectors(new HashSet<>(Set.of(shared)))
+                    .build());
+            departmentRepository.save(Department.builder().name("Empty \"lab\"").build());
+        });
+    }
+
+    /**
+     * Remove the seeded and imported data.
+     */
+    @AfterEach
+    public void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            departmentRepository.deleteAll();
+            lectorRepository.deleteAll();
+            degreeRepository.deleteAll();
+        });
+    }
+
+    /**
+     * Test case for exporting the organization.
+     * It verifies that every record is written once, degrees and lectors before the departments that use them.
+     */
+    @Test
+    void testExportWritesEveryRecordInDependencyOrder() {
+        // Execute the method under test.
+        List<String> lines = export(ExchangeFormat.CSV);
+
+        assertEquals(11, lines.size());
+        assertTrue(lines.get(0).startsWith("degree,"), lines.get(0));
+        assertTrue(lines.get(1).startsWith("lector,"), lines.get(1));
+        assertTrue(lines.get(2).contains(",\"Petrov, Jr.\","), lines.get(2));
+        assertTrue(lines.get(4).startsWith("department,") && lines.get(4).contains(",Physics,"), lines.get(4));
+        assertEquals(List.of("membership", "membership", "membership", "department", "membership", "department"),
+                lines.subList(5, 11).stream().map(line -> line.substring(0, line.indexOf(','))).toList());
+    }
+
+    /**
+     * Test case for importing an export into an empty database, for both formats.
+     * It verifies that the organization is restored, with new ids.
+     */
+    @Test
+    void testRoundTripIntoEmptyDatabase() {
+        List<String> organization = describeOrganization();
+        for (ExchangeFormat format : ExchangeFormat.values()) {
+            String original = String.join("", export(format));
+            tearDown();
+
+            // Execute the method under test.
+            ExchangeReport report = importFrom(format, original);
+
+            assertEquals(1, report.degreeCount());
+            assertEquals(3, report.lectorCount());
+            assertEquals(3, report.departmentCount());
+            assertEquals(4, report.membershipCount());
+            assertEquals(organization, describeOrganization(), format.name());
+        }
+    }
+
+    /**
+     * Test case for importing records over existing data, with ids of the export that are also ids here.
+     * It verifies that the degree and department are matched by name, that the lector is inserted without
+     * touching the local lector of the same id, that existing memberships are kept once, and that a bulk change
+     * event is published.
+     */
+    @Test
+    void testImportMatchesByNameAndMapsIds() {
+        Department physics = departmentRepository.findByName("Physics");
+        Lector head = physics.getHeadOfDepartment();
+        String input = "{\"type\":\"degree\",\"id\":100,\"name\":\"professor\"}\n"
+                + "{\"type\":\"lector\",\"id\":" + head.getId()
+                + ",\"firstName\":\"Taras\",\"lastName\":\"Melnyk\",\"salary\":1000,\"degreeId\":100}\n"
+                + "\n"
+                + "{\"type\":\"department\",\"id\":" + head.getId() + ",\"name\":\"Physics\",\"headId\":"
+                + head.getId() + "}\n"
+                + "{\"type\":\"membership\",\"departmentId\":" + head.getId() + ",\"lectorId\":" + head.getId()
+                + "}\n"
+                + "{\"type\":\"membership\",\"departmentId\":" + head.getId() + ",\"lectorId\":" + head.getId()
+                + "}\n"
+                + "{\"type\":\"department\",\"id\":501,\"name\":\"Astronomy\",\"headId\":null}\n";
+
+        // Execute the method under test.
+        ExchangeReport report = importFrom(ExchangeFormat.NDJSON, input);
+
+        assertEquals(1, report.lectorCount());
+        assertEquals(2, report.departmentCount());
+        assertEquals(2, report.membershipCount());
+        Integer tarasId = jdbcTemplate.queryForObject(
+                "select id from lector where last_name = 'Melnyk'", Integer.class);
+        assertEquals("Anna Boiko 3000", jdbcTemplate.queryForObject(
+                "select concat(first_name, ' ', last_name, ' ', salary) from lector where id = ?", String.class,
+                head.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from degree", Integer.class));
+        assertEquals(tarasId, jdbcTemplate.queryForObject(
+                "select head_of_department_id from department where id = ?", Integer.class, physics.getId()));
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "select count(*) from department_lectors where department_id = ?", Integer.class, physics.getId()));
+        assertEquals(4, jdbcTemplate.queryForObject("select count(*) from department", Integer.class));
+        assertEquals(1, applicationEvents.stream(BulkDataChangedEvent.class).count());
+    }
+
+    /**
+     * Test case for importing two departments of the same name with different ids.
+     * It verifies that the import is rejected with the line of the second one, and that nothing is committed.
+     */
+    @Test
+    void testImportRejectsConflictingDepartments() {
+        String input = "lector,900,Taras,Melnyk,1000,\n"
+                + "department,500,Astronomy,900\n"
+                + "membership,500,900\n"
+                + "department,501,Astronomy,\n";
+
+        // Execute the method under test.
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> importFrom(ExchangeFormat.CSV, input));
+
+        assertEquals("Line 4: department 'Astronomy' is also department 500 of the import.", exception.getMessage());
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from lector", Integer.class));
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from department", Integer.class));
+        assertEquals(0, applicationEvents.stream(BulkDataChangedEvent.class).count());
+    }
+
+    /**
+     * Test case for importing a record that references a record missing from the input.
+     * It verifies that the error names the line, and that nothing is committed.
+     */
+    @Test
+    void testImportRejectsUnknownReference() {
+        String input = "lector,900,Taras,Melnyk,1000,\nmembership,500,900\n";
+
+        // Execute the method under test.
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> importFrom(ExchangeFormat.CSV, input));
+
+        assertEquals("Line 2: department 500 is not imported before it.", exception.getMessage());
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from lector", Integer.class));
+    }
+
+    /**
+     * Test case for importing an input with an invalid record.
+     * It verifies that the error names the line, and that the batches before it are rolled back.
+     */
+    @Test
+    void testImportReportsInvalidLine() {
+        String input = "degree,100,docent\ndegree,101,lecturer\nlector,900,Taras\n";
+
+        // Execute the method under test.
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> importFrom(ExchangeFormat.CSV, input));
+
+        assertTrue(exception.getMessage().startsWith("Line 3: "), exception.getMessage());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from degree", Integer.class));
+        assertEquals(0, applicationEvents.stream(BulkDataChangedEvent.class).count());
+    }
+
+    /**
+     * Describe the organization without its ids: every department with its head, and every membership with the
+     * lector's salary and degree.
+     *
+     * @return The sorted descriptions.
+     */
+    private List<String> describeOrganization() {
+        List<String> organization = new ArrayList<>(jdbcTemplate.queryForList(
+                "select concat(d.name, ' headed by ', coalesce(h.first_name || ' ' || h.last_name, 'nobody'))"
+                        + " from department d left join lector h on h.id = d.head_of_department_id", String.class));
+        organization.addAll(jdbcTemplate.queryForList(
+                "select concat(d.name, ': ', l.first_name, ' ', l.last_name, ' ', l.salary, ' ',"
+                        + " coalesce(g.name, 'no degree'))"
+                        + " from department_lectors m join department d on d.id = m.department_id"
+                        + " join lector l on l.id = m.lectors_id left join degree g on g.id = l.degree_id",
+                String.class));
+        Collections.sort(organization);
+        return organization;
+    }
+
+    /**
+     * Export the organization.
+     *
+     * @param format The line format.
+     * @return The lines, each ending with a line break.
+     */
+    private List<String> export(ExchangeFormat format) {
+        List<String> lines = new ArrayList<>();
+        exporter.export(format, line -> lines.add(line.toString()));
+        return lines;
+    }
+
+    /**
+     * Import an export.
+     *
+     * @param format The line format.
+     * @param input  The export.
+     * @return The summary of the import.
+     */
+    private ExchangeReport importFrom(ExchangeFormat format, String input) {
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        return importer.importFrom(format, new ByteArrayInputStream(bytes), bytes.length, message -> {
+        });
+    }
+}
@@ -0,0 +1,109 @@
+package ua.dtsebulia.testassignmentbotscrew.generator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.event.BulkDataChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link BulkOrganizationLoader}.
+ */
+@DataJpaTest
+@Import(BulkOrganizationLoader.class)
+@RecordApplicationEvents
+class BulkOrganizationLoaderTest {
+
+    @Autowired
+    private BulkOrganizationLoader bulkOrganizationLoader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    /**
+     * Test case for loading a generated organization next to existing data.
+     * It verifies that every row is inserted, existing degrees are reused, heads are members of their
+     * departments, and a bulk change event is published.
+     */
+    @Test
+    void testLoad() {
+        entityManager.persist(Degree.builder().name("professor").build());
+        entityManager.flush();
+        OrganizationGenerator generator = new OrganizationGenerator(1, 30, 2500);
+
+        // Execute the method under test.
+        LoadReport report = bulkOrganizationLoader.load(generator);
+
+        assertEquals(2500, count("select count(*) from lector"));
+        assertEquals(30, count("select count(*) from department"));
+        assertEquals(report.membershipCount(), count("select count(*) from department_lectors"));
+        assertEquals(3, count("select count(*) from degree"));
+        assertEquals(0, count("select count(*) from department d where d.head_of_department_id is not null "
+                + "and not exists (select 1 from department_lectors m where m.department_id = d.id "
+                + "and m.lectors_id = d.head_of_department_id)"));
+        assertEquals(1, applicationEvents.stream(BulkDataChangedEvent.class).count());
+    }
+
+    /**
+     * Test case for saving entities after a bulk load.
+     * It verifies that the loaded rows are visible through the repositories and that identity ids keep working.
+     */
+    @Test
+    void testEntitiesAfterLoad() {
+        bulkOrganizationLoader.load(new OrganizationGenerator(2, 5, 200));
+
+        Department physics = departmentRepository.findByName("Physics");
+        Lector lector = entityManager.persistAndFlush(Lector.builder().firstName("New").lastName("Lector")
+                .salary(1000).build());
+
+        assertEquals(count("select count(*) from department_lectors where department_id = " + physics.getId()),
+                physics.getLectors().size());
+        assertNotNull(lector.getId());
+        assertEquals(201, count("select count(*) from lector"));
+    }
+
+    /**
+     * Test case for loading a generated organization into a database that already has a generated department.
+     * It verifies that the load fails naming the department, and that nothing is inserted.
+     */
+    @Test
+    void testLoadWithTakenDepartmentName() {
+        bulkOrganizationLoader.load(new OrganizationGenerator(2, 5, 200));
+        OrganizationGenerator generator = new OrganizationGenerator(3, 10, 400);
+
+        // Execute the method under test.
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> bulkOrganizationLoader.load(generator));
+
+        assertTrue(exception.getMessage().startsWith("Department '"), exception.getMessage());
+        assertEquals(200, count("select count(*) from lector"));
+        assertEquals(5, count("select count(*) from department"));
+        assertEquals(1, applicationEvents.stream(BulkDataChangedEvent.class).count());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,92 @@
+package ua.dtsebulia.testassignmentbotscrew.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link OrganizationGenerator}.
+ */
+class OrganizationGeneratorTest {
+
+    /**
+     * Test case for generating the same organization twice.
+     * It verifies that the same seed produces the same lectors and heads.
+     */
+    @Test
+    void testGenerationIsReproducible() {
+        OrganizationGenerator generator = new OrganizationGenerator(7, 20, 2000);
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+
+        // Execute the method under test twice.
+        int[] firstHeads = generator.generateLectors(lector -> first.add(describe(lector)));
+        int[] secondHeads = generator.generateLectors(lector -> second.add(describe(lector)));
+
+        assertEquals(first, second);
+        assertArrayEquals(firstHeads, secondHeads);
+    }
+
+    /**
+     * Test case for the shape of a generated organization.
+     * It verifies that memberships are distinct and overlapping, degrees and department sizes are skewed,
+     * and every head is a member of the department.
+     */
+    @Test
+    void testDistributions() {
+        int departmentCount = 50;
+        OrganizationGenerator generator = new OrganizationGenerator(42, departmentCount, 20_000);
+        int[] degreeCounts = new int[OrganizationGenerator.DEGREES.size()];
+        int[] departmentSizes = new int[departmentCount];
+        List<int[]> memberships = new ArrayList<>();
+        int[] multipleMemberships = {0};
+
+        // Execute the method under test.
+        int[] heads = generator.generateLectors(lector -> {
+            degreeCounts[lector.degreeIndex()]++;
+            assertEquals(lector.departmentIndexes().length,
+                    Arrays.stream(lector.departmentIndexes()).distinct().count());
+            Arrays.stream(lector.departmentIndexes()).forEach(index -> departmentSizes[index]++);
+            if (lector.departmentIndexes().length > 1) {
+                multipleMemberships[0]++;
+            }
+            memberships.add(lector.departmentIndexes());
+            assertTrue(lector.salary() > 0);
+        });
+
+        assertTrue(degreeCounts[0] > degreeCounts[1] && degreeCounts[1] > degreeCounts[2]);
+        assertTrue(departmentSizes[0] > 5 * departmentSizes[departmentCount - 1]);
+        assertTrue(multipleMemberships[0] > 0);
+        for (int departmentIndex = 0; departmentIndex < departmentCount; departmentIndex++) {
+            int head = heads[departmentIndex];
+            if (head != -1) {
+                int department = departmentIndex;
+                assertTrue(Arrays.stream(memberships.get(head)).anyMatch(index -> index == department));
+            }
+        }
+    }
+
+    /**
+     * Test case for department names.
+     * It verifies that names stay unique once the fields are used up.
+     */
+    @Test
+    void testDepartmentNamesAreUnique() {
+        assertEquals(1000, IntStream.range(0, 1000)
+                .mapToObj(OrganizationGenerator::departmentName)
+                .distinct()
+                .count());
+    }
+
+    private static String describe(GeneratedLector lector) {
+        return lector.firstName() + "|" + lector.lastName() + "|" + lector.salary() + "|" + lector.degreeIndex()
+                + "|" + Arrays.toString(lector.departmentIndexes());
+    }
+}
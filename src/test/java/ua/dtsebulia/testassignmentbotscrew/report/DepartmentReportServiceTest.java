@@ -0,0 +1,143 @@
+package ua.dtsebulia.testassignmentbotscrew.report;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary;
+import ua.dtsebulia.testassignmentbotscrew.dto.DegreeCountDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.DepartmentReportDto;
+import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.metrics.OperationMetrics;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ua.dtsebulia.testassignmentbotscrew.support.SqlStatementCounter.assertQueryBudget;
+
+/**
+ * Test class for {@link DepartmentReportService}.
+ * The report runs against an embedded database with more lectors than workers, so the reduction is split.
+ */
+@DataJpaTest(properties = {
+        "report.parallelism=4",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ua.dtsebulia.testassignmentbotscrew.support.SqlStatementCounter"})
+@Import({DepartmentReportService.class, DegreeDictionary.class, OperationMetrics.class, SimpleMeterRegistry.class})
+class DepartmentReportServiceTest {
+
+    private static final int LECTORS_PER_DEPARTMENT = 300;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DepartmentReportService departmentReportService;
+
+    @Autowired
+    private DegreeDictionary degreeDictionary;
+
+    /**
+     * Seed two departments with lectors of every degree, one with an assigned head,
+     * and a department without lectors.
+     */
+    @BeforeEach
+    public void setUp() {
+        List<Degree> degrees = List.of(
+                entityManager.persist(Degree.builder().name("assistant").build()),
+                entityManager.persist(Degree.builder().name("associate professor").build()),
+                entityManager.persist(Degree.builder().name("professor").build()));
+
+        for (String departmentName : List.of("Physics", "Mathematics")) {
+            Set<Lector> lectors = new HashSet<>();
+            for (int i = 0; i < LECTORS_PER_DEPARTMENT; i++) {
+                lectors.add(entityManager.persist(Lector.builder()
+                        .firstName(departmentName + "First" + i)
+                        .lastName("Last" + i)
+                        .salary(departmentName.equals("Physics") ? 1000 + i : 2000)
+                        .degree(degrees.get(i % degrees.size()))
+                        .build()));
+            }
+
+            entityManager.persist(Department.builder()
+                    .name(departmentName)
+                    .headOfDepartment(departmentName.equals("Physics") ? lectors.iterator().next() : null)
+                    .lectors(lectors)
+                    .build());
+        }
+        entityManager.persist(Department.builder().name("Law, Ethics").build());
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // Degrees of earlier tests were rolled back without change events, so reload the dictionary.
+        degreeDictionary.refresh();
+    }
+
+    /**
+     * Test case for computing the report.
+     * It verifies that every department is reported in name order from two statements.
+     */
+    @Test
+    void testGetReport() {
+        List<DepartmentReportDto> report = assertQueryBudget("getReport", 2, departmentReportService::getReport);
+
+        assertEquals(List.of("Law, Ethics", "Mathematics", "Physics"),
+                report.stream().map(DepartmentReportDto::departmentName).toList());
+
+        // A department without lectors has no head, no average and zero counts.
+        List<DegreeCountDto> noLectors = List.of(new DegreeCountDto("assistant", 0),
+                new DegreeCountDto("associate professor", 0), new DegreeCountDto("professor", 0));
+        assertEquals(new DepartmentReportDto("Law, Ethics", null, 0, null, noLectors), report.get(0));
+
+        List<DegreeCountDto> counts = List.of(new DegreeCountDto("assistant", 100),
+                new DegreeCountDto("associate professor", 100), new DegreeCountDto("professor", 100));
+        assertEquals(new DepartmentReportDto("Mathematics", null, 300, 2000.0, counts), report.get(1));
+
+        DepartmentReportDto physics = report.get(2);
+        assertEquals(300, physics.lectorCount());
+        assertEquals(1149.5, physics.averageSalary());
+        assertEquals(counts, physics.degrees());
+        assertTrue(physics.headOfDepartment().startsWith("PhysicsFirst"));
+    }
+
+    /**
+     * Test case for writing the report as CSV.
+     * It verifies the header, the escaping of names with commas and the empty cells of missing values.
+     */
+    @Test
+    void testWriteCsvReport() {
+        StringBuilder output = new StringBuilder();
+        departmentReportService.writeReport(ReportFormat.CSV, output::append);
+
+        String[] lines = output.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("department,head,lectors,average_salary,assistant,associate professor,professor", lines[0]);
+        assertEquals("\"Law, Ethics\",,0,,0,0,0", lines[1]);
+        assertEquals("Mathematics,,300,2000.0,100,100,100", lines[2]);
+    }
+
+    /**
+     * Test case for writing the report as JSON.
+     * It verifies that the rows form a JSON array of report objects.
+     */
+    @Test
+    void testWriteJsonReport() {
+        StringBuilder output = new StringBuilder();
+        departmentReportService.writeReport(ReportFormat.JSON, output::append);
+
+        String json = output.toString();
+        assertTrue(json.startsWith("[{\"departmentName\":\"Law, Ethics\",\"headOfDepartment\":null,"
+                + "\"lectorCount\":0,\"averageSalary\":null,\"degrees\":[{\"degree\":\"assistant\",\"lectorCount\":0}"));
+        assertTrue(json.endsWith("}]"));
+        assertEquals(3, json.split("\"departmentName\"").length - 1);
+    }
+}
@@ -0,0 +1,175 @@
+package ua.dtsebulia.testassignmentbotscrew.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.support.SqlStatementCounter;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query plan test for the indexes added by the schema migrations.
+ * Each access path is explained by the embedded database, and the test fails if the plan does not use the
+ * index meant for it, which catches a query change that falls back to a table scan. The queries Hibernate
+ * generates are recorded by {@link SqlStatementCounter}; the JDBC statements of the bulk commands and the
+ * import are repeated here.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ua.dtsebulia.testassignmentbotscrew.support.SqlStatementCounter")
+class QueryPlanTest {
+
+    private static final String DEPARTMENT_NAME = "Query Plan Physics";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Seed two departments sharing some of their lectors, of two degrees.
+     */
+    @BeforeEach
+    public void setUp() {
+        List<Degree> degrees = List.of(
+                entityManager.persist(Degree.builder().name("query plan assistant").build()),
+                entityManager.persist(Degree.builder().name("query plan professor").build()));
+
+        Set<Lector> physicists = new HashSet<>();
+        Set<Lector> mathematicians = new HashSet<>();
+        for (int i = 0; i < 40; i++) {
+            Lector lector = entityManager.persist(Lector.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .salary(1000 + i)
+                    .degree(degrees.get(i % degrees.size()))
+                    .build());
+            (i < 25 ? physicists : mathematicians).add(lector);
+            if (i % 5 == 0) {
+                mathematicians.add(lector);
+            }
+        }
+        entityManager.persist(Department.builder().name(DEPARTMENT_NAME).lectors(physicists).build());
+        entityManager.persist(Department.builder().name("Query Plan Mathematics").lectors(mathematicians).build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Test case for looking up the head of a department, the query behind most commands.
+     * It verifies that the department is found through the unique index on its name.
+     */
+    @Test
+    void testHeadLookupUsesDepartmentNameIndex() {
+        // Execute the method under test.
+        String plan = explainLast(() -> departmentRepository.findHeadByName(DEPARTMENT_NAME), DEPARTMENT_NAME);
+
+        assertUses(plan, "DEPARTMENT", "UX_DEPARTMENT_NAME: NAME = ?1");
+    }
+
+    /**
+     * Test case for selecting the lectors of a department, as the bulk commands do.
+     * It verifies that the join table is read through its primary key, without scanning it.
+     */
+    @Test
+    void testLectorsOfDepartmentUseJoinTablePrimaryKey() {
+        // Execute the method under test.
+        String plan = explain("select lectors_id from department_lectors where department_id = ?", 1);
+
+        assertUses(plan, "DEPARTMENT_LECTORS", "PRIMARY_KEY_\\w+: DEPARTMENT_ID = ");
+    }
+
+    /**
+     * Test case for resolving department and degree names, as the bulk commands and the generator do.
+     * It verifies that both are found through the unique indexes on their names.
+     */
+    @Test
+    void testNameResolutionUsesUniqueIndexes() {
+        // Execute the method under test.
+        String departmentPlan = explain("select min(id) from department where name = ?", DEPARTMENT_NAME);
+        String degreePlan = explain("select min(id) from degree where name = ?", "query plan professor");
+
+        assertUses(departmentPlan, "DEPARTMENT", "UX_DEPARTMENT_NAME: NAME = ?1");
+        assertUses(degreePlan, "DEGREE", "UX_DEGREE_NAME: NAME = ?1");
+    }
+
+    /**
+     * Test case for finding the departments of given lectors, as the import does before adding memberships.
+     * It verifies that the join table is read through the index leading with the lector.
+     */
+    @Test
+    void testMembershipsOfLectorsUseLectorIndex() {
+        // Execute the method under test.
+        String plan = explain("select department_id, lectors_id from department_lectors where lectors_id in (?, ?)",
+                1, 2);
+
+        assertUses(plan, "DEPARTMENT_LECTORS", "IX_DEPARTMENT_LECTORS_LECTOR: LECTORS_ID IN\\(");
+    }
+
+    /**
+     * Test case for aggregating the salaries of the lectors of a degree.
+     * It verifies that the aggregate is computed from the covering degree and salary index.
+     */
+    @Test
+    void testSalaryAggregateByDegreeUsesCoveringIndex() {
+        // Execute the method under test.
+        String plan = explain("select count(*), avg(salary), max(salary) from lector where degree_id = ?", 1);
+
+        assertUses(plan, "LECTOR", "IX_LECTOR_DEGREE_SALARY: DEGREE_ID = ?1");
+    }
+
+    /**
+     * Run a repository query and explain the last statement it issued.
+     *
+     * @param query     The query.
+     * @param arguments The arguments of the statement.
+     * @return The plan.
+     */
+    private String explainLast(Runnable query, Object... arguments) {
+        SqlStatementCounter.reset();
+        query.run();
+        List<String> statements = SqlStatementCounter.statements();
+        assertTrue(!statements.isEmpty(), "The query issued no SQL statement.");
+        return explain(statements.get(statements.size() - 1), arguments);
+    }
+
+    /**
+     * Explain a statement.
+     *
+     * @param sql       The statement.
+     * @param arguments The arguments of the statement.
+     * @return The plan, on one line.
+     */
+    private String explain(String sql, Object... arguments) {
+        return String.join(" ", jdbcTemplate.queryForList("explain " + sql, String.class, arguments))
+                .replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Assert that a plan reads a table through an index.
+     *
+     * @param plan  The plan.
+     * @param table The table.
+     * @param index The index and its condition, as a regular expression.
+     */
+    private static void assertUses(String plan, String table, String index) {
+        Pattern access = Pattern.compile("\"PUBLIC\"\\.\"" + table + "\" (\"\\w+\" )?/\\* PUBLIC\\." + index
+                .replace("?", "\\?"));
+        assertTrue(access.matcher(plan).find(), () -> "Expected " + table + " to be read through " + index
+                + " in: " + plan);
+    }
+}
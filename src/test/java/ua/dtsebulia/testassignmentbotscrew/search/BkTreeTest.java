@@ -0,0 +1,119 @@
+package ua.dtsebulia.testassignmentbotscrew.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for {@link BkTree}.
+ */
+class BkTreeTest {
+
+    /**
+     * Test case for searching a small tree.
+     * It verifies that the terms within the distance are returned, closest first and ties in alphabetical order.
+     */
+    @Test
+    void testSearch() {
+        BkTree tree = new BkTree();
+        List.of("physics", "phonetics", "chemistry", "physiology", "mathematics", "physics").forEach(tree::add);
+
+        assertEquals(5, tree.size());
+        assertEquals(List.of(new BkTree.Match("physics", 1)), tree.search("phisics", 1));
+        assertEquals(List.of(new BkTree.Match("physics", 1), new BkTree.Match("phonetics", 4)),
+                tree.search("phisics", 4));
+        assertEquals(List.of(), tree.search("biology", 2));
+        assertEquals(List.of(), new BkTree().search("physics", 2));
+    }
+
+    /**
+     * Test case for the bounded distance computation.
+     * It verifies that it agrees with the full Levenshtein distance below the cap and returns the cap otherwise.
+     */
+    @Test
+    void testDistance() {
+        Random random = new Random(42);
+        int[] previous = new int[16];
+        int[] current = new int[16];
+        for (int i = 0; i < 10_000; i++) {
+            String first = randomString(random);
+            String second = randomString(random);
+            int cap = random.nextInt(6) + 1;
+
+            int expected = levenshtein(first, second);
+            assertEquals(Math.min(expected, cap), BkTree.distance(first.toCharArray(), second.toCharArray(), cap, previous, current),
+                    first + " / " + second + " capped at " + cap);
+        }
+    }
+
+    /**
+     * Test case for searching a larger tree.
+     * It verifies that the pruned search finds exactly the terms a linear scan finds.
+     */
+    @Test
+    void testSearchMatchesLinearScan() {
+        Random random = new Random(7);
+        BkTree tree = new BkTree();
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            String term = randomString(random);
+            tree.add(term);
+            if (!terms.contains(term)) {
+                terms.add(term);
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String query = randomString(random);
+            int maxDistance = random.nextInt(4);
+
+            List<BkTree.Match> expected = terms.stream()
+                    .map(term -> new BkTree.Match(term, levenshtein(query, term)))
+                    .filter(match -> match.distance() <= maxDistance)
+                    .sorted(Comparator.comparingInt(BkTree.Match::distance).thenComparing(BkTree.Match::term))
+                    .toList();
+            assertEquals(expected, tree.search(query, maxDistance), query);
+        }
+    }
+
+    /**
+     * Generate a short string over a small alphabet, so that random strings are often close to each other.
+     *
+     * @param random The source of randomness.
+     * @return The string.
+     */
+    private static String randomString(Random random) {
+        char[] chars = new char[random.nextInt(10)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Compute the Levenshtein distance with the full dynamic programming table.
+     *
+     * @param first  The first string.
+     * @param second The second string.
+     * @return The distance.
+     */
+    private static int levenshtein(String first, String second) {
+        int[][] table = new int[first.length() + 1][second.length() + 1];
+        for (int i = 0; i <= first.length(); i++) {
+            for (int j = 0; j <= second.length(); j++) {
+                if (i == 0 || j == 0) {
+                    table[i][j] = i + j;
+                } else {
+                    int substitution = table[i - 1][j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                    table[i][j] = Math.min(Math.min(table[i - 1][j], table[i][j - 1]) + 1, substitution);
+                }
+            }
+        }
+        return table[first.length()][second.length()];
+    }
+}
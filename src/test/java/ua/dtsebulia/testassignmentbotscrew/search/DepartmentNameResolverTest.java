@@ -0,0 +1,146 @@
+package ua.dtsebulia.testassignmentbotscrew.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.event.DepartmentChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.EntityChangeType;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentNameRow;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for {@link DepartmentNameResolver}.
+ */
+class DepartmentNameResolverTest {
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    private DepartmentNameResolver departmentNameResolver;
+
+    /**
+     * Set up the test environment.
+     */
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        // Mock the department repository to return a few departments with similar names.
+        when(departmentRepository.findAllNames()).thenReturn(List.of(
+                new DepartmentNameRow(1, "Physics"),
+                new DepartmentNameRow(2, "Physic"),
+                new DepartmentNameRow(3, "Mathematics"),
+                new DepartmentNameRow(4, "Mathematic")));
+
+        departmentNameResolver = new DepartmentNameResolver(departmentRepository, 2, 3, true);
+        departmentNameResolver.onContextRefreshed();
+    }
+
+    /**
+     * Test case for suggesting department names.
+     * It verifies that names within the allowed distance are suggested closest first, ignoring case and accents.
+     */
+    @Test
+    void testSuggest() {
+        assertEquals(List.of("Mathematics", "Mathematic"), departmentNameResolver.suggest("Mathemátics"));
+        assertEquals(List.of("Physic", "Physics"), departmentNameResolver.suggest("phisic"));
+        assertEquals(List.of(), departmentNameResolver.suggest("Chemistry"));
+    }
+
+    /**
+     * Test case for suggesting department names for a short name.
+     * It verifies that short names allow fewer edits, so unrelated names are not suggested.
+     */
+    @Test
+    void testSuggestForShortName() {
+        when(departmentRepository.findAllNames()).thenReturn(List.of(
+                new DepartmentNameRow(1, "Art"),
+                new DepartmentNameRow(2, "Law")));
+        departmentNameResolver.rebuild();
+
+        assertEquals(List.of("Art"), departmentNameResolver.suggest("Arts"));
+        assertEquals(List.of(), departmentNameResolver.suggest("Ad"));
+    }
+
+    /**
+     * Test case for resolving department names.
+     * It verifies that a name resolves only when a single department is closest.
+     */
+    @Test
+    void testResolve() {
+        assertEquals(Optional.of("Mathematics"), departmentNameResolver.resolve("Matematics"));
+        assertEquals(Optional.of("Physic"), departmentNameResolver.resolve("Phisic"));
+        assertEquals(Optional.empty(), departmentNameResolver.resolve("Physicz"));
+        assertEquals(Optional.empty(), departmentNameResolver.resolve("Chemistry"));
+    }
+
+    /**
+     * Test case for department change events.
+     * It verifies that added, renamed and removed departments are reflected without reloading.
+     */
+    @Test
+    void testDepartmentChanges() {
+        Department chemistry = Department.builder().id(5).name("Chemistry").build();
+        departmentNameResolver.onDepartmentChanged(new DepartmentChangedEvent(chemistry, EntityChangeType.PERSISTED));
+        assertEquals(List.of("Chemistry"), departmentNameResolver.suggest("Chemestry"));
+
+        Department physics = Department.builder().id(1).name("Applied Physics").build();
+        departmentNameResolver.onDepartmentChanged(new DepartmentChangedEvent(physics, EntityChangeType.UPDATED));
+        assertEquals(Optional.of("Physic"), departmentNameResolver.resolve("Physicz"));
+
+        departmentNameResolver.onDepartmentChanged(new DepartmentChangedEvent(chemistry, EntityChangeType.REMOVED));
+        assertEquals(List.of(), departmentNameResolver.suggest("Chemestry"));
+    }
+
+    /**
+     * Test case for many removed departments.
+     * It verifies that suggestions stay correct after the tree is rebuilt from memory.
+     */
+    @Test
+    void testRebuildAfterRemovals() {
+        for (int i = 0; i < 200; i++) {
+            Department department = Department.builder().id(100 + i).name("Department " + i).build();
+            departmentNameResolver.onDepartmentChanged(
+                    new DepartmentChangedEvent(department, EntityChangeType.PERSISTED));
+            departmentNameResolver.onDepartmentChanged(
+                    new DepartmentChangedEvent(department, EntityChangeType.REMOVED));
+        }
+
+        assertEquals(List.of(), departmentNameResolver.suggest("Department 7"));
+        assertEquals(List.of("Physics", "Physic"), departmentNameResolver.suggest("Physics"));
+    }
+
+    /**
+     * Test case for a rename applied while a rebuild loads the names.
+     * It verifies that the names, which predate the rename, are loaded again instead of overwriting it.
+     */
+    @Test
+    void testRebuildReloadsNamesOlderThanAppliedChange() {
+        Department physics = Department.builder().id(1).name("Astronomy").build();
+        when(departmentRepository.findAllNames())
+                .thenAnswer(invocation -> {
+                    // Apply the rename while the first query runs, which still returns the old name.
+                    departmentNameResolver.onDepartmentChanged(
+                            new DepartmentChangedEvent(physics, EntityChangeType.UPDATED));
+                    return List.of(new DepartmentNameRow(1, "Physics"), new DepartmentNameRow(3, "Mathematics"));
+                })
+                .thenReturn(List.of(new DepartmentNameRow(1, "Astronomy"), new DepartmentNameRow(3, "Mathematics")));
+
+        // Execute the method under test.
+        departmentNameResolver.rebuild();
+
+        assertEquals(Optional.of("Astronomy"), departmentNameResolver.resolve("Astronomi"));
+        assertEquals(List.of(), departmentNameResolver.suggest("Physics"));
+        verify(departmentRepository, times(3)).findAllNames();
+    }
+}
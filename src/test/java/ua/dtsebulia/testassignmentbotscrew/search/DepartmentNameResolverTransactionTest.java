@@ -0,0 +1,98 @@
+package ua.dtsebulia.testassignmentbotscrew.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for keeping {@link DepartmentNameResolver} in step with committed and rolled-back renames.
+ * Every step runs in its own transaction, as the tree is only updated on commit.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(DepartmentNameResolver.class)
+class DepartmentNameResolverTransactionTest {
+
+    @Autowired
+    private DepartmentNameResolver departmentNameResolver;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Integer departmentId;
+
+    /**
+     * Commit Physics and build the tree.
+     */
+    @BeforeEach
+    public void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        departmentId = transaction.execute(status ->
+                departmentRepository.save(Department.builder().name("Physics").build()).getId());
+        departmentNameResolver.rebuild();
+    }
+
+    /**
+     * Remove the seeded data.
+     */
+    @AfterEach
+    public void tearDown() {
+        transaction.executeWithoutResult(status -> departmentRepository.deleteAll());
+    }
+
+    /**
+     * Test case for renaming a department in a transaction that commits.
+     * It verifies that the new name is suggested instead of the old one.
+     */
+    @Test
+    void testCommittedRenameIsApplied() {
+        // Execute the method under test.
+        transaction.executeWithoutResult(status -> renamePhysics());
+
+        assertEquals(Optional.of("Astronomy"), departmentNameResolver.resolve("Astronomi"));
+        assertEquals(List.of(), departmentNameResolver.suggest("Physic"));
+    }
+
+    /**
+     * Test case for renaming a department in a transaction that rolls back.
+     * It verifies that the committed name is still suggested and the rolled-back one is not.
+     */
+    @Test
+    void testRolledBackRenameIsNotApplied() {
+        // Execute the method under test.
+        transaction.executeWithoutResult(status -> {
+            renamePhysics();
+            status.setRollbackOnly();
+        });
+
+        assertEquals(Optional.of("Physics"), departmentNameResolver.resolve("Physic"));
+        assertEquals(List.of(), departmentNameResolver.suggest("Astronomi"));
+    }
+
+    /**
+     * Rename Physics to Astronomy, flushing the change.
+     */
+    private void renamePhysics() {
+        Department department = departmentRepository.findById(departmentId).orElseThrow();
+        department.setName("Astronomy");
+        departmentRepository.saveAndFlush(department);
+    }
+}
@@ -0,0 +1,153 @@
+package ua.dtsebulia.testassignmentbotscrew.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.event.DepartmentChangedEvent;
+import ua.dtsebulia.testassignmentbotscrew.event.EntityChangeType;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+import ua.dtsebulia.testassignmentbotscrew.repository.LectorRepository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for keeping {@link GlobalSearchIndex} in step with committed and rolled-back changes.
+ * Every step runs in its own transaction, as the index is only updated on commit.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(GlobalSearchIndex.class)
+class GlobalSearchIndexTest {
+
+    @Autowired
+    private GlobalSearchIndex globalSearchIndex;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private LectorRepository lectorRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Integer departmentId;
+
+    /**
+     * Commit Physics with one lector and build the index.
+     */
+    @BeforeEach
+    public void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            Lector lector = lectorRepository.save(Lector.builder()
+                    .firstName("Ivan").lastName("Petrenko").salary(2000).build());
+            departmentId = departmentRepository.save(Department.builder()
+                    .name("Physics")
+                    .lectors(new HashSet<>(Set.of(lector)))
+                    .build()).getId();
+        });
+        globalSearchIndex.rebuild();
+    }
+
+    /**
+     * Remove the seeded data.
+     */
+    @AfterEach
+    public void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            departmentRepository.deleteAll();
+            lectorRepository.deleteAll();
+        });
+    }
+
+    /**
+     * Test case for renaming a department and adding a lector in a transaction that commits.
+     * It verifies that the index follows the changes.
+     */
+    @Test
+    void testCommittedChangesAreIndexed() {
+        // Execute the method under test.
+        transaction.executeWithoutResult(status -> changePhysics());
+
+        assertEquals(List.of("Astronomy"), globalSearchIndex.search("Astro"));
+        assertEquals(List.of(), globalSearchIndex.search("Physics"));
+        assertEquals(List.of("Olena Koval"), globalSearchIndex.search("Koval"));
+    }
+
+    /**
+     * Test case for renaming a department and adding a lector in a transaction that rolls back.
+     * It verifies that the index keeps the committed names.
+     */
+    @Test
+    void testRolledBackChangesAreNotIndexed() {
+        // Execute the method under test.
+        transaction.executeWithoutResult(status -> {
+            changePhysics();
+            status.setRollbackOnly();
+        });
+
+        assertEquals(List.of(), globalSearchIndex.search("Astro"));
+        assertEquals(List.of("Physics"), globalSearchIndex.search("Physics"));
+        assertEquals(List.of(), globalSearchIndex.search("Koval"));
+        assertEquals(List.of("Ivan Petrenko"), globalSearchIndex.search("Petrenko"));
+    }
+
+    /**
+     * Rename Physics to Astronomy and add a lector to it, flushing the changes.
+     */
+    private void changePhysics() {
+        Department department = departmentRepository.findById(departmentId).orElseThrow();
+        Lector lector = lectorRepository.save(Lector.builder()
+                .firstName("Olena").lastName("Koval").salary(1500).build());
+        department.setName("Astronomy");
+        department.getLectors().add(lector);
+        departmentRepository.saveAndFlush(department);
+    }
+
+    /**
+     * Test case for a rename applied while a rebuild loads the departments.
+     * It verifies that the departments, which predate the rename, are loaded again instead of overwriting it.
+     */
+    @Test
+    void testRebuildReloadsDepartmentsOlderThanAppliedChange() {
+        DepartmentRepository repository = mock(DepartmentRepository.class);
+        GlobalSearchIndex index = new GlobalSearchIndex(repository, SearchMode.EXACT);
+        Department physics = Department.builder().id(1).name("Physics").lectors(new HashSet<>()).build();
+        Department astronomy = Department.builder().id(1).name("Astronomy").lectors(new HashSet<>()).build();
+        when(repository.findAll())
+                .thenReturn(List.of(physics))
+                .thenAnswer(invocation -> {
+                    // Apply the rename while the query runs, which still returns the old name.
+                    index.onDepartmentChanged(new DepartmentChangedEvent(astronomy, EntityChangeType.UPDATED));
+                    return List.of(physics);
+                })
+                .thenReturn(List.of(astronomy));
+        index.rebuild();
+
+        // Execute the method under test.
+        index.rebuild();
+
+        assertEquals(List.of("Astronomy"), index.search("Astro"));
+        assertEquals(List.of(), index.search("Physics"));
+        verify(repository, times(3)).findAll();
+    }
+}
@@ -0,0 +1,41 @@
+package ua.dtsebulia.testassignmentbotscrew.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test class for {@link SearchKeys}.
+ */
+class SearchKeysTest {
+
+    /**
+     * Test case for normalizing Latin names.
+     * It verifies that case and accents are folded, and that lower-case ASCII is returned as is.
+     */
+    @Test
+    void testNormalizeLatin() {
+        String lowerCase = "ivan petrenko";
+
+        assertSame(lowerCase, SearchKeys.normalize(lowerCase));
+        assertEquals("ivan petrenko", SearchKeys.normalize("Ivan PETRENKO"));
+        assertEquals("zoe muller", SearchKeys.normalize("Zoë Müller"));
+        assertEquals("lodz strasse", SearchKeys.normalize("Łódź Straße"));
+        assertEquals("francois", SearchKeys.normalize("FRANÇOIS"));
+    }
+
+    /**
+     * Test case for normalizing Ukrainian names.
+     * It verifies that case is folded, letters of their own such as "й" and "ї" are kept,
+     * stress marks are dropped and typographic apostrophes become the ASCII apostrophe.
+     */
+    @Test
+    void testNormalizeUkrainian() {
+        assertEquals("олексій ковальчук", SearchKeys.normalize("ОЛЕКСІЙ Ковальчук"));
+        assertEquals("їжакевич", SearchKeys.normalize("Їжакевич"));
+        assertEquals("ґалаґан", SearchKeys.normalize("Ґалаґан"));
+        assertEquals("мар'яна", SearchKeys.normalize("Мар’яна"));
+        assertEquals("мар'яна", SearchKeys.normalize("Марʼя́на"));
+    }
+}
@@ -0,0 +1,125 @@
+package ua.dtsebulia.testassignmentbotscrew.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link TrigramIndex}.
+ */
+class TrigramIndexTest {
+
+    private TrigramIndex<Integer> index;
+
+    /**
+     * Set up the test environment.
+     */
+    @BeforeEach
+    public void setUp() {
+        index = new TrigramIndex<>();
+        index.put(1, "Ivan Petrenko");
+        index.put(2, "Petro Ivanov");
+        index.put(3, "Computer Science");
+    }
+
+    /**
+     * Test case for searching with a template longer than a trigram.
+     * It verifies that every name containing the template is returned in indexing order.
+     */
+    @Test
+    void testSearch() {
+        assertEquals(List.of("Ivan Petrenko", "Petro Ivanov"), index.search("Ivan"));
+        assertEquals(List.of("Ivan Petrenko"), index.search("Petren"));
+    }
+
+    /**
+     * Test case for a template whose trigrams all occur in a name that does not contain it.
+     * It verifies that such candidates are filtered out.
+     */
+    @Test
+    void testSearchWhenTrigramsMatchButSubstringDoesNot() {
+        index.put(4, "abcXbcd");
+
+        assertEquals(List.of(), index.search("abcd"));
+    }
+
+    /**
+     * Test case for searching with templates shorter than a trigram.
+     * It verifies that the same substring semantics apply.
+     */
+    @Test
+    void testSearchWithShortTemplate() {
+        assertEquals(List.of("Ivan Petrenko", "Petro Ivanov"), index.search("Pe"));
+        assertEquals(List.of("Ivan Petrenko", "Petro Ivanov", "Computer Science"), index.search(""));
+    }
+
+    /**
+     * Test case for replacing and removing indexed names.
+     * It verifies that stale names are no longer returned, including after compaction.
+     */
+    @Test
+    void testPutAndRemove() {
+        index.put(1, "Olena Shevchenko");
+        index.remove(2);
+
+        assertEquals(List.of(), index.search("Ivan"));
+        assertEquals(List.of("Olena Shevchenko"), index.search("Shev"));
+
+        // Force a compaction by removing many documents.
+        for (int i = 100; i < 300; i++) {
+            index.put(i, "Lector " + i);
+        }
+        for (int i = 100; i < 300; i++) {
+            index.remove(i);
+        }
+
+        assertEquals(2, index.size());
+        assertEquals(List.of("Computer Science", "Olena Shevchenko"), index.search("e"));
+    }
+
+    /**
+     * Test case for stopping a search early and counting matches.
+     * It verifies that no match is visited after the visitor returns false, and that counts match the results.
+     */
+    @Test
+    void testSearchWhileAndCount() {
+        List<String> visited = new ArrayList<>();
+
+        boolean completed = index.searchWhile("e", name -> {
+            visited.add(name);
+            return visited.size() < 2;
+        });
+
+        assertFalse(completed);
+        assertEquals(List.of("Ivan Petrenko", "Petro Ivanov"), visited);
+        assertTrue(index.searchWhile("Ivan", name -> true));
+        assertEquals(2, index.count("Ivan"));
+        assertEquals(3, index.count("e"));
+        assertEquals(0, index.count("abcd"));
+    }
+
+    /**
+     * Test case for an index with normalized search keys.
+     * It verifies that names are found ignoring case and accents, by long and short templates alike,
+     * and that the original names are returned.
+     */
+    @Test
+    void testNormalizedSearch() {
+        TrigramIndex<Integer> normalized = new TrigramIndex<>(SearchKeys::normalize);
+        normalized.put(1, "Ivan Petrenko");
+        normalized.put(2, "Zoë Müller");
+        normalized.put(3, "Олексій Ковальчук");
+
+        assertEquals(List.of("Ivan Petrenko"), normalized.search("ivan"));
+        assertEquals(List.of("Zoë Müller"), normalized.search("ZOE MULLER"));
+        assertEquals(List.of("Zoë Müller"), normalized.search("ü"));
+        assertEquals(List.of("Олексій Ковальчук"), normalized.search("олексій"));
+        assertEquals(List.of(), normalized.search("Олексии"));
+    }
+}
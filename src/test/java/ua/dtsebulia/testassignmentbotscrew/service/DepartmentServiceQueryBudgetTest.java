@@ -0,0 +1,185 @@
+package ua.dtsebulia.testassignmentbotscrew.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ua.dtsebulia.testassignmentbotscrew.aggregate.DepartmentAggregateStore;
+import ua.dtsebulia.testassignmentbotscrew.cache.DepartmentLookupCache;
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary;
+import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.metrics.OperationMetrics;
+import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
+import ua.dtsebulia.testassignmentbotscrew.search.DepartmentNameResolver;
+import ua.dtsebulia.testassignmentbotscrew.search.GlobalSearchIndex;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ua.dtsebulia.testassignmentbotscrew.support.SqlStatementCounter.assertQueryBudget;
+
+/**
+ * Query budget test for {@link DepartmentService}.
+ * Each use case runs against an embedded database and fails if it issues more SQL statements than allowed,
+ * which catches N+1 loading introduced by mapping or repository changes.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ua.dtsebulia.testassignmentbotscrew.support.SqlStatementCounter")
+@Import({DepartmentService.class, GlobalSearchIndex.class, DepartmentNameResolver.class, DepartmentAggregateStore.class,
+        DepartmentLookupCache.class, DegreeDictionary.class, OperationMetrics.class, SimpleMeterRegistry.class})
+class DepartmentServiceQueryBudgetTest {
+
+    private static final int LECTORS_PER_DEPARTMENT = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private GlobalSearchIndex globalSearchIndex;
+
+    @Autowired
+    private DepartmentAggregateStore departmentAggregateStore;
+
+    @Autowired
+    private DegreeDictionary degreeDictionary;
+
+    /**
+     * Seed two departments with lectors of every degree and an assigned head,
+     * then clear the persistence context so nothing is served from it.
+     */
+    @BeforeEach
+    public void setUp() {
+        List<Degree> degrees = List.of(
+                entityManager.persist(Degree.builder().name("assistant").build()),
+                entityManager.persist(Degree.builder().name("associate professor").build()),
+                entityManager.persist(Degree.builder().name("professor").build()));
+
+        for (String departmentName : List.of("Mathematics", "Physics")) {
+            Set<Lector> lectors = new HashSet<>();
+            for (int i = 0; i < LECTORS_PER_DEPARTMENT; i++) {
+                lectors.add(entityManager.persist(Lector.builder()
+                        .firstName(departmentName + "First" + i)
+                        .lastName("Last" + i)
+                        .salary(1000 + i)
+                        .degree(degrees.get(i % degrees.size()))
+                        .build()));
+            }
+
+            entityManager.persist(Department.builder()
+                    .name(departmentName)
+                    .headOfDepartment(lectors.iterator().next())
+                    .lectors(lectors)
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // Degrees of earlier tests were rolled back without change events, so reload the dictionary.
+        degreeDictionary.refresh();
+    }
+
+    /**
+     * Test case for building the in-memory structures.
+     * It verifies that each is built from a single query, regardless of the number of lectors.
+     */
+    @Test
+    void testRebuildBudget() {
+        assertQueryBudget("GlobalSearchIndex.rebuild", 1, () -> {
+            globalSearchIndex.rebuild();
+            return null;
+        });
+        assertQueryBudget("DepartmentAggregateStore.rebuild", 1, () -> {
+            departmentAggregateStore.rebuild();
+            return null;
+        });
+    }
+
+    /**
+     * Test case for the head of department lookup.
+     * It verifies that the department and its head come from one statement, and that a repeat is cached.
+     */
+    @Test
+    void testFindHeadOfDepartmentBudget() {
+        String result = assertQueryBudget("findHeadOfDepartment", 1,
+                () -> departmentService.findHeadOfDepartment("Mathematics"));
+        assertQueryBudget("findHeadOfDepartment (cached)", 0,
+                () -> departmentService.findHeadOfDepartment("Mathematics"));
+
+        assertEquals(result, departmentService.findHeadOfDepartment("Mathematics"));
+    }
+
+    /**
+     * Test case for the statistics, average salary and employee count commands.
+     * It verifies that they are served without SQL once the aggregates are built.
+     */
+    @Test
+    void testAggregateCommandsBudget() {
+        departmentAggregateStore.rebuild();
+
+        String statistic = assertQueryBudget("getDepartmentStatistic", 0,
+                () -> departmentService.getDepartmentStatistic("Physics"));
+        assertQueryBudget("getAverageSalaryForDepartment", 0,
+                () -> departmentService.getAverageSalaryForDepartment("Physics"));
+        String employeeCount = assertQueryBudget("getEmployeeCount", 0,
+                () -> departmentService.getEmployeeCount("Physics"));
+
+        assertEquals("assistants - 7.\nassociate professors - 7.\nprofessors - 6.", statistic);
+        assertEquals("Employee count of Physics is 20.", employeeCount);
+    }
+
+    /**
+     * Test case for the global search.
+     * It verifies that the search is served without SQL once the index is built.
+     */
+    @Test
+    void testGlobalSearchBudget() {
+        globalSearchIndex.rebuild();
+
+        String result = assertQueryBudget("globalSearch", 0, () -> departmentService.globalSearch("Physics"));
+
+        assertEquals(1 + LECTORS_PER_DEPARTMENT, result.split(",").length);
+    }
+
+    /**
+     * Test case for the repository query the aggregates are built from.
+     * It verifies that it is a single round trip.
+     */
+    @Test
+    void testRepositoryAggregateBudget() {
+        assertQueryBudget("findDepartmentLectorRows", 1, departmentRepository::findDepartmentLectorRows);
+    }
+
+    /**
+     * Test case for the read path of the head of department lookup.
+     * It verifies that the projection leaves nothing in the persistence context, and that the entities
+     * loaded by name are read-only, so they are never dirty-checked.
+     */
+    @Test
+    void testReadPathLeavesNoManagedState() {
+        SessionImplementor session = entityManager.getEntityManager().unwrap(SessionImplementor.class);
+        int managedEntities = session.getPersistenceContextInternal().getNumberOfManagedEntities();
+
+        assertEquals("Mathematics", departmentRepository.findHeadByName("Mathematics").orElseThrow().departmentName());
+        assertEquals(managedEntities, session.getPersistenceContextInternal().getNumberOfManagedEntities());
+
+        Department department = departmentRepository.findByName("Mathematics");
+        assertTrue(session.isReadOnly(department));
+        assertTrue(session.isReadOnly(department.getHeadOfDepartment()));
+    }
+}
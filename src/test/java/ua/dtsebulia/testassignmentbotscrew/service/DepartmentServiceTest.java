@@ -1,19 +1,43 @@
 package ua.dtsebulia.testassignmentbotscrew.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import ua.dtsebulia.testassignmentbotscrew.aggregate.DepartmentAggregateStore;
+import ua.dtsebulia.testassignmentbotscrew.cache.DepartmentLookupCache;
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary;
+import ua.dtsebulia.testassignmentbotscrew.dto.GlobalSearchPageDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.SalaryDistributionDto;
 import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
 import ua.dtsebulia.testassignmentbotscrew.entity.Department;
 import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+import ua.dtsebulia.testassignmentbotscrew.metrics.OperationMetrics;
+import ua.dtsebulia.testassignmentbotscrew.repository.DegreeRepository;
 import ua.dtsebulia.testassignmentbotscrew.repository.DepartmentRepository;
-
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentHeadRow;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentLectorRow;
+import ua.dtsebulia.testassignmentbotscrew.repository.projection.DepartmentNameRow;
+import ua.dtsebulia.testassignmentbotscrew.search.DepartmentNameResolver;
+import ua.dtsebulia.testassignmentbotscrew.search.GlobalSearchIndex;
+import ua.dtsebulia.testassignmentbotscrew.search.SearchMode;
+import ua.dtsebulia.testassignmentbotscrew.snapshot.OrganizationSnapshot;
+import ua.dtsebulia.testassignmentbotscrew.snapshot.OrganizationSnapshotBuilder;
+import ua.dtsebulia.testassignmentbotscrew.snapshot.OrganizationSnapshotEngine;
+
+import java.time.Duration;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -24,6 +48,13 @@ class DepartmentServiceTest {
     @Mock
     private DepartmentRepository departmentRepository;
 
+    @Mock
+    private DegreeRepository degreeRepository;
+
+    @Mock
+    private ObjectProvider<OrganizationSnapshotEngine> snapshotEngine;
+
+    private SimpleMeterRegistry meterRegistry;
     private DepartmentService departmentService;
 
     /**
@@ -32,7 +63,34 @@ class DepartmentServiceTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        departmentService = new DepartmentService(departmentRepository);
+
+        // Mock the degree repository to return the three standard degrees.
+        when(degreeRepository.findAllByOrderByIdAsc()).thenReturn(List.of(
+                Degree.builder().id(1).name("assistant").build(),
+                Degree.builder().id(2).name("associate professor").build(),
+                Degree.builder().id(3).name("professor").build()));
+
+        meterRegistry = new SimpleMeterRegistry();
+        departmentService = createDepartmentService(false);
+    }
+
+    /**
+     * Create the service under test.
+     *
+     * @param autoResolve Whether mistyped department names are resolved to the closest department.
+     * @return The service.
+     */
+    private DepartmentService createDepartmentService(boolean autoResolve) {
+        DegreeDictionary degreeDictionary = new DegreeDictionary(degreeRepository);
+        return new DepartmentService(
+                departmentRepository,
+                new GlobalSearchIndex(departmentRepository, SearchMode.EXACT),
+                new DepartmentNameResolver(departmentRepository, 2, 3, autoResolve),
+                new DepartmentAggregateStore(departmentRepository, degreeDictionary),
+                new DepartmentLookupCache(departmentRepository, 100, Duration.ofMinutes(10)),
+                degreeDictionary,
+                new OperationMetrics(meterRegistry),
+                snapshotEngine);
     }
 
     /**
@@ -41,22 +99,11 @@ class DepartmentServiceTest {
      */
     @Test
     void testFindHeadOfDepartment() {
-        // Create a head of department.
-        Lector headOfDepartment = Lector
-                .builder()
-                .firstName("John")
-                .lastName("Doe")
-                .build();
-
         // Create a department with the head assigned.
-        Department department = Department
-                .builder()
-                .name("Test Department")
-                .headOfDepartment(headOfDepartment)
-                .build();
+        DepartmentHeadRow department = new DepartmentHeadRow(1, "Test Department", 1, "John", "Doe");
 
         // Mock the department repository to return the department.
-        when(departmentRepository.findByName("Test Department")).thenReturn(department);
+        when(departmentRepository.findHeadByName("Test Department")).thenReturn(Optional.of(department));
 
         // Execute the method under test.
         String result = departmentService.findHeadOfDepartment("Test Department");
@@ -72,13 +119,10 @@ class DepartmentServiceTest {
     @Test
     void testFindHeadOfDepartmentWhenNotAssigned() {
         // Create a department without the head assigned.
-        Department department = Department
-                .builder()
-                .name("Test Department")
-                .build();
+        DepartmentHeadRow department = new DepartmentHeadRow(1, "Test Department", null, null, null);
 
         // Mock the department repository to return the department.
-        when(departmentRepository.findByName("Test Department")).thenReturn(department);
+        when(departmentRepository.findHeadByName("Test Department")).thenReturn(Optional.of(department));
 
         // Execute the method under test.
         String result = departmentService.findHeadOfDepartment("Test Department");
@@ -93,8 +137,8 @@ class DepartmentServiceTest {
      */
     @Test
     void testFindHeadOfDepartmentWhenDepartmentNotFound() {
-        // Mock the department repository to return null, indicating that the department is not found.
-        when(departmentRepository.findByName("Test Department")).thenReturn(null);
+        // Mock the department repository to return nothing, indicating that the department is not found.
+        when(departmentRepository.findHeadByName("Test Department")).thenReturn(Optional.empty());
 
         // Execute the method under test.
         String result = departmentService.findHeadOfDepartment("Test Department");
@@ -109,30 +153,73 @@ class DepartmentServiceTest {
      */
     @Test
     void testGetDepartmentStatistic() {
-        // Create degrees for lectors.
-        Degree assistantDegree = Degree.builder().name("assistant").build();
-        Degree associateProfessorDegree = Degree.builder().name("associate professor").build();
-        Degree professorDegree = Degree.builder().name("professor").build();
+        // Mock the department repository to return one lector per degree.
+        when(departmentRepository.findDepartmentLectorRows()).thenReturn(List.of(
+                new DepartmentLectorRow(1, "Test Department", 1, null, 1, "assistant"),
+                new DepartmentLectorRow(1, "Test Department", 2, null, 2, "associate professor"),
+                new DepartmentLectorRow(1, "Test Department", 3, null, 3, "professor")));
 
-        // Create lectors with different degrees.
-        Lector assistant = Lector.builder().degree(assistantDegree).build();
-        Lector associateProfessor = Lector.builder().degree(associateProfessorDegree).build();
-        Lector professor = Lector.builder().degree(professorDegree).build();
+        // Execute the method under test.
+        String result = departmentService.getDepartmentStatistic("Test Department");
 
-        // Create a department with lectors having different degrees.
-        Department department = Department.builder()
-                .name("Test Department")
-                .lectors(Set.of(assistant, associateProfessor, professor))
-                .build();
+        // Verify that the expected statistics message is returned.
+        assertEquals("assistants - 1.\nassociate professors - 1.\nprofessors - 1.", result);
+    }
 
-        // Mock the department repository to return the department.
-        when(departmentRepository.findByName("Test Department")).thenReturn(department);
+    /**
+     * Test case for getting the department statistics of a mistyped department.
+     * It verifies that the closest department names are suggested in the not-found message.
+     */
+    @Test
+    void testGetDepartmentStatisticSuggestsClosestDepartment() {
+        // Mock the department repository to return two departments close to the mistyped name.
+        when(departmentRepository.findAllNames()).thenReturn(List.of(
+                new DepartmentNameRow(1, "Physics"),
+                new DepartmentNameRow(2, "Phonetics"),
+                new DepartmentNameRow(3, "Mathematics")));
+
+        // Execute the method under test.
+        String result = departmentService.getDepartmentStatistic("Phisics");
+
+        // Verify that only the department within the allowed distance is suggested.
+        assertEquals("Department with name Phisics not found. Did you mean Physics?", result);
+    }
+
+    /**
+     * Test case for getting the department statistics of a mistyped department with auto-resolve enabled.
+     * It verifies that the statistics of the closest department are returned with a note.
+     */
+    @Test
+    void testGetDepartmentStatisticAutoResolvesMistypedDepartment() {
+        // Mock the department repository to return one lector in the department.
+        when(departmentRepository.findAllNames()).thenReturn(List.of(new DepartmentNameRow(1, "Physics")));
+        when(departmentRepository.findDepartmentLectorRows()).thenReturn(List.of(
+                new DepartmentLectorRow(1, "Physics", 1, null, 3, "professor")));
+
+        // Execute the method under test with auto-resolve enabled.
+        String result = createDepartmentService(true).getDepartmentStatistic("physisc");
+
+        // Verify that the statistics of the resolved department are returned.
+        assertEquals("Showing results for Physics.\nassistants - 0.\nassociate professors - 0.\nprofessors - 1.",
+                result);
+    }
+
+    /**
+     * Test case for getting the department statistics when a lector holds a degree added at runtime.
+     * It verifies that the new degree is listed after the existing ones without code changes.
+     */
+    @Test
+    void testGetDepartmentStatisticWithDegreeAddedAtRuntime() {
+        // Mock the department repository to return a lector holding a degree unknown at startup.
+        when(departmentRepository.findDepartmentLectorRows()).thenReturn(List.of(
+                new DepartmentLectorRow(1, "Test Department", 1, null, 1, "assistant"),
+                new DepartmentLectorRow(1, "Test Department", 2, null, 4, "docent")));
 
         // Execute the method under test.
         String result = departmentService.getDepartmentStatistic("Test Department");
 
-        // Verify that the expected statistics message is returned.
-        assertEquals("assistants - 1.\nassociate professors - 1.\nprofessors - 1.", result);
+        // Verify that the new degree is appended to the statistics.
+        assertEquals("assistants - 1.\nassociate professors - 0.\nprofessors - 0.\ndocents - 1.", result);
     }
 
     /**
@@ -141,8 +228,8 @@ class DepartmentServiceTest {
      */
     @Test
     void testGetDepartmentStatisticWhenDepartmentNotFound() {
-        // Mock the department repository to return null, indicating that the department is not found.
-        when(departmentRepository.findByName("Test Department")).thenReturn(null);
+        // Mock the department repository to return no rows, indicating that the department is not found.
+        when(departmentRepository.findDepartmentLectorRows()).thenReturn(List.of());
 
         // Execute the method under test.
         String result = departmentService.getDepartmentStatistic("Test Department");
@@ -157,11 +244,9 @@ class DepartmentServiceTest {
      */
     @Test
     void testGetDepartmentStatisticWhenNoLectors() {
-        // Create a department with no lectors.
-        Department department = Department.builder().name("Test Department").build();
-
-        // Mock the department repository to return the department.
-        when(departmentRepository.findByName("Test Department")).thenReturn(department);
+        // Mock the department repository to return the single row of a department with no lectors.
+        when(departmentRepository.findDepartmentLectorRows())
+                .thenReturn(List.of(new DepartmentLectorRow(1, "Test Department", null, null, null, null)));
 
         // Execute the method under test.
         String result = departmentService.getDepartmentStatistic("Test Department");
@@ -176,19 +261,11 @@ class DepartmentServiceTest {
      */
     @Test
     void testGetAverageSalaryForDepartment() {
-        // Create lectors with salaries.
-        Lector lector1 = Lector.builder().salary(50000).build();
-        Lector lector2 = Lector.builder().salary(70000).build();
-        Lector lector3 = Lector.builder().salary(60000).build();
-
-        // Create a department with lectors having salaries.
-        Department department = Department.builder()
-                .name("Test Department")
-                .lectors(Set.of(lector1, lector2, lector3))
-                .build();
-
-        // Mock the department repository to return the department.
-        when(departmentRepository.findByName("Test Department")).thenReturn(department);
+        // Mock the department repository to return lectors with salaries.
+        when(departmentRepository.findDepartmentLectorRows()).thenReturn(List.of(
+                new DepartmentLectorRow(1, "Test Department", 1, 50000, null, null),
+                new DepartmentLectorRow(1, "Test Department", 2, 70000, null, null),
+                new DepartmentLectorRow(1, "Test Department", 3, 60000, null, null)));
 
         // Execute the method under test.
         String result = departmentService.getAverageSalaryForDepartment("Test Department");
@@ -203,8 +280,8 @@ class DepartmentServiceTest {
      */
     @Test
     void testGetAverageSalaryForDepartmentWhenDepartmentNotFound() {
-        // Mock the department repository to return null, indicating that the department is not found.
-        when(departmentRepository.findByName("Test Department")).thenReturn(null);
+        // Mock the department repository to return no rows, indicating that the department is not found.
+        when(departmentRepository.findDepartmentLectorRows()).thenReturn(List.of());
 
         // Execute the method under test.
         String result = departmentService.getAverageSalaryForDepartment("Test Department");
@@ -219,11 +296,9 @@ class DepartmentServiceTest {
      */
     @Test
     void testGetAverageSalaryForDepartmentWhenNoLectors() {
-        // Create a department with no lectors.
-        Department department = Department.builder().name("Test Department").build();
-
-        // Mock the department repository to return the department.
-        when(departmentRepository.findByName("Test Department")).thenReturn(department);
+        // Mock the department repository to return the single row of a department with no lectors.
+        when(departmentRepository.findDepartmentLectorRows())
+                .thenReturn(List.of(new DepartmentLectorRow(1, "Test Department", null, null, null, null)));
 
         // Execute the method under test.
         String result = departmentService.getAverageSalaryForDepartment("Test Department");
@@ -233,25 +308,16 @@ class DepartmentServiceTest {
     }
 
     /**
-     * Test case for getting the count of employees for a department with lectors.
-     * It verifies that the correct count of employees message is returned when the department and lectors are found.
+     * Test case for getting the average salary of a department whose lectors have no salaries.
+     * It verifies that missing salaries are counted as 0.
      */
     @Test
     void testGetAverageSalaryForDepartmentWhenLectorsHaveNoSalary() {
-        // Create lectors with no salaries.
-        Lector lector1 = Lector.builder().firstName("John").lastName("Doe").build();
-        Lector lector2 = Lector.builder().firstName("Jane").lastName("Doe").build();
-        Lector lector3 = Lector.builder().firstName("Jack").lastName("Doe").build();
-
-        // Create a department with lectors having no salaries.
-        Department department = Department
-                .builder()
-                .name("Test Department")
-                .lectors(Set.of(lector1, lector2, lector3))
-                .build();
-
-        // Mock the department repository to return the department.
-        when(departmentRepository.findByName("Test Department")).thenReturn(department);
+        // Mock the department repository to return lectors with no salaries.
+        when(departmentRepository.findDepartmentLectorRows()).thenReturn(List.of(
+                new DepartmentLectorRow(1, "Test Department", 1, null, null, null),
+                new DepartmentLectorRow(1, "Test Department", 2, null, null, null),
+                new DepartmentLectorRow(1, "Test Department", 3, null, null, null)));
 
         // Execute the method under test.
         String result = departmentService.getAverageSalaryForDepartment("Test Department");
@@ -260,25 +326,55 @@ class DepartmentServiceTest {
         assertEquals("The average salary of Test Department is 0.0.", result);
     }
 
+    /**
+     * Test case for getting the salary distribution of a department and of all departments.
+     * It verifies that the minimum and maximum are exact and the percentiles are within 1% of the exact salaries.
+     */
+    @Test
+    void testGetSalaryDistribution() {
+        // Mock the department repository to return two departments sharing a lector.
+        when(departmentRepository.findDepartmentLectorRows()).thenReturn(List.of(
+                new DepartmentLectorRow(1, "Test Department", 1, 50000, null, null),
+                new DepartmentLectorRow(1, "Test Department", 2, 70000, null, null),
+                new DepartmentLectorRow(1, "Test Department", 3, 60000, null, null),
+                new DepartmentLectorRow(2, "Other Department", 3, 60000, null, null),
+                new DepartmentLectorRow(3, "Empty Department", null, null, null, null)));
+
+        // Execute the methods under test.
+        SalaryDistributionDto department = departmentService.getSalaryDistributionDetails("Test Department")
+                .orElseThrow();
+        SalaryDistributionDto organization = departmentService.getOrganizationSalaryDistributionDetails();
+
+        // Verify the distributions, counting the shared lector once per department.
+        assertEquals(3, department.lectorCount());
+        assertEquals(50000, department.minSalary());
+        assertEquals(70000, department.maxSalary());
+        assertEquals(60000, department.medianSalary(), 600);
+        assertEquals(4, organization.lectorCount());
+        assertEquals(50000, organization.minSalary());
+        assertEquals(60000, organization.medianSalary(), 600);
+        assertEquals(60000, organization.p99Salary(), 600);
+        assertTrue(departmentService.getSalaryDistribution("Test Department")
+                .startsWith("Salary distribution of Test Department: min 50000, median "));
+        assertTrue(departmentService.getOrganizationSalaryDistribution()
+                .endsWith(", max 70000."));
+        assertEquals("Department Empty Department has no lectors.",
+                departmentService.getSalaryDistribution("Empty Department"));
+        assertEquals("Department with name Unknown not found.",
+                departmentService.getSalaryDistribution("Unknown"));
+    }
+
     /**
      * Test case for getting the count of employees in a department.
      * It verifies that the correct count of employees message is returned when the department and lectors are found.
      */
     @Test
     void testGetEmployeeCount() {
-        // Create lectors to represent employees.
-        Lector lector1 = Lector.builder().firstName("John").lastName("Doe").build();
-        Lector lector2 = Lector.builder().firstName("Jane").lastName("Doe").build();
-        Lector lector3 = Lector.builder().firstName("Jack").lastName("Doe").build();
-
-        // Create a department with lectors representing employees.
-        Department department = Department.builder()
-                .name("Test Department")
-                .lectors(Set.of(lector1, lector2, lector3))
-                .build();
-
-        // Mock the department repository to return the department.
-        when(departmentRepository.findByName("Test Department")).thenReturn(department);
+        // Mock the department repository to return a department with three lectors.
+        when(departmentRepository.findDepartmentLectorRows()).thenReturn(List.of(
+                new DepartmentLectorRow(1, "Test Department", 1, null, null, null),
+                new DepartmentLectorRow(1, "Test Department", 2, null, null, null),
+                new DepartmentLectorRow(1, "Test Department", 3, null, null, null)));
 
         // Execute the method under test.
         String result = departmentService.getEmployeeCount("Test Department");
@@ -293,8 +389,8 @@ class DepartmentServiceTest {
      */
     @Test
     void testGetEmployeeCountWhenDepartmentNotFound() {
-        // Mock the department repository to return null, indicating that the department is not found.
-        when(departmentRepository.findByName("Test Department")).thenReturn(null);
+        // Mock the department repository to return no rows, indicating that the department is not found.
+        when(departmentRepository.findDepartmentLectorRows()).thenReturn(List.of());
 
         // Execute the method under test.
         String result = departmentService.getEmployeeCount("Test Department");
@@ -309,11 +405,9 @@ class DepartmentServiceTest {
      */
     @Test
     void testGetEmployeeCountWhenNoLectors() {
-        // Create a department with no lectors.
-        Department department = Department.builder().name("Test Department").build();
-
-        // Mock the department repository to return the department.
-        when(departmentRepository.findByName("Test Department")).thenReturn(department);
+        // Mock the department repository to return the single row of a department with no lectors.
+        when(departmentRepository.findDepartmentLectorRows())
+                .thenReturn(List.of(new DepartmentLectorRow(1, "Test Department", null, null, null, null)));
 
         // Execute the method under test.
         String result = departmentService.getEmployeeCount("Test Department");
@@ -386,7 +480,8 @@ class DepartmentServiceTest {
         Lector lector2 = Lector.builder().firstName("Test").lastName("LastName").build();
 
         // Set the lectors in the department.
-        department.setLectors(Set.of(lector1, lector2));
+        // Use a LinkedHashSet to preserve the order of the lectors.
+        department.setLectors(new LinkedHashSet<>(List.of(lector1, lector2)));
 
         // Mock the department repository to return the list containing the department.
         when(departmentRepository.findAll()).thenReturn(List.of(department));
@@ -422,5 +517,85 @@ class DepartmentServiceTest {
         assertEquals("", result);
     }
 
+    /**
+     * Test case for paging through global search results and counting them.
+     * It verifies that pages follow the unpaged order and report whether more results follow.
+     */
+    @Test
+    void testGlobalSearchPageAndCount() {
+        // Create a department and two lectors whose names contain the template.
+        Department department = Department.builder().name("Test Department").build();
+        Lector lector1 = Lector.builder().firstName("FirstName").lastName("Test").build();
+        Lector lector2 = Lector.builder().firstName("Test").lastName("LastName").build();
+        department.setLectors(new LinkedHashSet<>(List.of(lector1, lector2)));
+
+        // Mock the department repository to return the list containing the department.
+        when(departmentRepository.findAll()).thenReturn(List.of(department));
+
+        // Execute the methods under test.
+        GlobalSearchPageDto firstPage = departmentService.searchPage("Test", 0, 2);
+        GlobalSearchPageDto lastPage = departmentService.searchPage("Test", 2, 2);
+
+        // Verify the pages and the total count.
+        assertEquals(List.of("Test Department", "FirstName Test"), firstPage.results());
+        assertTrue(firstPage.hasMore());
+        assertEquals(List.of("Test LastName"), lastPage.results());
+        assertFalse(lastPage.hasMore());
+        assertEquals(3, departmentService.countGlobalSearchResults("Test").count());
+    }
+
+    /**
+     * Test case for the service timers.
+     * It verifies that each call is timed with its operation and outcome.
+     */
+    @Test
+    void testServiceCallsAreTimedByOutcome() {
+        // Mock the department repository to return one department without lectors.
+        when(departmentRepository.findDepartmentLectorRows()).thenReturn(List.of(
+                new DepartmentLectorRow(1, "Empty Department", null, null, null, null)));
+
+        // Execute the methods under test.
+        departmentService.getEmployeeCount("Empty Department");
+        departmentService.getEmployeeCount("Missing Department");
+        departmentService.getAverageSalaryForDepartment("Missing Department");
+
+        // Verify the timer counts by operation and outcome.
+        assertEquals(1, timerCount("employee_count", OperationMetrics.NO_LECTORS));
+        assertEquals(1, timerCount("employee_count", OperationMetrics.NOT_FOUND));
+        assertEquals(1, timerCount("average_salary", OperationMetrics.NOT_FOUND));
+    }
 
+    private long timerCount(String operation, String outcome) {
+        return meterRegistry.get(OperationMetrics.SERVICE_TIMER)
+                .tags("operation", operation, "outcome", outcome)
+                .timer()
+                .count();
+    }
+
+    /**
+     * Test case for the queries when the snapshot engine is enabled.
+     * It verifies that every query is answered from the snapshot, without touching the repository.
+     */
+    @Test
+    void testQueriesAreServedBySnapshot() {
+        OrganizationSnapshot snapshot = new OrganizationSnapshotBuilder()
+                .addLector(1, "Ivan Petrov", 1000, 0)
+                .addLector(2, "Petro Ivanov", 3000, 2)
+                .addMembership(10, "Physics", 2, 1)
+                .addMembership(10, "Physics", 2, 2)
+                .build(List.of(new DegreeDictionary.DegreeEntry(0, "assistant"),
+                        new DegreeDictionary.DegreeEntry(2, "professor")), 3);
+        OrganizationSnapshotEngine engine = mock(OrganizationSnapshotEngine.class);
+        when(engine.snapshot()).thenReturn(snapshot);
+        when(snapshotEngine.getIfAvailable()).thenReturn(engine);
+
+        assertEquals("Head of Physics department is Petro Ivanov.", departmentService.findHeadOfDepartment("Physics"));
+        assertEquals("assistants - 1.\nprofessors - 1.", departmentService.getDepartmentStatistic("Physics"));
+        assertEquals("The average salary of Physics is 2000.0.",
+                departmentService.getAverageSalaryForDepartment("Physics"));
+        assertEquals("Employee count of Physics is 2.", departmentService.getEmployeeCount("Physics"));
+        assertEquals("Physics,Ivan Petrov,Petro Ivanov", departmentService.globalSearch("P"));
+        assertEquals(1, departmentService.countGlobalSearchResults("Ivan P").count());
+        verifyNoInteractions(departmentRepository);
+    }
 }
@@ -0,0 +1,143 @@
+package ua.dtsebulia.testassignmentbotscrew.snapshot;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary;
+import ua.dtsebulia.testassignmentbotscrew.dto.AverageSalaryDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.DegreeCountDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.DepartmentStatisticDto;
+import ua.dtsebulia.testassignmentbotscrew.dto.HeadOfDepartmentDto;
+import ua.dtsebulia.testassignmentbotscrew.entity.Degree;
+import ua.dtsebulia.testassignmentbotscrew.entity.Department;
+import ua.dtsebulia.testassignmentbotscrew.entity.Lector;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ua.dtsebulia.testassignmentbotscrew.support.SqlStatementCounter.assertQueryBudget;
+
+/**
+ * Test class for {@link OrganizationSnapshotEngine} and {@link OrganizationSnapshotLoader},
+ * running against an embedded database.
+ */
+@DataJpaTest(properties = {
+        "snapshot.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ua.dtsebulia.testassignmentbotscrew.support.SqlStatementCounter"})
+@Import({OrganizationSnapshotEngine.class, OrganizationSnapshotLoader.class, SnapshotFileStore.class,
+        DegreeDictionary.class})
+class OrganizationSnapshotEngineTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrganizationSnapshotEngine snapshotEngine;
+
+    @Autowired
+    private DegreeDictionary degreeDictionary;
+
+    private Lector physicist;
+
+    /**
+     * Seed a department with a head and three lectors, an empty department and a lector outside any department.
+     */
+    @BeforeEach
+    public void setUp() {
+        Degree assistant = entityManager.persist(Degree.builder().name("assistant").build());
+        Degree professor = entityManager.persist(Degree.builder().name("professor").build());
+
+        List<Lector> lectors = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            lectors.add(entityManager.persist(Lector.builder()
+                    .firstName("Ivan" + i)
+                    .lastName("Petrov")
+                    .salary(1000 * (i + 1))
+                    .degree(i == 0 ? professor : assistant)
+                    .build()));
+        }
+        physicist = lectors.get(0);
+        entityManager.persist(Lector.builder().firstName("Olena").lastName("Koval").salary(500).build());
+
+        entityManager.persist(Department.builder()
+                .name("Physics")
+                .headOfDepartment(physicist)
+                .lectors(new HashSet<>(lectors))
+                .build());
+        entityManager.persist(Department.builder().name("History").lectors(Set.of()).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Degrees of earlier tests were rolled back without change events, so reload the dictionary.
+        degreeDictionary.refresh();
+    }
+
+    /**
+     * Test case for loading a snapshot and querying it.
+     * It verifies that every query is answered from memory, without a single SQL statement.
+     */
+    @Test
+    void testQueriesWithoutSql() {
+        snapshotEngine.refresh();
+        OrganizationSnapshot snapshot = snapshotEngine.snapshot();
+
+        Optional<HeadOfDepartmentDto> head = assertQueryBudget("getHeadOfDepartment", 0,
+                () -> snapshot.getHeadOfDepartment("Physics"));
+        Optional<DepartmentStatisticDto> statistic = assertQueryBudget("getDepartmentStatistic", 0,
+                () -> snapshot.getDepartmentStatistic("Physics"));
+        Optional<AverageSalaryDto> averageSalary = assertQueryBudget("getAverageSalary", 0,
+                () -> snapshot.getAverageSalary("Physics"));
+        List<String> results = assertQueryBudget("search", 0, () -> snapshot.search("o"));
+
+        assertEquals("Ivan0 Petrov", head.orElseThrow().headOfDepartment());
+        assertEquals(List.of(new DegreeCountDto("assistant", 2), new DegreeCountDto("professor", 1)),
+                statistic.orElseThrow().degrees());
+        assertEquals(2000.0, averageSalary.orElseThrow().averageSalary());
+        assertEquals(0, snapshot.getEmployeeCount("History").orElseThrow().employeeCount());
+        assertTrue(snapshot.getEmployeeCount("Chemistry").isEmpty());
+
+        // The lector outside any department is not searchable, as with the search index.
+        assertEquals(List.of("History", "Ivan0 Petrov", "Ivan1 Petrov", "Ivan2 Petrov"), results);
+        assertEquals(4, snapshot.lectorCount());
+        assertEquals(4, snapshot.footprint().nameCount());
+    }
+
+    /**
+     * Test case for the scheduled refresh.
+     * It verifies that the snapshot is kept until an entity change is reported, and then swapped for a new one
+     * while the old snapshot keeps its values.
+     */
+    @Test
+    void testRefreshIfStaleSwapsSnapshot() {
+        OrganizationSnapshot before = snapshotEngine.refresh();
+
+        snapshotEngine.refreshIfStale();
+        assertSame(before, snapshotEngine.snapshot());
+
+        // Raise a salary and report the change, as the listener does once the transaction commits.
+        Lector lector = entityManager.find(Lector.class, physicist.getId());
+        lector.setSalary(4000);
+        entityManager.flush();
+        snapshotEngine.onEntityChanged();
+
+        snapshotEngine.refreshIfStale();
+        OrganizationSnapshot after = snapshotEngine.snapshot();
+
+        assertNotSame(before, after);
+        assertEquals(3000.0, after.getAverageSalary("Physics").orElseThrow().averageSalary());
+        assertEquals(2000.0, before.getAverageSalary("Physics").orElseThrow().averageSalary());
+        assertFalse(after.builtAt().isBefore(before.builtAt()));
+    }
+}
@@ -0,0 +1,140 @@
+package ua.dtsebulia.testassignmentbotscrew.snapshot;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary;
+import ua.dtsebulia.testassignmentbotscrew.degree.DegreeDictionary.DegreeEntry;
+import ua.dtsebulia.testassignmentbotscrew.search.SearchMode;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link SnapshotFileStore} and {@link SnapshotFileFormat}.
+ */
+class SnapshotFileStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    private Path file;
+    private SnapshotFileStore snapshotStore;
+    private OrganizationSnapshot snapshot;
+
+    /**
+     * Build a small snapshot with a non-ASCII name and a lector outside any department.
+     */
+    @BeforeEach
+    public void setUp() {
+        file = directory.resolve("data").resolve("organization.snapshot");
+        snapshotStore = new SnapshotFileStore(file.toString(), SearchMode.EXACT);
+
+        snapshot = new OrganizationSnapshotBuilder()
+                .addLector(1, "Ivan Petrov", 1000, 0)
+                .addLector(2, "Олена Коваль", 3000, 2)
+                .addLector(5, "Ivan Petrov", null, DegreeDictionary.NO_DEGREE)
+                .addMembership(10, "Physics", 2, 1)
+                .addMembership(10, "Physics", 2, 2)
+                .addMembership(11, "History", null, null)
+                .build(List.of(new DegreeEntry(0, "assistant"), new DegreeEntry(2, "professor")), 3);
+    }
+
+    /**
+     * Test case for saving and opening a snapshot file.
+     * It verifies that the opened snapshot answers every query like the saved one and keeps its build time.
+     */
+    @Test
+    void testSaveAndOpen() throws Exception {
+        long size = snapshotStore.save(snapshot);
+
+        Optional<OrganizationSnapshot> opened = snapshotStore.open(Duration.ofMinutes(10));
+
+        assertTrue(opened.isPresent());
+        OrganizationSnapshot copy = opened.get();
+        assertEquals(Files.size(file), size);
+        assertEquals(snapshot.builtAt().toEpochMilli(), copy.builtAt().toEpochMilli());
+        assertEquals(snapshot.footprint(), copy.footprint());
+        assertEquals(snapshot.getHeadOfDepartment("Physics"), copy.getHeadOfDepartment("Physics"));
+        assertEquals(snapshot.getDepartmentStatistic("Physics"), copy.getDepartmentStatistic("Physics"));
+        assertEquals(snapshot.getAverageSalary("Physics"), copy.getAverageSalary("Physics"));
+        assertEquals(snapshot.getEmployeeCount("History"), copy.getEmployeeCount("History"));
+        assertEquals(List.of("History", "Ivan Petrov"), copy.search("o"));
+        assertEquals(List.of("Олена Коваль"), copy.search("Кова"));
+        assertEquals(3, copy.lectorCount());
+        assertFalse(Files.exists(file.resolveSibling("organization.snapshot.tmp")));
+    }
+
+    /**
+     * Test case for opening a snapshot file with normalized search.
+     * It verifies that the search keys are computed when the file is opened, so names match ignoring case.
+     */
+    @Test
+    void testOpenWithNormalizedSearch() {
+        snapshotStore.save(snapshot);
+
+        OrganizationSnapshot opened = new SnapshotFileStore(file.toString(), SearchMode.NORMALIZED)
+                .open(Duration.ofMinutes(10))
+                .orElseThrow();
+
+        assertEquals(List.of(), snapshot.search("ivan"));
+        assertEquals(List.of("Ivan Petrov"), opened.search("ivan"));
+        assertEquals(List.of("History", "Ivan Petrov"), opened.search("O"));
+        assertEquals(2, opened.count("PHYSICS") + opened.count("олена"));
+    }
+
+    /**
+     * Test case for opening a damaged snapshot file.
+     * It verifies that a flipped byte fails the checksum and a truncated file is rejected, so the caller falls
+     * back to the database.
+     */
+    @Test
+    void testCorruptFileIsIgnored() throws Exception {
+        snapshotStore.save(snapshot);
+        byte[] bytes = Files.readAllBytes(file);
+
+        // Flip a bit in the middle of the file.
+        byte[] flipped = bytes.clone();
+        flipped[bytes.length / 2] ^= 1;
+        Files.write(file, flipped);
+        assertTrue(snapshotStore.open(Duration.ofMinutes(10)).isEmpty());
+
+        // Cut off the last section.
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+        assertTrue(snapshotStore.open(Duration.ofMinutes(10)).isEmpty());
+    }
+
+    /**
+     * Test case for opening a stale or missing snapshot file.
+     * It verifies that a snapshot older than the maximum age and a missing file are both ignored.
+     */
+    @Test
+    void testStaleOrMissingFileIsIgnored() {
+        assertTrue(snapshotStore.open(Duration.ofMinutes(10)).isEmpty());
+
+        snapshotStore.save(snapshot);
+        assertTrue(snapshotStore.open(Duration.ZERO.minusSeconds(1)).isEmpty());
+    }
+
+    /**
+     * Test case for saving without a configured snapshot file.
+     * It verifies that the store is disabled and refuses to save.
+     */
+    @Test
+    void testSaveWithoutFile() {
+        SnapshotFileStore disabled = new SnapshotFileStore("", SearchMode.EXACT);
+
+        assertFalse(disabled.isEnabled());
+        assertTrue(disabled.open(Duration.ofMinutes(10)).isEmpty());
+        assertThrows(IllegalStateException.class, () -> disabled.save(snapshot));
+    }
+}
@@ -0,0 +1,72 @@
+package ua.dtsebulia.testassignmentbotscrew.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hibernate statement inspector that records every SQL statement sent to the database.
+ * Register it with the {@code spring.jpa.properties.hibernate.session_factory.statement_inspector} property.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    /**
+     * Record the statement and pass it through unchanged.
+     *
+     * @param sql The SQL statement.
+     * @return The same SQL statement.
+     */
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Forget the statements recorded so far.
+     */
+    public static void reset() {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+    }
+
+    /**
+     * Get the statements recorded since the last reset.
+     *
+     * @return The recorded statements.
+     */
+    public static List<String> statements() {
+        synchronized (STATEMENTS) {
+            return new ArrayList<>(STATEMENTS);
+        }
+    }
+
+    /**
+     * Run an action and fail if it issues more SQL statements than its budget.
+     *
+     * @param name   The name of the action, used in the failure message.
+     * @param budget The maximum number of statements the action may issue.
+     * @param action The action.
+     * @param <T>    The type of the action's result.
+     * @return The result of the action.
+     */
+    public static <T> T assertQueryBudget(String name, int budget, Supplier<T> action) {
+        reset();
+        T result = action.get();
+        List<String> statements = statements();
+
+        assertTrue(statements.size() <= budget, () -> name + " issued " + statements.size()
+                + " SQL statements, over its budget of " + budget + ":\n" + String.join("\n", statements));
+
+        return result;
+    }
+}